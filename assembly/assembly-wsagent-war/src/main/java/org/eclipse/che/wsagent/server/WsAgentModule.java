@@ -71,7 +71,11 @@ public class WsAgentModule extends AbstractModule {
         bind(ApiInfoService.class);
         bind(org.eclipse.che.plugin.machine.artik.replication.PushToDeviceService.class);
         bind(org.eclipse.che.plugin.machine.artik.discovery.DeviceDiscoveryService.class);
+        bind(org.eclipse.che.plugin.machine.artik.discovery.AdbDeviceTracker.class).asEagerSingleton();
         bind(KeywordDocsService.class);
+        bind(org.eclipse.che.plugin.machine.artik.apidocs.DocsSearchService.class);
+        bind(org.eclipse.che.plugin.machine.artik.apidocs.DocsSearchIndex.class).asEagerSingleton();
+        bind(org.eclipse.che.plugin.machine.artik.apidocs.DocsContent.class).asEagerSingleton();
 
 
         bind(RsyncService.class).asEagerSingleton();
@@ -17,6 +17,7 @@ import com.google.inject.servlet.ServletModule;
 import org.eclipse.che.api.core.cors.CheCorsFilter;
 import org.eclipse.che.filters.EnvironmentInitializationFilter;
 import org.eclipse.che.inject.DynaModule;
+import org.eclipse.che.plugin.machine.artik.apidocs.DocsServlet;
 import org.everrest.guice.servlet.GuiceEverrestServlet;
 import org.everrest.websockets.WSConnectionTracker;
 
@@ -31,6 +32,7 @@ public class WsAgentServletModule extends ServletModule {
         filter("/api/*").through(EnvironmentInitializationFilter.class);
 
         serveRegex("^/api((?!(/(ws|eventbus)($|/.*)))/.*)").with(GuiceEverrestServlet.class);
+        serve("/artikdocs", "/artikdocs/*").with(DocsServlet.class);
 
         bind(io.swagger.jaxrs.config.DefaultJaxrsConfig.class).asEagerSingleton();
         serve("/swaggerinit").with(io.swagger.jaxrs.config.DefaultJaxrsConfig.class, ImmutableMap
@@ -90,6 +90,12 @@ public interface ArtikLocalizationConstant extends Messages {
     @Key("showApiDoc.page.tooltip")
     String showApiDocPageTooltip();
 
+    @Key("showApiDoc.search.placeholder")
+    String showApiDocSearchPlaceholder();
+
+    @Key("showApiDoc.search.nothingFound")
+    String showApiDocSearchNothingFound();
+
     //##########install package############
     @Key("installPackage.action.title")
     String installPackageActionTitle();
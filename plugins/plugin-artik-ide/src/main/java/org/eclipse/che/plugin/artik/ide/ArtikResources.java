@@ -41,9 +41,6 @@ public interface ArtikResources extends ClientBundle {
     @Source("updatesdk/recipe")
     TextResource recipe();
 
-    @Source("resourcemonitor/monitorAll")
-    TextResource getMonitorAllCommand();
-
     @Source("profile/turnOnDevelopmentProfile")
     TextResource turnOnDevelopmentProfileCommand();
 
@@ -17,30 +17,41 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.web.bindery.event.shared.EventBus;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.machine.events.WsAgentStateEvent;
 import org.eclipse.che.ide.api.machine.events.WsAgentStateHandler;
 import org.eclipse.che.ide.api.parts.PartStackType;
 import org.eclipse.che.ide.api.parts.WorkspaceAgent;
 import org.eclipse.che.ide.api.parts.base.BasePresenter;
+import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
+import java.util.List;
+
 /**
  * Presenter for displaying Artik API documentation.
  *
  * @author Artem Zatsarynnyi
  */
 @Singleton
-public class DocsPartPresenter extends BasePresenter {
+public class DocsPartPresenter extends BasePresenter implements DocsPartView.ActionDelegate {
+    /** Maximum number of the pages shown as results of the search. */
+    static final int SEARCH_LIMIT = 20;
 
     private final ArtikResources            resources;
     private final AppContext                appContext;
     private final ArtikLocalizationConstant localizationConstants;
     private final WorkspaceAgent            workspaceAgent;
     private final DocsPartView              view;
+    private final DocsSearchServiceClient   docsSearchService;
     private       String                    docURL;
+    private       String                    lastQuery;
 
     @Inject
     public DocsPartPresenter(ArtikResources resources,
@@ -48,12 +59,16 @@ public class DocsPartPresenter extends BasePresenter {
                              ArtikLocalizationConstant localizationConstants,
                              EventBus eventBus,
                              final WorkspaceAgent workspaceAgent,
-                             DocsPartView view) {
+                             DocsPartView view,
+                             DocsSearchServiceClient docsSearchService) {
         this.resources = resources;
         this.appContext = appContext;
         this.localizationConstants = localizationConstants;
         this.workspaceAgent = workspaceAgent;
         this.view = view;
+        this.docsSearchService = docsSearchService;
+
+        view.setDelegate(this);
 
         eventBus.addHandler(WsAgentStateEvent.TYPE, new WsAgentStateHandler() {
             @Override
@@ -102,6 +117,36 @@ public class DocsPartPresenter extends BasePresenter {
         return localizationConstants.showApiDocPageTooltip();
     }
 
+    @Override
+    public void onSearch(String query) {
+        lastQuery = query.trim();
+        if (lastQuery.isEmpty()) {
+            view.clearSearchResults();
+            return;
+        }
+
+        final String searched = lastQuery;
+        docsSearchService.search(searched, SEARCH_LIMIT).then(new Operation<List<DocsSearchResultDto>>() {
+            @Override
+            public void apply(List<DocsSearchResultDto> results) throws OperationException {
+                // results of the previous queries are dropped while the user is typing
+                if (searched.equals(lastQuery)) {
+                    view.setSearchResults(results);
+                }
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                Log.error(DocsPartPresenter.class, "Failed to search in documentation. " + error.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onSearchResultSelected(DocsSearchResultDto result) {
+        view.setURL(appContext.getDevMachine().getAddress() + result.getLink());
+    }
+
     @Override
     public void go(AcceptsOneWidget container) {
         view.setURL(docURL);
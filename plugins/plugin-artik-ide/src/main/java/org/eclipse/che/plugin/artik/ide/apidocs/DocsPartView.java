@@ -13,6 +13,9 @@ package org.eclipse.che.plugin.artik.ide.apidocs;
 
 import org.eclipse.che.ide.api.mvp.View;
 import org.eclipse.che.ide.api.parts.base.BaseActionDelegate;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
+
+import java.util.List;
 
 /**
  * View for {@link DocsPartPresenter}.
@@ -27,6 +30,17 @@ public interface DocsPartView extends View<DocsPartView.ActionDelegate> {
     /** Sets whether the view is visible. */
     void setVisible(boolean visible);
 
+    /** Shows pages found by the search, an empty list is shown as 'nothing found'. */
+    void setSearchResults(List<DocsSearchResultDto> results);
+
+    /** Hides results of the search. */
+    void clearSearchResults();
+
     interface ActionDelegate extends BaseActionDelegate {
+        /** Called when text of the search box is changed and the user stopped typing. */
+        void onSearch(String query);
+
+        /** Called when the user clicks on a found page. */
+        void onSearchResultSelected(DocsSearchResultDto result);
     }
 }
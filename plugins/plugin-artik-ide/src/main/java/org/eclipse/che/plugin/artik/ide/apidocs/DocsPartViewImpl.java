@@ -11,9 +11,20 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.artik.ide.apidocs;
 
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.KeyUpEvent;
+import com.google.gwt.event.dom.client.KeyUpHandler;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.ui.DockLayoutPanel;
+import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.FocusPanel;
 import com.google.gwt.user.client.ui.Frame;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -21,6 +32,9 @@ import com.google.inject.Singleton;
 import org.eclipse.che.ide.api.parts.PartStackUIResources;
 import org.eclipse.che.ide.api.parts.base.BaseView;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
+
+import java.util.List;
 
 /**
  * Implementation of {@link DocsPartView}.
@@ -30,17 +44,48 @@ import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
 @Singleton
 public class DocsPartViewImpl extends BaseView<DocsPartView.ActionDelegate> implements DocsPartView {
 
+    /** Delay after the last key stroke before the search is started. */
+    private static final int SEARCH_DELAY_MS = 250;
+
+    @UiField
+    DockLayoutPanel panel;
+    @UiField
+    TextBox         searchBox;
     @UiField
-    Frame frame;
+    ScrollPanel     resultsPanel;
+    @UiField
+    FlowPanel       results;
+    @UiField
+    Frame           frame;
+
+    private final ArtikLocalizationConstant localizationConstants;
+    private final Timer                     searchTimer;
 
     @Inject
     public DocsPartViewImpl(PartStackUIResources resources,
                             DocsPartViewImplUiBinder uiBinder,
                             ArtikLocalizationConstant localizationConstants) {
         super(resources);
+        this.localizationConstants = localizationConstants;
 
         setTitle(localizationConstants.showApiDocPageTitle());
         setContentWidget(uiBinder.createAndBindUi(this));
+
+        searchBox.getElement().setAttribute("placeholder", localizationConstants.showApiDocSearchPlaceholder());
+        panel.setWidgetHidden(resultsPanel, true);
+
+        searchTimer = new Timer() {
+            @Override
+            public void run() {
+                delegate.onSearch(searchBox.getValue());
+            }
+        };
+        searchBox.addKeyUpHandler(new KeyUpHandler() {
+            @Override
+            public void onKeyUp(KeyUpEvent event) {
+                searchTimer.schedule(SEARCH_DELAY_MS);
+            }
+        });
     }
 
     @Override
@@ -48,6 +93,39 @@ public class DocsPartViewImpl extends BaseView<DocsPartView.ActionDelegate> impl
         frame.setUrl(url);
     }
 
+    @Override
+    public void setSearchResults(List<DocsSearchResultDto> found) {
+        results.clear();
+        if (found.isEmpty()) {
+            results.add(new Label(localizationConstants.showApiDocSearchNothingFound()));
+        }
+        for (final DocsSearchResultDto result : found) {
+            final FlowPanel item = new FlowPanel();
+            final Label title = new Label(result.getTitle());
+            title.getElement().getStyle().setProperty("fontWeight", "bold");
+            item.add(title);
+            item.add(new Label(result.getSnippet()));
+
+            final FocusPanel clickable = new FocusPanel(item);
+            clickable.getElement().getStyle().setProperty("cursor", "pointer");
+            clickable.getElement().getStyle().setProperty("padding", "4px 6px");
+            clickable.addClickHandler(new ClickHandler() {
+                @Override
+                public void onClick(ClickEvent event) {
+                    delegate.onSearchResultSelected(result);
+                }
+            });
+            results.add(clickable);
+        }
+        panel.setWidgetHidden(resultsPanel, false);
+    }
+
+    @Override
+    public void clearSearchResults() {
+        results.clear();
+        panel.setWidgetHidden(resultsPanel, true);
+    }
+
     interface DocsPartViewImplUiBinder extends UiBinder<Widget, DocsPartViewImpl> {
     }
 }
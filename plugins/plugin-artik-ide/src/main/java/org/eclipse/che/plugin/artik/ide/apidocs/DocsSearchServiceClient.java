@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.apidocs;
+
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
+
+import java.util.List;
+
+/**
+ * Client for full-text search over Artik API documentation.
+ *
+ * @author Valeriy Svydenko
+ */
+public interface DocsSearchServiceClient {
+
+    /**
+     * Searches documentation pages which contain all the words of the query.
+     *
+     * @param query
+     *         words to search, the last one may be incomplete
+     * @param limit
+     *         maximum number of the returned pages
+     * @return a promise that resolves to the found pages, the most relevant first, or rejects with an error
+     */
+    Promise<List<DocsSearchResultDto>> search(String query, int limit);
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.apidocs;
+
+import com.google.gwt.http.client.URL;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.rest.AsyncRequestFactory;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link DocsSearchServiceClient}.
+ *
+ * @author Valeriy Svydenko
+ */
+public class DocsSearchServiceClientImpl implements DocsSearchServiceClient {
+
+    private final AsyncRequestFactory    asyncRequestFactory;
+    private final AppContext             appContext;
+    private final DtoUnmarshallerFactory dtoUnmarshallerFactory;
+
+    @Inject
+    public DocsSearchServiceClientImpl(AsyncRequestFactory asyncRequestFactory,
+                                       AppContext appContext,
+                                       DtoUnmarshallerFactory dtoUnmarshallerFactory) {
+        this.asyncRequestFactory = asyncRequestFactory;
+        this.appContext = appContext;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+    }
+
+    @Override
+    public Promise<List<DocsSearchResultDto>> search(String query, int limit) {
+        final String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/artikdocs-search/" + appContext.getWorkspaceId() +
+                           "?q=" + URL.encodeQueryString(query) + "&limit=" + limit;
+
+        return asyncRequestFactory.createGetRequest(url)
+                                  .send(dtoUnmarshallerFactory.newListUnmarshaller(DocsSearchResultDto.class));
+    }
+}
@@ -24,7 +24,7 @@ import org.eclipse.che.ide.api.machine.events.WsAgentStateEvent;
 import org.eclipse.che.ide.api.machine.events.WsAgentStateHandler;
 import org.eclipse.che.ide.api.macro.Macro;
 import org.eclipse.che.ide.api.macro.MacroRegistry;
-import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -42,7 +42,7 @@ public class ReplicationFolderMacroRegistrar implements WsAgentStateHandler, Mac
 
     private final ReplicationFolderMacroFactory replicationFolderMacroFactory;
     private final MacroRegistry                 commandPropertyValueProviderRegistry;
-    private final DeviceServiceClient           deviceServiceClient;
+    private final DeviceStore                   deviceStore;
 
     private final Map<Machine, Macro> macrosByMachines;
 
@@ -50,10 +50,10 @@ public class ReplicationFolderMacroRegistrar implements WsAgentStateHandler, Mac
     public ReplicationFolderMacroRegistrar(EventBus eventBus,
                                            ReplicationFolderMacroFactory replicationFolderMacroFactory,
                                            MacroRegistry commandPropertyValueProviderRegistry,
-                                           DeviceServiceClient deviceServiceClient) {
+                                           DeviceStore deviceStore) {
         this.replicationFolderMacroFactory = replicationFolderMacroFactory;
         this.commandPropertyValueProviderRegistry = commandPropertyValueProviderRegistry;
-        this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
 
         macrosByMachines = new HashMap<>();
 
@@ -63,7 +63,7 @@ public class ReplicationFolderMacroRegistrar implements WsAgentStateHandler, Mac
 
     @Override
     public void onWsAgentStarted(WsAgentStateEvent event) {
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> arg) throws OperationException {
                 for (MachineDto machine : arg) {
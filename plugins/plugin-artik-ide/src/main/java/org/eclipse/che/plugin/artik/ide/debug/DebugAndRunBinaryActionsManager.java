@@ -30,7 +30,7 @@ import org.eclipse.che.ide.api.machine.events.MachineStateEvent;
 import org.eclipse.che.ide.api.machine.events.WsAgentStateEvent;
 import org.eclipse.che.ide.api.machine.events.WsAgentStateHandler;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
-import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 import org.eclipse.che.plugin.artik.ide.run.RunBinaryAction;
 import org.eclipse.che.plugin.artik.ide.run.RunBinaryActionFactory;
 
@@ -52,7 +52,7 @@ public class DebugAndRunBinaryActionsManager implements MachineStateEvent.Handle
     private final ActionManager            actionManager;
     private final DebugBinaryActionFactory debugBinaryActionFactory;
     private final RunBinaryActionFactory   runBinaryActionFactory;
-    private final DeviceServiceClient      deviceServiceClient;
+    private final DeviceStore              deviceStore;
     private final ArtikResources           resources;
 
     private DefaultActionGroup debugActionsPopUpGroup;
@@ -63,12 +63,12 @@ public class DebugAndRunBinaryActionsManager implements MachineStateEvent.Handle
                                            ActionManager actionManager,
                                            DebugBinaryActionFactory debugBinaryActionFactory,
                                            RunBinaryActionFactory runBinaryActionFactory,
-                                           DeviceServiceClient deviceServiceClient,
+                                           DeviceStore deviceStore,
                                            ArtikResources resources) {
         this.actionManager = actionManager;
         this.debugBinaryActionFactory = debugBinaryActionFactory;
         this.runBinaryActionFactory = runBinaryActionFactory;
-        this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.resources = resources;
 
         runActionsPopUpGroup = new DefaultActionGroup("Run Binary", true, actionManager);
@@ -159,7 +159,7 @@ public class DebugAndRunBinaryActionsManager implements MachineStateEvent.Handle
 
     @Override
     public void onWsAgentStarted(WsAgentStateEvent event) {
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> arg) throws OperationException {
                 for (MachineDto machineDto : arg) {
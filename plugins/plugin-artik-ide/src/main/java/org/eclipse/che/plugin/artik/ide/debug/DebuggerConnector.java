@@ -53,9 +53,11 @@ import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.plugin.artik.ide.command.macro.ReplicationFolderMacro;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
 import org.eclipse.che.plugin.artik.ide.updatesdk.OutputMessageUnmarshaller;
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
 import org.eclipse.che.plugin.debugger.ide.configuration.DebugConfigurationTypeRegistry;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -149,16 +151,19 @@ public class DebuggerConnector {
         final int debugPort = 1234;
 
         try {
-            messageBus.subscribe(chanel, new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
+            messageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputMessageUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if (isSuccessMessage(message)) {
-                        runCallback.onSuccess(debugPort);
-
-                        try {
-                            messageBus.unsubscribe(chanel, this);
-                        } catch (WebSocketException e) {
-                            Log.error(getClass(), e);
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if (isSuccessMessage(message)) {
+                            runCallback.onSuccess(debugPort);
+
+                            try {
+                                messageBus.unsubscribe(chanel, this);
+                            } catch (WebSocketException e) {
+                                Log.error(getClass(), e);
+                            }
+                            return;
                         }
                     }
                 }
@@ -184,7 +189,9 @@ public class DebuggerConnector {
         final MessageHandler handler = new MessageHandler() {
             @Override
             public void onMessage(String message) {
-                console.printText(message);
+                for (String line : OutputBatch.unpack(message)) {
+                    console.printText(line);
+                }
             }
         };
         try {
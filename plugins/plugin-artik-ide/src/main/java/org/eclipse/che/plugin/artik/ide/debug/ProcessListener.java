@@ -74,7 +74,8 @@ public class ProcessListener {
         this.machine = machine;
         final Link link = process.getLink(Constants.LINK_REL_GET_PROCESS_LOGS);
         if (link != null) {
-            asyncRequestFactory.createGetRequest(link.getHref()).send(new StringUnmarshaller()).then(
+            // only availability of the logs matters here, the output itself comes through the output channel
+            asyncRequestFactory.createGetRequest(link.getHref() + "?tail=0").send(new StringUnmarshaller()).then(
                     new Operation<String>() {
                         @Override
                         public void apply(String arg) throws OperationException {
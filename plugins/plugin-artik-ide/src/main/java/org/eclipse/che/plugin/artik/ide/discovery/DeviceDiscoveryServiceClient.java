@@ -29,4 +29,11 @@ public interface DeviceDiscoveryServiceClient {
      * @return a promise that resolves to the list of {@link ArtikDeviceDto}, or rejects with an error
      */
     Promise<List<ArtikDeviceDto>> getDevices();
+
+    /**
+     * Ask server to discover the devices which are available over the network only.
+     *
+     * @return a promise that resolves to the list of {@link ArtikDeviceDto}, or rejects with an error
+     */
+    Promise<List<ArtikDeviceDto>> getNetworkDevices();
 }
@@ -55,4 +55,13 @@ public class DeviceDiscoveryServiceClientImpl implements DeviceDiscoveryServiceC
                                   .loader(loaderFactory.newLoader("Discovering the connected devices..."))
                                   .send(dtoUnmarshallerFactory.newListUnmarshaller(ArtikDeviceDto.class));
     }
+
+    @Override
+    public Promise<List<ArtikDeviceDto>> getNetworkDevices() {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/discovery/" + appContext.getWorkspaceId() + "/network";
+
+        return asyncRequestFactory.createGetRequest(url)
+                                  .send(dtoUnmarshallerFactory.newListUnmarshaller(ArtikDeviceDto.class));
+    }
 }
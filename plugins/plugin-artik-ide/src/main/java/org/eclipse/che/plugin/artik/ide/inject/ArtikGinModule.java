@@ -25,8 +25,11 @@ import org.eclipse.che.ide.api.machine.CheWsAgentLinksModifier;
 import org.eclipse.che.ide.api.machine.WsAgentURLModifier;
 import org.eclipse.che.ide.api.macro.Macro;
 import org.eclipse.che.ide.editor.orion.client.inject.OrionPlugin;
+import org.eclipse.che.ide.jsonrpc.RequestHandler;
 import org.eclipse.che.plugin.artik.ide.apidocs.DocsPartView;
 import org.eclipse.che.plugin.artik.ide.apidocs.DocsPartViewImpl;
+import org.eclipse.che.plugin.artik.ide.apidocs.DocsSearchServiceClient;
+import org.eclipse.che.plugin.artik.ide.apidocs.DocsSearchServiceClientImpl;
 import org.eclipse.che.plugin.artik.ide.command.CompileCommandProducer;
 import org.eclipse.che.plugin.artik.ide.command.macro.BinaryNameMacro;
 import org.eclipse.che.plugin.artik.ide.command.macro.CompilationPropertiesMacro;
@@ -38,6 +41,7 @@ import org.eclipse.che.plugin.artik.ide.discovery.DeviceDiscoveryServiceClientIm
 import org.eclipse.che.plugin.artik.ide.installpkg.PackageInstallerViewImpl;
 import org.eclipse.che.plugin.artik.ide.keyworddoc.KeywordDocsServiceClient;
 import org.eclipse.che.plugin.artik.ide.keyworddoc.KeywordDocsServiceClientImpl;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceRpcClient;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClientImpl;
 import org.eclipse.che.plugin.artik.ide.orionplugin.ArtikOrionPlugin;
@@ -48,6 +52,8 @@ import org.eclipse.che.plugin.artik.ide.updatesdk.UpdateSDKView;
 import org.eclipse.che.plugin.artik.ide.updatesdk.UpdateSDKViewImpl;
 import org.eclipse.che.plugin.artik.ide.installpkg.PackageInstallerView;
 
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_RESULT;
+
 /**
  * Gin module for Artik extension.
  *
@@ -69,9 +75,13 @@ public class ArtikGinModule extends AbstractGinModule {
 
         bind(UpdateSDKView.class).to(UpdateSDKViewImpl.class).in(Singleton.class);
         bind(DocsPartView.class).to(DocsPartViewImpl.class).in(Singleton.class);
+        bind(DocsSearchServiceClient.class).to(DocsSearchServiceClientImpl.class).in(Singleton.class);
 
         bind(KeywordDocsServiceClient.class).to(KeywordDocsServiceClientImpl.class).in(Singleton.class);
         bind(DeviceServiceClient.class).to(DeviceServiceClientImpl.class).in(Singleton.class);
+        GinMapBinder.newMapBinder(binder(), String.class, RequestHandler.class)
+                    .addBinding(ARTIK_RPC_RESULT)
+                    .to(DeviceRpcClient.class);
 
         GinMultibinder.newSetBinder(binder(), OrionPlugin.class).addBinding().to(ArtikOrionPlugin.class);
 
@@ -34,23 +34,23 @@ import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.File;
-import org.eclipse.che.ide.commons.exception.UnmarshallerException;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.extension.machine.client.processes.panel.ProcessesPanelPresenter;
 import org.eclipse.che.ide.resource.Path;
 import org.eclipse.che.ide.resources.reveal.RevealResourceEvent;
 import org.eclipse.che.ide.util.UUID;
-import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
 import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
-import org.eclipse.che.ide.websocket.rest.Unmarshallable;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.OutputLinesUnmarshaller;
 
 import javax.validation.constraints.Null;
 
+import java.util.List;
+
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper.createFromAsyncRequest;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
@@ -138,36 +138,21 @@ public class PackageInstallerPresenter implements PackageInstallerView.ActionDel
         }
     }
 
-    private class CommandOutputUnmarshaller implements Unmarshallable<String> {
-
-        private String payload;
-
-        @Override
-        public void unmarshal(Message response) throws UnmarshallerException {
-            payload = response.getBody();
-        }
-
-        @Override
-        public String getPayload() {
-            return payload;
-        }
-
-    }
-
     private Promise<String> executeCommand(final String cmd, final Machine machine) {
         final String deviceName = machine.getConfig().getName();
         final String chanel = "process:output:" + UUID.uuid();
         try {
             final MessageBus messageBus = messageBusProvider.getMachineMessageBus();
-            messageBus.subscribe(chanel, new SubscriptionHandler<String>(new CommandOutputUnmarshaller()) {
+            messageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputLinesUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if ("[STDOUT] >>> end <<<".equals(message)) {
-                        messageBus.unsubscribeSilently(chanel, this);
-                        processesPanelPresenter.printMachineOutput(deviceName, "");
-                        commandCallback.onSuccess(message);
-
-                    } else {
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if ("[STDOUT] >>> end <<<".equals(message)) {
+                            messageBus.unsubscribeSilently(chanel, this);
+                            processesPanelPresenter.printMachineOutput(deviceName, "");
+                            commandCallback.onSuccess(message);
+                            break;
+                        }
                         processesPanelPresenter.printMachineOutput(deviceName, message);
                     }
                     notificationManager.setVisible(false);
@@ -11,42 +11,138 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.artik.ide.keyworddoc;
 
+import com.google.gwt.http.client.Response;
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.FunctionException;
 import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.js.Promises;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.machine.DevMachine;
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.StringUnmarshaller;
+import org.eclipse.che.ide.rest.Unmarshallable;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DOCS_CHANNEL;
 
 /**
  * Implementation of {@link KeywordDocsServiceClient}.
+ * <p>
+ * Resolved links are remembered, so a repeated lookup of a keyword doesn't send any request. The remembered
+ * links are dropped once the service reports another version of the keywords, either in a response or on the
+ * docs channel when the documentation is updated. Links are remembered only while the channel is subscribed,
+ * otherwise an update of the documentation could be missed.
  *
  * @author Artem Zatsarynnyi
  */
 public class KeywordDocsServiceClientImpl implements KeywordDocsServiceClient {
 
+    private static final int LINKS_CACHE_SIZE = 200;
+
     private final AsyncRequestFactory asyncRequestFactory;
     private final LoaderFactory       loaderFactory;
     private final AppContext          appContext;
+    private final MessageBusProvider  messageBusProvider;
+    private final KeywordLinksCache   links;
+
+    private DocsUpdateHandler docsUpdates;
 
     @Inject
     public KeywordDocsServiceClientImpl(AsyncRequestFactory asyncRequestFactory,
                                         LoaderFactory loaderFactory,
-                                        AppContext appContext) {
+                                        AppContext appContext,
+                                        MessageBusProvider messageBusProvider) {
         this.asyncRequestFactory = asyncRequestFactory;
         this.loaderFactory = loaderFactory;
         this.appContext = appContext;
+        this.messageBusProvider = messageBusProvider;
+        this.links = new KeywordLinksCache(LINKS_CACHE_SIZE);
     }
 
     @Override
-    public Promise<String> getLink(String keyword) {
+    public Promise<String> getLink(final String keyword) {
+        final boolean subscribed = subscribeToDocsUpdates();
+        final String link = subscribed ? links.get(keyword) : null;
+        if (link != null) {
+            return Promises.resolve(link);
+        }
+
         final DevMachine devMachine = appContext.getDevMachine();
         final String url = devMachine.getWsAgentBaseUrl() + "/artikdoc/" + appContext.getWorkspaceId() + "/" + keyword;
 
         return asyncRequestFactory.createGetRequest(url)
                                   .loader(loaderFactory.newLoader("Opening documentation page..."))
-                                  .send(new StringUnmarshaller());
+                                  .send(new VersionedUnmarshaller<>(new StringUnmarshaller()))
+                                  .then(new Function<String, String>() {
+                                      @Override
+                                      public String apply(String link) throws FunctionException {
+                                          if (subscribed) {
+                                              links.put(keyword, link);
+                                          }
+                                          return link;
+                                      }
+                                  });
+    }
+
+    /** Subscribes to the updates of the documentation if not subscribed yet, returns whether it is subscribed. */
+    private boolean subscribeToDocsUpdates() {
+        if (docsUpdates != null) {
+            return true;
+        }
+        final DocsUpdateHandler handler = new DocsUpdateHandler();
+        try {
+            messageBusProvider.getMachineMessageBus().subscribe(ARTIK_DOCS_CHANNEL, handler);
+        } catch (WebSocketException e) {
+            return false;
+        }
+        docsUpdates = handler;
+        return true;
+    }
+
+    /** Receives the version of the keywords each time the documentation is updated. */
+    private class DocsUpdateHandler extends SubscriptionHandler<String> {
+        private DocsUpdateHandler() {
+            super(new StringUnmarshallerWS());
+        }
+
+        @Override
+        protected void onMessageReceived(String version) {
+            links.clear();
+            links.updateVersion(version);
+        }
+
+        @Override
+        protected void onErrorReceived(Throwable throwable) {
+            messageBusProvider.getMachineMessageBus().unsubscribeSilently(ARTIK_DOCS_CHANNEL, this);
+            docsUpdates = null;
+            links.clear();
+        }
+    }
+
+    /** Checks the version of the keywords, the service reports it as the entity tag of the response. */
+    private class VersionedUnmarshaller<T> implements Unmarshallable<T> {
+        private final Unmarshallable<T> delegate;
+
+        private VersionedUnmarshaller(Unmarshallable<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void unmarshal(Response response) throws UnmarshallerException {
+            links.updateVersion(response.getHeader("ETag"));
+            delegate.unmarshal(response);
+        }
+
+        @Override
+        public T getPayload() {
+            return delegate.getPayload();
+        }
     }
 }
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.keyworddoc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the links of the recently resolved keywords, the least recently used links are evicted first.
+ * All the links are dropped when the docs service reports another version of the keywords.
+ *
+ * @author Valeriy Svydenko
+ */
+class KeywordLinksCache {
+
+    private final Map<String, String> links;
+
+    private String version;
+
+    KeywordLinksCache(final int capacity) {
+        this.links = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns the link of the keyword or {@code null} if the keyword wasn't resolved yet. */
+    String get(String keyword) {
+        return links.get(keyword);
+    }
+
+    void put(String keyword, String link) {
+        links.put(keyword, link);
+    }
+
+    /**
+     * Drops all the links if the version of the keywords differs from the known one.
+     *
+     * @param version
+     *         version of the keywords reported by the docs service, {@code null} if it is unknown
+     */
+    void updateVersion(String version) {
+        if (version == null || version.equals(this.version)) {
+            return;
+        }
+        if (this.version != null) {
+            links.clear();
+        }
+        this.version = version;
+    }
+
+    /** Drops all the links, e.g. when the updates of the keywords may be missed. */
+    void clear() {
+        links.clear();
+    }
+
+    int size() {
+        return links.size();
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local copy of the device list which is kept up to date with the changes received from the agent.
+ *
+ * @author Valeriy Svydenko
+ */
+class DeviceListMirror {
+    /** Version which is lower than any version of the agent device list, so the full list is requested. */
+    static final long UNKNOWN_VERSION = -1;
+
+    private final Map<String, MachineDto> devices;
+
+    private long version;
+
+    DeviceListMirror() {
+        this.devices = new LinkedHashMap<>();
+        this.version = UNKNOWN_VERSION;
+    }
+
+    /** Returns version of the device list the changes should be requested since. */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies the changes. Changes with a version lower than the known one are outdated and ignored,
+     * e.g. when responses of concurrent requests are received in another order.
+     */
+    void apply(DeviceListDto changes) {
+        if (changes.getVersion() < version) {
+            return;
+        }
+        if (changes.isFull()) {
+            devices.clear();
+        }
+        for (MachineDto device : changes.getDevices()) {
+            devices.put(device.getId(), device);
+        }
+        for (String deviceId : changes.getRemoved()) {
+            devices.remove(deviceId);
+        }
+        version = changes.getVersion();
+    }
+
+    /** Returns copy of the device list. */
+    List<MachineDto> getDevices() {
+        return new ArrayList<>(devices.values());
+    }
+}
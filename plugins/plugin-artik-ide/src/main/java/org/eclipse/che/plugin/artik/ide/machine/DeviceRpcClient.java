@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.jsonrpc.RequestHandler;
+import org.eclipse.che.ide.jsonrpc.RequestTransmitter;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcParamsDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcResultDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper.createFromAsyncRequest;
+
+/**
+ * Client of the device API which is available as JSON-RPC methods over the agent websocket endpoint.
+ * <p>
+ * The agent answers each request with the {@code artik/device/result} notification which carries ID of the request,
+ * the notifications are received by this client and complete the pending calls.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceRpcClient implements RequestHandler {
+    private final RequestTransmitter                  transmitter;
+    private final DtoFactory                          dtoFactory;
+    private final Map<Integer, AsyncCallback<String>> pending;
+
+    private int nextRequestId;
+
+    @Inject
+    public DeviceRpcClient(RequestTransmitter transmitter, DtoFactory dtoFactory) {
+        this.transmitter = transmitter;
+        this.dtoFactory = dtoFactory;
+        this.pending = new HashMap<>();
+        this.nextRequestId = 1;
+    }
+
+    /**
+     * Calls the device method.
+     *
+     * @param method
+     *         name of the method, one of the {@code ARTIK_RPC_*} constants
+     * @param params
+     *         parameters of the method
+     * @return a promise that resolves to the JSON result of the method, or rejects with an error
+     */
+    public Promise<String> call(final String method, final DeviceRpcParamsDto params) {
+        return createFromAsyncRequest(new AsyncPromiseHelper.RequestCall<String>() {
+            @Override
+            public void makeCall(AsyncCallback<String> callback) {
+                call(method, params, callback);
+            }
+        });
+    }
+
+    void call(String method, DeviceRpcParamsDto params, AsyncCallback<String> callback) {
+        final int requestId = nextRequestId++;
+        pending.put(requestId, callback);
+        transmitter.transmit(dtoFactory.createDto(JsonRpcRequest.class)
+                                       .withJsonrpc("2.0")
+                                       .withId(requestId)
+                                       .withMethod(method)
+                                       .withParams(dtoFactory.toJson(params)));
+    }
+
+    @Override
+    public void receive(JsonRpcRequest notification) {
+        final DeviceRpcResultDto result = dtoFactory.createDtoFromJson(notification.getParams(), DeviceRpcResultDto.class);
+        final AsyncCallback<String> callback = pending.remove(result.getRequestId());
+        if (callback == null) {
+            return;
+        }
+        if (result.getError() != null) {
+            callback.onFailure(new Exception(result.getError()));
+        } else {
+            callback.onSuccess(result.getResult());
+        }
+    }
+}
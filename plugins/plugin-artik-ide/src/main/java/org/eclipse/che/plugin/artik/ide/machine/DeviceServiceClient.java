@@ -16,6 +16,10 @@ import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.plugin.artik.shared.dto.BootstrapDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceCommandResultDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto;
 
 import java.util.List;
 
@@ -69,6 +73,13 @@ public interface DeviceServiceClient {
      */
     Promise<List<MachineDto>> getDevices();
 
+    /**
+     * Returns all the devices with their processes, connection statuses and facts in one snapshot.
+     *
+     * @return a promise that will provide the snapshot, or rejects with an error
+     */
+    Promise<BootstrapDto> getBootstrap();
+
     /**
      * Disconnect device with the specified ID.
      *
@@ -102,6 +113,18 @@ public interface DeviceServiceClient {
      */
     Promise<MachineProcessDto> executeCommand(String deviceId, Command command, String outputChannel);
 
+    /**
+     * Execute a short command in the shell session of device and wait for its result.
+     * Standard input of the command is closed and standard error is merged into standard output.
+     *
+     * @param deviceId
+     *         ID of the device where command should be executed
+     * @param command
+     *         the command that should be executed in the device
+     * @return a promise that resolves to the exit code and output of the command, or rejects with an error
+     */
+    Promise<DeviceCommandResultDto> executeQuery(String deviceId, Command command);
+
     /**
      * Stop process in device.
      *
@@ -112,4 +135,51 @@ public interface DeviceServiceClient {
      * @return a promise that will resolve when the process has been stopped, or rejects with an error
      */
     Promise<Void> stopProcess(String deviceId, int processId);
+
+    /**
+     * Execute a command on a group of devices.
+     *
+     * @param command
+     *         the command and target devices
+     * @param outputChannel
+     *         websocket chanel for multiplexed output of all the devices
+     * @param resultChannel
+     *         websocket chanel for the result of the command on each device
+     * @return a promise that resolves to the pids of the started processes on each device, or rejects with an error
+     */
+    Promise<List<FleetCommandResultDto>> executeFleetCommand(FleetCommandDto command, String outputChannel, String resultChannel);
+
+    /**
+     * Update tags of device.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param tags
+     *         new tags of the device
+     * @return a promise that will resolve when tags have been updated, or rejects with an error
+     */
+    Promise<Void> setTags(String deviceId, List<String> tags);
+
+    /**
+     * Subscribe to resource usage of device or renew the subscription, the usage is sent to the websocket
+     * channel of the device. The subscription expires in a minute unless it is renewed.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param subscriberId
+     *         ID of the subscriber
+     * @return a promise that will resolve when the subscription has been added, or rejects with an error
+     */
+    Promise<Void> subscribeToResources(String deviceId, String subscriberId);
+
+    /**
+     * Unsubscribe from resource usage of device.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param subscriberId
+     *         ID of the subscriber
+     * @return a promise that will resolve when the subscription has been removed, or rejects with an error
+     */
+    Promise<Void> unsubscribeFromResources(String deviceId, String subscriberId);
 }
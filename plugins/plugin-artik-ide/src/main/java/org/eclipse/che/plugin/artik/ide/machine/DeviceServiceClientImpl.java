@@ -11,21 +11,37 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.artik.ide.machine;
 
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.http.client.URL;
+import com.google.gwt.json.client.JSONString;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.FunctionException;
 import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.machine.DevMachine;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
+import org.eclipse.che.plugin.artik.shared.dto.BootstrapDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceCommandResultDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcParamsDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto;
 
 import java.util.List;
 
+import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
+import static org.eclipse.che.ide.rest.HTTPHeader.CONTENT_TYPE;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_STOP;
+
 /**
  * Implementation of {@link DeviceServiceClient}
  *
@@ -36,16 +52,24 @@ public class DeviceServiceClientImpl implements DeviceServiceClient {
     private final LoaderFactory          loaderFactory;
     private final AsyncRequestFactory    asyncRequestFactory;
     private final DtoUnmarshallerFactory dtoUnmarshallerFactory;
+    private final DtoFactory             dtoFactory;
+    private final DeviceRpcClient        rpcClient;
+    private final DeviceListMirror       deviceList;
 
     @Inject
     public DeviceServiceClientImpl(AppContext appContext,
                                    LoaderFactory loaderFactory,
                                    AsyncRequestFactory asyncRequestFactory,
-                                   DtoUnmarshallerFactory dtoUnmarshallerFactory) {
+                                   DtoUnmarshallerFactory dtoUnmarshallerFactory,
+                                   DtoFactory dtoFactory,
+                                   DeviceRpcClient rpcClient) {
         this.appContext = appContext;
         this.loaderFactory = loaderFactory;
         this.asyncRequestFactory = asyncRequestFactory;
         this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+        this.dtoFactory = dtoFactory;
+        this.rpcClient = rpcClient;
+        this.deviceList = new DeviceListMirror();
     }
 
     @Override
@@ -91,11 +115,29 @@ public class DeviceServiceClientImpl implements DeviceServiceClient {
     @Override
     public Promise<List<MachineDto>> getDevices() {
         final DevMachine devMachine = appContext.getDevMachine();
-        final String url = devMachine.getWsAgentBaseUrl() + "/artik/devices";
+        // only the devices changed since the previous request are transferred
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/devices/changes?since=" + deviceList.getVersion();
 
         return asyncRequestFactory.createGetRequest(url)
                                   .loader(loaderFactory.newLoader())
-                                  .send(dtoUnmarshallerFactory.newListUnmarshaller(MachineDto.class));
+                                  .send(dtoUnmarshallerFactory.newUnmarshaller(DeviceListDto.class))
+                                  .then(new Function<DeviceListDto, List<MachineDto>>() {
+                                      @Override
+                                      public List<MachineDto> apply(DeviceListDto changes) throws FunctionException {
+                                          deviceList.apply(changes);
+                                          return deviceList.getDevices();
+                                      }
+                                  });
+    }
+
+    @Override
+    public Promise<BootstrapDto> getBootstrap() {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/bootstrap";
+
+        return asyncRequestFactory.createGetRequest(url)
+                                  .loader(loaderFactory.newLoader())
+                                  .send(dtoUnmarshallerFactory.newUnmarshaller(BootstrapDto.class));
     }
 
     @Override
@@ -128,14 +170,74 @@ public class DeviceServiceClientImpl implements DeviceServiceClient {
                                   .send(dtoUnmarshallerFactory.newUnmarshaller(MachineProcessDto.class));
     }
 
+    @Override
+    public Promise<DeviceCommandResultDto> executeQuery(String machineId, Command command) {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/" + machineId + "/query";
+
+        return asyncRequestFactory.createPostRequest(url, command)
+                                  .send(dtoUnmarshallerFactory.newUnmarshaller(DeviceCommandResultDto.class));
+    }
+
     @Override
     public Promise<Void> stopProcess(String machineId, int processId) {
+        final DeviceRpcParamsDto params = dtoFactory.createDto(DeviceRpcParamsDto.class)
+                                                    .withDeviceId(machineId)
+                                                    .withPid(processId);
+
+        return rpcClient.call(ARTIK_RPC_STOP, params).then(new Function<String, Void>() {
+            @Override
+            public Void apply(String result) throws FunctionException {
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public Promise<List<FleetCommandResultDto>> executeFleetCommand(FleetCommandDto command,
+                                                                    String outputChannel,
+                                                                    String resultChannel) {
         final DevMachine devMachine = appContext.getDevMachine();
-        final String url = devMachine.getWsAgentBaseUrl() + "/artik/" + machineId + "/process/" + processId;
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/fleet/command?outputChannel=" + URL.encodeQueryString(outputChannel) +
+                           "&resultChannel=" + URL.encodeQueryString(resultChannel);
 
-        return asyncRequestFactory.createDeleteRequest(url)
+        return asyncRequestFactory.createPostRequest(url, command)
+                                  .loader(loaderFactory.newLoader())
+                                  .send(dtoUnmarshallerFactory.newListUnmarshaller(FleetCommandResultDto.class));
+    }
+
+    @Override
+    public Promise<Void> setTags(String deviceId, List<String> tags) {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/" + deviceId + "/tags";
+
+        final JSONArray jsonTags = new JSONArray();
+        for (int i = 0; i < tags.size(); i++) {
+            jsonTags.set(i, new JSONString(tags.get(i)));
+        }
+
+        return asyncRequestFactory.createPutRequest(url, null)
+                                  .header(CONTENT_TYPE, APPLICATION_JSON)
+                                  .data(jsonTags.toString())
                                   .loader(loaderFactory.newLoader())
                                   .send();
     }
 
+    @Override
+    public Promise<Void> subscribeToResources(String deviceId, String subscriberId) {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/" + deviceId + "/resources/subscription?subscriber=" +
+                           URL.encodeQueryString(subscriberId);
+
+        return asyncRequestFactory.createPostRequest(url, null).send();
+    }
+
+    @Override
+    public Promise<Void> unsubscribeFromResources(String deviceId, String subscriberId) {
+        final DevMachine devMachine = appContext.getDevMachine();
+        final String url = devMachine.getWsAgentBaseUrl() + "/artik/" + deviceId + "/resources/subscription?subscriber=" +
+                           URL.encodeQueryString(subscriberId);
+
+        return asyncRequestFactory.createDeleteRequest(url).send();
+    }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.FunctionException;
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.PromiseError;
+import org.eclipse.che.ide.api.workspace.event.MachineStatusChangedEvent;
+import org.eclipse.che.ide.api.workspace.event.WorkspaceStoppedEvent;
+import org.eclipse.che.plugin.artik.shared.dto.BootstrapDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceBootstrapDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of the devices shared by all the Artik components.
+ *
+ * <p>The snapshot with the devices, their processes, statuses and facts is loaded with a single request when it is
+ * requested first, so components which need the devices on workspace start don't request them separately.
+ * The snapshot is dropped when status of any device is changed or workspace is stopped, the next request loads
+ * the new one.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceStore implements MachineStatusChangedEvent.Handler, WorkspaceStoppedEvent.Handler {
+    private final DeviceServiceClient deviceServiceClient;
+
+    private Promise<BootstrapDto> bootstrap;
+
+    @Inject
+    public DeviceStore(DeviceServiceClient deviceServiceClient, EventBus eventBus) {
+        this.deviceServiceClient = deviceServiceClient;
+
+        eventBus.addHandler(MachineStatusChangedEvent.TYPE, this);
+        eventBus.addHandler(WorkspaceStoppedEvent.TYPE, this);
+    }
+
+    /** Returns snapshot of the devices, concurrent requests share the same snapshot. */
+    public Promise<BootstrapDto> getBootstrap() {
+        if (bootstrap == null) {
+            final Promise<BootstrapDto> loading = deviceServiceClient.getBootstrap();
+            loading.catchError(new Operation<PromiseError>() {
+                @Override
+                public void apply(PromiseError error) throws OperationException {
+                    // the next request should try again
+                    if (bootstrap == loading) {
+                        bootstrap = null;
+                    }
+                }
+            });
+            bootstrap = loading;
+        }
+        return bootstrap;
+    }
+
+    /** Returns the devices of the snapshot. */
+    public Promise<List<MachineDto>> getDevices() {
+        return getBootstrap().then(new Function<BootstrapDto, List<MachineDto>>() {
+            @Override
+            public List<MachineDto> apply(BootstrapDto snapshot) throws FunctionException {
+                final List<MachineDto> devices = new ArrayList<>(snapshot.getDevices().size());
+                for (DeviceBootstrapDto device : snapshot.getDevices()) {
+                    devices.add(device.getDevice());
+                }
+                return devices;
+            }
+        });
+    }
+
+    /** Drops the snapshot, the next request loads the new one. */
+    public void invalidate() {
+        bootstrap = null;
+    }
+
+    @Override
+    public void onMachineStatusChanged(MachineStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void onWorkspaceStopped(WorkspaceStoppedEvent event) {
+        invalidate();
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import org.eclipse.che.ide.websocket.Message;
+import org.eclipse.che.ide.websocket.rest.Unmarshallable;
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
+
+import java.util.List;
+
+/**
+ * Unmarshaller for output of the device process.
+ * Device sends several output lines in one message, this unmarshaller returns them one by one.
+ *
+ * @author Valeriy Svydenko
+ */
+public class OutputLinesUnmarshaller implements Unmarshallable<List<String>> {
+
+    private List<String> payload;
+
+    @Override
+    public void unmarshal(Message message) {
+        payload = OutputBatch.unpack(message.getBody());
+    }
+
+    @Override
+    public List<String> getPayload() {
+        return payload;
+    }
+
+}
@@ -25,16 +25,20 @@ import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.ide.workspace.WorkspaceEventsHandler;
 import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
 
+import java.util.List;
+
 import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.CONNECTED;
 import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.DISCONNECTED;
 
 /**
  * Handler to receive messages by subscription of Artik device.
+ * <p>
+ * Each message is a batch which contains the latest status event of each changed device.
  *
  * @author Valeriy Svydenko
  */
 @Singleton
-public class DeviceStatusSubscriptionHandler extends SubscriptionHandler<ArtikDeviceStatusEventDto>{
+public class DeviceStatusSubscriptionHandler extends SubscriptionHandler<List<ArtikDeviceStatusEventDto>> {
     private final EventBus eventBus;
     private final AppContext appContext;
 
@@ -42,14 +46,20 @@ public class DeviceStatusSubscriptionHandler extends SubscriptionHandler<ArtikDe
     DeviceStatusSubscriptionHandler(final EventBus eventBus,
                                     final DtoUnmarshallerFactory dtoUnmarshallerFactory,
                                     final AppContext appContext) {
-        super(dtoUnmarshallerFactory.newWSUnmarshaller(ArtikDeviceStatusEventDto.class));
+        super(dtoUnmarshallerFactory.newWSListUnmarshaller(ArtikDeviceStatusEventDto.class));
 
         this.eventBus = eventBus;
         this.appContext = appContext;
     }
 
     @Override
-    protected void onMessageReceived(ArtikDeviceStatusEventDto result) {
+    protected void onMessageReceived(List<ArtikDeviceStatusEventDto> events) {
+        for (ArtikDeviceStatusEventDto event : events) {
+            onStatusChanged(event);
+        }
+    }
+
+    private void onStatusChanged(ArtikDeviceStatusEventDto result) {
         final ArtikDeviceStatusEventDto.EventType eventType = result.getEventType();
 
         if (eventType == null) {
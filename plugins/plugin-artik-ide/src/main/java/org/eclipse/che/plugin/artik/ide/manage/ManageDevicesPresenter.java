@@ -42,13 +42,16 @@ import org.eclipse.che.ide.api.workspace.event.WorkspaceStoppedEvent;
 import org.eclipse.che.ide.collections.Jso;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.extension.machine.client.inject.factories.EntityFactory;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.StringUtils;
 import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
 import org.eclipse.che.plugin.artik.ide.discovery.DeviceDiscoveryServiceClient;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 import org.eclipse.che.plugin.artik.ide.profile.SoftwareManager;
 import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceDto;
 
@@ -63,6 +66,7 @@ import static java.util.Collections.emptyList;
 import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
 import static org.eclipse.che.ide.api.machine.events.MachineStateEvent.MachineAction.DESTROYED;
 import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DEVICE_STATUS_CHANNEL;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DISCOVERED_DEVICES_CHANNEL;
 
 /**
  * Presenter for managing Artik devices.
@@ -88,6 +92,7 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
     private final EntityFactory                   entityFactory;
     private final PreferencesManager              preferencesManager;
     private final DeviceServiceClient             deviceServiceClient;
+    private final DeviceStore                     deviceStore;
     private final DialogFactory                   dialogFactory;
     private final NotificationManager             notificationManager;
     private final ArtikLocalizationConstant       locale;
@@ -95,10 +100,15 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
     private final EventBus                        eventBus;
     private final MessageBusProvider              messageBusProvider;
     private final SoftwareManager                 softwareManager;
+    private final DtoUnmarshallerFactory          dtoUnmarshallerFactory;
 
     private final List<Device>            devices  = new ArrayList<>();
     private final Map<String, MachineDto> machines = new HashMap<>();
 
+    /* Hosts of the devices connected over USB and of the devices found in the network */
+    private final List<String> usbHosts     = new ArrayList<>();
+    private final List<String> networkHosts = new ArrayList<>();
+
     private Device             selectedDevice;
     /* Notification informing connecting to the target is in progress */
     private StatusNotification connectNotification;
@@ -112,19 +122,22 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
                                   final DtoFactory dtoFactory,
                                   final PreferencesManager preferencesManager,
                                   final DeviceServiceClient deviceServiceClient,
+                                  final DeviceStore deviceStore,
                                   final DialogFactory dialogFactory,
                                   final NotificationManager notificationManager,
                                   final ArtikLocalizationConstant locale,
                                   final DeviceDiscoveryServiceClient deviceDiscoveryService,
                                   final EventBus eventBus,
                                   final MessageBusProvider messageBusProvider,
-                                  final SoftwareManager softwareManager) {
+                                  final SoftwareManager softwareManager,
+                                  final DtoUnmarshallerFactory dtoUnmarshallerFactory) {
         this.view = view;
         this.entityFactory = entityFactory;
         this.deviceStatusSubscriptionHandler = deviceStatusSubscriptionHandler;
         this.dtoFactory = dtoFactory;
         this.preferencesManager = preferencesManager;
         this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.dialogFactory = dialogFactory;
         this.notificationManager = notificationManager;
         this.locale = locale;
@@ -132,6 +145,7 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
         this.eventBus = eventBus;
         this.messageBusProvider = messageBusProvider;
         this.softwareManager = softwareManager;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
 
         view.setDelegate(this);
 
@@ -144,6 +158,7 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
     public void onWsAgentStarted(WsAgentStateEvent event) {
         checkArtikDeviceExists();
         subscribeOnDeviceStatusChanel();
+        subscribeOnDiscoveredDevicesChanel();
     }
 
     @Override
@@ -169,7 +184,7 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
     }
 
     private void checkArtikDeviceExists() {
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> arg) throws OperationException {
                 if (arg.isEmpty()) {
@@ -243,6 +258,26 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
         }
     }
 
+    private void subscribeOnDiscoveredDevicesChanel() {
+        final SubscriptionHandler<List<ArtikDeviceDto>> handler =
+                new SubscriptionHandler<List<ArtikDeviceDto>>(dtoUnmarshallerFactory.newWSListUnmarshaller(ArtikDeviceDto.class)) {
+                    @Override
+                    protected void onMessageReceived(List<ArtikDeviceDto> devices) {
+                        showDiscoveredDevices(devices);
+                    }
+
+                    @Override
+                    protected void onErrorReceived(Throwable exception) {
+                        Log.error(ManageDevicesPresenter.class, exception);
+                    }
+                };
+        try {
+            messageBusProvider.getMachineMessageBus().subscribe(ARTIK_DISCOVERED_DEVICES_CHANNEL, handler);
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+        }
+    }
+
     /**
      * Opens Manage devices popup.
      */
@@ -269,21 +304,58 @@ public class ManageDevicesPresenter implements ManageDevicesView.ActionDelegate,
         promise.then(new Operation<List<ArtikDeviceDto>>() {
             @Override
             public void apply(List<ArtikDeviceDto> devices) throws OperationException {
-                List<String> hosts = new ArrayList<String>();
-                for (ArtikDeviceDto device : devices) {
-                    hosts.add(device.getIPAddress());
-                }
-                view.setHosts(hosts);
+                showDiscoveredDevices(devices);
             }
         });
 
         promise.catchError(new Operation<PromiseError>() {
             @Override
             public void apply(PromiseError e) throws OperationException {
-                view.setHosts(null);
+                usbHosts.clear();
+                showHosts();
                 Log.error(ManageDevicesPresenter.class, "Failed to discover devices. " + e.getMessage());
             }
         });
+
+        deviceDiscoveryService.getNetworkDevices().then(new Operation<List<ArtikDeviceDto>>() {
+            @Override
+            public void apply(List<ArtikDeviceDto> devices) throws OperationException {
+                networkHosts.clear();
+                for (ArtikDeviceDto device : devices) {
+                    networkHosts.add(device.getIPAddress());
+                }
+                showHosts();
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError e) throws OperationException {
+                Log.error(ManageDevicesPresenter.class, "Failed to discover devices in the network. " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Shows hosts of the discovered devices.
+     */
+    private void showDiscoveredDevices(List<ArtikDeviceDto> devices) {
+        usbHosts.clear();
+        for (ArtikDeviceDto device : devices) {
+            usbHosts.add(device.getIPAddress());
+        }
+        showHosts();
+    }
+
+    /**
+     * Shows hosts of the devices connected over USB followed by the hosts found in the network only.
+     */
+    private void showHosts() {
+        List<String> hosts = new ArrayList<String>(usbHosts);
+        for (String host : networkHosts) {
+            if (!hosts.contains(host)) {
+                hosts.add(host);
+            }
+        }
+        view.setHosts(hosts);
     }
 
     /**
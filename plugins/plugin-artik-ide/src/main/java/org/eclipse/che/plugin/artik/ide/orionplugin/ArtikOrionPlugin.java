@@ -19,8 +19,8 @@ import org.eclipse.che.ide.editor.orion.client.inject.OrionPlugin;
 /**
  * Provides path to the Orion plugin that adds functionality needed for Artik.
  * <p>
- * Also responsible for setting WS-agent base URL to the global JS object 'window',
- * which is used by Orion Artik plugin (artikPlugin.html).
+ * Also responsible for setting WS-agent base URL and address of the machine which serves Artik API docs
+ * to the global JS object 'window', which are used by Orion Artik plugin (artikPlugin.html).
  *
  * @author Artem Zatsarynnyi
  */
@@ -33,12 +33,17 @@ public class ArtikOrionPlugin implements OrionPlugin {
         // plugin is loading on Orion initialization stage
         // so WS-agent have to be running
         setWsAgentBaseUrl(appContext.getDevMachine().getWsAgentBaseUrl());
+        setDocsAddress(appContext.getDevMachine().getAddress());
     }
 
     private final native void setWsAgentBaseUrl(String url) /*-{
         $wnd.wsAgentURL = url;
     }-*/;
 
+    private final native void setDocsAddress(String address) /*-{
+        $wnd.artikDocsAddress = address;
+    }-*/;
+
     @Override
     public String getRelPath() {
         return "artikOrionPlugin/artikPlugin.html";
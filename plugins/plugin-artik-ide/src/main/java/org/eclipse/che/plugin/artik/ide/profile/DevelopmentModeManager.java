@@ -39,20 +39,19 @@ import org.eclipse.che.ide.api.dialogs.DialogFactory;
 import org.eclipse.che.ide.api.machine.events.MachineStateEvent;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
-import org.eclipse.che.ide.commons.exception.UnmarshallerException;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.extension.machine.client.processes.panel.ProcessesPanelPresenter;
 import org.eclipse.che.ide.util.UUID;
 import org.eclipse.che.ide.util.loging.Log;
-import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
-import org.eclipse.che.ide.websocket.rest.Unmarshallable;
 import org.eclipse.che.plugin.artik.ide.ArtikExtension;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
+import org.eclipse.che.plugin.artik.ide.machine.OutputLinesUnmarshaller;
 import org.eclipse.che.plugin.artik.ide.installpkg.PackageInstallerAction;
 
 import java.util.HashMap;
@@ -81,6 +80,7 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
     private final ArtikModeActionFactory  artikModeActionFactory;
     private final MessageBusProvider      messageBusProvider;
     private final DeviceServiceClient     deviceServiceClient;
+    private final DeviceStore             deviceStore;
     private final DtoFactory              dtoFactory;
     private final ArtikResources          resources;
     private final ProcessesPanelPresenter processesPanelPresenter;
@@ -106,6 +106,7 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
                                   MessageBusProvider messageBusProvider,
                                   DtoFactory dtoFactory,
                                   DeviceServiceClient deviceServiceClient,
+                                  DeviceStore deviceStore,
                                   ArtikResources resources,
                                   ProcessesPanelPresenter processesPanelPresenter,
                                   DialogFactory dialogFactory,
@@ -115,6 +116,7 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
         this.messageBusProvider = messageBusProvider;
         this.dtoFactory = dtoFactory;
         this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.resources = resources;
         this.processesPanelPresenter = processesPanelPresenter;
         this.dialogFactory = dialogFactory;
@@ -185,7 +187,7 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
         final DefaultActionGroup artikGroup = (DefaultActionGroup)actionManager.getAction(ArtikExtension.ARTIK_GROUP_MAIN_MENU_ID);
         artikGroup.addSeparator();
 
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> machines) throws OperationException {
                 for (Machine machine : machines) {
@@ -262,14 +264,16 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
 
         try {
             final MessageBus machineMessageBus = messageBusProvider.getMachineMessageBus();
-            machineMessageBus.subscribe(chanel, new SubscriptionHandler<String>(new CommandOutputUnmarshaller()) {
+            machineMessageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputLinesUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if ("[STDOUT] >>> end <<<".equals(message)) {
-                        machineMessageBus.unsubscribeSilently(chanel, this);
-                        processesPanelPresenter.printMachineOutput(deviceName, "");
-                        commandCallback.onSuccess(message);
-                    } else {
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if ("[STDOUT] >>> end <<<".equals(message)) {
+                            machineMessageBus.unsubscribeSilently(chanel, this);
+                            processesPanelPresenter.printMachineOutput(deviceName, "");
+                            commandCallback.onSuccess(message);
+                            return;
+                        }
                         if (message.startsWith("[STDOUT] ")) {
                             processesPanelPresenter.printMachineOutput(deviceName, message.substring(9));
                         } else if (message.startsWith("[STDERR] ")) {
@@ -306,22 +310,6 @@ public class DevelopmentModeManager implements MachineStateEvent.Handler {
         return promise;
     }
 
-    private class CommandOutputUnmarshaller implements Unmarshallable<String> {
-
-        private String payload;
-
-        @Override
-        public void unmarshal(Message response) throws UnmarshallerException {
-            payload = response.getBody();
-        }
-
-        @Override
-        public String getPayload() {
-            return payload;
-        }
-
-    }
-
     public void turnOnProductionMode(final String machineName) {
         final String title = "Production Mode";
         final String message = "Production mode will uninstall software and dependencies for Artik IDE, and delete projects backups.<br>" +
@@ -27,10 +27,12 @@ import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
-import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.OutputLinesUnmarshaller;
+
+import java.util.List;
 
 import static org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper.createFromAsyncRequest;
 import static org.eclipse.che.plugin.artik.ide.profile.Software.GDB_SERVER;
@@ -94,16 +96,18 @@ public class SoftwareInstaller {
     private void readChannel(final String deviceName, final String chanel, final AsyncCallback<Void> commandCallback) {
         final MessageBus messageBus = messageBusProvider.getMachineMessageBus();
         try {
-            messageBus.subscribe(chanel, new SubscriptionHandler<String>(new StringUnmarshallerWS()) {
+            messageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputLinesUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if ("[STDOUT] >>> end <<<".equals(message)) {
-                        messageBus.unsubscribeSilently(chanel, this);
-                        processesPanelPresenter.printMachineOutput(deviceName, "\n");
-                        commandCallback.onSuccess(null);
-
-                        Log.debug(getClass(), message);
-                    } else {
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if ("[STDOUT] >>> end <<<".equals(message)) {
+                            messageBus.unsubscribeSilently(chanel, this);
+                            processesPanelPresenter.printMachineOutput(deviceName, "\n");
+                            commandCallback.onSuccess(null);
+
+                            Log.debug(getClass(), message);
+                            return;
+                        }
                         if (message.startsWith("[STDOUT] ")) {
                             processesPanelPresenter.printMachineOutput(deviceName, message.substring(9));
 
@@ -11,39 +11,39 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.artik.ide.resourcemonitor;
 
+import com.google.gwt.user.client.Random;
+import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.web.bindery.event.shared.EventBus;
 
-import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.model.machine.Machine;
-import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
-import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.promises.client.Operation;
 import org.eclipse.che.api.promises.client.OperationException;
-import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.machine.events.MachineStateEvent;
 import org.eclipse.che.ide.api.workspace.event.WorkspaceStartedEvent;
 import org.eclipse.che.ide.api.workspace.event.WorkspaceStoppedEvent;
-import org.eclipse.che.ide.commons.exception.UnmarshallerException;
-import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.extension.machine.client.processes.monitoring.MachineMonitors;
-import org.eclipse.che.ide.util.UUID;
-import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
-import org.eclipse.che.ide.websocket.rest.Unmarshallable;
-import org.eclipse.che.plugin.artik.ide.ArtikResources;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
 
 import java.util.HashMap;
 import java.util.List;
 
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RESOURCES_CHANNEL_PREFIX;
+
 /**
- * Resources monitor asks Artik machines for CPU, memory and disk usages
- * and displays them in the consoles tree.
+ * Resources monitor displays CPU, memory and disk usages of Artik machines in the consoles tree.
+ *
+ * <p>The usage is collected by the workspace agent, the monitor subscribes to it and applies the
+ * {@link ResourceUsage} messages streamed to the channel of the device. The subscription expires
+ * on the agent unless it is renewed, so it doesn't outlive the IDE which is closed without unsubscribing.
  *
  * @author Vitaliy Guliy
  */
@@ -51,27 +51,28 @@ import java.util.List;
 public class ResourceMonitor implements MachineStateEvent.Handler,
                                         WorkspaceStartedEvent.Handler,
                                         WorkspaceStoppedEvent.Handler {
+    /** Period of the subscription renewal, it is shorter than the subscription lease on the agent. */
+    private static final int RENEW_SUBSCRIPTION_MS = 20_000;
 
     private final DeviceServiceClient  deviceServiceClient;
+    private final DeviceStore          deviceStore;
     private final MachineMonitors      machineMonitors;
-    private final ArtikResources       resources;
     private final MessageBusProvider   messageBusProvider;
-    private final DtoFactory           dtoFactory;
+    private final String               subscriberId;
 
     private final HashMap<String, MonitorAgent> monitorAgents;
 
     @Inject
     public ResourceMonitor(DeviceServiceClient deviceServiceClient,
+                           DeviceStore deviceStore,
                            EventBus eventBus,
                            MachineMonitors machineMonitors,
-                           ArtikResources resources,
-                           MessageBusProvider messageBusProvider,
-                           DtoFactory dtoFactory) {
+                           MessageBusProvider messageBusProvider) {
         this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.machineMonitors = machineMonitors;
-        this.resources = resources;
         this.messageBusProvider = messageBusProvider;
-        this.dtoFactory = dtoFactory;
+        this.subscriberId = Integer.toHexString(Random.nextInt()) + Integer.toHexString(Random.nextInt());
 
         monitorAgents = new HashMap<>();
 
@@ -80,6 +81,16 @@ public class ResourceMonitor implements MachineStateEvent.Handler,
         eventBus.addHandler(WorkspaceStoppedEvent.TYPE, this);
     }
 
+    /**
+     * Returns the latest resource usage of the device, including usage of each CPU core, network and disk I/O.
+     *
+     * @return usage of the device or {@code null} if the device isn't monitored or no usage is received yet
+     */
+    public ResourceUsage getUsage(String deviceId) {
+        final MonitorAgent monitorAgent = monitorAgents.get(deviceId);
+        return monitorAgent != null && monitorAgent.usage.isComplete() ? monitorAgent.usage : null;
+    }
+
     @Override
     public void onMachineCreating(MachineStateEvent event) {
     }
@@ -87,7 +98,7 @@ public class ResourceMonitor implements MachineStateEvent.Handler,
     @Override
     public void onMachineRunning(MachineStateEvent event) {
         if ("artik".equals(event.getMachine().getConfig().getType())) {
-            monitorAgents.put(event.getMachine().getId(), new MonitorAgent(event.getMachine()));
+            startAgent(event.getMachine());
         }
     }
 
@@ -101,11 +112,11 @@ public class ResourceMonitor implements MachineStateEvent.Handler,
 
     @Override
     public void onWorkspaceStarted(WorkspaceStartedEvent event) {
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> devices) throws OperationException {
                 for (MachineDto device : devices) {
-                    monitorAgents.put(device.getId(), new MonitorAgent(device));
+                    startAgent(device);
                 }
             }
         });
@@ -120,127 +131,68 @@ public class ResourceMonitor implements MachineStateEvent.Handler,
         monitorAgents.clear();
     }
 
+    private void startAgent(Machine device) {
+        if (!monitorAgents.containsKey(device.getId())) {
+            monitorAgents.put(device.getId(), new MonitorAgent(device));
+        }
+    }
+
     /**
-     * Monitor agent running a special command to get the statistic,
-     * listening the command output and updating the monitor widgets.
+     * Monitor agent subscribing to the resource usage of the device
+     * and updating the monitor widgets.
      */
     private class MonitorAgent extends SubscriptionHandler<String> {
-        private final Machine device;
-
-        private MachineProcessDto machineProcessDto;
-        private String            channel;
+        private final Machine       device;
+        private final String        channel;
+        private final ResourceUsage usage;
+        private final Timer         renewTimer;
 
         public MonitorAgent(Machine machine) {
-            super(new CommandOutputUnmarshaller());
+            super(new StringUnmarshallerWS());
             this.device = machine;
-
-            checkMonitorProcess();
-        }
-
-        private void checkMonitorProcess() {
-            deviceServiceClient.getProcesses(device.getId()).then(new Operation<List<MachineProcessDto>>() {
+            this.channel = ARTIK_RESOURCES_CHANNEL_PREFIX + machine.getId();
+            this.usage = new ResourceUsage();
+            this.renewTimer = new Timer() {
                 @Override
-                public void apply(List<MachineProcessDto> arg) throws OperationException {
-                    for (MachineProcessDto processDto : arg) {
-                        if (processDto.getCommandLine() != null && !processDto.getCommandLine().isEmpty()
-                            && processDto.getCommandLine().startsWith("#hidden monitor process")) {
-                            connectToProcess(processDto);
-                            return;
-                        }
-                    }
-
-                    runMonitorProcess();
+                public void run() {
+                    deviceServiceClient.subscribeToResources(device.getId(), subscriberId);
                 }
-            }).catchError(new Operation<PromiseError>() {
-                @Override
-                public void apply(PromiseError arg) throws OperationException {
-                    runMonitorProcess();
-                }
-            });
-        }
-
-        private void runMonitorProcess() {
-            channel = "process:output:" + UUID.uuid();
-
-            try {
-                messageBusProvider.getMachineMessageBus().subscribe(channel, this);
-
-                Command command = dtoFactory.createDto(CommandDto.class)
-                                            .withName("name")
-                                            .withType("custom")
-                                            .withCommandLine(resources.getMonitorAllCommand().getText());
-
-                deviceServiceClient.executeCommand(device.getId(), command, channel).then(new Operation<MachineProcessDto>() {
-                    @Override
-                    public void apply(MachineProcessDto processDto) throws OperationException {
-                        machineProcessDto = processDto;
-                    }
-                });
-            } catch (WebSocketException e) {
-                // Ignore and do nothing
-            }
-        }
-
-        private void connectToProcess(MachineProcessDto processDto) {
-            machineProcessDto = processDto;
-            channel = processDto.getOutputChannel();
+            };
 
             try {
+                // subscribe to the channel first to not miss the full sample sent on subscription
                 messageBusProvider.getMachineMessageBus().subscribe(channel, this);
+                deviceServiceClient.subscribeToResources(device.getId(), subscriberId);
+                renewTimer.scheduleRepeating(RENEW_SUBSCRIPTION_MS);
             } catch (WebSocketException e) {
                 // Ignore and do nothing
             }
         }
 
         public void stop() {
-            if (channel != null) {
-                messageBusProvider.getMachineMessageBus().unsubscribeSilently(channel, this);
-            }
-
-            if (machineProcessDto != null) {
-                deviceServiceClient.stopProcess(device.getId(), machineProcessDto.getPid());
-            }
+            renewTimer.cancel();
+            messageBusProvider.getMachineMessageBus().unsubscribeSilently(channel, this);
+            deviceServiceClient.unsubscribeFromResources(device.getId(), subscriberId);
         }
 
         @Override
         protected void onMessageReceived(String message) {
-            if (message.startsWith("[STDOUT] ")) {
-                message = message.substring(9);
+            if (!usage.apply(message)) {
+                return;
             }
 
-            // CPU_USED MEM_USED MEM_TOTAL DISK_USED DISK_TOTAL
-            String[] parts = message.split(" ");
-
-            // CPU usage
-            int cpu = (int)Math.rint(Double.valueOf(parts[0]) * 100);
-            machineMonitors.setCpuUsage(device.getId(), cpu);
-
-            // Memory usage
-            machineMonitors.setMemoryUsage(device.getId(), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
-
-            // Disk usage
-            machineMonitors.setDiskUsage(device.getId(), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]));
+            machineMonitors.setCpuUsage(device.getId(), usage.getCpu().length > 0 ? usage.getCpu()[0] : 0);
+            machineMonitors.setMemoryUsage(device.getId(),
+                                           (int)(usage.getMemoryUsed() / 1024),
+                                           (int)(usage.getMemoryTotal() / 1024));
+            machineMonitors.setDiskUsage(device.getId(), (int)usage.getDiskUsed(), (int)usage.getDiskTotal());
         }
 
         @Override
         protected void onErrorReceived(Throwable throwable) {
+            renewTimer.cancel();
             messageBusProvider.getMachineMessageBus().unsubscribeSilently(channel, this);
         }
     }
 
-    private class CommandOutputUnmarshaller implements Unmarshallable<String> {
-
-        private String payload;
-
-        @Override
-        public void unmarshal(Message response) throws UnmarshallerException {
-            payload = response.getBody();
-        }
-
-        @Override
-        public String getPayload() {
-            return payload;
-        }
-    }
-
 }
@@ -39,6 +39,7 @@ import org.eclipse.che.ide.websocket.events.MessageHandler;
 import org.eclipse.che.plugin.artik.ide.command.macro.ReplicationFolderMacro;
 import org.eclipse.che.plugin.artik.ide.debug.ProcessListener;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.che.plugin.artik.ide.command.macro.BinaryNameMacro.DEFAULT_BINARY_NAME;
@@ -100,7 +101,9 @@ public class BinaryFileRunner {
         final MessageHandler messageHandler = new MessageHandler() {
             @Override
             public void onMessage(String message) {
-                outputConsole.printText(message);
+                for (String line : OutputBatch.unpack(message)) {
+                    outputConsole.printText(line);
+                }
             }
         };
         try {
@@ -33,7 +33,7 @@ import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
 import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
-import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 import org.eclipse.che.plugin.artik.ide.scp.action.ChooseTargetAction;
 import org.eclipse.che.plugin.artik.ide.scp.action.PushToDeviceAction;
 import org.eclipse.che.plugin.artik.ide.scp.action.PushToDeviceActionFactory;
@@ -64,18 +64,18 @@ public class PushToDeviceManager implements MachineStateEvent.Handler {
     private final PushToDeviceActionFactory    pushToDeviceActionFactory;
     private final DefaultActionGroup           pushToDeviceGroup;
     private final Provider<ChooseTargetAction> chooseTargetActionProvider;
-    private final DeviceServiceClient          deviceServiceClient;
+    private final DeviceStore                  deviceStore;
 
     @Inject
     public PushToDeviceManager(PushToDeviceServiceClient scpService,
-                               DeviceServiceClient deviceServiceClient,
+                               DeviceStore deviceStore,
                                NotificationManager notificationManager,
                                ArtikLocalizationConstant locale,
                                EventBus eventBus,
                                ActionManager actionManager,
                                PushToDeviceActionFactory pushToDeviceActionFactory,
                                Provider<ChooseTargetAction> chooseTargetActionProvider) {
-        this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.devices = new HashMap<>();
         this.scpService = scpService;
         this.notificationManager = notificationManager;
@@ -92,7 +92,7 @@ public class PushToDeviceManager implements MachineStateEvent.Handler {
     public void fetchSshMachines() {
         DefaultActionGroup resourceOperationGroup = (DefaultActionGroup)actionManager.getAction("resourceOperation");
         resourceOperationGroup.add(pushToDeviceGroup);
-        deviceServiceClient.getDevices().then(new Operation<List<MachineDto>>() {
+        deviceStore.getDevices().then(new Operation<List<MachineDto>>() {
             @Override
             public void apply(List<MachineDto> devices) throws OperationException {
                 for (Machine device : devices) {
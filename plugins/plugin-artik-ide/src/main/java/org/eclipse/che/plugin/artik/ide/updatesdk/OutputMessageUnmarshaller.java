@@ -11,33 +11,34 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.artik.ide.updatesdk;
 
-import com.google.gwt.json.client.JSONParser;
-import com.google.gwt.json.client.JSONString;
-
 import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.rest.Unmarshallable;
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Unmarshaller for command's output.
- * Cuts leading '[STDOUT]' prefix.
+ * Splits batched output into lines and cuts leading '[STDOUT]' prefix of each line.
  *
  * @author Artem Zatsarynnyi
  */
-public class OutputMessageUnmarshaller implements Unmarshallable<String> {
+public class OutputMessageUnmarshaller implements Unmarshallable<List<String>> {
 
-    private String payload;
+    private List<String> payload;
 
     @Override
     public void unmarshal(Message message) {
-        payload = message.getBody();
+        payload = new ArrayList<>();
 
-        if (payload.startsWith("[STDOUT] ")) {
-            payload = payload.substring(9);
+        for (String line : OutputBatch.unpack(message.getBody())) {
+            payload.add(line.startsWith("[STDOUT] ") ? line.substring(9) : line);
         }
     }
 
     @Override
-    public String getPayload() {
+    public List<String> getPayload() {
         return payload;
     }
 
@@ -35,10 +35,10 @@ import org.eclipse.che.ide.util.UUID;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
 import org.eclipse.che.ide.websocket.WebSocketException;
-import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
 import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.OutputLinesUnmarshaller;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -101,15 +101,17 @@ public class SDKInstaller {
         final Set<String> versions = new HashSet<>();
 
         try {
-            messageBusProvider.getMessageBus().subscribe(chanel, new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
+            messageBusProvider.getMessageBus().subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputMessageUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if (isErrorMessage(message)) {
-                        checkVersionsCallback.onFailure(new Exception(message));
-                    } else if (">>> end <<<".equals(message)) {
-                        checkVersionsCallback.onSuccess(new ArrayList<>(versions));
-                    } else {
-                        versions.add(message);
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if (isErrorMessage(message)) {
+                            checkVersionsCallback.onFailure(new Exception(message));
+                        } else if (">>> end <<<".equals(message)) {
+                            checkVersionsCallback.onSuccess(new ArrayList<>(versions));
+                        } else {
+                            versions.add(message);
+                        }
                     }
                 }
 
@@ -150,13 +152,15 @@ public class SDKInstaller {
                                       messageBusProvider.getMachineMessageBus();
 
         try {
-            messageBus.subscribe(chanel, new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
+            messageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputMessageUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if (isErrorMessage(message)) {
-                        checkVersionCallback.onFailure(new Exception(message));
-                    } else {
-                        checkVersionCallback.onSuccess(message);
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if (isErrorMessage(message)) {
+                            checkVersionCallback.onFailure(new Exception(message));
+                        } else {
+                            checkVersionCallback.onSuccess(message);
+                        }
                     }
                 }
 
@@ -205,13 +209,15 @@ public class SDKInstaller {
                                       messageBusProvider.getMachineMessageBus();
 
         try {
-            messageBus.subscribe(chanel, new SubscriptionHandler<String>(new StringUnmarshallerWS()) {
+            messageBus.subscribe(chanel, new SubscriptionHandler<List<String>>(new OutputLinesUnmarshaller()) {
                 @Override
-                protected void onMessageReceived(String message) {
-                    if (message.contains("The latest Artik SDK installed")) {
-                        updateCallback.onSuccess(message);
-                    } else if (isErrorMessage(message)) {
-                        updateCallback.onFailure(new Exception(message));
+                protected void onMessageReceived(List<String> lines) {
+                    for (String message : lines) {
+                        if (message.contains("The latest Artik SDK installed")) {
+                            updateCallback.onSuccess(message);
+                        } else if (isErrorMessage(message)) {
+                            updateCallback.onFailure(new Exception(message));
+                        }
                     }
                 }
 
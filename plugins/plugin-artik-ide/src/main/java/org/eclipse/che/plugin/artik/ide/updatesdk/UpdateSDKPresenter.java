@@ -36,7 +36,7 @@ import org.eclipse.che.ide.api.workspace.WorkspaceServiceClient;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
 import org.eclipse.che.ide.ui.loaders.request.MessageLoader;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
-import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -56,7 +56,7 @@ public class UpdateSDKPresenter implements UpdateSDKView.ActionDelegate {
 
     private final UpdateSDKView              view;
     private final AppContext                 appContext;
-    private final DeviceServiceClient        deviceServiceClient;
+    private final DeviceStore                deviceStore;
     private final NotificationManager        notificationManager;
     private final Provider<SDKInstaller>     sdkUpdaterProvider;
     private final ArtikLocalizationConstant  localizationConstants;
@@ -68,7 +68,7 @@ public class UpdateSDKPresenter implements UpdateSDKView.ActionDelegate {
     @Inject
     public UpdateSDKPresenter(UpdateSDKView view,
                               AppContext appContext,
-                              DeviceServiceClient deviceServiceClient,
+                              DeviceStore deviceStore,
                               NotificationManager notificationManager,
                               Provider<SDKInstaller> sdkUpdaterProvider,
                               ArtikLocalizationConstant localizationConstants,
@@ -77,7 +77,7 @@ public class UpdateSDKPresenter implements UpdateSDKView.ActionDelegate {
                               LoaderFactory loaderFactory) {
         this.view = view;
         this.appContext = appContext;
-        this.deviceServiceClient = deviceServiceClient;
+        this.deviceStore = deviceStore;
         this.notificationManager = notificationManager;
         this.sdkUpdaterProvider = sdkUpdaterProvider;
         this.localizationConstants = localizationConstants;
@@ -122,7 +122,7 @@ public class UpdateSDKPresenter implements UpdateSDKView.ActionDelegate {
 
     private void fillTargetsForUpdate() {
         loader.show();
-        deviceServiceClient.getDevices().then(new Function<List<MachineDto>, List<TargetForUpdate>>() {
+        deviceStore.getDevices().then(new Function<List<MachineDto>, List<TargetForUpdate>>() {
             @Override
             public List<TargetForUpdate> apply(List<MachineDto> machines) throws FunctionException {
                 List<TargetForUpdate> list = new ArrayList<>();
@@ -14,21 +14,34 @@ package org.eclipse.che.plugin.artik.ide.apidocs;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.web.bindery.event.shared.EventBus;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.machine.DevMachine;
 import org.eclipse.che.ide.api.parts.PartStackType;
 import org.eclipse.che.ide.api.parts.WorkspaceAgent;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
 import org.eclipse.che.plugin.artik.ide.ArtikResources;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +61,13 @@ public class DocsPartPresenterTest {
     private ArtikLocalizationConstant localizationConstants;
     @Mock
     private EventBus                  eventBus;
+    @Mock
+    private DocsSearchServiceClient   docsSearchService;
+
+    @Mock
+    private Promise<List<DocsSearchResultDto>>                   searchPromise;
+    @Captor
+    private ArgumentCaptor<Operation<List<DocsSearchResultDto>>> searchCaptor;
 
     @InjectMocks
     private DocsPartPresenter presenter;
@@ -114,4 +134,60 @@ public class DocsPartPresenterTest {
 
         assertEquals("http://localhost:32806/artikdocs", docURL);
     }
+
+    @Test
+    public void shouldSetDelegate() throws Exception {
+        verify(view).setDelegate(presenter);
+    }
+
+    @Test
+    public void shouldClearSearchResultsWhenQueryIsEmpty() throws Exception {
+        presenter.onSearch("  ");
+
+        verify(view).clearSearchResults();
+        verify(docsSearchService, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    public void shouldShowSearchResults() throws Exception {
+        mockSearch();
+        List<DocsSearchResultDto> results = Collections.singletonList(mock(DocsSearchResultDto.class));
+
+        presenter.onSearch(" gpio ");
+
+        verify(docsSearchService).search("gpio", DocsPartPresenter.SEARCH_LIMIT);
+        verify(searchPromise).then(searchCaptor.capture());
+        searchCaptor.getValue().apply(results);
+        verify(view).setSearchResults(results);
+    }
+
+    @Test
+    public void shouldDropResultsOfPreviousQuery() throws Exception {
+        mockSearch();
+
+        presenter.onSearch("gp");
+        presenter.onSearch("gpio");
+
+        verify(searchPromise, times(2)).then(searchCaptor.capture());
+        searchCaptor.getAllValues().get(0).apply(Collections.<DocsSearchResultDto>emptyList());
+        verify(view, never()).setSearchResults(anyListOf(DocsSearchResultDto.class));
+    }
+
+    @Test
+    public void shouldOpenSelectedPage() throws Exception {
+        DevMachine devMachine = mock(DevMachine.class);
+        when(devMachine.getAddress()).thenReturn("http://localhost:32806");
+        when(appContext.getDevMachine()).thenReturn(devMachine);
+        DocsSearchResultDto result = mock(DocsSearchResultDto.class);
+        when(result.getLink()).thenReturn("/artikdocs/group__gpio.html");
+
+        presenter.onSearchResultSelected(result);
+
+        verify(view).setURL("http://localhost:32806/artikdocs/group__gpio.html");
+    }
+
+    private void mockSearch() {
+        when(docsSearchService.search(anyString(), anyInt())).thenReturn(searchPromise);
+        when(searchPromise.then(Matchers.<Operation<List<DocsSearchResultDto>>>anyObject())).thenReturn(searchPromise);
+    }
 }
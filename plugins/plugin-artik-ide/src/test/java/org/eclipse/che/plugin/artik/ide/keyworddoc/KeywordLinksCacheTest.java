@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.keyworddoc;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** @author Valeriy Svydenko */
+public class KeywordLinksCacheTest {
+
+    private KeywordLinksCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new KeywordLinksCache(2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedLink() throws Exception {
+        cache.put("artik_gpio_request", "/artikdocs/gpio.html");
+        cache.put("artik_pwm_request", "/artikdocs/pwm.html");
+        cache.get("artik_gpio_request");
+
+        cache.put("artik_i2c_request", "/artikdocs/i2c.html");
+
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.get("artik_gpio_request"), "/artikdocs/gpio.html");
+        assertNull(cache.get("artik_pwm_request"));
+    }
+
+    @Test
+    public void shouldKeepLinksWhileVersionIsNotChanged() throws Exception {
+        cache.updateVersion("\"1\"");
+        cache.put("artik_gpio_request", "/artikdocs/gpio.html");
+
+        cache.updateVersion("\"1\"");
+        cache.updateVersion(null);
+
+        assertEquals(cache.get("artik_gpio_request"), "/artikdocs/gpio.html");
+    }
+
+    @Test
+    public void shouldDropLinksWhenVersionIsChanged() throws Exception {
+        cache.updateVersion("\"1\"");
+        cache.put("artik_gpio_request", "/artikdocs/gpio.html");
+
+        cache.updateVersion("\"2\"");
+
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldKeepVersionWhenLinksAreCleared() throws Exception {
+        cache.updateVersion("\"1\"");
+        cache.put("artik_gpio_request", "/artikdocs/gpio.html");
+
+        cache.clear();
+        cache.put("artik_pwm_request", "/artikdocs/pwm.html");
+        cache.updateVersion("\"1\"");
+
+        assertNull(cache.get("artik_gpio_request"));
+        assertEquals(cache.get("artik_pwm_request"), "/artikdocs/pwm.html");
+    }
+}
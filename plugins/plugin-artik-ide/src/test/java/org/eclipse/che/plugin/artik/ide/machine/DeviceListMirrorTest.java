@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** @author Valeriy Svydenko */
+public class DeviceListMirrorTest {
+
+    private DeviceListMirror mirror;
+    private MachineDto       device1;
+    private MachineDto       device2;
+
+    @Before
+    public void setUp() throws Exception {
+        mirror = new DeviceListMirror();
+        device1 = device("device1");
+        device2 = device("device2");
+    }
+
+    @Test
+    public void shouldApplyChanges() throws Exception {
+        mirror.apply(changes(10, true, asList(device1, device2), Collections.<String>emptyList()));
+        final MachineDto updated = device("device1");
+
+        mirror.apply(changes(12, false, asList(updated), Collections.<String>emptyList()));
+
+        assertEquals(mirror.getVersion(), 12);
+        assertEquals(mirror.getDevices(), asList(updated, device2));
+    }
+
+    @Test
+    public void shouldRemoveDevices() throws Exception {
+        mirror.apply(changes(10, true, asList(device1, device2), Collections.<String>emptyList()));
+
+        mirror.apply(changes(11, false, Collections.<MachineDto>emptyList(), asList("device1")));
+
+        assertEquals(mirror.getDevices(), asList(device2));
+    }
+
+    @Test
+    public void shouldReplaceDevicesWithFullList() throws Exception {
+        mirror.apply(changes(10, true, asList(device1), Collections.<String>emptyList()));
+
+        mirror.apply(changes(20, true, asList(device2), Collections.<String>emptyList()));
+
+        assertEquals(mirror.getDevices(), asList(device2));
+    }
+
+    @Test
+    public void shouldIgnoreOutdatedChanges() throws Exception {
+        mirror.apply(changes(10, true, asList(device1, device2), Collections.<String>emptyList()));
+
+        mirror.apply(changes(9, false, Collections.<MachineDto>emptyList(), asList("device1")));
+
+        assertEquals(mirror.getVersion(), 10);
+        assertEquals(mirror.getDevices(), asList(device1, device2));
+    }
+
+    private static MachineDto device(String id) {
+        final MachineDto device = mock(MachineDto.class);
+        when(device.getId()).thenReturn(id);
+        return device;
+    }
+
+    private static DeviceListDto changes(long version, boolean full, List<MachineDto> devices, List<String> removed) {
+        final DeviceListDto changes = mock(DeviceListDto.class);
+        when(changes.getVersion()).thenReturn(version);
+        when(changes.isFull()).thenReturn(full);
+        when(changes.getDevices()).thenReturn(devices);
+        when(changes.getRemoved()).thenReturn(removed);
+        return changes;
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.jsonrpc.RequestTransmitter;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcParamsDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcResultDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_STOP;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** @author Valeriy Svydenko */
+@RunWith(MockitoJUnitRunner.class)
+public class DeviceRpcClientTest {
+    @Mock
+    private RequestTransmitter    transmitter;
+    @Mock
+    private DtoFactory            dtoFactory;
+    @Mock
+    private JsonRpcRequest        request;
+    @Mock
+    private JsonRpcRequest        notification;
+    @Mock
+    private DeviceRpcParamsDto    params;
+    @Mock
+    private DeviceRpcResultDto    result;
+    @Mock
+    private AsyncCallback<String> callback;
+
+    private DeviceRpcClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        when(dtoFactory.createDto(JsonRpcRequest.class)).thenReturn(request);
+        when(request.withJsonrpc(anyString())).thenReturn(request);
+        when(request.withId(anyInt())).thenReturn(request);
+        when(request.withMethod(anyString())).thenReturn(request);
+        when(request.withParams(anyString())).thenReturn(request);
+        when(notification.getParams()).thenReturn("result");
+        when(dtoFactory.createDtoFromJson("result", DeviceRpcResultDto.class)).thenReturn(result);
+
+        client = new DeviceRpcClient(transmitter, dtoFactory);
+    }
+
+    @Test
+    public void shouldCompleteCallWithResultOfTheSameRequest() throws Exception {
+        client.call(ARTIK_RPC_STOP, params, callback);
+
+        verify(request).withId(1);
+        verify(request).withMethod(ARTIK_RPC_STOP);
+        verify(transmitter).transmit(request);
+
+        when(result.getRequestId()).thenReturn(2);
+        client.receive(notification);
+        verify(callback, never()).onSuccess(anyString());
+
+        when(result.getRequestId()).thenReturn(1);
+        when(result.getResult()).thenReturn("done");
+        client.receive(notification);
+        verify(callback).onSuccess("done");
+    }
+
+    @Test
+    public void shouldFailCallWithErrorOfTheRequest() throws Exception {
+        client.call(ARTIK_RPC_STOP, params, callback);
+
+        when(result.getRequestId()).thenReturn(1);
+        when(result.getError()).thenReturn("Process not found");
+        client.receive(notification);
+
+        verify(callback).onFailure(any(Throwable.class));
+        verify(callback, never()).onSuccess(anyString());
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.ide.machine;
+
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.PromiseError;
+import org.eclipse.che.plugin.artik.shared.dto.BootstrapDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** @author Valeriy Svydenko */
+@RunWith(MockitoJUnitRunner.class)
+public class DeviceStoreTest {
+    @Mock
+    private DeviceServiceClient   deviceServiceClient;
+    @Mock
+    private EventBus              eventBus;
+    @Mock
+    private Promise<BootstrapDto> bootstrapPromise;
+
+    private DeviceStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        when(deviceServiceClient.getBootstrap()).thenReturn(bootstrapPromise);
+        when(bootstrapPromise.catchError(Matchers.<Operation<PromiseError>>anyObject())).thenReturn(bootstrapPromise);
+
+        store = new DeviceStore(deviceServiceClient, eventBus);
+    }
+
+    @Test
+    public void shouldLoadSnapshotOnce() throws Exception {
+        assertSame(store.getBootstrap(), bootstrapPromise);
+        assertSame(store.getBootstrap(), bootstrapPromise);
+
+        verify(deviceServiceClient).getBootstrap();
+    }
+
+    @Test
+    public void shouldLoadNewSnapshotAfterDeviceStatusChanged() throws Exception {
+        store.getBootstrap();
+
+        store.onMachineStatusChanged(null);
+        store.getBootstrap();
+
+        verify(deviceServiceClient, times(2)).getBootstrap();
+    }
+}
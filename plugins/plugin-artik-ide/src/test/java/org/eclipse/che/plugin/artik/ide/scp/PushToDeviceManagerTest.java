@@ -28,7 +28,7 @@ import org.eclipse.che.ide.api.machine.events.MachineStateEvent;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
 import org.eclipse.che.plugin.artik.ide.ArtikLocalizationConstant;
-import org.eclipse.che.plugin.artik.ide.machine.DeviceServiceClient;
+import org.eclipse.che.plugin.artik.ide.machine.DeviceStore;
 import org.eclipse.che.plugin.artik.ide.scp.action.ChooseTargetAction;
 import org.eclipse.che.plugin.artik.ide.scp.action.PushToDeviceAction;
 import org.eclipse.che.plugin.artik.ide.scp.action.PushToDeviceActionFactory;
@@ -79,7 +79,7 @@ public class PushToDeviceManagerTest {
     @Mock
     private AppContext                   appContext;
     @Mock
-    private DeviceServiceClient          deviceServiceClient;
+    private DeviceStore                  deviceStore;
     @Mock
     private Provider<ChooseTargetAction> chooseTargetActionProvider;
 
@@ -112,7 +112,7 @@ public class PushToDeviceManagerTest {
         when(chooseTargetActionProvider.get()).thenReturn(mock(ChooseTargetAction.class));
         when(actionManager.getAction("resourceOperation")).thenReturn(new DefaultActionGroup(actionManager));
 
-        when(deviceServiceClient.getDevices()).thenReturn(machinesPromise);
+        when(deviceStore.getDevices()).thenReturn(machinesPromise);
         when(machinesPromise.then(Matchers.<Operation<List<MachineDto>>>anyObject())).thenReturn(machinesPromise);
 
         when(machineDto.getConfig()).thenReturn(configDto);
@@ -14,56 +14,178 @@ package org.eclipse.che.plugin.machine.artik;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.machine.server.spi.Instance;
 
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.eclipse.che.api.core.model.machine.MachineStatus.DESTROYING;
 import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
 
 /**
  * Describes Artik device model.
  *
+ * <p>The connection status of the device is a small state machine. All the transitions are made with
+ * compare-and-set on an immutable {@link State}, so concurrent connects, disconnects and health checks
+ * never overwrite each other's result. Every successful transition increments the state version.
+ *
  * @author Valeriy Svydenko
  */
 public class ArtikDevice {
-    private Instance instance;
-    private Status   status;
+    private final String                    id;
+    private final AtomicReference<Instance> instance;
+    private final AtomicReference<State>    state;
+
+    private volatile boolean connected;
 
     ArtikDevice(Instance instance, Status status) {
-        this.instance = instance;
-        this.status = status;
+        this(instance, status, true);
+    }
+
+    /**
+     * @param instance
+     *         instance of the device
+     * @param status
+     *         initial status of the device
+     * @param connected
+     *         is {@code false} when the instance was created without connecting to the device
+     */
+    ArtikDevice(Instance instance, Status status, boolean connected) {
+        this.id = instance.getId();
+        this.instance = new AtomicReference<>(instance);
+        this.state = new AtomicReference<>(new State(status, 0L));
+        this.connected = connected;
+    }
+
+    /** Returns identifier of the device. */
+    public String getId() {
+        return id;
     }
 
     /** Returns instance of {@link Instance} */
     public Instance getInstance() {
-        return instance;
+        return instance.get();
+    }
+
+    /**
+     * Replaces instance of the device, e.g. after the connection was re-established.
+     * Holders of the device always observe the latest instance.
+     *
+     * @param newInstance
+     *         new instance of the device
+     */
+    void setInstance(Instance newInstance) {
+        instance.set(newInstance);
+        connected = true;
+    }
+
+    /**
+     * Returns {@code false} if the instance of the device was created without connecting to the device,
+     * e.g. when the device was restored on the agent start. Such instance has to be replaced before use.
+     */
+    boolean hasConnectedInstance() {
+        return connected;
     }
 
     /** Set {@link MachineStatus#DESTROYING} status of the device. */
     public void disconnect() {
-        instance.setStatus(DESTROYING);
+        getInstance().setStatus(DESTROYING);
     }
 
     /** Set {@link MachineStatus#RUNNING} status of the device. */
     public void connect() {
-        instance.setStatus(RUNNING);
+        getInstance().setStatus(RUNNING);
     }
 
     /** returns status of the device's connection */
     public Status getStatus() {
-        return status;
+        return state.get().getStatus();
+    }
+
+    /** Returns current versioned state of the device's connection. */
+    public State getState() {
+        return state.get();
     }
 
     /**
-     * Sets status of the device's connection
+     * Atomically moves the device to the {@code target} status if the current status is {@code expected}.
      *
-     * @param status
-     *         status of the connection
+     * @param expected
+     *         status the device is expected to have
+     * @param target
+     *         new status of the device
+     * @return new state or {@code null} if the device has another status or transition is not allowed
      */
-    public void setStatus(Status status) {
-        this.status = status;
+    public State transition(Status expected, Status target) {
+        return transition(EnumSet.of(expected), target);
     }
 
+    /**
+     * Atomically moves the device to the {@code target} status if the current status is one of {@code expected}.
+     *
+     * @param expected
+     *         statuses from which transition is allowed
+     * @param target
+     *         new status of the device
+     * @return new state or {@code null} if the device has another status or transition is not allowed
+     */
+    public State transition(Set<Status> expected, Status target) {
+        while (true) {
+            final State current = state.get();
+            if (!expected.contains(current.getStatus()) || !current.getStatus().canTransitionTo(target)) {
+                return null;
+            }
+            final State next = new State(target, current.getVersion() + 1);
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** Connection status of the device. */
     enum Status {
+        CONNECTING,
         CONNECTED,
         DISCONNECTED,
-        ERROR
+        ERROR;
+
+        boolean canTransitionTo(Status target) {
+            switch (this) {
+                case CONNECTING:
+                    return target == CONNECTED || target == ERROR || target == DISCONNECTED;
+                case CONNECTED:
+                    return target == DISCONNECTED || target == ERROR;
+                case DISCONNECTED:
+                    return target == CONNECTING || target == CONNECTED;
+                case ERROR:
+                    return target == CONNECTING || target == CONNECTED || target == DISCONNECTED;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /** Immutable versioned connection state of the device. */
+    public static final class State {
+        private final Status status;
+        private final long   version;
+
+        State(Status status, long version) {
+            this.status = status;
+            this.version = version;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /** Returns version of the state, it grows monotonically with each transition. */
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return status + "#" + version;
+        }
     }
 }
@@ -103,6 +103,34 @@ public class ArtikDeviceInstanceProvider implements InstanceProvider {
         return instance;
     }
 
+    /**
+     * Creates instance which describes the device without connecting to it. Commands can't be executed
+     * through such instance, it has to be replaced with the one created by {@link #createInstance(Machine, LineConsumer)}.
+     *
+     * @param machine
+     *         machine description
+     * @param lineConsumer
+     *         output for instance logs
+     * @return disconnected {@link Instance}
+     * @throws NotFoundException
+     *         if instance described by {@link MachineSource} doesn't exists
+     * @throws MachineException
+     *         if other error occurs
+     */
+    public Instance createDisconnectedInstance(Machine machine, LineConsumer lineConsumer) throws NotFoundException,
+                                                                                                   MachineException {
+        requireNonNull(machine, "Non null machine required");
+        requireNonNull(lineConsumer, "Non null logs consumer required");
+        requireNonNull(machine.getConfig().getSource().getContent(), "Location in machine source is required");
+
+        SshMachineRecipe sshMachineRecipe = GSON.fromJson(machine.getConfig().getSource().getContent(), SshMachineRecipe.class);
+
+        SshClient sshClient = sshMachineFactory.createSshClient(sshMachineRecipe,
+                                                                machine.getConfig().getEnvVariables());
+
+        return sshMachineFactory.createInstance(machine, sshClient, lineConsumer);
+    }
+
     @Override
     public void removeInstanceSnapshot(MachineSource machineSource) throws SnapshotException {
         throw new SnapshotException("Snapshot feature is unsupported for ssh machine implementation");
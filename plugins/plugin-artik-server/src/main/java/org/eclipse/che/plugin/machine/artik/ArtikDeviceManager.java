@@ -23,26 +23,23 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Command;
-import org.eclipse.che.api.core.model.machine.MachineLogMessage;
+import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
-import org.eclipse.che.api.core.util.AbstractMessageConsumer;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.MessageConsumer;
-import org.eclipse.che.api.core.util.WebsocketLineConsumer;
-import org.eclipse.che.api.core.util.WebsocketMessageConsumer;
+import org.eclipse.che.api.machine.server.DtoConverter;
 import org.eclipse.che.api.machine.server.MachineInstanceProviders;
 import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
-import org.eclipse.che.api.machine.server.model.impl.MachineLogMessageImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -51,30 +48,53 @@ import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
 import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceBootstrapDto;
+import org.eclipse.che.plugin.machine.artik.logs.LogRetention;
+import org.eclipse.che.plugin.machine.artik.logs.ProcessLog;
+import org.eclipse.che.plugin.machine.artik.logs.ProcessLogStore;
+import org.eclipse.che.plugin.machine.artik.output.ProcessOutputBroadcaster;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRecord;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
 import org.eclipse.che.plugin.machine.ssh.SshMachineRecipe;
 import org.slf4j.Logger;
 
-import javax.inject.Named;
-import java.io.File;
+import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.InetAddress;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
-import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DEVICE_STATUS_CHANNEL;
 import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.CONNECTED;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.CONNECTING;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.DISCONNECTED;
 import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.ERROR;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -88,30 +108,60 @@ public class ArtikDeviceManager {
     private static final Logger LOG  = getLogger(ArtikDeviceManager.class);
     private static final Gson   GSON = new Gson();
 
+    static final long RECONNECT_BASE_DELAY_MS = 1_000;
+    static final long RECONNECT_MAX_DELAY_MS  = 30_000;
+    static final long RECONNECT_TIMEOUT_MS    = 5 * 60 * 1000;
+    static final long PROBE_TIMEOUT_MS        = 5_000;
+    static final long FACTS_TIMEOUT_MS        = 5_000;
+
     private final EventService             eventService;
+    private final DeviceStatusPublisher    statusPublisher;
+    private final DeviceRegistry           registry;
     private final ThreadPullLauncher       launcher;
     private final ArtikTerminalLauncher    artikTerminalLauncher;
-    private final String                   machineLogsDir;
+    private final ProcessLogStore          logStore;
+    private final ProcessOutputBroadcaster outputBroadcaster;
     private final MachineInstanceProviders machineInstanceProviders;
     private final ExecutorService          executor;
 
+    private final ScheduledExecutorService reconnectScheduler;
+    private final ReconnectBackoff         reconnectBackoff;
+
     private Map<String, ArtikDevice>         instances;
     private Map<String, DeviceHealthChecker> checkers;
+    private Map<String, DeviceProcess>       processes;
+    private Map<String, AtomicInteger>       pidSequences;
+    private Set<String>                      reconnecting;
 
     @Inject
     public ArtikDeviceManager(EventService eventService,
+                              DeviceStatusPublisher statusPublisher,
+                              DeviceRegistry registry,
                               ThreadPullLauncher launcher,
                               ArtikTerminalLauncher artikTerminalLauncher,
                               MachineInstanceProviders machineInstanceProviders,
-                              @Named("artik.device.logs.location") String artikDeviceLogsDir) {
+                              ProcessLogStore logStore,
+                              ProcessOutputBroadcaster outputBroadcaster) {
         this.eventService = eventService;
+        this.statusPublisher = statusPublisher;
+        this.registry = registry;
         this.launcher = launcher;
         this.artikTerminalLauncher = artikTerminalLauncher;
-        this.machineLogsDir = artikDeviceLogsDir;
+        this.logStore = logStore;
+        this.outputBroadcaster = outputBroadcaster;
         this.machineInstanceProviders = machineInstanceProviders;
 
         instances = new ConcurrentHashMap<>();
         checkers = new ConcurrentHashMap<>();
+        processes = new ConcurrentHashMap<>();
+        pidSequences = new ConcurrentHashMap<>();
+        reconnecting = ConcurrentHashMap.newKeySet();
+        reconnectBackoff = new ReconnectBackoff(RECONNECT_BASE_DELAY_MS, RECONNECT_MAX_DELAY_MS, new Random());
+        reconnectScheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("ArtikDeviceReconnector-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("ArtikDeviceManager-%d")
                                                                            .setUncaughtExceptionHandler(
                                                                                  LoggingUncaughtExceptionHandler.getInstance())
@@ -119,6 +169,24 @@ public class ArtikDeviceManager {
                                                                            .build());
     }
 
+    /**
+     * Restores devices known by the {@link DeviceRegistry} in disconnected state,
+     * so they are available right after the agent restart without a request from the IDE.
+     * Devices are not contacted, the connection is established when the device is connected.
+     */
+    @PostConstruct
+    void warmStart() {
+        for (DeviceRecord record : registry.getAll()) {
+            executor.execute(() -> {
+                try {
+                    restoreDevice(record.getId(), record.getOwner(), record.getConfig());
+                } catch (ServerException e) {
+                    LOG.warn(format("Unable to restore device '%s'. %s", record.getName(), e.getMessage()));
+                }
+            });
+        }
+    }
+
     /**
      * Retrieves device instance that allows to execute commands in a device.
      *
@@ -129,11 +197,7 @@ public class ArtikDeviceManager {
      *         if workspace is not running
      */
     public MachineDto getDeviceById(String deviceId) throws NotFoundException {
-        final Instance machine = instances.get(deviceId).getInstance();
-        if (machine == null) {
-            throw new NotFoundException(format("Machine with ID '%s' is not found", deviceId));
-        }
-        return ArtikDtoConverter.asDto(machine);
+        return ArtikDtoConverter.asDto(getDevice(deviceId).getInstance());
     }
 
     /**
@@ -145,7 +209,7 @@ public class ArtikDeviceManager {
      *         command that should be executed in device
      * @param outputChannel
      *         channel for command output
-     * @return {@link org.eclipse.che.api.machine.server.spi.InstanceProcess} that represents started process in device
+     * @return started process in device
      * @throws NotFoundException
      *         if device with specified id not found
      * @throws MachineException
@@ -153,56 +217,207 @@ public class ArtikDeviceManager {
      * @throws BadRequestException
      *         if value of required parameter is invalid
      */
-    InstanceProcess exec(String deviceId,
-                         Command command,
-                         @Nullable String outputChannel) throws NotFoundException, MachineException, BadRequestException {
+    MachineProcessDto exec(String deviceId,
+                           Command command,
+                           @Nullable String outputChannel) throws NotFoundException, MachineException, BadRequestException {
+        return exec(deviceId, command, outputChannel, null, false);
+    }
+
+    /**
+     * Execute a command in device. Unlike the output channel, the consumer receives the output from the very
+     * first line since it is attached before the process is started.
+     *
+     * @param deviceId
+     *         ID of requested device
+     * @param command
+     *         command that should be executed in device
+     * @param outputChannel
+     *         channel for command output
+     * @param output
+     *         consumer for command output, it is closed when the process is completed
+     * @param resumable
+     *         {@code true} if the command should keep running on the device when the connection is lost,
+     *         see {@link ResumableProcess} for the restrictions, otherwise the command is started as is
+     * @return started process in device
+     * @throws NotFoundException
+     *         if device with specified id not found
+     * @throws MachineException
+     *         if other error occur
+     * @throws BadRequestException
+     *         if value of required parameter is invalid
+     */
+    MachineProcessDto exec(String deviceId,
+                           Command command,
+                           @Nullable String outputChannel,
+                           @Nullable LineConsumer output,
+                           boolean resumable) throws NotFoundException, MachineException, BadRequestException {
         requiredNotNull(deviceId, "Machine ID is required");
         requiredNotNull(command, "Command is required");
         requiredNotNull(command.getCommandLine(), "Command line is required");
         requiredNotNull(command.getName(), "Command name is required");
         requiredNotNull(command.getType(), "Command type is required");
 
-        Instance instance = instances.get(deviceId).getInstance();
-        if (instance == null) {
-            throw new NotFoundException(format("Machine with ID '%s' is not found", deviceId));
-        }
-        InstanceProcess instanceProcess = instance.createProcess(command, outputChannel);
+        final ArtikDevice device = getDevice(deviceId);
+        final int pid = nextPid(deviceId);
+        final DeviceProcess process = resumable ? new ResumableProcess(pid, command) : new DeviceProcess(pid, command);
+        process.setCurrent(device.getInstance().createProcess(process.getStartCommand(), outputChannel));
 
-        final int pid = instanceProcess.getPid();
-        final LineConsumer processLogger = getProcessLogger(deviceId, pid, outputChannel);
+        final LineConsumer processLogger = output == null ? getProcessLogger(deviceId, pid, outputChannel)
+                                                        : new CompositeLineConsumer(getProcessLogger(deviceId, pid, outputChannel),
+                                                                                    output);
+        final String processKey = deviceId + ':' + pid;
+        processes.put(processKey, process);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
-                eventService.publish(newDto(MachineProcessEvent.class)
-                                             .withEventType(MachineProcessEvent.EventType.STARTED)
-                                             .withMachineId(deviceId)
-                                             .withProcessId(pid));
-
-                instanceProcess.start(processLogger);
-
-                eventService.publish(newDto(MachineProcessEvent.class)
-                                             .withEventType(MachineProcessEvent.EventType.STOPPED)
-                                             .withMachineId(deviceId)
-                                             .withProcessId(pid));
-            } catch (ConflictException | MachineException error) {
-                eventService.publish(newDto(MachineProcessEvent.class)
-                                             .withEventType(MachineProcessEvent.EventType.ERROR)
-                                             .withMachineId(deviceId)
-                                             .withProcessId(pid)
-                                             .withError(error.getLocalizedMessage()));
+                runProcess(deviceId, pid, output -> start(device, process, output), processLogger);
+            } catch (ConflictException | MachineException ignored) {
+                // error is already reported to the process output and event service
+            } finally {
+                processes.remove(processKey);
+            }
+        }));
+        return asDto(process);
+    }
 
-                try {
-                    processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
-                } catch (IOException ignored) {
+    /**
+     * Creates a process for the command in device. The process is not started, but it is registered, so it is
+     * listed and may be stopped as the processes started by {@link #exec(String, Command, String, LineConsumer, boolean)}.
+     *
+     * @param deviceId
+     *         ID of requested device
+     * @param command
+     *         command that should be executed in device
+     * @return created process
+     * @throws NotFoundException
+     *         if device with specified id not found
+     * @throws MachineException
+     *         if other error occur
+     */
+    DeviceProcess createProcess(String deviceId, Command command) throws NotFoundException, MachineException {
+        final ArtikDevice device = getDevice(deviceId);
+        final DeviceProcess process = new DeviceProcess(nextPid(deviceId), command);
+        process.setCurrent(device.getInstance().createProcess(command, null));
+        processes.put(deviceId + ':' + process.getPid(), process);
+        return process;
+    }
+
+    /**
+     * Starts the process created by {@link #createProcess(String, Command)} and blocks until it is completed.
+     * Output of the process is written to the process log and to the specified consumer.
+     *
+     * @param deviceId
+     *         ID of the device where process is created
+     * @param process
+     *         process to start
+     * @param output
+     *         consumer for the process output
+     * @throws NotFoundException
+     *         if device is removed meanwhile
+     * @throws ConflictException
+     *         if process is already started
+     * @throws MachineException
+     *         if process failed
+     */
+    void startAndWait(String deviceId, DeviceProcess process, LineConsumer output) throws NotFoundException,
+                                                                                          ConflictException,
+                                                                                          MachineException {
+        try {
+            final ArtikDevice device = getDevice(deviceId);
+            final LineConsumer processLogger = new CompositeLineConsumer(getProcessFileLogger(deviceId, process.getPid()), output);
+            runProcess(deviceId, process.getPid(), consumer -> start(device, process, consumer), processLogger);
+        } finally {
+            removeProcess(deviceId, process);
+        }
+    }
+
+    /** Unregisters the process created by {@link #createProcess(String, Command)} which won't be started. */
+    void removeProcess(String deviceId, DeviceProcess process) {
+        processes.remove(deviceId + ':' + process.getPid(), process);
+    }
+
+    private void runProcess(String deviceId, int pid, ProcessStarter starter, LineConsumer processLogger) throws ConflictException,
+                                                                                                                 MachineException {
+        try {
+            eventService.publish(newDto(MachineProcessEvent.class)
+                                         .withEventType(MachineProcessEvent.EventType.STARTED)
+                                         .withMachineId(deviceId)
+                                         .withProcessId(pid));
+
+            starter.start(processLogger);
+
+            eventService.publish(newDto(MachineProcessEvent.class)
+                                         .withEventType(MachineProcessEvent.EventType.STOPPED)
+                                         .withMachineId(deviceId)
+                                         .withProcessId(pid));
+        } catch (ConflictException | MachineException error) {
+            eventService.publish(newDto(MachineProcessEvent.class)
+                                         .withEventType(MachineProcessEvent.EventType.ERROR)
+                                         .withMachineId(deviceId)
+                                         .withProcessId(pid)
+                                         .withError(error.getLocalizedMessage()));
+
+            try {
+                processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
+            } catch (IOException ignored) {
+            }
+            throw error;
+        } finally {
+            try {
+                processLogger.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Starts the process and follows its output. When the connection to the device is lost the resumable process
+     * keeps running on the device, so after the device is reconnected its output is followed again from the last
+     * delivered line.
+     */
+    private void start(ArtikDevice device, DeviceProcess process, LineConsumer output) throws ConflictException,
+                                                                                              MachineException {
+        final long deadline = System.currentTimeMillis() + RECONNECT_TIMEOUT_MS;
+        while (true) {
+            try {
+                process.getCurrent().start(process.track(output));
+                return;
+            } catch (MachineException e) {
+                if (!process.isResumable() || System.currentTimeMillis() > deadline) {
+                    throw e;
                 }
-            } finally {
-                try {
-                    processLogger.close();
-                } catch (IOException ignored) {
+                LOG.info("Output of process {} on device '{}' was interrupted. {}", process.getPid(), device.getId(), e.getMessage());
+                if (device.getStatus() == CONNECTED && !isAlive(device.getInstance())) {
+                    markLost(device);
+                } else if (device.getStatus() == ERROR) {
+                    scheduleReconnect(device, 0);
                 }
+                if (!awaitConnected(device, deadline)) {
+                    throw e;
+                }
+                process.setCurrent(device.getInstance().createProcess(process.getResumeCommand(), null));
             }
-        }));
-        return instanceProcess;
+        }
+    }
+
+    /** Blocks until the device is connected, returns {@code false} if it didn't happen before the deadline. */
+    private boolean awaitConnected(ArtikDevice device, long deadline) {
+        while (System.currentTimeMillis() < deadline) {
+            switch (device.getStatus()) {
+                case CONNECTED:
+                    return true;
+                case DISCONNECTED:
+                    // disconnected by user
+                    return false;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
     }
 
     /**
@@ -210,18 +425,34 @@ public class ArtikDeviceManager {
      *
      * @param deviceId
      *         id of machine to get processes information from
-     * @return list of {@link org.eclipse.che.api.machine.server.spi.InstanceProcess}
+     * @return list of processes started by {@link #exec(String, Command, String, LineConsumer, boolean)}
      * @throws NotFoundException
      *         if machine with specified id not found
-     * @throws MachineException
-     *         if other error occur
      */
-    List<InstanceProcess> getProcessesById(String deviceId) throws MachineException, NotFoundException {
-        final Instance machine = instances.get(deviceId).getInstance();
-        if (machine == null) {
-            throw new NotFoundException(format("Machine with ID '%s' is not found", deviceId));
-        }
-        return machine.getProcesses();
+    List<MachineProcessDto> getProcessesById(String deviceId) throws NotFoundException {
+        getDevice(deviceId);
+        return processes.entrySet()
+                                 .stream()
+                                 .filter(entry -> entry.getKey().startsWith(deviceId + ':'))
+                                 .map(entry -> asDto(entry.getValue()))
+                                 .sorted(Comparator.comparingInt(MachineProcessDto::getPid))
+                                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the next ID of the process on the device. IDs are not reused when the instance of the device
+     * is replaced or the agent is restarted, so they also identify logs of the processes.
+     */
+    private int nextPid(String deviceId) {
+        return pidSequences.computeIfAbsent(deviceId, id -> new AtomicInteger(logStore.getLastPid(id))).incrementAndGet();
+    }
+
+    /** Describes the process with the ID and the command line which were exposed when the process was started. */
+    private static MachineProcessDto asDto(DeviceProcess process) {
+        final MachineProcessDto dto = DtoConverter.asDto(process.getCurrent());
+        dto.setPid(process.getPid());
+        dto.setCommandLine(process.getCommand().getCommandLine());
+        return dto;
     }
 
 
@@ -237,6 +468,32 @@ public class ArtikDeviceManager {
                         .collect(Collectors.toCollection(LinkedList::new));
     }
 
+    /** Returns all created devices. */
+    Collection<ArtikDevice> getArtikDevices() {
+        return instances.values();
+    }
+
+    /**
+     * Describes the device for IDE start: its processes, connection status and the facts known from the registry.
+     *
+     * @param device
+     *         converted device
+     * @throws NotFoundException
+     *         if the device is removed meanwhile
+     */
+    DeviceBootstrapDto describe(MachineDto device) throws NotFoundException {
+        final ArtikDevice artikDevice = getDevice(device.getId());
+        final List<MachineProcessDto> processes = getProcessesById(device.getId());
+        final Optional<DeviceRecord> record = registry.getById(device.getId());
+        return newDto(DeviceBootstrapDto.class).withDevice(device)
+                                               .withProcesses(processes)
+                                               .withHealth(artikDevice.getStatus().name())
+                                               .withFacts(new HashMap<>(record.map(DeviceRecord::getFacts)
+                                                                              .orElse(Collections.emptyMap())))
+                                               .withTags(new ArrayList<>(record.map(DeviceRecord::getTags)
+                                                                               .orElse(Collections.emptySet())));
+    }
+
     /**
      * Stops process in device
      *
@@ -254,7 +511,32 @@ public class ArtikDeviceManager {
         if (device == null) {
             return;
         }
-        device.getInstance().getProcess(processId).kill();
+        final DeviceProcess process = processes.get(deviceId + ':' + processId);
+        if (process == null) {
+            throw new NotFoundException(format("Process with ID '%s' is not found on device '%s'", processId, deviceId));
+        }
+        kill(device, process);
+    }
+
+    /**
+     * Stops the process created by {@link #createProcess(String, Command)}, the process is not started if it is
+     * stopped before.
+     */
+    void stopProcess(String deviceId, DeviceProcess process) throws NotFoundException, MachineException {
+        kill(getDevice(deviceId), process);
+    }
+
+    private void kill(ArtikDevice device, DeviceProcess process) throws MachineException {
+        process.markKilled();
+        final Command killCommand = process.getKillCommand();
+        if (killCommand != null) {
+            try {
+                device.getInstance().createProcess(killCommand, null).start(LineConsumer.DEV_NULL);
+            } catch (ConflictException | MachineException e) {
+                LOG.warn(format("Unable to kill process on device '%s'. %s", device.getId(), e.getMessage()));
+            }
+        }
+        process.getCurrent().kill();
     }
 
 
@@ -272,7 +554,7 @@ public class ArtikDeviceManager {
      *         if other error occurs
      */
     MachineDto disconnect(String deviceId, boolean remove) throws MachineException, NotFoundException {
-        final ArtikDevice device = instances.get(deviceId);
+        final ArtikDevice device = getDevice(deviceId);
         final Instance instance = device.getInstance();
 
         final DeviceHealthChecker deviceHealthChecker = checkers.get(deviceId);
@@ -281,16 +563,24 @@ public class ArtikDeviceManager {
         }
 
         if (remove) {
+            for (Map.Entry<String, DeviceProcess> entry : processes.entrySet()) {
+                if (entry.getKey().startsWith(deviceId + ':')) {
+                    kill(device, entry.getValue());
+                }
+            }
             for (InstanceProcess process : instance.getProcesses()) {
                 process.kill();
             }
-            instances.remove(deviceId);
+            instances.remove(deviceId, device);
             checkers.remove(deviceId);
+            try {
+                registry.remove(deviceId);
+            } catch (ServerException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
         } else {
             device.disconnect();
-            if (ArtikDevice.Status.CONNECTED.equals(device.getStatus())) {
-                device.setStatus(ArtikDevice.Status.DISCONNECTED);
-            }
+            storeState(device, device.transition(EnumSet.of(CONNECTED, CONNECTING), DISCONNECTED));
         }
 
         return ArtikDtoConverter.asDto(instance);
@@ -308,50 +598,176 @@ public class ArtikDeviceManager {
      *         if device is not found in running workspace
      */
     MachineDto connectById(String deviceId) throws ServerException, NotFoundException {
-        final ArtikDevice device = instances.get(deviceId);
-        if (device == null) {
-            throw new NotFoundException(format("Device with ID '%s' is not found", deviceId));
+        final ArtikDevice device = getDevice(deviceId);
+
+        final boolean recreate;
+        if (device.transition(DISCONNECTED, CONNECTING) != null) {
+            recreate = false;
+        } else if (device.transition(ERROR, CONNECTING) != null) {
+            recreate = true;
+        } else {
+            // device is already connected or is being connected by a concurrent request
+            return ArtikDtoConverter.asDto(device.getInstance());
         }
-        device.connect();
-        Instance instance = device.getInstance();
-        if (ArtikDevice.Status.DISCONNECTED.equals(device.getStatus())) {
-            artikTerminalLauncher.launch(instance);
-        } else if (ArtikDevice.Status.ERROR.equals(device.getStatus())) {
-            instance = createNewInstance(deviceId, instance);
+
+        try {
+            if (recreate || !device.hasConnectedInstance()) {
+                restoreInstance(device);
+            } else {
+                device.connect();
+                artikTerminalLauncher.launch(device.getInstance());
+            }
+        } catch (ServerException | NotFoundException | RuntimeException e) {
+            final ArtikDevice.State failed = device.transition(CONNECTING, ERROR);
+            if (failed != null) {
+                storeState(device, failed);
+                statusPublisher.publish(device, failed, e.getLocalizedMessage());
+            }
+            throw e;
         }
 
-        DeviceHealthChecker deviceHealthChecker = checkers.get(deviceId);
-        if (deviceHealthChecker != null) {
-            deviceHealthChecker.start();
-        } else {
-            deviceHealthChecker = new DeviceHealthChecker(device);
-            checkers.put(deviceId, deviceHealthChecker);
-            launcher.scheduleWithFixedDelay(deviceHealthChecker, 2L, 10L, SECONDS);
+        final ArtikDevice.State connected = device.transition(CONNECTING, CONNECTED);
+        if (connected != null) {
+            storeState(device, connected);
+            collectFacts(device);
+            statusPublisher.publish(device, connected, null);
         }
 
-        return ArtikDtoConverter.asDto(instance);
+        final DeviceHealthChecker deviceHealthChecker = checkers.computeIfAbsent(deviceId, id -> {
+            final DeviceHealthChecker checker = new DeviceHealthChecker(device);
+            launcher.scheduleWithFixedDelay(checker, 2L, 10L, SECONDS);
+            return checker;
+        });
+        deviceHealthChecker.start();
+
+        return ArtikDtoConverter.asDto(device.getInstance());
     }
 
-    private Instance createNewInstance(String deviceId, Instance instance) throws NotFoundException, ServerException {
+    /**
+     * Restores connection of the device which was lost. If the SSH connection of the current instance
+     * survived the network problem the instance is kept, so the running processes are not affected.
+     * Otherwise the instance is replaced with a new one, as well as the instance which was never connected.
+     */
+    private void restoreInstance(ArtikDevice device) throws NotFoundException, ServerException {
+        if (!device.hasConnectedInstance() || !isAlive(device.getInstance())) {
+            replaceInstance(device);
+        }
+    }
+
+    /** Checks that commands still can be executed through the instance. */
+    private boolean isAlive(Instance instance) {
+        final InstanceProcess probe;
+        try {
+            probe = instance.createProcess(new CommandImpl("probe", "true", "custom"), null);
+        } catch (MachineException e) {
+            return false;
+        }
+        final Future<?> result = executor.submit(() -> {
+            probe.start(LineConsumer.DEV_NULL);
+            return null;
+        });
+        try {
+            result.get(PROBE_TIMEOUT_MS, MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            result.cancel(true);
+            try {
+                probe.kill();
+            } catch (MachineException ignored) {
+            }
+            return false;
+        }
+    }
+
+    /** Marks connected device as lost and starts reconnection. */
+    private void markLost(ArtikDevice device) {
+        final ArtikDevice.State state = device.transition(CONNECTED, ERROR);
+        if (state != null) {
+            storeState(device, state);
+            statusPublisher.publish(device, state, null);
+            scheduleReconnect(device, 0);
+        }
+    }
+
+    /**
+     * Schedules automatic reconnection of the lost device. Attempts are repeated with exponential backoff until
+     * the device is connected, disconnected by user or the reconnection timeout is reached.
+     */
+    private void scheduleReconnect(ArtikDevice device, int attempt) {
+        if (attempt == 0 && !reconnecting.add(device.getId())) {
+            return;
+        }
+        final long delay = reconnectBackoff.getDelay(attempt);
+        reconnectScheduler.schedule(() -> executor.execute(() -> reconnect(device, attempt, delay)), delay, MILLISECONDS);
+    }
+
+    private void reconnect(ArtikDevice device, int attempt, long elapsed) {
+        if (instances.get(device.getId()) != device || device.transition(ERROR, CONNECTING) == null) {
+            // device was removed or connected/disconnected by user meanwhile
+            reconnecting.remove(device.getId());
+            return;
+        }
+        try {
+            restoreInstance(device);
+        } catch (ServerException | NotFoundException | RuntimeException e) {
+            final ArtikDevice.State failed = device.transition(CONNECTING, ERROR);
+            final long nextDelay = reconnectBackoff.getDelay(attempt + 1);
+            if (failed != null && elapsed + nextDelay < RECONNECT_TIMEOUT_MS) {
+                LOG.debug("Reconnection attempt {} of device '{}' failed. {}", attempt + 1, device.getId(), e.getMessage());
+                reconnectScheduler.schedule(() -> executor.execute(() -> reconnect(device, attempt + 1, elapsed + nextDelay)),
+                                            nextDelay,
+                                            MILLISECONDS);
+                return;
+            }
+            reconnecting.remove(device.getId());
+            if (failed != null) {
+                storeState(device, failed);
+                statusPublisher.publish(device, failed, format("Unable to reconnect to the device. %s", e.getMessage()));
+            }
+            return;
+        }
+
+        reconnecting.remove(device.getId());
+        final ArtikDevice.State connected = device.transition(CONNECTING, CONNECTED);
+        if (connected != null) {
+            LOG.info("Device '{}' is reconnected after {} attempt(s)", device.getId(), attempt + 1);
+            storeState(device, connected);
+            collectFacts(device);
+            statusPublisher.publish(device, connected, null);
+        }
+    }
+
+    /**
+     * Creates new instance for the device and replaces the broken one, which is destroyed.
+     * The device object itself is kept, so everybody who holds it observes the new instance.
+     */
+    private void replaceInstance(ArtikDevice device) throws NotFoundException, ServerException {
+        final Instance instance = device.getInstance();
         MachineImpl machine = MachineImpl.builder()
                                          .setConfig(instance.getConfig())
                                          .setWorkspaceId(WorkspaceIdProvider.getWorkspaceId())
                                          .setStatus(MachineStatus.CREATING)
                                          .setOwner(instance.getOwner())
-                                         .setId(deviceId)
+                                         .setId(device.getId())
                                          .build();
 
         final InstanceProvider provider = machineInstanceProviders.getProvider(instance.getConfig().getType());
-        final LineConsumer machineLogger = getDeviceLogger(getMessageConsumer(), instance.getConfig().getName());
+        final LineConsumer machineLogger = getDeviceLogger(instance.getConfig().getName());
         final Instance newInstance = provider.createInstance(machine, machineLogger);
 
         artikTerminalLauncher.launch(newInstance);
         machine.setStatus(RUNNING);
 
-        final ArtikDevice artikDevice = new ArtikDevice(newInstance, CONNECTED);
-        instances.put(deviceId, artikDevice);
-
-        return newInstance;
+        final boolean connected = device.hasConnectedInstance();
+        device.setInstance(newInstance);
+        if (connected) {
+            // releases SSH connection and the terminal of the broken instance, processes which follow output
+            // through it fail and are resumed on the new instance
+            destroyQuietly(instance);
+        }
     }
 
     /**
@@ -376,7 +792,7 @@ public class ArtikDeviceManager {
                                          .build();
         try {
             final InstanceProvider provider = machineInstanceProviders.getProvider(deviceConfig.getType());
-            final LineConsumer machineLogger = getDeviceLogger(getMessageConsumer(), deviceConfig.getName());
+            final LineConsumer machineLogger = getDeviceLogger(deviceConfig.getName());
             final Instance instance = provider.createInstance(machine, machineLogger);
 
             artikTerminalLauncher.launch(instance);
@@ -385,11 +801,10 @@ public class ArtikDeviceManager {
             final ArtikDevice artikDevice = new ArtikDevice(instance, CONNECTED);
 
             instances.put(deviceId, artikDevice);
+            register(DeviceRecord.create(deviceId, creator, deviceConfig, CONNECTED.name()));
 
-            eventService.publish(newDto(ArtikDeviceStatusEventDto.class)
-                                         .withEventType(ArtikDeviceStatusEventDto.EventType.CONNECTED)
-                                         .withDeviceName(deviceConfig.getName())
-                                         .withDeviceId(deviceId));
+            collectFacts(artikDevice);
+            statusPublisher.publish(artikDevice, artikDevice.getState(), null);
 
             final DeviceHealthChecker deviceHealthChecker = new DeviceHealthChecker(artikDevice);
             checkers.put(deviceId, deviceHealthChecker);
@@ -397,10 +812,7 @@ public class ArtikDeviceManager {
 
             return ArtikDtoConverter.asDto(instance);
         } catch (ApiException e) {
-            eventService.publish(newDto(ArtikDeviceStatusEventDto.class)
-                                         .withEventType(ArtikDeviceStatusEventDto.EventType.ERROR)
-                                         .withDeviceName(deviceConfig.getName())
-                                         .withDeviceId(deviceId));
+            statusPublisher.publish(deviceId, deviceConfig.getName(), 0L, ArtikDeviceStatusEventDto.EventType.ERROR, null);
 
             throw new ServerException(e);
         }
@@ -419,33 +831,145 @@ public class ArtikDeviceManager {
         List<MachineDto> devices = new LinkedList<>();
         for (MachineConfigDto deviceConfig : devicesConfigs) {
             final String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-            String deviceId = generateDeviceId();
-
-            MachineImpl machine = MachineImpl.builder()
-                                             .setConfig(deviceConfig)
-                                             .setWorkspaceId(WorkspaceIdProvider.getWorkspaceId())
-                                             .setStatus(MachineStatus.CREATING)
-                                             .setOwner(creator)
-                                             .setId(deviceId)
-                                             .build();
-            try {
-                final InstanceProvider provider = machineInstanceProviders.getProvider(deviceConfig.getType());
-                final LineConsumer machineLogger = getDeviceLogger(getMessageConsumer(), deviceConfig.getName());
-                final Instance instance = provider.createInstance(machine, machineLogger);
+            final String deviceId = registry.getByName(deviceConfig.getName())
+                                            .map(DeviceRecord::getId)
+                                            .orElseGet(this::generateDeviceId);
 
-                artikTerminalLauncher.launch(instance);
+            devices.add(ArtikDtoConverter.asDto(restoreDevice(deviceId, creator, deviceConfig).getInstance()));
+        }
 
-                final ArtikDevice artikDevice = new ArtikDevice(instance, ArtikDevice.Status.DISCONNECTED);
-                artikDevice.disconnect();
-                instances.put(deviceId, artikDevice);
+        return devices;
+    }
 
-                devices.add(ArtikDtoConverter.asDto(instance));
-            } catch (ApiException e) {
-                throw new ServerException(e);
+    /**
+     * Creates disconnected device with the specified identifier if it doesn't exist yet.
+     * The device is not contacted, its instance is replaced with a connected one when the device is connected.
+     *
+     * @return restored or already existing device
+     */
+    private ArtikDevice restoreDevice(String deviceId, String owner, MachineConfig deviceConfig) throws ServerException {
+        final ArtikDevice existing = instances.get(deviceId);
+        if (existing != null) {
+            return existing;
+        }
+
+        MachineImpl machine = MachineImpl.builder()
+                                         .setConfig(deviceConfig)
+                                         .setWorkspaceId(WorkspaceIdProvider.getWorkspaceId())
+                                         .setStatus(MachineStatus.CREATING)
+                                         .setOwner(owner)
+                                         .setId(deviceId)
+                                         .build();
+        try {
+            final InstanceProvider provider = machineInstanceProviders.getProvider(deviceConfig.getType());
+            if (!(provider instanceof ArtikDeviceInstanceProvider)) {
+                throw new ServerException(format("Devices of type '%s' are not supported", deviceConfig.getType()));
             }
+            final LineConsumer machineLogger = getDeviceLogger(deviceConfig.getName());
+            final Instance instance = ((ArtikDeviceInstanceProvider)provider).createDisconnectedInstance(machine, machineLogger);
+
+            final ArtikDevice artikDevice = new ArtikDevice(instance, DISCONNECTED, false);
+            artikDevice.disconnect();
+            final ArtikDevice concurrent = instances.putIfAbsent(deviceId, artikDevice);
+            if (concurrent != null) {
+                return concurrent;
+            }
+
+            final DeviceRecord record = registry.getById(deviceId)
+                                                .map(current -> current.withConfig(deviceConfig))
+                                                .orElseGet(() -> DeviceRecord.create(deviceId, owner, deviceConfig, null));
+            register(record.withStatus(DISCONNECTED.name(), artikDevice.getState().getVersion()));
+
+            return artikDevice;
+        } catch (ApiException e) {
+            throw new ServerException(e);
         }
+    }
 
-        return devices;
+    private void register(DeviceRecord record) {
+        try {
+            registry.put(record);
+        } catch (ServerException e) {
+            LOG.warn(format("Unable to register device '%s'. %s", record.getName(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Collects facts of the connected device and stores them in the registry. It is done before the status of
+     * the device is published, so the IDE which reloads devices on the status change receives the facts too.
+     * Facts are not updated if the device doesn't respond in time.
+     */
+    private void collectFacts(ArtikDevice device) {
+        final InstanceProcess process;
+        try {
+            process = device.getInstance().createProcess(new CommandImpl("facts", DeviceFacts.COMMAND, "custom"), null);
+        } catch (MachineException e) {
+            LOG.debug("Unable to collect facts of the device '{}'. {}", device.getId(), e.getMessage());
+            return;
+        }
+        final List<String> output = new CopyOnWriteArrayList<>();
+        final Future<?> result = executor.submit(() -> {
+            process.start(new AbstractLineConsumer() {
+                @Override
+                public void writeLine(String line) throws IOException {
+                    output.add(line);
+                }
+            });
+            return null;
+        });
+        try {
+            result.get(FACTS_TIMEOUT_MS, MILLISECONDS);
+            final Map<String, String> facts = DeviceFacts.parse(output);
+            if (!facts.isEmpty()) {
+                registry.update(device.getId(), record -> record.withFacts(facts));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | ServerException e) {
+            result.cancel(true);
+            try {
+                process.kill();
+            } catch (MachineException ignored) {
+            }
+            LOG.debug("Unable to collect facts of the device '{}'. {}", device.getId(), e.getMessage());
+        }
+    }
+
+    /** Stores the last known state of the device in the registry. */
+    private void storeState(ArtikDevice device, ArtikDevice.State state) {
+        if (state == null) {
+            return;
+        }
+        try {
+            registry.update(device.getId(), record -> record.withStatus(state.getStatus().name(), state.getVersion()));
+        } catch (ServerException e) {
+            LOG.warn(format("Unable to store state of the device '%s'. %s", device.getId(), e.getMessage()));
+        }
+    }
+
+    private void destroyQuietly(Instance instance) {
+        try {
+            instance.destroy();
+        } catch (MachineException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Marks the device with the specified tags. Tags allow to address a group of devices at once.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param tags
+     *         new tags of the device
+     * @throws NotFoundException
+     *         if device with specified id not found
+     * @throws ServerException
+     *         if tags can't be stored
+     */
+    void setTags(String deviceId, Set<String> tags) throws NotFoundException, ServerException {
+        getDevice(deviceId);
+        registry.update(deviceId, record -> record.withTags(tags));
     }
 
     /**
@@ -462,25 +986,62 @@ public class ArtikDeviceManager {
      *         if other error occur
      */
     public Reader getProcessLogReader(String deviceId, int pid) throws NotFoundException, MachineException {
-        final File processLogsFile = getProcessLogsFile(deviceId, pid);
-        if (processLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of device '%s'. %s", pid, deviceId, e.getMessage()));
-            }
+        final ProcessLog log = getProcessLog(deviceId, pid);
+        try {
+            return new InputStreamReader(log.openStream(), UTF_8);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of device '%s'. %s", pid, deviceId, e.getMessage()));
         }
-        throw new NotFoundException(String.format("Logs for process '%s' of device '%s' are not available", pid, deviceId));
+    }
+
+    /**
+     * Gets log of the process.
+     *
+     * @param deviceId
+     *         device id whose process log will be returned
+     * @param pid
+     *         process id
+     * @return log of the process
+     * @throws NotFoundException
+     *         if log of the process is not available
+     */
+    public ProcessLog getProcessLog(String deviceId, int pid) throws NotFoundException {
+        return logStore.getLog(deviceId, pid)
+                       .orElseThrow(() -> new NotFoundException(
+                               String.format("Logs for process '%s' of device '%s' are not available", pid, deviceId)));
+    }
+
+    /**
+     * Overrides retention policy of the device logs.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param retention
+     *         new retention policy or {@code null} to use the default one
+     * @throws NotFoundException
+     *         if device with specified id not found
+     * @throws ServerException
+     *         if policy can't be stored
+     */
+    void setLogRetention(String deviceId, @Nullable LogRetention retention) throws NotFoundException, ServerException {
+        getDevice(deviceId);
+        registry.update(deviceId, record -> record.withLogRetention(retention));
+    }
+
+    /** Returns retention policy of the device logs. */
+    LogRetention getLogRetention(String deviceId) throws NotFoundException {
+        getDevice(deviceId);
+        return logStore.getRetention(deviceId);
     }
 
     private LineConsumer getProcessLogger(String machineId, int pid, String outputChannel) throws MachineException {
         return getLineConsumerLogger(getProcessFileLogger(machineId, pid), outputChannel);
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private LineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return logStore.createWriter(machineId, pid);
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for process '%s' of device '%s'. %s",
                                                      pid,
@@ -489,33 +1050,27 @@ public class ArtikDeviceManager {
         }
     }
 
-    private File getProcessLogsFile(String machineId, int pid) {
-        final File file = new File(machineLogsDir, machineId);
-        if (!(file.exists() || file.mkdirs())) {
-            throw new IllegalStateException("Unable create directory " + machineLogsDir);
-        }
-        return new File(file, Integer.toString(pid));
-    }
-
     private LineConsumer getLineConsumerLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            return new CompositeLineConsumer(fileLogger, outputBroadcaster.createConsumer(outputChannel));
         }
         return fileLogger;
     }
 
-    private String generateDeviceId() {
-        return NameGenerator.generate("artik-device", 16);
+    private ArtikDevice getDevice(String deviceId) throws NotFoundException {
+        final ArtikDevice device = instances.get(deviceId);
+        if (device == null) {
+            throw new NotFoundException(format("Device with ID '%s' is not found", deviceId));
+        }
+        return device;
     }
 
-    private LineConsumer getDeviceLogger(MessageConsumer<MachineLogMessage> deviceStatusLogger,
-                                         String machineName) throws ServerException {
-        return new ArtikDeviceConsumer(deviceStatusLogger, machineName);
+    private String generateDeviceId() {
+        return NameGenerator.generate("artik-device", 16);
     }
 
-    private MessageConsumer<MachineLogMessage> getMessageConsumer() throws ServerException {
-        WebsocketMessageConsumer<MachineLogMessage> deviceMessageConsumer = new WebsocketMessageConsumer<>(ARTIK_DEVICE_STATUS_CHANNEL);
-        return new ArtikMessageConsumer(deviceMessageConsumer);
+    private LineConsumer getDeviceLogger(String machineName) {
+        return new ArtikDeviceConsumer(machineName);
     }
 
     private void requiredNotNull(Object object, String message) throws BadRequestException {
@@ -524,34 +1079,28 @@ public class ArtikDeviceManager {
         }
     }
 
-    private static class ArtikMessageConsumer extends AbstractMessageConsumer<MachineLogMessage> {
-        private final WebsocketMessageConsumer<MachineLogMessage> deviceMessageConsumer;
-
-        ArtikMessageConsumer(WebsocketMessageConsumer<MachineLogMessage> deviceMessageConsumer) {
-            this.deviceMessageConsumer = deviceMessageConsumer;
-        }
-
-        @Override
-        public void consume(MachineLogMessage message) throws IOException {
-            deviceMessageConsumer.consume(message);
-        }
-    }
-
+    /**
+     * Writes output of connecting to the device to the agent log. The IDE doesn't show it, the outcome of the
+     * connection is reported by the status events.
+     */
     private static class ArtikDeviceConsumer extends AbstractLineConsumer {
-        private final MessageConsumer<MachineLogMessage> deviceStatusLogger;
-        private final String                             machineName;
+        private final String machineName;
 
-        ArtikDeviceConsumer(MessageConsumer<MachineLogMessage> deviceStatusLogger, String machineName) {
-            this.deviceStatusLogger = deviceStatusLogger;
+        ArtikDeviceConsumer(String machineName) {
             this.machineName = machineName;
         }
 
         @Override
-        public void writeLine(String line) throws IOException {
-            deviceStatusLogger.consume(new MachineLogMessageImpl(machineName, line));
+        public void writeLine(String line) {
+            LOG.debug("[{}] {}", machineName, line);
         }
     }
 
+    @FunctionalInterface
+    private interface ProcessStarter {
+        void start(LineConsumer output) throws ConflictException, MachineException;
+    }
+
     /**
      * Mechanism for verifying state of the connection to the device.
      */
@@ -592,15 +1141,10 @@ public class ArtikDeviceManager {
         }
 
         private void checkConnection(ArtikDevice device) {
-            final Instance instance = device.getInstance();
             try {
                 InetAddress address = InetAddress.getByName(host);
                 if (!address.isReachable(5_000)) {
-                    eventService.publish(newDto(ArtikDeviceStatusEventDto.class)
-                                                 .withEventType(ArtikDeviceStatusEventDto.EventType.DISCONNECTED)
-                                                 .withDeviceName(instance.getConfig().getName())
-                                                 .withDeviceId(instance.getId()));
-                    device.setStatus(ERROR);
+                    markLost(device);
                 }
             } catch (IOException e) {
                 LOG.error(e.getMessage());
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.commons.json.JsonParseException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcOutputDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcParamsDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcResultDto;
+import org.eclipse.che.plugin.machine.artik.logs.ProcessLog;
+import org.eclipse.che.plugin.machine.artik.output.ProcessOutputBroadcaster;
+import org.eclipse.che.plugin.machine.artik.replication.PushToDeviceService;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.websocket.Session;
+import javax.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_CONNECT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_EXEC;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_LOGS;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_OUTPUT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_PROCESSES;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_PUSH;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_RESULT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_STOP;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Handles JSON-RPC requests of the device operations which are received over the agent websocket endpoint.
+ *
+ * <p>Requests are handled in a separate thread, so long operations like connecting to a device or pushing files
+ * don't block the endpoint. The result of each request is sent back to the same endpoint in the
+ * {@code artik/device/result} notification which carries ID of the request. Output of the executed commands
+ * and the requested logs are streamed to the endpoint in {@code artik/device/output} notifications with the same
+ * request ID. The output consumer is attached before the command is started, so the first lines of the output
+ * are never lost, which is possible when output is subscribed through a separate websocket channel.
+ *
+ * <p>At most {@link #MAX_RPC_THREADS} requests are handled at the same time and at most {@link #MAX_QUEUED_REQUESTS}
+ * wait for a thread, other requests are answered with an error right away. Output of the commands which were
+ * executed by an endpoint is dropped as soon as the endpoint's websocket session is closed, the commands
+ * themselves keep running.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ArtikDeviceRpcHandler implements RequestHandler {
+    private static final Logger LOG = getLogger(ArtikDeviceRpcHandler.class);
+
+    static final int    LOG_BATCH_LINES      = 500;
+    static final String DEFAULT_COMMAND_TYPE = "custom";
+    static final int    MAX_RPC_THREADS      = 16;
+    static final int    MAX_QUEUED_REQUESTS  = 256;
+
+    private final ArtikDeviceManager       deviceManager;
+    private final PushToDeviceService      pushService;
+    private final ProcessOutputBroadcaster outputBroadcaster;
+    private final RequestTransmitter       transmitter;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final ExecutorService          executor;
+    /** Output consumers of the executed commands by the endpoints which requested the commands. */
+    private final Map<Integer, Set<LineConsumer>> outputs;
+
+    @Inject
+    public ArtikDeviceRpcHandler(ArtikDeviceManager deviceManager,
+                                 PushToDeviceService pushService,
+                                 ProcessOutputBroadcaster outputBroadcaster,
+                                 RequestTransmitter transmitter,
+                                 WebSocketSessionRegistry sessionRegistry) {
+        this(deviceManager, pushService, outputBroadcaster, transmitter, sessionRegistry, newExecutor());
+    }
+
+    ArtikDeviceRpcHandler(ArtikDeviceManager deviceManager,
+                          PushToDeviceService pushService,
+                          ProcessOutputBroadcaster outputBroadcaster,
+                          RequestTransmitter transmitter,
+                          WebSocketSessionRegistry sessionRegistry,
+                          ExecutorService executor) {
+        this.deviceManager = deviceManager;
+        this.pushService = pushService;
+        this.outputBroadcaster = outputBroadcaster;
+        this.transmitter = transmitter;
+        this.sessionRegistry = sessionRegistry;
+        this.executor = executor;
+        this.outputs = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void receive(JsonRpcRequest request, Integer endpoint) {
+        try {
+            executor.execute(ThreadLocalPropagateContext.wrap(() -> handle(request, endpoint)));
+        } catch (RejectedExecutionException e) {
+            sendResult(endpoint, newResult(request).withError("Too many device requests are in progress, try again later"));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Handles the request and sends its result to the endpoint. */
+    void handle(JsonRpcRequest request, Integer endpoint) {
+        final DeviceRpcResultDto result = newResult(request);
+        final int requestId = result.getRequestId();
+        try {
+            final DeviceRpcParamsDto params = request.getParams() == null
+                                              ? newDto(DeviceRpcParamsDto.class)
+                                              : DtoFactory.getInstance().createDtoFromJson(request.getParams(),
+                                                                                           DeviceRpcParamsDto.class);
+            result.setResult(dispatch(request.getMethod(), params, requestId, endpoint));
+        } catch (ApiException | IOException | JsonParseException | RuntimeException e) {
+            result.setError(e.getLocalizedMessage());
+        }
+        sendResult(endpoint, result);
+    }
+
+    private static DeviceRpcResultDto newResult(JsonRpcRequest request) {
+        return newDto(DeviceRpcResultDto.class).withRequestId(request.getId() == null ? 0 : request.getId())
+                                               .withMethod(request.getMethod());
+    }
+
+    private void sendResult(Integer endpoint, DeviceRpcResultDto result) {
+        transmit(endpoint, ARTIK_RPC_RESULT, DtoFactory.getInstance().toJson(result));
+    }
+
+    private String dispatch(String method, DeviceRpcParamsDto params, int requestId, Integer endpoint) throws ApiException,
+                                                                                                             IOException,
+                                                                                                             JsonParseException {
+        if (method == null) {
+            throw new BadRequestException("Method is required");
+        }
+        final String deviceId = params.getDeviceId();
+        if (deviceId == null) {
+            throw new BadRequestException("Device ID is required");
+        }
+        switch (method) {
+            case ARTIK_RPC_CONNECT:
+                return DtoFactory.getInstance().toJson(deviceManager.connectById(deviceId));
+            case ARTIK_RPC_EXEC:
+                return exec(deviceId, params, requestId, endpoint);
+            case ARTIK_RPC_PROCESSES:
+                final StringJoiner processes = new StringJoiner(",", "[", "]");
+                for (MachineProcessDto process : deviceManager.getProcessesById(deviceId)) {
+                    processes.add(DtoFactory.getInstance().toJson(process));
+                }
+                return processes.toString();
+            case ARTIK_RPC_STOP:
+                deviceManager.stopProcess(deviceId, params.getPid());
+                return null;
+            case ARTIK_RPC_LOGS:
+                return Long.toString(sendLog(deviceId, params, requestId, endpoint));
+            case ARTIK_RPC_PUSH:
+                push(deviceId, params);
+                return null;
+            default:
+                throw new BadRequestException(format("Unknown method '%s'", method));
+        }
+    }
+
+    private String exec(String deviceId, DeviceRpcParamsDto params, int requestId, Integer endpoint) throws ApiException {
+        final CommandImpl command = new CommandImpl(params.getCommandName(),
+                                                    params.getCommandLine(),
+                                                    params.getCommandType() == null ? DEFAULT_COMMAND_TYPE
+                                                                                    : params.getCommandType());
+        final LineConsumer output = new EndpointOutput(endpoint, outputBroadcaster.createConsumer(lines -> {
+            if (isOpen(endpoint)) {
+                sendOutput(endpoint, requestId, deviceId, lines);
+            } else {
+                dropOutputs(endpoint);
+            }
+        }));
+        final MachineProcessDto process;
+        try {
+            process = deviceManager.exec(deviceId, command, null, output, params.isResumable());
+        } catch (ApiException | RuntimeException e) {
+            closeQuietly(output);
+            throw e;
+        }
+        return DtoFactory.getInstance().toJson(process);
+    }
+
+    /** Streams lines of the process log to the endpoint and returns number of the sent lines. */
+    private long sendLog(String deviceId, DeviceRpcParamsDto params, int requestId, Integer endpoint) throws ApiException,
+                                                                                                            IOException {
+        final ProcessLog log = deviceManager.getProcessLog(deviceId, params.getPid());
+        final ProcessLog.Snapshot snapshot = log.snapshot();
+        final long fromLine = params.getTail() > 0 ? Math.max(0, snapshot.getLineCount() - params.getTail()) : 0;
+        long count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                log.openAt(snapshot, log.getLineOffset(snapshot, fromLine)), UTF_8))) {
+            List<String> batch = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                batch.add(line);
+                count++;
+                if (batch.size() == LOG_BATCH_LINES) {
+                    if (!isOpen(endpoint)) {
+                        return count;
+                    }
+                    sendOutput(endpoint, requestId, deviceId, batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sendOutput(endpoint, requestId, deviceId, batch);
+            }
+        }
+        return count;
+    }
+
+    private void push(String deviceId, DeviceRpcParamsDto params) throws ApiException, IOException, JsonParseException {
+        if (params.getSourcePath() == null || params.getTargetPath() == null) {
+            throw new BadRequestException("Source and target paths are required");
+        }
+        final Response response = pushService.pushToDevice(deviceId, params.getSourcePath(), params.getTargetPath());
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            throw new ServerException(format("Unable to push '%s' to the device", params.getSourcePath()));
+        }
+    }
+
+    private void sendOutput(Integer endpoint, int requestId, String deviceId, List<String> lines) {
+        final DeviceRpcOutputDto output = newDto(DeviceRpcOutputDto.class).withRequestId(requestId)
+                                                                          .withDeviceId(deviceId)
+                                                                          .withLines(lines);
+        transmit(endpoint, ARTIK_RPC_OUTPUT, DtoFactory.getInstance().toJson(output));
+    }
+
+    /**
+     * Closes output consumers of the endpoint. It is done asynchronously, because the output is sent from
+     * the thread which holds the lock of the consumer.
+     */
+    private void dropOutputs(Integer endpoint) {
+        final Set<LineConsumer> consumers = outputs.remove(endpoint);
+        if (consumers == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> consumers.forEach(ArtikDeviceRpcHandler::closeQuietly));
+        } catch (RejectedExecutionException e) {
+            // the next batch of the output retries
+            outputs.computeIfAbsent(endpoint, key -> ConcurrentHashMap.newKeySet()).addAll(consumers);
+        }
+    }
+
+    /** Checks that the websocket session of the endpoint is open. */
+    boolean isOpen(Integer endpoint) {
+        return sessionRegistry.get(endpoint).map(Session::isOpen).orElse(false);
+    }
+
+    /** Sends notification to the endpoint. */
+    void transmit(Integer endpoint, String method, String params) {
+        try {
+            transmitter.transmit(newDto(JsonRpcRequest.class).withJsonrpc("2.0")
+                                                             .withMethod(method)
+                                                             .withParams(params),
+                                 endpoint);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static void closeQuietly(LineConsumer consumer) {
+        try {
+            consumer.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        final ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(MAX_RPC_THREADS,
+                                       MAX_RPC_THREADS,
+                                       60L,
+                                       SECONDS,
+                                       new LinkedBlockingQueue<>(MAX_QUEUED_REQUESTS),
+                                       new ThreadFactoryBuilder().setNameFormat("ArtikDeviceRpc-%d")
+                                                                 .setUncaughtExceptionHandler(
+                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                 .setDaemon(true)
+                                                                 .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** Output consumer which is registered for the endpoint until it is closed. */
+    private class EndpointOutput extends AbstractLineConsumer {
+        private final Integer      endpoint;
+        private final LineConsumer delegate;
+
+        private EndpointOutput(Integer endpoint, LineConsumer delegate) {
+            this.endpoint = endpoint;
+            this.delegate = delegate;
+            outputs.computeIfAbsent(endpoint, key -> ConcurrentHashMap.newKeySet()).add(this);
+        }
+
+        @Override
+        public void writeLine(String line) throws IOException {
+            delegate.writeLine(line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputs.computeIfPresent(endpoint, (key, consumers) -> {
+                consumers.remove(this);
+                return consumers.isEmpty() ? null : consumers;
+            });
+            delegate.close();
+        }
+    }
+}
@@ -17,37 +17,62 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
-import com.google.common.io.CharStreams;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.Service;
-import org.eclipse.che.api.machine.server.DtoConverter;
-import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.plugin.artik.shared.dto.BootstrapDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceBootstrapDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceCommandResultDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto;
+import org.eclipse.che.plugin.artik.shared.dto.LogRetentionDto;
+import org.eclipse.che.plugin.artik.shared.dto.ResourceHistoryDto;
+import org.eclipse.che.plugin.machine.artik.logs.LogRange;
+import org.eclipse.che.plugin.machine.artik.logs.LogRetention;
+import org.eclipse.che.plugin.machine.artik.logs.ProcessLogStreamer;
+import org.eclipse.che.plugin.machine.artik.monitor.ResourceCollector;
+import org.eclipse.che.plugin.machine.artik.monitor.ResourceHistory;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionPool;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionResult;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import java.io.IOException;
-import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * Artik device service API
@@ -57,13 +82,34 @@ import java.util.stream.Collectors;
 @Api(value = "/artik", description = "Artik REST API")
 @Path("/artik")
 public class ArtikDeviceService extends Service {
+    static final String DEVICE_LIST_VERSION_HEADER = "X-Device-List-Version";
+
     private final ArtikDeviceManager              artikDeviceManager;
     private final ArtikDeviceServiceLinksInjector linksInjector;
+    private final FleetCommandExecutor            fleetCommandExecutor;
+    private final DeviceSessionPool               sessionPool;
+    private final ProcessLogStreamer              logStreamer;
+    private final DeviceListCache                 deviceListCache;
+    private final ResourceCollector               resourceCollector;
+    private final ResourceHistory                 resourceHistory;
 
     @Inject
-    public ArtikDeviceService(ArtikDeviceManager artikDeviceManager, ArtikDeviceServiceLinksInjector linksInjector) {
+    public ArtikDeviceService(ArtikDeviceManager artikDeviceManager,
+                              ArtikDeviceServiceLinksInjector linksInjector,
+                              FleetCommandExecutor fleetCommandExecutor,
+                              DeviceSessionPool sessionPool,
+                              ProcessLogStreamer logStreamer,
+                              DeviceListCache deviceListCache,
+                              ResourceCollector resourceCollector,
+                              ResourceHistory resourceHistory) {
         this.artikDeviceManager = artikDeviceManager;
         this.linksInjector = linksInjector;
+        this.fleetCommandExecutor = fleetCommandExecutor;
+        this.sessionPool = sessionPool;
+        this.logStreamer = logStreamer;
+        this.deviceListCache = deviceListCache;
+        this.resourceCollector = resourceCollector;
+        this.resourceHistory = resourceHistory;
     }
 
     @POST
@@ -122,13 +168,59 @@ public class ArtikDeviceService extends Service {
     @GET
     @Path("/devices")
     @Produces(MediaType.APPLICATION_JSON)
-    @ApiOperation(value = "Get all connected devices", response = MachineDto.class, responseContainer = "List")
-    public List<MachineDto> getDevices() {
-        final List<MachineDto> devices = artikDeviceManager.getDevices();
-        for (MachineDto device : devices) {
-            linksInjector.injectLinks(device, getServiceContext());
+    @ApiOperation(value = "Get all connected devices",
+            notes = "The response is tagged with the version of the device list which is also sent in the " +
+                    DEVICE_LIST_VERSION_HEADER + " header, the list is not sent if it is not modified",
+            response = MachineDto.class,
+            responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains devices"),
+                   @ApiResponse(code = 304, message = "The device list is not modified")})
+    public Response getDevices(@Context Request request) {
+        final DeviceListDto list = deviceListCache.getDevices(getServiceContext());
+        final EntityTag tag = new EntityTag(Long.toString(list.getVersion()));
+        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        if (builder == null) {
+            builder = Response.ok(new GenericEntity<List<MachineDto>>(list.getDevices()) {});
+        }
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return builder.tag(tag)
+                      .cacheControl(cacheControl)
+                      .header(DEVICE_LIST_VERSION_HEADER, list.getVersion())
+                      .header("Access-Control-Expose-Headers", "ETag, " + DEVICE_LIST_VERSION_HEADER)
+                      .build();
+    }
+
+    @GET
+    @Path("/bootstrap")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get all the devices with their processes, connection statuses and facts",
+            notes = "The snapshot is loaded by IDE on start instead of requesting each device separately",
+            response = BootstrapDto.class)
+    public BootstrapDto getBootstrap() {
+        final DeviceListDto list = deviceListCache.getDevices(getServiceContext());
+        final List<DeviceBootstrapDto> devices = new ArrayList<>(list.getDevices().size());
+        for (MachineDto device : list.getDevices()) {
+            try {
+                devices.add(artikDeviceManager.describe(device));
+            } catch (NotFoundException ignored) {
+                // device is removed meanwhile
+            }
         }
-        return devices;
+        return newDto(BootstrapDto.class).withVersion(list.getVersion())
+                                         .withDevices(devices);
+    }
+
+    @GET
+    @Path("/devices/changes")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get changes of the device list since the specified version",
+            notes = "All the devices are returned if the changes since the version are not known",
+            response = DeviceListDto.class)
+    public DeviceListDto getDeviceChanges(@ApiParam(value = "Version of the device list the client has")
+                                          @DefaultValue("-1") @QueryParam("since") long since) {
+        return deviceListCache.getChanges(since, getServiceContext());
     }
 
     @GET
@@ -145,7 +237,6 @@ public class ArtikDeviceService extends Service {
                                                 @PathParam("deviceId") String deviceId) throws ServerException, NotFoundException {
         return artikDeviceManager.getProcessesById(deviceId)
                                  .stream()
-                                 .map(DtoConverter::asDto)
                                  .map(machineProcess -> linksInjector.injectLinks(machineProcess,
                                                                                   deviceId,
                                                                                   getServiceContext()))
@@ -155,23 +246,78 @@ public class ArtikDeviceService extends Service {
     @GET
     @Path("/{deviceId}/process/{pid}/logs")
     @Produces(MediaType.TEXT_PLAIN)
-    @ApiOperation(value = "Get logs of device process")
+    @ApiOperation(value = "Get logs of device process",
+            notes = "Only one of the range parameters may be specified. The offset of the first returned byte is sent " +
+                    "in the X-Log-Offset header and the offset to continue from in the X-Log-Next-Offset header. " +
+                    "Following of the log stops after 30 seconds, the follower continues from X-Log-Offset plus " +
+                    "the number of received bytes.")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 206, message = "The response contains requested range of logs"),
+                   @ApiResponse(code = 400, message = "Range parameters are not valid"),
                    @ApiResponse(code = 404, message = "Device or process with specified ID does not exist"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getProcessLogs(@ApiParam(value = "Device ID")
                                @PathParam("deviceId") String machineId,
                                @ApiParam(value = "Process ID")
                                @PathParam("pid") int pid,
+                               @ApiParam(value = "First line to return, lines are counted from 0")
+                               @QueryParam("fromLine") Long fromLine,
+                               @ApiParam(value = "Line to stop before")
+                               @QueryParam("toLine") Long toLine,
+                               @ApiParam(value = "Number of last lines to return")
+                               @QueryParam("tail") Long tail,
+                               @ApiParam(value = "Return lines written since the time in milliseconds")
+                               @QueryParam("since") Long since,
+                               @ApiParam(value = "Offset of the first byte to return")
+                               @QueryParam("offset") Long offset,
+                               @ApiParam(value = "Continue to send new lines until the process is completed, at most 30 seconds")
+                               @DefaultValue("false") @QueryParam("follow") boolean follow,
+                               @HeaderParam("Range") String rangeHeader,
+                               @HeaderParam("Accept-Encoding") String acceptEncoding,
                                @Context HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
+        final LogRange range = getLogRange(fromLine, toLine, tail, since, offset, rangeHeader);
+        final boolean acceptsGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        logStreamer.write(artikDeviceManager.getProcessLog(machineId, pid), range, follow, acceptsGzip, httpServletResponse);
+    }
+
 
-        addProcessLogsToResponse(machineId, pid, httpServletResponse);
+    @GET
+    @Path("/{deviceId}/logs/retention")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get retention policy of device process logs", response = LogRetentionDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains retention policy"),
+                   @ApiResponse(code = 404, message = "Device with specified ID does not exist")})
+    public LogRetentionDto getLogRetention(@ApiParam(value = "Device ID")
+                                           @PathParam("deviceId") String deviceId) throws NotFoundException {
+        final LogRetention retention = artikDeviceManager.getLogRetention(deviceId);
+        return newDto(LogRetentionDto.class).withMaxAgeHours(retention.getMaxAgeHours())
+                                            .withMaxSizeMb(retention.getMaxSizeMb());
     }
 
+    @PUT
+    @Path("/{deviceId}/logs/retention")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Override retention policy of device process logs")
+    @ApiResponses({@ApiResponse(code = 204, message = "Retention policy was successfully updated"),
+                   @ApiResponse(code = 400, message = "Retention policy is invalid"),
+                   @ApiResponse(code = 404, message = "Device with specified ID does not exist"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public void setLogRetention(@ApiParam(value = "Device ID")
+                                @PathParam("deviceId") String deviceId,
+                                @ApiParam(value = "Retention policy, the default one is used if it is not specified")
+                                LogRetentionDto retention) throws NotFoundException, ServerException, BadRequestException {
+        if (retention != null && (retention.getMaxAgeHours() < 0 || retention.getMaxSizeMb() < 0)) {
+            throw new BadRequestException("Retention limits must not be negative");
+        }
+        artikDeviceManager.setLogRetention(deviceId,
+                                           retention == null ? null : new LogRetention(retention.getMaxAgeHours(),
+                                                                                       retention.getMaxSizeMb()));
+    }
 
     @DELETE
     @Path("/{deviceId}")
@@ -202,18 +348,151 @@ public class ArtikDeviceService extends Service {
                                                     @ApiParam(value = "Command to execute", required = true)
                                                     final CommandDto command,
                                                     @ApiParam(value = "Channel for command output")
-                                                    @QueryParam("outputChannel") String outputChannel) throws NotFoundException,
-                                                                                                              ServerException,
-                                                                                                              BadRequestException {
+                                                    @QueryParam("outputChannel") String outputChannel,
+                                                    @ApiParam(value = "Keep the command running on the device when the connection " +
+                                                                      "is lost, the command doesn't get any input then")
+                                                    @DefaultValue("false")
+                                                    @QueryParam("resumable") boolean resumable) throws NotFoundException,
+                                                                                                       ServerException,
+                                                                                                       BadRequestException {
         requiredNotNull(command, "Command description");
         requiredNotNull(command.getCommandLine(), "Commandline");
-        return linksInjector.injectLinks(DtoConverter.asDto(artikDeviceManager.exec(deviceId,
-                                                                                    command,
-                                                                                    outputChannel)),
+        return linksInjector.injectLinks(artikDeviceManager.exec(deviceId, command, outputChannel, null, resumable),
                                          deviceId,
                                          getServiceContext());
     }
 
+    @POST
+    @Path("/{deviceId}/query")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Execute short command in the SSH session of device and wait for its result",
+            response = DeviceCommandResultDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains exit code and output of the command"),
+                   @ApiResponse(code = 400, message = "Command entity is invalid"),
+                   @ApiResponse(code = 404, message = "Device with specified ID does not exist"),
+                   @ApiResponse(code = 409, message = "Device is not connected"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public DeviceCommandResultDto executeQuery(@ApiParam(value = "Device ID")
+                                               @PathParam("deviceId") String deviceId,
+                                               @ApiParam(value = "Command to execute", required = true)
+                                               CommandDto command,
+                                               @ApiParam(value = "Command timeout in milliseconds")
+                                               @QueryParam("timeout") long timeout) throws NotFoundException,
+                                                                                           ConflictException,
+                                                                                           ServerException,
+                                                                                           BadRequestException {
+        requiredNotNull(command, "Command description");
+        requiredNotNull(command.getCommandLine(), "Commandline");
+        final DeviceSessionResult result = sessionPool.execute(deviceId, command.getCommandLine(), timeout);
+        return newDto(DeviceCommandResultDto.class).withExitCode(result.getExitCode())
+                                                   .withOutput(result.getOutput());
+    }
+
+    @POST
+    @Path("/fleet/command")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Execute specified command on a group of devices",
+            response = FleetCommandResultDto.class,
+            responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains pids of the started processes on each device, " +
+                                                      "final results are sent to the result channel"),
+                   @ApiResponse(code = 400, message = "Command entity is invalid or no devices found")})
+    public List<FleetCommandResultDto> executeFleetCommand(@ApiParam(value = "Command and target devices", required = true)
+                                                           FleetCommandDto command,
+                                                           @ApiParam(value = "Channel for multiplexed command output")
+                                                           @QueryParam("outputChannel") String outputChannel,
+                                                           @ApiParam(value = "Channel for the result of the command on each device")
+                                                           @QueryParam("resultChannel") String resultChannel) throws BadRequestException {
+        requiredNotNull(command, "Command description");
+        return fleetCommandExecutor.execute(command, outputChannel, resultChannel);
+    }
+
+    @PUT
+    @Path("/{deviceId}/tags")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Update tags of device")
+    @ApiResponses({@ApiResponse(code = 204, message = "Tags were successfully updated"),
+                   @ApiResponse(code = 404, message = "Device with specified ID does not exist"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public void setTags(@ApiParam(value = "Device ID")
+                        @PathParam("deviceId") String deviceId,
+                        @ApiParam(value = "New tags of the device", required = true)
+                        List<String> tags) throws NotFoundException, ServerException, BadRequestException {
+        requiredNotNull(tags, "Tags");
+        artikDeviceManager.setTags(deviceId, new LinkedHashSet<>(tags));
+    }
+
+    @POST
+    @Path("/{deviceId}/resources/subscription")
+    @ApiOperation(value = "Subscribe to resource usage of device or renew the subscription",
+            notes = "Usage is broadcast to the websocket channel of the device until the subscription is removed. " +
+                    "The subscription expires in a minute unless it is renewed by the same subscriber")
+    @ApiResponses({@ApiResponse(code = 204, message = "Subscription was successfully added"),
+                   @ApiResponse(code = 400, message = "Subscriber is not specified"),
+                   @ApiResponse(code = 404, message = "Device with specified ID does not exist"),
+                   @ApiResponse(code = 409, message = "Device is not connected")})
+    public void subscribeToResources(@ApiParam(value = "Device ID")
+                                     @PathParam("deviceId") String deviceId,
+                                     @ApiParam(value = "ID of the subscriber", required = true)
+                                     @QueryParam("subscriber") String subscriber) throws NotFoundException,
+                                                                                          ConflictException,
+                                                                                          BadRequestException {
+        requiredNotNull(subscriber, "Subscriber");
+        resourceCollector.subscribe(deviceId, subscriber);
+    }
+
+    @DELETE
+    @Path("/{deviceId}/resources/subscription")
+    @ApiOperation(value = "Unsubscribe from resource usage of device")
+    @ApiResponses({@ApiResponse(code = 204, message = "Subscription was successfully removed")})
+    public void unsubscribeFromResources(@ApiParam(value = "Device ID")
+                                         @PathParam("deviceId") String deviceId,
+                                         @ApiParam(value = "ID of the subscriber", required = true)
+                                         @QueryParam("subscriber") String subscriber) throws BadRequestException {
+        requiredNotNull(subscriber, "Subscriber");
+        resourceCollector.unsubscribe(deviceId, subscriber);
+    }
+
+    @GET
+    @Path("/{deviceId}/resources/history")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get resource usage history of device",
+            notes = "Connected devices are sampled every minute and every three seconds while somebody is subscribed " +
+                    "to their resource usage. The last 1200 raw samples are kept, one-minute averages for the last " +
+                    "day and fifteen-minute averages for the last week. There is no history for the time when the device " +
+                    "was disconnected",
+            response = ResourceHistoryDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains the history"),
+                   @ApiResponse(code = 400, message = "Resolution or window is not valid"),
+                   @ApiResponse(code = 404, message = "There is no history of the device")})
+    public ResourceHistoryDto getResourceHistory(@ApiParam(value = "Device ID")
+                                                 @PathParam("deviceId") String deviceId,
+                                                 @ApiParam(value = "Start of the window in milliseconds, an hour ago by default")
+                                                 @QueryParam("from") Long from,
+                                                 @ApiParam(value = "End of the window in milliseconds, now by default")
+                                                 @QueryParam("to") Long to,
+                                                 @ApiParam(value = "Resolution of the history, the finest one which covers " +
+                                                                   "the window by default",
+                                                           allowableValues = "raw,1m,15m")
+                                                 @QueryParam("resolution") String resolution) throws NotFoundException,
+                                                                                                     BadRequestException {
+        final long end = to == null ? System.currentTimeMillis() : to;
+        final long start = from == null ? end - 60 * 60 * 1000 : from;
+        if (start > end) {
+            throw new BadRequestException("Start of the window must not be after its end");
+        }
+        ResourceHistory.Resolution parsed = null;
+        if (resolution != null) {
+            parsed = ResourceHistory.Resolution.fromName(resolution);
+            if (parsed == null) {
+                throw new BadRequestException("Unknown resolution " + resolution);
+            }
+        }
+        return resourceHistory.query(deviceId, start, end, parsed);
+    }
+
     @DELETE
     @Path("/{deviceId}/process/{processId}")
     @ApiOperation(value = "Stop process in device")
@@ -234,15 +513,32 @@ public class ArtikDeviceService extends Service {
         }
     }
 
-    private void addProcessLogsToResponse(String machineId, int pid, HttpServletResponse httpServletResponse) throws IOException,
-                                                                                                                     NotFoundException,
-                                                                                                                     MachineException {
-        try (Reader logsReader = artikDeviceManager.getProcessLogReader(machineId, pid)) {
-            // Response is written directly to the servlet request stream
-            httpServletResponse.setContentType("text/plain");
-            CharStreams.copy(logsReader, httpServletResponse.getWriter());
-            httpServletResponse.getWriter().flush();
+    private LogRange getLogRange(Long fromLine, Long toLine, Long tail, Long since, Long offset, String rangeHeader)
+            throws BadRequestException {
+        final long specified = Stream.of(fromLine, tail, since, offset).filter(Objects::nonNull).count();
+        if (specified > 1) {
+            throw new BadRequestException("Only one of 'fromLine', 'tail', 'since' and 'offset' parameters may be specified");
+        }
+        if (toLine != null && fromLine == null) {
+            throw new BadRequestException("Parameter 'toLine' requires 'fromLine'");
+        }
+        if (Stream.of(fromLine, toLine, tail, offset).anyMatch(value -> value != null && value < 0)) {
+            throw new BadRequestException("Range parameters must not be negative");
+        }
+        if (fromLine != null) {
+            return LogRange.lines(fromLine, toLine);
+        }
+        if (tail != null) {
+            return LogRange.tail(tail);
+        }
+        if (since != null) {
+            return LogRange.since(since);
+        }
+        if (offset != null) {
+            return LogRange.bytes(offset, null);
         }
+        final LogRange requested = LogRange.fromRangeHeader(rangeHeader);
+        return requested != null ? requested : LogRange.all();
     }
 }
 
@@ -11,8 +11,6 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.machine.artik;
 
-import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
 import org.everrest.websockets.WSConnectionContext;
@@ -20,48 +18,45 @@ import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
-import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
+import java.util.StringJoiner;
 
 import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DEVICE_STATUS_CHANNEL;
 
 /**
  * Send artik device status events using websocket channel to the clients
  *
+ * <p>Events are sent in batches, {@link DeviceStatusPublisher} passes all the events it publishes at once.
+ * A batch is a JSON array which is serialized once and the same message is broadcast to all the clients
+ * subscribed to the channel.
+ *
  * @author Valeriy Svydenko
  */
-@Singleton // should be eager
-public class ArtikDeviceStateMessenger implements EventSubscriber<ArtikDeviceStatusEventDto> {
+@Singleton
+public class ArtikDeviceStateMessenger {
     private static final Logger LOG = LoggerFactory.getLogger(ArtikDeviceStateMessenger.class);
 
-    private final EventService eventService;
-
-    @Inject
-    public ArtikDeviceStateMessenger(EventService eventService) {
-        this.eventService = eventService;
-    }
-
-    @Override
-    public void onEvent(ArtikDeviceStatusEventDto event) {
+    /** Sends the events as a single message. */
+    void broadcast(List<ArtikDeviceStatusEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
         try {
+            final StringJoiner body = new StringJoiner(",", "[", "]");
+            for (ArtikDeviceStatusEventDto event : events) {
+                body.add(DtoFactory.getInstance().toJson(event));
+            }
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel(ARTIK_DEVICE_STATUS_CHANNEL);
-            bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            bm.setBody(body.toString());
+            send(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
     }
 
-    @PostConstruct
-    private void subscribe() {
-        eventService.subscribe(this);
-    }
-
-    @PreDestroy
-    private void unsubscribe() {
-        eventService.unsubscribe(this);
+    void send(ChannelBroadcastMessage message) throws Exception {
+        WSConnectionContext.sendMessage(message);
     }
 }
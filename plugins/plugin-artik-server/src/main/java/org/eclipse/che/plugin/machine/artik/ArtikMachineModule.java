@@ -13,13 +13,23 @@ package org.eclipse.che.plugin.machine.artik;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 
+import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.machine.server.event.MachineProcessMessenger;
 import org.eclipse.che.inject.DynaModule;
+import org.eclipse.che.plugin.machine.artik.monitor.ResourceCollector;
 import org.eclipse.che.plugin.machine.ssh.SshMachineFactory;
 
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_CONNECT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_EXEC;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_LOGS;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_PROCESSES;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_PUSH;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_STOP;
+
 /**
  * Provides bindings needed for artik machine implementation usage.
  *
@@ -54,11 +64,18 @@ public class ArtikMachineModule extends AbstractModule {
         machineServers.addBinding().toProvider(TerminalServerConfProvider.class);
 
         bind(MachineProcessMessenger.class).asEagerSingleton();
-        bind(ArtikDeviceStateMessenger.class).asEagerSingleton();
+        // samples connected devices for the resource history from the agent start
+        bind(ResourceCollector.class).asEagerSingleton();
 
         Multibinder.newSetBinder(binder(), org.eclipse.che.api.agent.server.launcher.AgentLauncher.class)
                    .addBinding().to(ArtikTerminalLauncher.class);
 
         bind(ArtikDeviceService.class);
+
+        MapBinder<String, RequestHandler> requestHandlers = MapBinder.newMapBinder(binder(), String.class, RequestHandler.class);
+        for (String method : new String[]{ARTIK_RPC_CONNECT, ARTIK_RPC_EXEC, ARTIK_RPC_PROCESSES,
+                                          ARTIK_RPC_STOP, ARTIK_RPC_LOGS, ARTIK_RPC_PUSH}) {
+            requestHandlers.addBinding(method).to(ArtikDeviceRpcHandler.class);
+        }
     }
 }
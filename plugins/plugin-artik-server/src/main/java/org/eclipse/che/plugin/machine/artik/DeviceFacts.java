@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facts collected from the device after it is connected. They are kept in the device registry,
+ * so they are available to the IDE even when the device is not connected.
+ *
+ * @author Valeriy Svydenko
+ */
+class DeviceFacts {
+    /** Prints facts of the device as {@code key=value} lines, values of ARTIK release file are prefixed with {@code artik.}. */
+    static final String COMMAND = "echo \"kernel=$(uname -r)\"\n" +
+                                  "echo \"arch=$(uname -m)\"\n" +
+                                  "echo \"hostname=$(hostname)\"\n" +
+                                  "[ -r /proc/device-tree/model ] && echo \"model=$(tr -d '\\0' </proc/device-tree/model)\"\n" +
+                                  "[ -r /etc/artik_release ] && sed -n 's/^\\([A-Za-z0-9_]*\\)=/artik.\\1=/p' /etc/artik_release\n" +
+                                  "exit 0";
+
+    private static final String STDOUT = "[STDOUT] ";
+
+    private DeviceFacts() {
+    }
+
+    /**
+     * Parses output of the {@link #COMMAND}.
+     *
+     * @param lines
+     *         output lines of the command
+     * @return facts of the device, keys of the ARTIK release file are lower-cased
+     */
+    static Map<String, String> parse(List<String> lines) {
+        final Map<String, String> facts = new LinkedHashMap<>();
+        for (String line : lines) {
+            if (line.startsWith(STDOUT)) {
+                line = line.substring(STDOUT.length());
+            } else if (line.startsWith("[")) {
+                // stderr or error of the process
+                continue;
+            }
+            final int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            final String value = line.substring(separator + 1).trim();
+            if (!value.isEmpty()) {
+                facts.put(line.substring(0, separator).toLowerCase(), value);
+            }
+        }
+        return facts;
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.model.machine.MachineRuntimeInfo;
+import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.rest.ServiceContext;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Versioned list of the devices.
+ *
+ * <p>Converted devices with injected links are kept per base URI of the service until the device changes: its
+ * instance, status or connection state is replaced. Each change of the device gets the next version of the list,
+ * so clients may ask for changes since the version they have. A request with another base URI doesn't change the
+ * version, the devices are only converted once more for it. The version starts from the start time of the agent in milliseconds, so versions received from the
+ * agent before its restart are lower than any version of the new list and clients get the full list.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceListCache {
+    /** Number of the removed devices which are remembered to build the changes. */
+    static final int MAX_REMOVED_DEVICES = 256;
+    /** Number of the base URIs for which converted devices are kept. */
+    static final int MAX_BASE_URIS       = 8;
+
+    private final ArtikDeviceManager              deviceManager;
+    private final ArtikDeviceServiceLinksInjector linksInjector;
+    private final Map<String, Entry>              entries;
+    private final LinkedHashMap<String, Long>     removed;
+
+    private long version;
+    private long oldestVersion;
+
+    @Inject
+    public DeviceListCache(ArtikDeviceManager deviceManager, ArtikDeviceServiceLinksInjector linksInjector) {
+        this.deviceManager = deviceManager;
+        this.linksInjector = linksInjector;
+        this.entries = new LinkedHashMap<>();
+        this.removed = new LinkedHashMap<>();
+        this.version = System.currentTimeMillis();
+        this.oldestVersion = version;
+    }
+
+    /**
+     * Returns changes of the device list since the specified version.
+     *
+     * @param since
+     *         version of the list the client has, the full list is returned if the changes since the version
+     *         are not known
+     * @param serviceContext
+     *         context used to build links of the devices
+     */
+    public synchronized DeviceListDto getChanges(long since, ServiceContext serviceContext) {
+        update();
+
+        final boolean full = since < oldestVersion || since > version;
+        final List<MachineDto> devices = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (full || entry.version > since) {
+                devices.add(entry.getDevice(serviceContext));
+            }
+        }
+        final List<String> removedIds = new ArrayList<>();
+        if (!full) {
+            for (Map.Entry<String, Long> entry : removed.entrySet()) {
+                if (entry.getValue() > since) {
+                    removedIds.add(entry.getKey());
+                }
+            }
+        }
+        return newDto(DeviceListDto.class).withVersion(version)
+                                          .withFull(full)
+                                          .withDevices(devices)
+                                          .withRemoved(removedIds);
+    }
+
+    /** Returns all the devices with the current version of the list. */
+    public DeviceListDto getDevices(ServiceContext serviceContext) {
+        return getChanges(-1, serviceContext);
+    }
+
+    private void update() {
+        final Set<String> present = new HashSet<>();
+        for (ArtikDevice device : deviceManager.getArtikDevices()) {
+            present.add(device.getId());
+            final Entry current = entries.get(device.getId());
+            if (current == null || !current.isActual(device)) {
+                entries.put(device.getId(), new Entry(device, ++version));
+                removed.remove(device.getId());
+            }
+        }
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext(); ) {
+            final String deviceId = it.next();
+            if (!present.contains(deviceId)) {
+                it.remove();
+                removed.put(deviceId, ++version);
+            }
+        }
+        for (Iterator<Long> it = removed.values().iterator(); removed.size() > MAX_REMOVED_DEVICES; ) {
+            oldestVersion = it.next();
+            it.remove();
+        }
+    }
+
+    /** Converts the device to DTO with links. */
+    MachineDto asDto(ArtikDevice device, ServiceContext serviceContext) {
+        return linksInjector.injectLinks(ArtikDtoConverter.asDto(device.getInstance()), serviceContext);
+    }
+
+    /** State of the device and its conversions for each base URI. */
+    private final class Entry {
+        private final ArtikDevice             artikDevice;
+        private final Instance                instance;
+        private final MachineStatus           status;
+        private final MachineRuntimeInfo      runtime;
+        private final long                    stateVersion;
+        private final Map<String, MachineDto> devices;
+        private final long                    version;
+
+        private Entry(ArtikDevice artikDevice, long version) {
+            this.artikDevice = artikDevice;
+            this.instance = artikDevice.getInstance();
+            this.status = instance.getStatus();
+            this.runtime = instance.getRuntime();
+            this.stateVersion = artikDevice.getState().getVersion();
+            this.devices = new HashMap<>();
+            this.version = version;
+        }
+
+        private boolean isActual(ArtikDevice artikDevice) {
+            final Instance current = artikDevice.getInstance();
+            return current == instance
+                   && current.getStatus() == status
+                   && current.getRuntime() == runtime
+                   && artikDevice.getState().getVersion() == stateVersion;
+        }
+
+        private MachineDto getDevice(ServiceContext serviceContext) {
+            final String baseUri = serviceContext.getServiceUriBuilder().build().toString();
+            MachineDto device = devices.get(baseUri);
+            if (device == null) {
+                if (devices.size() >= MAX_BASE_URIS) {
+                    devices.clear();
+                }
+                device = asDto(artikDevice, serviceContext);
+                devices.put(baseUri, device);
+            }
+            return device;
+        }
+    }
+}
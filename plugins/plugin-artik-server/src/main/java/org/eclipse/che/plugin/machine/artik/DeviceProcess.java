@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Process started on the device by {@link ArtikDeviceManager}.
+ *
+ * <p>The command is started as is with a plain SSH process, so it stops when the connection to the device is
+ * lost. See {@link ResumableProcess} for the process which survives loss of the connection.
+ *
+ * @author Valeriy Svydenko
+ */
+class DeviceProcess {
+    private final int     pid;
+    private final Command command;
+
+    private volatile InstanceProcess current;
+    private volatile boolean         killed;
+
+    /**
+     * @param pid
+     *         ID of the process which is exposed to the clients
+     * @param command
+     *         command to start on the device
+     */
+    DeviceProcess(int pid, Command command) {
+        this.pid = pid;
+        this.command = command;
+    }
+
+    /** Returns ID of the process which is exposed to the clients. */
+    int getPid() {
+        return pid;
+    }
+
+    /** Returns the command as it was requested. */
+    Command getCommand() {
+        return command;
+    }
+
+    /** Returns command which starts the process on the device. */
+    Command getStartCommand() {
+        return command;
+    }
+
+    /** Returns command which continues to follow output of the process, {@code null} if it can't be resumed. */
+    @Nullable
+    Command getResumeCommand() {
+        return null;
+    }
+
+    /** Returns command which kills the process on the device, {@code null} if killing of the SSH process is enough. */
+    @Nullable
+    Command getKillCommand() {
+        return null;
+    }
+
+    /** Wraps the consumer which receives output of the SSH process, the plain process passes the output as is. */
+    LineConsumer track(LineConsumer output) {
+        return output;
+    }
+
+    /** Returns SSH process which currently runs or follows the command. */
+    InstanceProcess getCurrent() {
+        return current;
+    }
+
+    void setCurrent(InstanceProcess current) {
+        this.current = current;
+    }
+
+    /** Returns {@code true} if the process may be resumed after its SSH process failed. */
+    boolean isResumable() {
+        return false;
+    }
+
+    void markKilled() {
+        killed = true;
+    }
+
+    /** Returns {@code true} if the process was stopped by a client. */
+    boolean isKilled() {
+        return killed;
+    }
+}
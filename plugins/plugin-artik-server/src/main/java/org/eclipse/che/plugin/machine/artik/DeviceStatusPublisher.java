@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * The single point which publishes {@link ArtikDeviceStatusEventDto}s.
+ *
+ * <p>Status changes are not published immediately. The latest change of each device is kept for a short
+ * period and then published once, so a burst of transitions results in one event with the final state.
+ * Changes with a version lower than the pending one are dropped. The events of one flush are also sent to
+ * the clients as a single message by {@link ArtikDeviceStateMessenger}, which doesn't delay them any further.
+ *
+ * <p>{@link ArtikDevice.Status#CONNECTING} is not published, clients learn the outcome of the connection.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceStatusPublisher {
+    static final long COALESCE_DELAY_MS = 100;
+
+    private final EventService                    eventService;
+    private final ArtikDeviceStateMessenger       messenger;
+    private final ScheduledExecutorService        scheduler;
+    private final Map<String, PendingStatusEvent> pending;
+    private final AtomicBoolean                   flushScheduled;
+
+    @Inject
+    public DeviceStatusPublisher(EventService eventService, ArtikDeviceStateMessenger messenger) {
+        this.eventService = eventService;
+        this.messenger = messenger;
+        this.pending = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("ArtikDeviceStatusPublisher-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Schedules publication of the device state. The connecting state is not published.
+     *
+     * @param device
+     *         device which state was changed
+     * @param state
+     *         new state of the device
+     * @param error
+     *         error message, may be {@code null}
+     */
+    public void publish(ArtikDevice device, ArtikDevice.State state, String error) {
+        if (state.getStatus() == ArtikDevice.Status.CONNECTING) {
+            return;
+        }
+        publish(device.getId(),
+                device.getInstance().getConfig().getName(),
+                state.getVersion(),
+                asEventType(state.getStatus(), error),
+                error);
+    }
+
+    /**
+     * Schedules publication of the device event.
+     *
+     * @param deviceId
+     *         identifier of the device
+     * @param deviceName
+     *         name of the device
+     * @param version
+     *         version of the device state, events with lower version than pending one are dropped
+     * @param eventType
+     *         type of the event
+     * @param error
+     *         error message, may be {@code null}
+     */
+    public void publish(String deviceId, String deviceName, long version, EventType eventType, String error) {
+        final PendingStatusEvent event = new PendingStatusEvent(deviceName, version, eventType, error);
+        pending.merge(deviceId, event, (current, update) -> update.version >= current.version ? update : current);
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, COALESCE_DELAY_MS, MILLISECONDS);
+        }
+    }
+
+    /** Publishes all pending events and sends them to the clients. */
+    void flush() {
+        flushScheduled.set(false);
+        final List<ArtikDeviceStatusEventDto> events = new ArrayList<>();
+        for (String deviceId : pending.keySet()) {
+            final PendingStatusEvent pendingEvent = pending.remove(deviceId);
+            if (pendingEvent != null) {
+                final ArtikDeviceStatusEventDto event = newDto(ArtikDeviceStatusEventDto.class);
+                event.withEventType(pendingEvent.eventType)
+                     .withDeviceId(deviceId)
+                     .withDeviceName(pendingEvent.deviceName)
+                     .withError(pendingEvent.error);
+                eventService.publish(event);
+                events.add(event);
+            }
+        }
+        if (!events.isEmpty()) {
+            messenger.broadcast(events);
+        }
+    }
+
+    @PreDestroy
+    private void stop() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private static EventType asEventType(ArtikDevice.Status status, String error) {
+        switch (status) {
+            case CONNECTED:
+                return EventType.CONNECTED;
+            case ERROR:
+                return error != null ? EventType.ERROR : EventType.DISCONNECTED;
+            case DISCONNECTED:
+                return EventType.DISCONNECTED;
+            default:
+                throw new IllegalArgumentException("Status " + status + " is not published");
+        }
+    }
+
+    private static final class PendingStatusEvent {
+        private final String    deviceName;
+        private final long      version;
+        private final EventType eventType;
+        private final String    error;
+
+        private PendingStatusEvent(String deviceName, long version, EventType eventType, String error) {
+            this.deviceName = deviceName;
+            this.version = version;
+            this.eventType = eventType;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status;
+import org.eclipse.che.plugin.machine.artik.output.ProcessOutputBroadcaster;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRecord;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Executes one command on a group of devices.
+ *
+ * <p>Processes of all the target devices are registered at once, so they are listed and may be stopped as any
+ * other device process, and the command is executed in background. Command is started on at most
+ * {@link FleetCommandDto#getParallelism()} devices at the same time. Output of all the devices is multiplexed
+ * into one channel, each line is prefixed with the name of the device. The exit code of the command is captured
+ * on the device side with a marker line which is not sent to the output. Result of each device is sent to the
+ * result channel as soon as the command is completed on the device.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class FleetCommandExecutor {
+    private static final Logger LOG = getLogger(FleetCommandExecutor.class);
+
+    static final int  DEFAULT_PARALLELISM = 8;
+    static final long DEFAULT_TIMEOUT_SEC = 600;
+
+    private final ArtikDeviceManager       deviceManager;
+    private final DeviceRegistry           registry;
+    private final ProcessOutputBroadcaster outputBroadcaster;
+    private final ExecutorService          executor;
+
+    @Inject
+    public FleetCommandExecutor(ArtikDeviceManager deviceManager,
+                                DeviceRegistry registry,
+                                ProcessOutputBroadcaster outputBroadcaster) {
+        this.deviceManager = deviceManager;
+        this.registry = registry;
+        this.outputBroadcaster = outputBroadcaster;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("ArtikFleetCommand-%d")
+                                                                                .setUncaughtExceptionHandler(
+                                                                                        LoggingUncaughtExceptionHandler.getInstance())
+                                                                                .setDaemon(true)
+                                                                                .build());
+    }
+
+    /**
+     * Starts execution of the command on all target devices and returns without waiting for completion.
+     *
+     * @param fleetCommand
+     *         command and target devices
+     * @param outputChannel
+     *         channel for multiplexed output of all the devices, may be {@code null}
+     * @param resultChannel
+     *         channel for the final result of each device, may be {@code null}
+     * @return per-device state in order of the target devices: {@link Status#RUNNING} with the pid of the device
+     * process or {@link Status#FAILED} if the process can't be created on the device
+     * @throws BadRequestException
+     *         if command has no command line or no target devices
+     */
+    public List<FleetCommandResultDto> execute(FleetCommandDto fleetCommand,
+                                               @Nullable String outputChannel,
+                                               @Nullable String resultChannel) throws BadRequestException {
+        return execute(fleetCommand, outputChannel, result -> {
+            if (resultChannel != null) {
+                publish(resultChannel, result);
+            }
+        });
+    }
+
+    List<FleetCommandResultDto> execute(FleetCommandDto fleetCommand,
+                                        @Nullable String outputChannel,
+                                        Consumer<FleetCommandResultDto> resultConsumer) throws BadRequestException {
+        if (fleetCommand.getCommandLine() == null || fleetCommand.getCommandLine().trim().isEmpty()) {
+            throw new BadRequestException("Command line required");
+        }
+        final Set<String> targets = getTargetDevices(fleetCommand);
+        if (targets.isEmpty()) {
+            throw new BadRequestException("No devices found for the command");
+        }
+
+        final int parallelism = fleetCommand.getParallelism() > 0 ? fleetCommand.getParallelism() : DEFAULT_PARALLELISM;
+        final long timeoutMs = SECONDS.toMillis(fleetCommand.getTimeout() > 0 ? fleetCommand.getTimeout() : DEFAULT_TIMEOUT_SEC);
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        final LineConsumer output = outputChannel != null ? outputBroadcaster.createConsumer(outputChannel)
+                                                          : LineConsumer.DEV_NULL;
+
+        final List<DeviceTask> tasks = new ArrayList<>(targets.size());
+        final List<FleetCommandResultDto> states = new ArrayList<>(targets.size());
+        for (String deviceId : targets) {
+            final DeviceTask task = new DeviceTask(deviceId, output, resultConsumer);
+            task.create(fleetCommand.getCommandLine());
+            tasks.add(task);
+            states.add(task.getState());
+        }
+        executor.execute(ThreadLocalPropagateContext.wrap(() -> run(tasks, parallelism, deadline, output)));
+        return states;
+    }
+
+    /** Starts the tasks with respect to the parallelism and waits for them until the deadline. */
+    private void run(List<DeviceTask> tasks, int parallelism, long deadline, LineConsumer output) {
+        final Semaphore permits = new Semaphore(parallelism);
+        try {
+            for (DeviceTask task : tasks) {
+                if (task.isCompleted()) {
+                    continue;
+                }
+                if (!permits.tryAcquire(Math.max(0, deadline - System.currentTimeMillis()), MILLISECONDS)) {
+                    task.skip("Timeout reached before command was started");
+                    continue;
+                }
+                task.future = executor.submit(ThreadLocalPropagateContext.wrap(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (DeviceTask task : tasks) {
+                task.await(deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.forEach(DeviceTask::cancel);
+        } finally {
+            try {
+                output.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private Set<String> getTargetDevices(FleetCommandDto fleetCommand) {
+        final Set<String> targets = new LinkedHashSet<>();
+        if (fleetCommand.getDeviceIds() != null) {
+            targets.addAll(fleetCommand.getDeviceIds());
+        }
+        if (fleetCommand.getTag() != null) {
+            registry.getByTag(fleetCommand.getTag())
+                    .stream()
+                    .map(DeviceRecord::getId)
+                    .sorted()
+                    .forEach(targets::add);
+        }
+        return targets;
+    }
+
+    private static void publish(String channel, FleetCommandResultDto result) {
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(channel);
+            bm.setBody(DtoFactory.getInstance().toJson(result));
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    private void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Execution of the command on a single device. */
+    private class DeviceTask {
+        private final String                                 deviceId;
+        private final LineConsumer                           output;
+        private final Consumer<FleetCommandResultDto>        resultConsumer;
+        private final AtomicReference<FleetCommandResultDto> result;
+
+        private volatile String               deviceName;
+        private volatile long                 started;
+        private volatile DeviceProcess        process;
+        private volatile ExitCodeLineConsumer exitCodeConsumer;
+        private volatile Future<?>            future;
+
+        DeviceTask(String deviceId, LineConsumer output, Consumer<FleetCommandResultDto> resultConsumer) {
+            this.deviceId = deviceId;
+            this.deviceName = deviceId;
+            this.output = output;
+            this.resultConsumer = resultConsumer;
+            this.result = new AtomicReference<>();
+            this.started = System.currentTimeMillis();
+        }
+
+        /** Registers the process of the command on the device, the task is failed if it isn't possible. */
+        void create(String commandLine) {
+            try {
+                deviceName = deviceManager.getDeviceById(deviceId).getConfig().getName();
+
+                final String marker = "__artik_exit_" + NameGenerator.generate("", 8) + "=";
+                exitCodeConsumer = new ExitCodeLineConsumer(marker, deviceName, output);
+                process = deviceManager.createProcess(deviceId, new CommandImpl("fleet", wrapCommandLine(commandLine, marker), "custom"));
+            } catch (NotFoundException | MachineException e) {
+                complete(Status.FAILED, null, e.getLocalizedMessage());
+            }
+        }
+
+        void run() {
+            started = System.currentTimeMillis();
+            if (process.isKilled()) {
+                skip("Command was stopped before it was started");
+                return;
+            }
+            try {
+                deviceManager.startAndWait(deviceId, process, exitCodeConsumer);
+
+                final Integer exitCode = exitCodeConsumer.getExitCode();
+                if (process.isKilled()) {
+                    complete(Status.FAILED, exitCode, "Command was stopped");
+                } else {
+                    complete(exitCode != null && exitCode == 0 ? Status.SUCCEEDED : Status.FAILED, exitCode, null);
+                }
+            } catch (NotFoundException | ConflictException | MachineException e) {
+                complete(Status.FAILED, null, e.getLocalizedMessage());
+            }
+        }
+
+        void await(long deadline) throws InterruptedException {
+            if (future == null) {
+                return;
+            }
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), MILLISECONDS);
+            } catch (TimeoutException e) {
+                // result is set before the kill, otherwise the completed process would be reported as failed
+                complete(Status.TIMED_OUT, null, "Command didn't complete in time");
+                killProcess();
+            } catch (ExecutionException e) {
+                complete(Status.FAILED, null, e.getCause().getLocalizedMessage());
+            }
+        }
+
+        void skip(String reason) {
+            complete(Status.SKIPPED, null, reason);
+            if (process != null) {
+                deviceManager.removeProcess(deviceId, process);
+            }
+        }
+
+        void cancel() {
+            complete(Status.FAILED, null, "Command was cancelled");
+            if (future != null) {
+                future.cancel(true);
+            }
+            killProcess();
+        }
+
+        boolean isCompleted() {
+            return result.get() != null;
+        }
+
+        /** Returns the result of the completed task or the state of the running one. */
+        FleetCommandResultDto getState() {
+            final FleetCommandResultDto completed = result.get();
+            return completed != null ? completed : newResult(Status.RUNNING, null, null);
+        }
+
+        private void killProcess() {
+            final DeviceProcess current = process;
+            if (current != null) {
+                try {
+                    deviceManager.stopProcess(deviceId, current);
+                } catch (NotFoundException | MachineException e) {
+                    LOG.warn("Unable to kill process {} on device {}. {}", current.getPid(), deviceId, e.getMessage());
+                }
+            }
+        }
+
+        private void complete(Status status, Integer exitCode, String error) {
+            final FleetCommandResultDto completed = newResult(status, exitCode, error);
+            if (result.compareAndSet(null, completed)) {
+                try {
+                    resultConsumer.accept(completed);
+                } catch (RuntimeException e) {
+                    LOG.warn("Unable to send result of command on device {}. {}", deviceId, e.getMessage());
+                }
+            }
+        }
+
+        private FleetCommandResultDto newResult(Status status, Integer exitCode, String error) {
+            final DeviceProcess current = process;
+            return newDto(FleetCommandResultDto.class).withDeviceId(deviceId)
+                                                      .withDeviceName(deviceName)
+                                                      .withStatus(status)
+                                                      .withExitCode(exitCode)
+                                                      .withPid(current != null ? current.getPid() : 0)
+                                                      .withError(error)
+                                                      .withDuration(System.currentTimeMillis() - started);
+        }
+    }
+
+    /** Runs the command in a sub-shell and prints its exit code after the marker. */
+    static String wrapCommandLine(String commandLine, String marker) {
+        return "(\n" + commandLine + "\n)\necho \"" + marker + "$?\"";
+    }
+
+    /**
+     * Prefixes every line with the name of the device and catches the line with the exit code.
+     * Closing of the consumer doesn't close the shared output.
+     */
+    static class ExitCodeLineConsumer extends AbstractLineConsumer {
+        private final String       marker;
+        private final String       prefix;
+        private final LineConsumer output;
+
+        private volatile Integer exitCode;
+
+        ExitCodeLineConsumer(String marker, String deviceName, LineConsumer output) {
+            this.marker = marker;
+            this.prefix = "[" + deviceName + "] ";
+            this.output = output;
+        }
+
+        @Override
+        public void writeLine(String line) throws IOException {
+            final int index = line.indexOf(marker);
+            if (index >= 0) {
+                try {
+                    exitCode = Integer.valueOf(line.substring(index + marker.length()).trim());
+                } catch (NumberFormatException ignored) {
+                }
+                return;
+            }
+            output.writeLine(prefix + line);
+        }
+
+        Integer getExitCode() {
+            return exitCode;
+        }
+    }
+}
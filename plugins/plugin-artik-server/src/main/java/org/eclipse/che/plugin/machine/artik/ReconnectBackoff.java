@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import java.util.Random;
+
+/**
+ * Exponential backoff with jitter for reconnection attempts.
+ *
+ * <p>The delay doubles with each attempt up to the maximum. Half of the delay is fixed and the other half is
+ * random, so devices which lost the network at the same moment don't try to reconnect all at once.
+ *
+ * @author Valeriy Svydenko
+ */
+class ReconnectBackoff {
+    private final long   baseDelayMs;
+    private final long   maxDelayMs;
+    private final Random random;
+
+    ReconnectBackoff(long baseDelayMs, long maxDelayMs, Random random) {
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.random = random;
+    }
+
+    /**
+     * Returns delay before the attempt.
+     *
+     * @param attempt
+     *         number of the attempt starting from 0
+     */
+    long getDelay(int attempt) {
+        final long exponential = attempt >= 62 ? maxDelayMs : Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 30));
+        final long half = exponential / 2;
+        return half + (long)(random.nextDouble() * (exponential - half));
+    }
+}
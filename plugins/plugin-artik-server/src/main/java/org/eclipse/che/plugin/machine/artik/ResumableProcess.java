@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.eclipse.che.commons.lang.NameGenerator;
+
+import java.io.IOException;
+
+import static java.lang.String.format;
+
+/**
+ * Process which survives loss of the connection to the device.
+ *
+ * <p>The command is started on the device in background with its output redirected to a file on the device.
+ * The SSH process only follows this file, so when the connection drops the command keeps running. The file is
+ * followed in chunks which end at a line end, each chunk is followed by a marker line with the offset in the file
+ * reached on the device. After the connection is restored the file is followed again by a new SSH process from
+ * the last reported offset, and the lines of the interrupted chunk which were already delivered are skipped, so
+ * nothing is lost or repeated. The pid of the command on the device and its exit code are reported by marker
+ * lines too, marker lines are not passed to the output. Lines written by the command to stderr are tagged in the
+ * file, so they are passed to the output with the {@code [STDERR]} prefix as if the command was started directly.
+ * The file is removed from the device once the exit code is delivered or the process is killed.
+ *
+ * <p>Since the command runs detached, its stdin is {@code /dev/null}. Besides the POSIX shell the device must
+ * provide {@code head -c} and {@code pgrep}, which both GNU and BusyBox systems have.
+ *
+ * @author Valeriy Svydenko
+ */
+class ResumableProcess extends DeviceProcess {
+    static final String PROCESSES_DIR = "/tmp/artik-ide/processes";
+
+    static final String STDOUT = "[STDOUT] ";
+    static final String STDERR = "[STDERR] ";
+
+    private static final String MARKER = "__artik_process_";
+    private static final String PID    = MARKER + "pid=";
+    private static final String EXIT   = MARKER + "exit=";
+    private static final String ERR    = MARKER + "err=";
+    private static final String OFFSET = MARKER + "offset=";
+
+    private final String directory;
+
+    private volatile Integer devicePid;
+    private volatile Integer exitCode;
+    private volatile long    offset;
+    private volatile int     lines;
+
+    /**
+     * @param pid
+     *         ID of the process which is exposed to the clients, it doesn't change when the process is resumed
+     * @param command
+     *         command to start on the device
+     */
+    ResumableProcess(int pid, Command command) {
+        super(pid, command);
+        this.directory = PROCESSES_DIR + '/' + NameGenerator.generate("", 16);
+    }
+
+    /** Returns command which starts the process on the device and follows its output. */
+    @Override
+    Command getStartCommand() {
+        return new CommandImpl(getCommand().getName(),
+                               format("D=%1$s\n" +
+                                      "mkdir -p \"$D\" && : >\"$D/log\" && rm -f \"$D/exit\"\n" +
+                                      "( trap '' HUP\n" +
+                                      "  { { (\n" +
+                                      "%2$s\n" +
+                                      "  ) </dev/null 2>&1 1>&3 3>&-; echo $? >\"$D/exit\"; } |\n" +
+                                      "    while IFS= read -r L || [ -n \"$L\" ]; do printf '%%s%%s\\n' \"%3$s\" \"$L\"; done\n" +
+                                      "  } 3>>\"$D/log\" >>\"$D/log\" ) &\n" +
+                                      "P=$!\n" +
+                                      "echo \"%4$s$P\"\n" +
+                                      "%5$s",
+                                      directory, getCommand().getCommandLine(), ERR, PID, follow("$P", 0)),
+                               getCommand().getType());
+    }
+
+    /** Returns command which continues to follow output of the started process from the last reported offset. */
+    @Override
+    Command getResumeCommand() {
+        return new CommandImpl(getCommand().getName(), format("D=%s\n%s", directory, follow(devicePid, offset)), getCommand().getType());
+    }
+
+    /**
+     * Returns command which kills the process and all its children on the device and removes its output,
+     * {@code null} if the process wasn't started on the device yet.
+     */
+    @Override
+    Command getKillCommand() {
+        if (devicePid == null) {
+            return null;
+        }
+        return new CommandImpl("kill",
+                               format("kill_tree() { for c in $(pgrep -P $1); do kill_tree $c; done; kill $1; }\n" +
+                                      "kill_tree %d 2>/dev/null\n" +
+                                      "rm -rf %s\n" +
+                                      "exit 0",
+                                      devicePid, directory),
+                               "custom");
+    }
+
+    /**
+     * Follows the file until the process exits. Only complete lines are sent while the process runs, the offset
+     * reached after each chunk is counted on the device, so it doesn't depend on decoding of the output.
+     */
+    private static String follow(Object pid, long offset) {
+        return format("O=%2$d\n" +
+                      "while :; do\n" +
+                      "  kill -0 %1$s 2>/dev/null || F=1\n" +
+                      "  S=$(($(wc -c <\"$D/log\" 2>/dev/null)))\n" +
+                      "  if [ \"$S\" -gt \"$O\" ]; then\n" +
+                      "    if [ -n \"$F\" ]; then\n" +
+                      "      C=$((S-O))\n" +
+                      "    else\n" +
+                      "      N=$(($(tail -c +$((O+1)) \"$D/log\" | head -c $((S-O)) | tr -dc '\\n' | wc -c)))\n" +
+                      "      C=$(($(tail -c +$((O+1)) \"$D/log\" | head -n $N | wc -c)))\n" +
+                      "    fi\n" +
+                      "    if [ \"$C\" -gt 0 ]; then\n" +
+                      "      tail -c +$((O+1)) \"$D/log\" | head -c $C\n" +
+                      "      O=$((O+C))\n" +
+                      "      echo \"%3$s$O\"\n" +
+                      "    fi\n" +
+                      "  fi\n" +
+                      "  [ -n \"$F\" ] && break\n" +
+                      "  sleep 0.2 2>/dev/null || sleep 1\n" +
+                      "done\n" +
+                      "C=$(cat \"$D/exit\" 2>/dev/null || echo 255)\n" +
+                      "rm -rf \"$D\"\n" +
+                      "echo \"%4$s$C\"\n" +
+                      "exit $C",
+                      pid, offset, OFFSET, EXIT);
+    }
+
+    /**
+     * Wraps the consumer with the one which strips marker lines, restores the stderr prefix of the tagged lines
+     * and tracks the delivered output. A new consumer must be used for each SSH process which follows the output,
+     * it skips the lines which were delivered by the previous one. The returned consumer doesn't close the wrapped one.
+     */
+    @Override
+    LineConsumer track(LineConsumer output) {
+        return new AbstractLineConsumer() {
+            /** Lines received by this consumer after the last offset. */
+            private int received;
+
+            @Override
+            public void writeLine(String line) throws IOException {
+                if (line.startsWith(STDERR)) {
+                    // error of the wrapper itself, it is not written to the file on the device
+                    output.writeLine(line);
+                    return;
+                }
+                final String content = line.startsWith(STDOUT) ? line.substring(STDOUT.length()) : line;
+                if (devicePid == null && content.startsWith(PID)) {
+                    devicePid = Integer.valueOf(content.substring(PID.length()).trim());
+                    return;
+                }
+                final int offsetMarker = content.indexOf(OFFSET);
+                if (offsetMarker >= 0) {
+                    if (offsetMarker > 0) {
+                        // output of the exited process didn't end with a new line
+                        deliver(content.substring(0, offsetMarker));
+                    }
+                    offset = Long.parseLong(content.substring(offsetMarker + OFFSET.length()).trim());
+                    lines = 0;
+                    received = 0;
+                    return;
+                }
+                if (content.startsWith(EXIT)) {
+                    exitCode = Integer.valueOf(content.substring(EXIT.length()).trim());
+                    return;
+                }
+                deliver(content);
+            }
+
+            private void deliver(String content) throws IOException {
+                if (++received <= lines) {
+                    // delivered by the previous SSH process before it was interrupted
+                    return;
+                }
+                lines = received;
+                write(output, content);
+            }
+        };
+    }
+
+    private static void write(LineConsumer output, String content) throws IOException {
+        final int err = content.indexOf(ERR);
+        if (err < 0) {
+            output.writeLine(STDOUT + content);
+            return;
+        }
+        if (err > 0) {
+            // stdout line without new line is followed by stderr line
+            output.writeLine(STDOUT + content.substring(0, err));
+        }
+        output.writeLine(STDERR + content.substring(err + ERR.length()));
+    }
+
+    @Override
+    boolean isResumable() {
+        return devicePid != null && exitCode == null && !isKilled();
+    }
+
+    /** Returns offset in the output file on the device up to which the output was delivered. */
+    long getOffset() {
+        return offset;
+    }
+}
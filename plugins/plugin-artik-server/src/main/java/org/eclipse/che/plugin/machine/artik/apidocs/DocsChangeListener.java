@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Receives changes of Artik API documentation from {@link DocsWatcher}.
+ *
+ * @author Valeriy Svydenko
+ */
+public interface DocsChangeListener {
+    /**
+     * Called when files of the documentation were created, modified or removed.
+     *
+     * @param files
+     *         absolute paths of the changed files, removed files don't exist any more
+     */
+    void onFilesChanged(Set<Path> files);
+
+    /** Called when some changes may have been missed and all the documentation has to be checked again. */
+    void onRescanRequired();
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Files of Artik API documentation served by {@link DocsServlet}.
+ *
+ * <p>Text files are compressed with gzip once, right after start of the agent and whenever {@link DocsWatcher}
+ * reports them changed. Compressed files are kept next to the documentation folder, in the folder with the
+ * {@link #COMPRESSED_FOLDER_SUFFIX} suffix, and have the same modification time as the original files, so a
+ * stale compressed file is never served. The documentation has a version which is changed together with any
+ * of its files, it is used to build URLs which content never changes.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DocsContent {
+    private static final Logger LOG = getLogger(DocsContent.class);
+
+    static final String COMPRESSED_FOLDER_SUFFIX = ".compressed";
+    static final String GZIP_EXTENSION           = ".gz";
+    static final int    MIN_COMPRESSED_SIZE      = 1024;
+
+    private static final Pattern COMPRESSIBLE = Pattern.compile(".*\\.(html?|js|css|svg|json|xml|txt|map)");
+
+    private final Path            docsHome;
+    private final Path            compressedHome;
+    private final DocsWatcher     watcher;
+    private final ExecutorService executor;
+
+    private volatile String version;
+
+    @Inject
+    public DocsContent(@Named("sys.artik.docs.home") String docsHome, DocsWatcher watcher) {
+        this.docsHome = Paths.get(docsHome).toAbsolutePath();
+        this.compressedHome = this.docsHome.resolveSibling(this.docsHome.getFileName() + COMPRESSED_FOLDER_SUFFIX);
+        this.watcher = watcher;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikDocsCompressor")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    @PostConstruct
+    void start() {
+        updateVersion();
+        executor.execute(this::update);
+        watcher.addListener(new DocsChangeListener() {
+            @Override
+            public void onFilesChanged(Set<Path> files) {
+                executor.execute(() -> {
+                    files.forEach(DocsContent.this::update);
+                    updateVersion();
+                });
+            }
+
+            @Override
+            public void onRescanRequired() {
+                executor.execute(DocsContent.this::update);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Returns version of the documentation, it is changed when any file of the documentation is changed. */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns file of the documentation.
+     *
+     * @param relativePath
+     *         path to the file relative to the documentation folder
+     * @return path to the file or {@code null} if the path points outside the documentation folder
+     */
+    public Path resolve(String relativePath) {
+        final Path file = docsHome.resolve(relativePath.replaceFirst("^/+", "")).normalize();
+        return file.startsWith(docsHome) ? file : null;
+    }
+
+    /**
+     * Returns gzip compressed copy of the documentation file.
+     *
+     * @param file
+     *         file of the documentation
+     * @return path to the compressed copy or {@code null} if the file isn't compressed or its copy is stale
+     */
+    public Path getCompressed(Path file) {
+        final Path compressed = getCompressedPath(file);
+        try {
+            if (Files.isRegularFile(compressed)
+                && Files.getLastModifiedTime(compressed).equals(Files.getLastModifiedTime(file))) {
+                return compressed;
+            }
+        } catch (IOException ignored) {
+            // file has been removed meanwhile
+        }
+        return null;
+    }
+
+    /** Compresses all the files which don't have up to date compressed copies and removes obsolete copies. */
+    void update() {
+        if (Files.isDirectory(docsHome)) {
+            try (Stream<Path> walk = Files.walk(docsHome)) {
+                walk.filter(Files::isRegularFile).forEach(this::update);
+            } catch (IOException e) {
+                LOG.warn("Unable to compress Artik API documentation. {}", e.getMessage());
+            }
+        }
+        if (Files.isDirectory(compressedHome)) {
+            try (Stream<Path> walk = Files.walk(compressedHome)) {
+                final List<Path> obsolete = walk.filter(Files::isRegularFile)
+                                                .filter(compressed -> !compressed.toString().endsWith(GZIP_EXTENSION)
+                                                                      || !Files.isRegularFile(getOriginalPath(compressed)))
+                                                .collect(Collectors.toList());
+                for (Path compressed : obsolete) {
+                    Files.deleteIfExists(compressed);
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to clean up compressed Artik API documentation. {}", e.getMessage());
+            }
+        }
+        updateVersion();
+    }
+
+    /** Compresses the file if its compressed copy is missing or stale, removes the copy of the removed file. */
+    void update(Path file) {
+        if (!file.startsWith(docsHome)) {
+            return;
+        }
+        final Path compressed = getCompressedPath(file);
+        try {
+            if (!Files.isRegularFile(file)) {
+                Files.deleteIfExists(compressed);
+                return;
+            }
+            final long size = Files.size(file);
+            if (size < MIN_COMPRESSED_SIZE || !isCompressible(file) || getCompressed(file) != null) {
+                return;
+            }
+            final FileTime modified = Files.getLastModifiedTime(file);
+            final Path tmp = compressed.resolveSibling(compressed.getFileName() + ".tmp");
+            Files.createDirectories(compressed.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                Files.copy(file, out);
+            }
+            if (Files.size(tmp) >= size) {
+                // isn't worth serving
+                Files.delete(tmp);
+                Files.deleteIfExists(compressed);
+                return;
+            }
+            Files.setLastModifiedTime(tmp, modified);
+            Files.move(tmp, compressed, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable to compress Artik API documentation file {}. {}", file, e.getMessage());
+        }
+    }
+
+    private void updateVersion() {
+        if (!Files.isDirectory(docsHome)) {
+            version = "0";
+            return;
+        }
+        final Hasher hasher = Hashing.sha1().newHasher();
+        try (Stream<Path> walk = Files.walk(docsHome)) {
+            for (Path file : (Iterable<Path>)walk.filter(Files::isRegularFile).sorted()::iterator) {
+                hasher.putString(docsHome.relativize(file).toString(), UTF_8)
+                      .putLong(Files.size(file))
+                      .putLong(Files.getLastModifiedTime(file).toMillis());
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to compute version of Artik API documentation. {}", e.getMessage());
+            return;
+        }
+        version = hasher.hash().toString().substring(0, 12);
+    }
+
+    private static boolean isCompressible(Path file) {
+        return COMPRESSIBLE.matcher(file.getFileName().toString().toLowerCase(Locale.ENGLISH)).matches();
+    }
+
+    private Path getCompressedPath(Path file) {
+        return compressedHome.resolve(docsHome.relativize(file).toString() + GZIP_EXTENSION);
+    }
+
+    private Path getOriginalPath(Path compressed) {
+        final String relative = compressedHome.relativize(compressed).toString();
+        return docsHome.resolve(relative.substring(0, relative.length() - GZIP_EXTENSION.length()));
+    }
+}
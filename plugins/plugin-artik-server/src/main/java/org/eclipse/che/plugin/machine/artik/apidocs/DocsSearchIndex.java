@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Inverted index of the text of Artik API documentation pages.
+ *
+ * <p>The index is built in background after start of the agent, pages become searchable as soon as they are
+ * indexed. Pages which size and modification time didn't change since the last run of {@link #update()} are
+ * not read again, so the index may be refreshed cheaply. The text of each page is kept with the index, so
+ * snippets of the found pages are built without reading the pages again. Pages changed on the disk are indexed again as soon
+ * as {@link DocsWatcher} reports them. Pages are ranked with BM25, words of the page title
+ * weigh more than words of its body. The last word of a query is matched as a prefix, so the index can be
+ * used for type-ahead search.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DocsSearchIndex {
+    private static final Logger LOG = getLogger(DocsSearchIndex.class);
+
+    static final int    TITLE_WEIGHT     = 3;
+    static final int    MAX_PREFIX_TERMS = 64;
+    static final int    SNIPPET_LENGTH   = 160;
+    static final double K1               = 1.2;
+    static final double B                = 0.75;
+
+    private static final Pattern TITLE   = Pattern.compile("(?is)<title[^>]*>(.*?)</title>");
+    private static final Pattern SKIPPED = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1>|<!--.*?-->");
+    private static final Pattern TAG     = Pattern.compile("(?s)<[^>]*>");
+    private static final Pattern ENTITY  = Pattern.compile("&(#\\d+|#x[0-9a-fA-F]+|[a-zA-Z]+);");
+    private static final Pattern SPACES  = Pattern.compile("\\s+");
+    private static final Pattern TOKEN   = Pattern.compile("[\\p{L}\\p{N}_]+");
+
+    private final Path            docsHome;
+    private final DocsWatcher     watcher;
+    private final ReadWriteLock   lock;
+    private final ExecutorService executor;
+
+    /** Postings of each term: number of occurrences of the term by page id. */
+    private final NavigableMap<String, Map<Integer, Integer>> postings;
+    private final Map<Integer, Page>                          pages;
+    private final Map<String, Integer>                        pageIds;
+
+    private int  nextPageId;
+    private long totalLength;
+
+    @Inject
+    public DocsSearchIndex(@Named("sys.artik.docs.home") String docsHome, DocsWatcher watcher) {
+        this.docsHome = Paths.get(docsHome).toAbsolutePath();
+        this.watcher = watcher;
+        this.lock = new ReentrantReadWriteLock();
+        this.postings = new TreeMap<>();
+        this.pages = new HashMap<>();
+        this.pageIds = new HashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikDocsIndexer")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    @PostConstruct
+    private void start() {
+        executor.execute(this::update);
+        watcher.addListener(new DocsChangeListener() {
+            @Override
+            public void onFilesChanged(Set<Path> files) {
+                for (Path file : files) {
+                    if (isPageName(file)) {
+                        executor.execute(() -> update(file));
+                    }
+                }
+            }
+
+            @Override
+            public void onRescanRequired() {
+                executor.execute(DocsSearchIndex.this::update);
+            }
+        });
+    }
+
+    @PreDestroy
+    private void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Brings the index in line with the pages on the disk: new and changed pages are indexed, pages which
+     * were removed are dropped from the index.
+     */
+    public void update() {
+        if (!Files.isDirectory(docsHome)) {
+            LOG.warn("Unable to index Artik API documentation. Folder {} with docs not found", docsHome);
+            return;
+        }
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(docsHome)) {
+            files = walk.filter(DocsSearchIndex::isPage).collect(Collectors.toList());
+        } catch (IOException e) {
+            LOG.warn("Unable to index Artik API documentation. {}", e.getMessage());
+            return;
+        }
+
+        final Set<String> existing = new HashSet<>();
+        for (Path file : files) {
+            existing.add(getName(file));
+            update(file);
+        }
+        lock.writeLock().lock();
+        try {
+            for (String name : new ArrayList<>(pageIds.keySet())) {
+                if (!existing.contains(name)) {
+                    remove(pageIds.get(name));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the page if it was changed since it was indexed last time or drops it from the index if the
+     * page doesn't exist any more.
+     *
+     * @param file
+     *         path to the page
+     */
+    public void update(Path file) {
+        final String name = getName(file);
+        if (!Files.isRegularFile(file)) {
+            lock.writeLock().lock();
+            try {
+                final Integer id = pageIds.get(name);
+                if (id != null) {
+                    remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        final long size;
+        final long modified;
+        final String html;
+        try {
+            size = Files.size(file);
+            modified = Files.getLastModifiedTime(file).toMillis();
+            lock.readLock().lock();
+            try {
+                final Integer id = pageIds.get(name);
+                if (id != null && pages.get(id).size == size && pages.get(id).modified == modified) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            html = new String(Files.readAllBytes(file), UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Unable to index documentation page {}. {}", file, e.getMessage());
+            return;
+        }
+
+        final String title = extractTitle(html, file);
+        final Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        final String text = extractText(html);
+        int length = 0;
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            final Integer previous = pageIds.get(name);
+            if (previous != null) {
+                remove(previous);
+            }
+            final int id = nextPageId++;
+            pages.put(id, new Page(name, title, text, size, modified, length, frequencies.keySet().toArray(new String[frequencies.size()])));
+            pageIds.put(name, id);
+            totalLength += length;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                postings.computeIfAbsent(frequency.getKey(), term -> new HashMap<>()).put(id, frequency.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns number of the indexed pages. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pages.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches pages which contain all the words of the query, the last word of the query may be incomplete.
+     *
+     * @param query
+     *         words to search
+     * @param limit
+     *         maximum number of the returned pages
+     * @return found pages, the most relevant first
+     */
+    public List<Hit> search(String query, int limit) {
+        final List<String> words = tokenize(query);
+        if (words.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        final List<Hit> hits = new ArrayList<>();
+        final List<String> texts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            final int pageCount = pages.size();
+            if (pageCount == 0) {
+                return Collections.emptyList();
+            }
+            final double averageLength = Math.max(1, (double)totalLength / pageCount);
+
+            Map<Integer, Double> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                final boolean last = i == words.size() - 1;
+                final Map<Integer, Double> wordScores = new HashMap<>();
+                for (Map.Entry<String, Map<Integer, Integer>> term : getTerms(words.get(i), last).entrySet()) {
+                    final Map<Integer, Integer> termPostings = term.getValue();
+                    final double idf = Math.log(1 + (pageCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    for (Map.Entry<Integer, Integer> posting : termPostings.entrySet()) {
+                        if (scores != null && !scores.containsKey(posting.getKey())) {
+                            continue;
+                        }
+                        final double tf = posting.getValue();
+                        final double norm = K1 * (1 - B + B * pages.get(posting.getKey()).length / averageLength);
+                        wordScores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Math::max);
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Integer, Double> score : wordScores.entrySet()) {
+                        score.setValue(score.getValue() + scores.get(score.getKey()));
+                    }
+                }
+                scores = wordScores;
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            final PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                best.add(score);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            while (!best.isEmpty()) {
+                final Map.Entry<Integer, Double> score = best.poll();
+                final Page page = pages.get(score.getKey());
+                hits.add(new Hit(page.name, page.title, score.getValue()));
+                texts.add(page.text);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int i = 0; i < hits.size(); i++) {
+            hits.get(i).snippet = getSnippet(texts.get(i), words);
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    /** Returns postings of the word or of all the terms which start with it. */
+    private Map<String, Map<Integer, Integer>> getTerms(String word, boolean prefix) {
+        if (!prefix) {
+            final Map<Integer, Integer> termPostings = postings.get(word);
+            return termPostings == null ? Collections.emptyMap() : Collections.singletonMap(word, termPostings);
+        }
+        final Map<String, Map<Integer, Integer>> terms = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> term : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            if (terms.size() == MAX_PREFIX_TERMS) {
+                break;
+            }
+            terms.put(term.getKey(), term.getValue());
+        }
+        return terms;
+    }
+
+    /** Returns text around the first occurrence of any of the words. */
+    private static String getSnippet(String text, List<String> words) {
+        final String lowerCase = text.toLowerCase(Locale.ENGLISH);
+        int position = -1;
+        for (String word : words) {
+            final int index = lowerCase.indexOf(word);
+            if (index >= 0 && (position < 0 || index < position)) {
+                position = index;
+            }
+        }
+        final int start = Math.max(0, position - SNIPPET_LENGTH / 4);
+        final int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        return (start > 0 ? "..." : "") + text.substring(start, end).trim() + (end < text.length() ? "..." : "");
+    }
+
+    /** Drops the page from the index, must be called under the write lock. */
+    private void remove(int id) {
+        final Page page = pages.remove(id);
+        pageIds.remove(page.name);
+        totalLength -= page.length;
+        for (String term : page.terms) {
+            final Map<Integer, Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private String getName(Path file) {
+        return docsHome.relativize(file).toString().replace('\\', '/');
+    }
+
+    static boolean isPage(Path file) {
+        return isPageName(file) && Files.isRegularFile(file);
+    }
+
+    private static boolean isPageName(Path file) {
+        final String name = file.getFileName().toString().toLowerCase(Locale.ENGLISH);
+        return name.endsWith(".html") || name.endsWith(".htm");
+    }
+
+    static String extractTitle(String html, Path file) {
+        final Matcher title = TITLE.matcher(html);
+        if (title.find()) {
+            final String text = decodeEntities(title.group(1)).trim();
+            if (!text.isEmpty()) {
+                return SPACES.matcher(text).replaceAll(" ");
+            }
+        }
+        return file.getFileName().toString();
+    }
+
+    static String extractText(String html) {
+        final String withoutScripts = SKIPPED.matcher(TITLE.matcher(html).replaceAll(" ")).replaceAll(" ");
+        final String text = decodeEntities(TAG.matcher(withoutScripts).replaceAll(" "));
+        return SPACES.matcher(text).replaceAll(" ").trim();
+    }
+
+    static List<String> tokenize(String text) {
+        final List<String> tokens = new ArrayList<>();
+        final Matcher token = TOKEN.matcher(text.toLowerCase(Locale.ENGLISH));
+        while (token.find()) {
+            final String word = token.group();
+            tokens.add(word);
+            if (word.indexOf('_') >= 0) {
+                for (String part : word.split("_")) {
+                    if (!part.isEmpty()) {
+                        tokens.add(part);
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String decodeEntities(String text) {
+        final Matcher entity = ENTITY.matcher(text);
+        final StringBuffer decoded = new StringBuffer();
+        while (entity.find()) {
+            final String name = entity.group(1);
+            final String replacement;
+            if (name.startsWith("#")) {
+                replacement = decodeCharacter(name, entity.group());
+            } else {
+                switch (name) {
+                    case "lt":
+                        replacement = "<";
+                        break;
+                    case "gt":
+                        replacement = ">";
+                        break;
+                    case "amp":
+                        replacement = "&";
+                        break;
+                    case "quot":
+                        replacement = "\"";
+                        break;
+                    case "nbsp":
+                        replacement = " ";
+                        break;
+                    default:
+                        replacement = entity.group();
+                }
+            }
+            entity.appendReplacement(decoded, Matcher.quoteReplacement(replacement));
+        }
+        entity.appendTail(decoded);
+        return decoded.toString();
+    }
+
+    /** Decodes numeric character reference, the reference is kept as is if it isn't a valid code point. */
+    private static String decodeCharacter(String name, String reference) {
+        final boolean hex = name.startsWith("#x") || name.startsWith("#X");
+        try {
+            return new String(Character.toChars(Integer.parseInt(name.substring(hex ? 2 : 1), hex ? 16 : 10)));
+        } catch (IllegalArgumentException e) {
+            // too long number or code point out of the Unicode range, NumberFormatException is caught here too
+            return reference;
+        }
+    }
+
+    /** Page found by the search. */
+    public static class Hit {
+        private final String name;
+        private final String title;
+        private final double score;
+
+        private String snippet;
+
+        private Hit(String name, String title, double score) {
+            this.name = name;
+            this.title = title;
+            this.score = score;
+        }
+
+        /** Returns path of the page relative to the documentation home. */
+        public String getName() {
+            return name;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getSnippet() {
+            return snippet;
+        }
+    }
+
+    private static final class Page {
+        private final String   name;
+        private final String   title;
+        private final String   text;
+        private final long     size;
+        private final long     modified;
+        private final int      length;
+        private final String[] terms;
+
+        private Page(String name, String title, String text, long size, long modified, int length, String[] terms) {
+            this.name = name;
+            this.title = title;
+            this.text = text;
+            this.size = size;
+            this.modified = modified;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.DocsSearchResultDto;
+
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * Full-text search over Artik API documentation.
+ *
+ * @author Valeriy Svydenko
+ */
+@Path("/artikdocs-search/{ws-id}")
+public class DocsSearchService extends Service {
+    static final int MAX_LIMIT = 50;
+
+    private final DocsSearchIndex index;
+
+    @Inject
+    public DocsSearchService(DocsSearchIndex index) {
+        this.index = index;
+    }
+
+    @GET
+    @Produces(APPLICATION_JSON)
+    public List<DocsSearchResultDto> search(@QueryParam("q") String query,
+                                            @DefaultValue("10") @QueryParam("limit") int limit) throws BadRequestException {
+        if (query == null) {
+            throw new BadRequestException("Query is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index.search(query, limit)
+                    .stream()
+                    .map(hit -> DtoFactory.newDto(DocsSearchResultDto.class)
+                                          .withTitle(hit.getTitle())
+                                          .withLink("/artikdocs/" + hit.getName())
+                                          .withSnippet(hit.getSnippet())
+                                          .withScore(hit.getScore()))
+                    .collect(toList());
+    }
+}
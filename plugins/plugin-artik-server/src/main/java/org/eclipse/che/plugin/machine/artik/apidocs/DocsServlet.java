@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves files of Artik API documentation.
+ *
+ * <p>Files are served under the URLs which contain version of the documentation, e.g.
+ * {@code /artikdocs/v/1f2e3d4c5b6a/index.html}, such responses never change and are cached by the browser
+ * for a year. Requests of the files without version or with an outdated version are redirected to the URL
+ * with the current version, so links to the documentation pages stay valid. Precompressed copies of the files
+ * are served to the clients which accept gzip, single byte ranges are served from the original files.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DocsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    static final String VERSION_PREFIX = "/v/";
+    static final String INDEX_PAGE     = "index.html";
+    static final String IMMUTABLE      = "public, max-age=31536000, immutable";
+
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final transient DocsContent content;
+
+    @Inject
+    public DocsServlet(DocsContent content) {
+        this.content = content;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final String path = req.getPathInfo() == null ? "/" : req.getPathInfo();
+        final String version = content.getVersion();
+        if (!path.startsWith(VERSION_PREFIX)) {
+            redirect(req, resp, version, path);
+            return;
+        }
+        final int versionEnd = path.indexOf('/', VERSION_PREFIX.length());
+        if (versionEnd < 0) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        final String relativePath = path.substring(versionEnd);
+        if (!path.substring(VERSION_PREFIX.length(), versionEnd).equals(version)) {
+            redirect(req, resp, version, relativePath);
+            return;
+        }
+
+        Path file = content.resolve(relativePath);
+        if (file != null && Files.isDirectory(file)) {
+            file = file.resolve(INDEX_PAGE);
+        }
+        if (file == null || !Files.isRegularFile(file)) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(req, resp, file);
+    }
+
+    private void serve(HttpServletRequest req, HttpServletResponse resp, Path file) throws IOException {
+        final long length = Files.size(file);
+        final String tag = Long.toHexString(length) + '-' + Long.toHexString(Files.getLastModifiedTime(file).toMillis());
+        final String mimeType = req.getServletContext().getMimeType(file.getFileName().toString());
+
+        resp.setContentType(mimeType == null ? "application/octet-stream" : mimeType);
+        resp.setHeader("Cache-Control", IMMUTABLE);
+        resp.setHeader("Accept-Ranges", "bytes");
+        resp.setHeader("Vary", "Accept-Encoding");
+
+        final String range = req.getHeader("Range");
+        final Path compressed = range == null && acceptsGzip(req.getHeader("Accept-Encoding")) ? content.getCompressed(file) : null;
+        if (compressed != null) {
+            final String etag = "\"" + tag + "-gz\"";
+            resp.setHeader("ETag", etag);
+            if (!isModified(req, etag)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            resp.setHeader("Content-Encoding", "gzip");
+            send(resp, compressed, 0, Files.size(compressed));
+            return;
+        }
+
+        final String etag = "\"" + tag + "\"";
+        resp.setHeader("ETag", etag);
+        if (!isModified(req, etag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        final String ifRange = req.getHeader("If-Range");
+        final long[] bounds = range == null || (ifRange != null && !ifRange.equals(etag)) ? null : parseRange(range, length);
+        if (bounds == null) {
+            send(resp, file, 0, length);
+        } else if (bounds.length == 0) {
+            resp.setHeader("Content-Range", "bytes */" + length);
+            resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        } else {
+            resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            resp.setHeader("Content-Range", "bytes " + bounds[0] + '-' + bounds[1] + '/' + length);
+            send(resp, file, bounds[0], bounds[1] - bounds[0] + 1);
+        }
+    }
+
+    private static void send(HttpServletResponse resp, Path file, long offset, long count) throws IOException {
+        resp.setHeader("Content-Length", Long.toString(count));
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            channel.position(offset);
+            final InputStream in = Channels.newInputStream(channel);
+            final OutputStream out = resp.getOutputStream();
+            final byte[] buffer = new byte[8192];
+            long remaining = count;
+            int read;
+            while (remaining > 0 && (read = in.read(buffer, 0, (int)Math.min(buffer.length, remaining))) != -1) {
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static void redirect(HttpServletRequest req, HttpServletResponse resp, String version, String relativePath)
+            throws IOException {
+        final String path = req.getContextPath() + req.getServletPath() + VERSION_PREFIX + version
+                            + (relativePath.equals("/") ? "/" + INDEX_PAGE : relativePath);
+        final String location;
+        try {
+            location = new URI(null, null, path, null).toASCIIString();
+        } catch (URISyntaxException e) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // the target changes with the documentation, so the redirect must not be cached
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.sendRedirect(req.getQueryString() == null ? location : location + '?' + req.getQueryString());
+    }
+
+    private static boolean isModified(HttpServletRequest req, String etag) {
+        final String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            final String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns {@code true} if gzip is listed in Accept-Encoding header and isn't disabled by zero quality. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses single byte range.
+     *
+     * @return first and last positions of the range, empty array if the range can't be satisfied or
+     * {@code null} if the header isn't a single byte range and the whole file should be sent
+     */
+    static long[] parseRange(String range, long length) {
+        final Matcher matcher = BYTE_RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            final long first;
+            final long last;
+            if (matcher.group(1).isEmpty()) {
+                final long suffix = Long.parseLong(matcher.group(2));
+                if (suffix == 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, length - suffix);
+                last = length - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                if (!matcher.group(2).isEmpty() && Long.parseLong(matcher.group(2)) < first) {
+                    return null;
+                }
+                last = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)), length - 1);
+            }
+            return first >= length || last < first ? new long[0] : new long[]{first, last};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
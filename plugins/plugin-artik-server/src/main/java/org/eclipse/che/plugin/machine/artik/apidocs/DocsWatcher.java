@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Watches the folder of Artik API documentation and notifies {@link DocsChangeListener listeners} about
+ * the changed files.
+ *
+ * <p>Changes are collected until the folder stays quiet for {@link #QUIET_PERIOD_MS}, but no longer than
+ * {@link #MAX_DELAY_MS}, so an SDK update which rewrites hundreds of files is delivered as a few batches.
+ * When the folder doesn't exist, e.g. it is being replaced, it is checked again every {@link #RETRY_DELAY_MS}
+ * and listeners are asked to rescan the documentation once the folder is watched again.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DocsWatcher {
+    private static final Logger LOG = getLogger(DocsWatcher.class);
+
+    static final long QUIET_PERIOD_MS = 500;
+    static final long MAX_DELAY_MS    = 5_000;
+    static final long RETRY_DELAY_MS  = 5_000;
+
+    private final Path                     docsHome;
+    private final List<DocsChangeListener> listeners;
+    private final ExecutorService          executor;
+
+    @Inject
+    public DocsWatcher(@Named("sys.artik.docs.home") String docsHome) {
+        this.docsHome = Paths.get(docsHome).toAbsolutePath();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikDocsWatcher")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    @PostConstruct
+    void start() {
+        executor.execute(this::watch);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public void addListener(DocsChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void watch() {
+        boolean rescan = false;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (!Files.isDirectory(docsHome)) {
+                    rescan = true;
+                    Thread.sleep(RETRY_DELAY_MS);
+                    continue;
+                }
+                try (WatchService watchService = docsHome.getFileSystem().newWatchService()) {
+                    final Map<WatchKey, Path> directories = new HashMap<>();
+                    register(watchService, docsHome, directories);
+                    if (rescan) {
+                        notifyRescan();
+                    }
+                    rescan = true;
+                    watch(watchService, directories);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                LOG.warn("Unable to watch Artik API documentation in {}. {}", docsHome, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /** Delivers changes in batches until the documentation folder is removed. */
+    private void watch(WatchService watchService, Map<WatchKey, Path> directories) throws IOException, InterruptedException {
+        final Set<Path> changed = new LinkedHashSet<>();
+        boolean overflow = false;
+        long pendingSince = 0;
+
+        while (true) {
+            final boolean pending = overflow || !changed.isEmpty();
+            final WatchKey key = pending ? watchService.poll(QUIET_PERIOD_MS, MILLISECONDS) : watchService.take();
+            if (pending && (key == null || System.currentTimeMillis() - pendingSince > MAX_DELAY_MS)) {
+                if (overflow) {
+                    notifyRescan();
+                } else {
+                    notifyChanged(changed);
+                }
+                changed.clear();
+                overflow = false;
+            }
+            if (key == null) {
+                continue;
+            }
+            if (!overflow && changed.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+
+            final Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || directory == null) {
+                    overflow = true;
+                    continue;
+                }
+                final Path file = directory.resolve((Path)event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(file, NOFOLLOW_LINKS)) {
+                    // files may be created before the directory is registered
+                    register(watchService, file, directories);
+                    try (Stream<Path> files = Files.walk(file)) {
+                        files.filter(Files::isRegularFile).forEach(changed::add);
+                    }
+                } else if (event.kind() == ENTRY_DELETE && directories.containsValue(file)) {
+                    // files of the removed directory may have no events
+                    overflow = true;
+                } else {
+                    changed.add(file);
+                }
+            }
+            if (!key.reset()) {
+                directories.remove(key);
+                if (docsHome.equals(directory)) {
+                    notifyRescan();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void register(WatchService watchService, Path root, Map<WatchKey, Path> directories) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>)walk.filter(path -> Files.isDirectory(path, NOFOLLOW_LINKS))::iterator) {
+                directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+            }
+        }
+    }
+
+    private void notifyChanged(Set<Path> changed) {
+        final Set<Path> files = Collections.unmodifiableSet(new LinkedHashSet<>(changed));
+        for (DocsChangeListener listener : listeners) {
+            try {
+                listener.onFilesChanged(files);
+            } catch (RuntimeException e) {
+                LOG.error("Listener failed to handle changes of Artik API documentation", e);
+            }
+        }
+    }
+
+    private void notifyRescan() {
+        for (DocsChangeListener listener : listeners) {
+            try {
+                listener.onRescanRequired();
+            } catch (RuntimeException e) {
+                LOG.error("Listener failed to rescan Artik API documentation", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import org.slf4j.Logger;
+
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.ProcessBuilder.Redirect.INHERIT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Client of the local adb server.
+ *
+ * <p>Speaks the adb server protocol over its socket instead of starting the {@code adb} binary for each
+ * query. Each request is a hex encoded 4 digits length followed by the request itself, the server answers
+ * with {@code OKAY} or with {@code FAIL} followed by the length prefixed error message. If the server refuses the
+ * first connection, it is started once with {@code adb start-server}.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class AdbClient {
+    private static final Logger LOG = getLogger(AdbClient.class);
+
+    static final int  DEFAULT_PORT            = 5037;
+    static final int  CONNECT_TIMEOUT_MS      = 2_000;
+    static final long START_SERVER_TIMEOUT_MS = 10_000;
+
+    /** State of the device which is attached and authorized. */
+    public static final String STATE_DEVICE = "device";
+
+    private final String        host;
+    private final int           port;
+    private final String        adbCommand;
+    private final AtomicBoolean serverStarted;
+
+    public AdbClient() {
+        this("localhost", getServerPort(), "adb");
+    }
+
+    AdbClient(String host, int port, String adbCommand) {
+        this.host = host;
+        this.port = port;
+        this.adbCommand = adbCommand;
+        this.serverStarted = new AtomicBoolean();
+    }
+
+    /**
+     * Returns devices known to the adb server.
+     *
+     * @return states of the devices by their serial numbers
+     * @throws IOException
+     *         if adb server isn't available or fails the request
+     */
+    public Map<String, String> getDevices() throws IOException {
+        try (Socket socket = connect(CONNECT_TIMEOUT_MS)) {
+            request(socket, "host:devices");
+            return parseDevices(readMessage(new DataInputStream(socket.getInputStream())));
+        }
+    }
+
+    /**
+     * Executes shell command on the device and returns its output.
+     *
+     * @param serial
+     *         serial number of the device
+     * @param command
+     *         command to execute
+     * @param timeoutMs
+     *         maximum time to wait for the output of the command
+     * @return lines of the command output
+     * @throws IOException
+     *         if adb server isn't available, fails the request or the command didn't complete in time
+     */
+    public List<String> shell(String serial, String command, int timeoutMs) throws IOException {
+        try (Socket socket = connect(timeoutMs)) {
+            request(socket, "host:transport:" + serial);
+            request(socket, "shell:" + command);
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            final InputStream in = socket.getInputStream();
+            int read;
+            try {
+                while ((read = in.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            } catch (SocketTimeoutException e) {
+                throw new IOException("Command '" + command + "' didn't complete on device " + serial + " in time");
+            }
+            return toLines(new String(output.toByteArray(), UTF_8));
+        }
+    }
+
+    /**
+     * Subscribes to the changes of the devices list.
+     *
+     * @return tracking which returns the devices list each time it is changed
+     * @throws IOException
+     *         if adb server isn't available or fails the request
+     */
+    public DeviceTracking trackDevices() throws IOException {
+        final Socket socket = connect(0);
+        try {
+            request(socket, "host:track-devices");
+            return new DeviceTracking(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private Socket connect(int readTimeoutMs) throws IOException {
+        try {
+            return open(readTimeoutMs);
+        } catch (ConnectException e) {
+            if (!startServer()) {
+                throw connectionError(e);
+            }
+        } catch (IOException e) {
+            throw connectionError(e);
+        }
+        try {
+            return open(readTimeoutMs);
+        } catch (IOException e) {
+            throw connectionError(e);
+        }
+    }
+
+    private IOException connectionError(IOException e) {
+        return new IOException("Unable to connect to adb server on " + host + ':' + port + ". " + e.getMessage(), e);
+    }
+
+    private Socket open(int readTimeoutMs) throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(readTimeoutMs);
+            return socket;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts adb server with the adb binary, it is done only once.
+     *
+     * @return {@code true} if server is started
+     */
+    private boolean startServer() {
+        if (!serverStarted.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            final Process process = new ProcessBuilder(adbCommand, "-P", String.valueOf(port), "start-server").redirectErrorStream(true)
+                                                                                                               .redirectOutput(INHERIT)
+                                                                                                               .start();
+            if (!process.waitFor(START_SERVER_TIMEOUT_MS, MILLISECONDS)) {
+                process.destroy();
+                LOG.warn("adb server didn't start in {} ms", START_SERVER_TIMEOUT_MS);
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            LOG.warn("Unable to start adb server. {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Sends the request and reads the status of the response. */
+    private static void request(Socket socket, String request) throws IOException {
+        final byte[] payload = request.getBytes(UTF_8);
+        final OutputStream out = socket.getOutputStream();
+        out.write(String.format("%04x", payload.length).getBytes(UTF_8));
+        out.write(payload);
+        out.flush();
+
+        final DataInputStream in = new DataInputStream(socket.getInputStream());
+        final String status = readString(in, 4);
+        if ("FAIL".equals(status)) {
+            throw new IOException("adb server failed request '" + request + "': " + readMessage(in));
+        }
+        if (!"OKAY".equals(status)) {
+            throw new IOException("Unexpected response of adb server: " + status);
+        }
+    }
+
+    /** Reads the message which is prefixed with its length. */
+    private static String readMessage(DataInputStream in) throws IOException {
+        final String length = readString(in, 4);
+        try {
+            return readString(in, Integer.parseInt(length, 16));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected length of adb message: " + length);
+        }
+    }
+
+    private static String readString(DataInputStream in, int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /** Parses the list of devices, each line contains serial number and state of the device. */
+    static Map<String, String> parseDevices(String message) {
+        final Map<String, String> devices = new LinkedHashMap<>();
+        for (String line : toLines(message)) {
+            final int tab = line.indexOf('\t');
+            if (tab > 0) {
+                devices.put(line.substring(0, tab), line.substring(tab + 1).trim());
+            }
+        }
+        return devices;
+    }
+
+    private static List<String> toLines(String text) {
+        final List<String> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+        }
+        return lines;
+    }
+
+    private static int getServerPort() {
+        final String port = System.getenv("ANDROID_ADB_SERVER_PORT");
+        if (port != null) {
+            try {
+                return Integer.parseInt(port);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return DEFAULT_PORT;
+    }
+
+    /** Open subscription to the changes of the devices list. */
+    public static class DeviceTracking implements Closeable {
+        private final Socket          socket;
+        private final DataInputStream in;
+
+        private DeviceTracking(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(socket.getInputStream());
+        }
+
+        /**
+         * Waits for the next change of the devices list.
+         * The first call returns the current list immediately.
+         *
+         * @return states of the devices by their serial numbers
+         * @throws EOFException
+         *         if adb server closed the connection
+         * @throws IOException
+         *         if tracking was closed or any other I/O error occurs
+         */
+        public Map<String, String> next() throws IOException {
+            return parseDevices(readMessage(in));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.ArtikDevice;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceDto;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.stream.Collectors.joining;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DISCOVERED_DEVICES_CHANNEL;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Tracks devices which are attached to the adb server.
+ *
+ * <p>Keeps the {@code track-devices} subscription to the adb server open. Each time a device is attached or
+ * detached its cached information is dropped and the new list of the discovered devices is sent to the
+ * {@link org.eclipse.che.plugin.artik.shared.Constants#ARTIK_DISCOVERED_DEVICES_CHANNEL} channel. The list is
+ * built in a separate thread, so slow devices don't delay reading of the next changes, changes which come while
+ * the list is built are published together. If adb server isn't running the subscription is retried periodically.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton // should be eager
+public class AdbDeviceTracker {
+    private static final Logger LOG = getLogger(AdbDeviceTracker.class);
+
+    static final long RETRY_DELAY_MS = 5_000;
+
+    private final AdbClient       adbClient;
+    private final DeviceInfoCache deviceInfoCache;
+    private final ExecutorService executor;
+    private final ExecutorService publisher;
+    private final AtomicBoolean   publishPending;
+
+    private volatile boolean                  stopped;
+    private volatile AdbClient.DeviceTracking tracking;
+    private          Set<String>              devices;
+
+    @Inject
+    public AdbDeviceTracker(AdbClient adbClient, DeviceInfoCache deviceInfoCache) {
+        this.adbClient = adbClient;
+        this.deviceInfoCache = deviceInfoCache;
+        this.devices = Collections.emptySet();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikAdbDeviceTracker-%d")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+        this.publisher = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikAdbDevicePublisher-%d")
+                                                                                     .setUncaughtExceptionHandler(
+                                                                                             LoggingUncaughtExceptionHandler.getInstance())
+                                                                                     .setDaemon(true)
+                                                                                     .build());
+        this.publishPending = new AtomicBoolean();
+    }
+
+    @PostConstruct
+    private void start() {
+        executor.execute(this::track);
+    }
+
+    @PreDestroy
+    private void stop() {
+        stopped = true;
+        closeTracking();
+        executor.shutdownNow();
+        publisher.shutdownNow();
+    }
+
+    private void track() {
+        while (!stopped) {
+            try (AdbClient.DeviceTracking tracking = adbClient.trackDevices()) {
+                this.tracking = tracking;
+                while (!stopped) {
+                    onDevicesChanged(DeviceDiscoverer.getAttachedDevices(tracking.next()));
+                }
+            } catch (IOException e) {
+                if (stopped) {
+                    return;
+                }
+                LOG.debug("Tracking of adb devices is interrupted. {}", e.getLocalizedMessage());
+            }
+
+            try {
+                Thread.sleep(RETRY_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Drops cached information about attached and detached devices and publishes the new list. */
+    void onDevicesChanged(List<String> attached) {
+        final Set<String> current = new HashSet<>(attached);
+        if (current.equals(devices)) {
+            return;
+        }
+        for (String deviceId : devices) {
+            if (!current.contains(deviceId)) {
+                deviceInfoCache.invalidate(deviceId);
+            }
+        }
+        for (String deviceId : current) {
+            if (!devices.contains(deviceId)) {
+                deviceInfoCache.invalidate(deviceId);
+            }
+        }
+        devices = current;
+
+        if (publishPending.compareAndSet(false, true)) {
+            publisher.execute(this::publish);
+        }
+    }
+
+    private void publish() {
+        publishPending.set(false);
+        try {
+            send(toJson(deviceInfoCache.getDevices()));
+        } catch (ServerException e) {
+            LOG.warn("Unable to publish discovered devices. {}", e.getLocalizedMessage());
+        }
+    }
+
+    /** Sends the list of discovered devices to the websocket channel. */
+    void send(String devices) {
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(ARTIK_DISCOVERED_DEVICES_CHANNEL);
+            bm.setBody(devices);
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static String toJson(List<ArtikDevice> devices) {
+        return devices.stream()
+                      .map(device -> DtoFactory.getInstance().toJson(DtoFactory.newDto(ArtikDeviceDto.class)
+                                                                               .withId(device.getId())
+                                                                               .withIPAddress(device.getIPAddress())))
+                      .collect(joining(",", "[", "]"));
+    }
+
+    private void closeTracking() {
+        final AdbClient.DeviceTracking current = tracking;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
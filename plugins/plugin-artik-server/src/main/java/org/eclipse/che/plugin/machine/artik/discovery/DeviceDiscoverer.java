@@ -12,19 +12,16 @@
 package org.eclipse.che.plugin.machine.artik.discovery;
 
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.util.CommandLine;
-import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.ListLineConsumer;
-import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.plugin.artik.shared.ArtikDevice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -38,6 +35,15 @@ public class DeviceDiscoverer {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeviceDiscoverer.class);
 
+    static final int SHELL_TIMEOUT_MS = 5_000;
+
+    private final AdbClient adbClient;
+
+    @Inject
+    public DeviceDiscoverer(AdbClient adbClient) {
+        this.adbClient = adbClient;
+    }
+
     /**
      * Discovers the connected Artik devices.
      *
@@ -46,19 +52,23 @@ public class DeviceDiscoverer {
      *         if any error occurs while discovering process
      */
     public List<String> discover() throws ServerException {
-        final CommandLine commandLine = new CommandLine("adb", "devices");
-        final ListLineConsumer lineConsumer = new ListLineConsumer();
-        executeCommand(commandLine, lineConsumer);
+        try {
+            return getAttachedDevices(adbClient.getDevices());
+        } catch (IOException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+            throw new ServerException("Unable to get the list of devices. " + e.getLocalizedMessage());
+        }
+    }
 
-        List<String> devices = new ArrayList<>();
-        for (String line : lineConsumer.getLines()) {
-            final int i = line.indexOf("\tdevice");
-            if (i > -1) {
-                devices.add(line.substring(0, i));
+    /** Returns serial numbers of the devices which are attached and ready to use. */
+    static List<String> getAttachedDevices(Map<String, String> devices) {
+        List<String> attached = new ArrayList<>();
+        for (Map.Entry<String, String> device : devices.entrySet()) {
+            if (AdbClient.STATE_DEVICE.equals(device.getValue())) {
+                attached.add(device.getKey());
             }
         }
-
-        return devices;
+        return attached;
     }
 
     /**
@@ -85,45 +95,30 @@ public class DeviceDiscoverer {
     }
 
     /** Returns the IPv4 address assigned to the specified network interface. */
-    private static Optional<String> getDeviceIPv4Address(String deviceId, String interfaceName) throws ServerException {
-        final CommandLine commandLine = new CommandLine("adb", "-s", deviceId, "shell", "ifconfig", interfaceName);
-        final ListLineConsumer lineConsumer = new ListLineConsumer();
-        executeCommand(commandLine, lineConsumer);
-
-        final String ipV4ConfigLine = lineConsumer.getLines().get(1);
-        if (ipV4ConfigLine.startsWith("        inet ")) {
-            final String ipV4Address = ipV4ConfigLine.trim().split("\\s+")[1];
-            return Optional.of(ipV4Address);
+    private Optional<String> getDeviceIPv4Address(String deviceId, String interfaceName) throws ServerException {
+        final List<String> lines;
+        try {
+            lines = adbClient.shell(deviceId, "ifconfig " + interfaceName, SHELL_TIMEOUT_MS);
+        } catch (IOException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+            throw new ServerException(String.format("Unable to get configuration of %s on device %s. %s",
+                                                    interfaceName,
+                                                    deviceId,
+                                                    e.getLocalizedMessage()));
         }
-
-        return Optional.empty();
+        return parseIPv4Address(lines);
     }
 
-    private static void executeCommand(CommandLine commandLine, LineConsumer lineConsumer) throws ServerException {
-        ProcessBuilder pb = new ProcessBuilder(commandLine.toShellCommand());
-
-        try (LineConsumer consumer = new CompositeLineConsumer(lineConsumer)) {
-            Process process;
-            try {
-                process = ProcessUtil.execute(pb, consumer);
-            } catch (IOException e) {
-                LOG.error("Process starting failed", e);
-                throw new ServerException(String.format("Unable to execute command: %s", commandLine.toString()));
+    /** Parses the IPv4 address from the output of the {@code ifconfig} command. */
+    static Optional<String> parseIPv4Address(List<String> ifconfigOutput) {
+        for (String line : ifconfigOutput) {
+            final String trimmed = line.trim();
+            if (trimmed.startsWith("inet ")) {
+                final String ipV4Address = trimmed.split("\\s+")[1];
+                return Optional.of(ipV4Address.startsWith("addr:") ? ipV4Address.substring(5) : ipV4Address);
             }
-
-            try {
-                process.waitFor();
-                if (process.exitValue() != 0) {
-                    LOG.debug(String.format("ShellCommand execution failed: %s", commandLine.toString()));
-                    throw new ServerException(String.format("ShellCommand execution failed: %s", commandLine.toString()));
-                } else {
-                    LOG.debug(String.format("ShellCommand execution successful: %s", commandLine.toString()));
-                }
-            } catch (InterruptedException e) {
-                Thread.interrupted();
-            }
-        } catch (IOException e) {
-            LOG.error("An error occurred while trying to close the LineConsumer", e);
         }
+
+        return Optional.empty();
     }
 }
@@ -34,21 +34,32 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 @Path("/discovery/{ws-id}")
 public class DeviceDiscoveryService extends Service {
 
-    private final DeviceDiscoverer deviceDiscoverer;
+    private final DeviceInfoCache      deviceInfoCache;
+    private final NetworkDeviceScanner networkDeviceScanner;
 
     @Inject
-    public DeviceDiscoveryService(DeviceDiscoverer deviceDiscoverer) {
-        this.deviceDiscoverer = deviceDiscoverer;
+    public DeviceDiscoveryService(DeviceInfoCache deviceInfoCache, NetworkDeviceScanner networkDeviceScanner) {
+        this.deviceInfoCache = deviceInfoCache;
+        this.networkDeviceScanner = networkDeviceScanner;
     }
 
     @GET
     @Produces(APPLICATION_JSON)
     public List<ArtikDeviceDto> getDevices() throws ServerException {
-        List<ArtikDeviceDto> devices = new ArrayList<>();
+        return asDtos(deviceInfoCache.getDevices());
+    }
 
-        for (String deviceId : deviceDiscoverer.discover()) {
-            final ArtikDevice device = deviceDiscoverer.getDeviceInfo(deviceId);
+    @GET
+    @Path("/network")
+    @Produces(APPLICATION_JSON)
+    public List<ArtikDeviceDto> getNetworkDevices() throws ServerException {
+        return asDtos(networkDeviceScanner.getDevices());
+    }
+
+    private static List<ArtikDeviceDto> asDtos(List<ArtikDevice> artikDevices) {
+        List<ArtikDeviceDto> devices = new ArrayList<>();
 
+        for (ArtikDevice device : artikDevices) {
             devices.add(DtoFactory.newDto(ArtikDeviceDto.class)
                                   .withId(device.getId())
                                   .withIPAddress(device.getIPAddress()));
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.plugin.artik.shared.ArtikDevice;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps information about the devices which are connected over USB.
+ *
+ * <p>Information about all the devices is requested in parallel and each device has to answer in
+ * {@link #INFO_TIMEOUT_MS}, devices which don't answer in time or fail are skipped. Received information is
+ * reused for {@link #INFO_TTL_MS}. Information about a device is dropped as soon as the device disappears
+ * from the list of the connected devices or when {@link #invalidate(String)} is called.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceInfoCache {
+    private static final Logger LOG = getLogger(DeviceInfoCache.class);
+
+    static final long INFO_TTL_MS     = 30_000;
+    static final long INFO_TIMEOUT_MS = 5_000;
+    static final int  MAX_THREADS     = 8;
+
+    private final DeviceDiscoverer        discoverer;
+    private final ExecutorService         executor;
+    private final Map<String, CachedInfo> cache;
+
+    @Inject
+    public DeviceInfoCache(DeviceDiscoverer discoverer) {
+        this.discoverer = discoverer;
+        this.cache = new ConcurrentHashMap<>();
+        this.executor = Executors.newFixedThreadPool(MAX_THREADS,
+                                                     new ThreadFactoryBuilder().setNameFormat("ArtikDeviceDiscovery-%d")
+                                                                               .setUncaughtExceptionHandler(
+                                                                                       LoggingUncaughtExceptionHandler.getInstance())
+                                                                               .setDaemon(true)
+                                                                               .build());
+    }
+
+    /**
+     * Returns information about the connected devices.
+     *
+     * @return devices in order they are listed by adb, devices which didn't answer in time are not included
+     * @throws ServerException
+     *         if the list of connected devices can't be received
+     */
+    public List<ArtikDevice> getDevices() throws ServerException {
+        final List<String> deviceIds = discoverer.discover();
+        cache.keySet().retainAll(deviceIds);
+
+        final Map<String, CachedInfo> requests = new LinkedHashMap<>();
+        for (String deviceId : deviceIds) {
+            requests.put(deviceId, getInfo(deviceId));
+        }
+
+        final long deadline = System.currentTimeMillis() + INFO_TIMEOUT_MS;
+        final List<ArtikDevice> devices = new ArrayList<>(requests.size());
+        for (Map.Entry<String, CachedInfo> request : requests.entrySet()) {
+            final String deviceId = request.getKey();
+            final Future<ArtikDevice> info = request.getValue().info;
+            try {
+                devices.add(info.get(Math.max(0, deadline - System.currentTimeMillis()), MILLISECONDS));
+            } catch (TimeoutException e) {
+                LOG.warn("Device {} didn't answer in {} ms", deviceId, INFO_TIMEOUT_MS);
+                info.cancel(true);
+                cache.remove(deviceId, request.getValue());
+            } catch (ExecutionException e) {
+                LOG.warn("Unable to get information about device {}. {}", deviceId, e.getCause().getLocalizedMessage());
+                cache.remove(deviceId, request.getValue());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerException("Discovery of the devices was interrupted");
+            }
+        }
+        return devices;
+    }
+
+    /** Drops information about the device, it is requested again on the next discovery. */
+    public void invalidate(String deviceId) {
+        cache.remove(deviceId);
+    }
+
+    /** Drops information about all the devices. */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /** Returns cached or newly requested information about the device. */
+    private CachedInfo getInfo(String deviceId) {
+        final long now = System.currentTimeMillis();
+        return cache.compute(deviceId, (id, cached) -> {
+            if (cached != null && (!cached.info.isDone() || now - cached.created < INFO_TTL_MS)) {
+                return cached;
+            }
+            return new CachedInfo(executor.submit(ThreadLocalPropagateContext.wrap(() -> discoverer.getDeviceInfo(id))), now);
+        });
+    }
+
+    @PreDestroy
+    private void stop() {
+        executor.shutdownNow();
+    }
+
+    private static final class CachedInfo {
+        private final Future<ArtikDevice> info;
+        private final long                created;
+
+        private CachedInfo(Future<ArtikDevice> info, long created) {
+            this.info = info;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.artik.shared.ArtikDevice;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Discovers devices which are available over the network only.
+ *
+ * <p>All the hosts of the configured subnets are probed for an SSH endpoint with non-blocking connects, at
+ * most {@link #MAX_IN_FLIGHT} connections are opened at the same time. A host is reported as a device when
+ * its SSH banner matches the configured pattern. Stock ARTIK images run plain OpenSSH, so the banner only narrows
+ * down the candidates: a candidate is reported only if its host name, resolved with a reverse lookup, matches the
+ * configured host name pattern. Names of the candidates are resolved concurrently, a candidate which name isn't
+ * resolved in {@link #RESOLVE_TIMEOUT_MS} is checked by its IP address. Results of the scan are reused for
+ * {@link #RESULT_TTL_MS}.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class NetworkDeviceScanner {
+    private static final Logger LOG = getLogger(NetworkDeviceScanner.class);
+
+    static final int  SSH_PORT           = 22;
+    static final int  MAX_IN_FLIGHT      = 256;
+    static final int  MIN_PREFIX_LENGTH  = 16;
+    static final long CONNECT_TIMEOUT_MS = 1_000;
+    static final long BANNER_TIMEOUT_MS  = 1_500;
+    static final long RESULT_TTL_MS      = 60_000;
+    static final int  MAX_BANNER_LENGTH  = 256;
+    static final int  MAX_RESOLVERS      = 16;
+    static final long RESOLVE_TIMEOUT_MS = 5_000;
+
+    private final List<String> subnets;
+    private final Pattern      bannerPattern;
+    private final Pattern         hostNamePattern;
+    private final ExecutorService resolver;
+
+    private List<ArtikDevice> devices;
+    private long              scanned;
+
+    @Inject
+    public NetworkDeviceScanner(@Named("artik.discovery.subnets") String subnets,
+                                @Named("artik.discovery.ssh_banner_pattern") String bannerPattern,
+                                @Named("artik.discovery.hostname_pattern") String hostNamePattern) {
+        this.subnets = new ArrayList<>();
+        for (String subnet : subnets.split(",")) {
+            if (!subnet.trim().isEmpty()) {
+                this.subnets.add(subnet.trim());
+            }
+        }
+        this.bannerPattern = Pattern.compile(bannerPattern);
+        this.hostNamePattern = hostNamePattern.trim().isEmpty() ? null : Pattern.compile(hostNamePattern.trim());
+        this.resolver = Executors.newFixedThreadPool(MAX_RESOLVERS,
+                                                     new ThreadFactoryBuilder().setNameFormat("ArtikHostNameResolver-%d")
+                                                                               .setUncaughtExceptionHandler(
+                                                                                       LoggingUncaughtExceptionHandler.getInstance())
+                                                                               .setDaemon(true)
+                                                                               .build());
+    }
+
+    @PreDestroy
+    private void stop() {
+        resolver.shutdownNow();
+    }
+
+    /**
+     * Returns devices found in the configured subnets.
+     *
+     * @return devices which are identified by their IP addresses
+     * @throws ServerException
+     *         if scanning fails
+     */
+    public synchronized List<ArtikDevice> getDevices() throws ServerException {
+        if (devices != null && System.currentTimeMillis() - scanned < RESULT_TTL_MS) {
+            return devices;
+        }
+
+        final Set<InetAddress> hosts = new LinkedHashSet<>();
+        for (String subnet : subnets) {
+            try {
+                hosts.addAll(getHosts(subnet));
+            } catch (IllegalArgumentException | UnknownHostException e) {
+                LOG.warn("Subnet '{}' is skipped. {}", subnet, e.getMessage());
+            }
+        }
+
+        final List<ArtikDevice> found = new ArrayList<>();
+        try {
+            for (InetAddress address : filterDevices(probe(hosts, SSH_PORT))) {
+                found.add(new ArtikDeviceImpl(address.getHostAddress(), address.getHostAddress()));
+            }
+        } catch (IOException e) {
+            throw new ServerException("Unable to scan the network. " + e.getLocalizedMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Scanning of the network was interrupted");
+        }
+        devices = Collections.unmodifiableList(found);
+        scanned = System.currentTimeMillis();
+        return devices;
+    }
+
+    /**
+     * Resolves names of the candidates concurrently and keeps the ones identified as devices.
+     *
+     * @return candidates which are identified as devices, in order of the candidates
+     */
+    List<InetAddress> filterDevices(List<InetAddress> candidates) throws InterruptedException {
+        if (hostNamePattern == null || candidates.isEmpty()) {
+            return candidates;
+        }
+        final List<Callable<String>> lookups = new ArrayList<>(candidates.size());
+        for (InetAddress candidate : candidates) {
+            lookups.add(candidate::getCanonicalHostName);
+        }
+        final List<Future<String>> hostNames = resolver.invokeAll(lookups, RESOLVE_TIMEOUT_MS, MILLISECONDS);
+
+        final List<InetAddress> devices = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            final InetAddress candidate = candidates.get(i);
+            String hostName;
+            try {
+                hostName = hostNames.get(i).get();
+            } catch (CancellationException | ExecutionException e) {
+                LOG.debug("Name of host {} isn't resolved in time", candidate);
+                hostName = candidate.getHostAddress();
+            }
+            if (isDevice(hostName)) {
+                devices.add(candidate);
+            } else {
+                LOG.debug("Host {} answered with a matching SSH banner but isn't identified as a device", candidate);
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * Checks whether the host is an ARTIK board by its host name.
+     *
+     * @param hostName
+     *         name of the host, its IP address if the name can't be resolved
+     * @return {@code true} if the name matches the configured pattern or the pattern isn't configured
+     */
+    boolean isDevice(String hostName) {
+        return hostNamePattern == null || hostNamePattern.matcher(hostName).matches();
+    }
+
+    /**
+     * Probes the port of all the hosts concurrently.
+     *
+     * @return hosts which answered with a matching SSH banner, in order of the answers
+     */
+    List<InetAddress> probe(Iterable<InetAddress> hosts, int port) throws IOException {
+        final List<InetAddress> found = new ArrayList<>();
+        final Iterator<InetAddress> pending = hosts.iterator();
+        int inFlight = 0;
+
+        try (Selector selector = Selector.open()) {
+            while (pending.hasNext() || inFlight > 0) {
+                while (inFlight < MAX_IN_FLIGHT && pending.hasNext()) {
+                    if (connect(selector, pending.next(), port)) {
+                        inFlight++;
+                    }
+                }
+
+                selector.select(100);
+                final Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    final SelectionKey key = selected.next();
+                    selected.remove();
+                    final Probe probe = (Probe)key.attachment();
+                    if (!probe.handle(key)) {
+                        continue;
+                    }
+                    close(key);
+                    inFlight--;
+                    if (probe.banner != null && bannerPattern.matcher(probe.banner).matches()) {
+                        found.add(probe.address);
+                    }
+                }
+
+                final long now = System.currentTimeMillis();
+                for (SelectionKey key : selector.keys()) {
+                    if (key.isValid() && ((Probe)key.attachment()).deadline < now) {
+                        close(key);
+                        inFlight--;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean connect(Selector selector, InetAddress address, int port) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            final Probe probe = new Probe(address);
+            if (channel.connect(new InetSocketAddress(address, port))) {
+                probe.connected();
+                channel.register(selector, SelectionKey.OP_READ, probe);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.debug("Unable to probe {}. {}", address, e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    private static void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Returns the hosts of the subnet, network and broadcast addresses are excluded.
+     *
+     * @param subnet
+     *         IPv4 subnet in CIDR notation, e.g. 192.168.1.0/24
+     */
+    static List<InetAddress> getHosts(String subnet) throws UnknownHostException {
+        final int slash = subnet.indexOf('/');
+        final byte[] address = InetAddress.getByName(slash < 0 ? subnet : subnet.substring(0, slash)).getAddress();
+        final int prefixLength = slash < 0 ? 32 : Integer.parseInt(subnet.substring(slash + 1));
+        if (address.length != 4) {
+            throw new IllegalArgumentException("Only IPv4 subnets are supported");
+        }
+        if (prefixLength < MIN_PREFIX_LENGTH || prefixLength > 32) {
+            throw new IllegalArgumentException("Prefix length must be between " + MIN_PREFIX_LENGTH + " and 32");
+        }
+
+        final long mask = (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+        final long network = toLong(address) & mask;
+        final long broadcast = network | (~mask & 0xFFFFFFFFL);
+        final long first = prefixLength >= 31 ? network : network + 1;
+        final long last = prefixLength >= 31 ? broadcast : broadcast - 1;
+
+        final List<InetAddress> hosts = new ArrayList<>();
+        for (long host = first; host <= last; host++) {
+            hosts.add(InetAddress.getByAddress(new byte[] {(byte)(host >> 24), (byte)(host >> 16), (byte)(host >> 8), (byte)host}));
+        }
+        return hosts;
+    }
+
+    private static long toLong(byte[] address) {
+        return ((address[0] & 0xFFL) << 24) | ((address[1] & 0xFFL) << 16) | ((address[2] & 0xFFL) << 8) | (address[3] & 0xFFL);
+    }
+
+    /** State of the probe of one host. */
+    private static class Probe {
+        private final InetAddress address;
+        private final ByteBuffer  buffer;
+
+        private long   deadline;
+        private String banner;
+
+        private Probe(InetAddress address) {
+            this.address = address;
+            this.buffer = ByteBuffer.allocate(MAX_BANNER_LENGTH);
+            this.deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+        }
+
+        private void connected() {
+            deadline = System.currentTimeMillis() + BANNER_TIMEOUT_MS;
+        }
+
+        /**
+         * Handles readiness of the channel.
+         *
+         * @return {@code true} if the probe is completed
+         */
+        private boolean handle(SelectionKey key) {
+            final SocketChannel channel = (SocketChannel)key.channel();
+            try {
+                if (key.isConnectable()) {
+                    channel.finishConnect();
+                    connected();
+                    key.interestOps(SelectionKey.OP_READ);
+                    return false;
+                }
+                if (key.isReadable()) {
+                    final int read = channel.read(buffer);
+                    final String received = new String(buffer.array(), 0, buffer.position(), US_ASCII);
+                    final int endOfLine = received.indexOf('\n');
+                    if (endOfLine >= 0) {
+                        banner = received.substring(0, endOfLine).trim();
+                        return true;
+                    }
+                    return read < 0 || !buffer.hasRemaining();
+                }
+                return false;
+            } catch (IOException e) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.keyworddoc;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Binary index of the keywords of Artik API documentation.
+ *
+ * <p>The index keeps the keywords of each documentation page together with size, modification time and CRC32
+ * checksum of the page. Only the pages which were added or changed since the index was saved are parsed,
+ * the checksum of a page is computed only when its size or modification time differs from the indexed one.
+ *
+ * @author Valeriy Svydenko
+ */
+public class KeywordDocsIndex {
+    private static final Logger LOG = getLogger(KeywordDocsIndex.class);
+
+    static final int    MAGIC     = 0x41444b49;
+    static final int    VERSION   = 2;
+    static final String EXTENSION = ".keywords.idx";
+
+    private KeywordDocsIndex() {
+    }
+
+    /**
+     * Returns the index file of the documentation directory, it is placed next to the directory.
+     *
+     * @param docsDir
+     *         path to the directory that contains documentation pages
+     */
+    public static Path getIndexFile(Path docsDir) {
+        return docsDir.resolveSibling(docsDir.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Returns keywords of the documentation pages, only the pages which were changed since the index was
+     * saved are parsed. The index is saved again if any page was changed.
+     *
+     * @param docsDir
+     *         path to the directory that contains documentation pages
+     * @param indexFile
+     *         path to the index file
+     * @return map of the keywords to the according pages
+     * @throws IOException
+     *         if any error occurred while parsing
+     */
+    public static Map<String, String> getLinks(Path docsDir, Path indexFile) throws IOException {
+        final List<Path> docFiles = KeywordDocsParser.listDocFiles(docsDir);
+
+        Map<String, IndexedPage> indexed = new HashMap<>();
+        if (Files.exists(indexFile)) {
+            try {
+                indexed = read(indexFile);
+            } catch (IOException e) {
+                LOG.warn("Index {} of Artik API documentation can't be read and will be rebuilt. {}", indexFile, e.getMessage());
+            }
+        }
+
+        boolean changed = indexed.size() != docFiles.size();
+        final Map<String, IndexedPage> pages = new LinkedHashMap<>();
+        final List<Path> toParse = new ArrayList<>();
+        for (Path docFile : docFiles) {
+            final String name = docFile.getFileName().toString();
+            final IndexedPage page = indexed.get(name);
+            final long size = Files.size(docFile);
+            final long modified = Files.getLastModifiedTime(docFile).toMillis();
+            if (page != null && page.size == size && page.modified == modified) {
+                pages.put(name, page);
+                continue;
+            }
+            changed = true;
+            if (page != null && page.size == size && page.checksum == checksum(docFile)) {
+                pages.put(name, new IndexedPage(size, modified, page.checksum, page.links));
+            } else {
+                pages.put(name, null);
+                toParse.add(docFile);
+            }
+        }
+
+        try {
+            for (Map.Entry<Path, IndexedPage> parsed : toParse.parallelStream()
+                                                              .collect(Collectors.toMap(docFile -> docFile, KeywordDocsIndex::parse))
+                                                              .entrySet()) {
+                pages.put(parsed.getKey().getFileName().toString(), parsed.getValue());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (changed) {
+            try {
+                write(indexFile, pages);
+            } catch (IOException e) {
+                LOG.warn("Unable to save index {} of Artik API documentation. {}", indexFile, e.getMessage());
+            }
+        }
+
+        final Map<String, String> links = new HashMap<>();
+        for (IndexedPage page : pages.values()) {
+            links.putAll(page.links);
+        }
+        return links;
+    }
+
+    private static IndexedPage parse(Path docFile) {
+        try {
+            final long size = Files.size(docFile);
+            final long modified = Files.getLastModifiedTime(docFile).toMillis();
+            return new IndexedPage(size, modified, checksum(docFile), KeywordDocsParser.parseFile(docFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static long checksum(Path file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static Map<String, IndexedPage> read(Path indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported format of the index");
+            }
+            final int pageCount = in.readInt();
+            final Map<String, IndexedPage> pages = new HashMap<>();
+            for (int i = 0; i < pageCount; i++) {
+                final String name = in.readUTF();
+                final long size = in.readLong();
+                final long modified = in.readLong();
+                final long checksum = in.readLong();
+                final int linkCount = in.readInt();
+                final Map<String, String> links = new HashMap<>();
+                for (int j = 0; j < linkCount; j++) {
+                    links.put(in.readUTF(), in.readUTF());
+                }
+                pages.put(name, new IndexedPage(size, modified, checksum, links));
+            }
+            return pages;
+        }
+    }
+
+    private static void write(Path indexFile, Map<String, IndexedPage> pages) throws IOException {
+        final Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(pages.size());
+            for (Map.Entry<String, IndexedPage> entry : pages.entrySet()) {
+                final IndexedPage page = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(page.size);
+                out.writeLong(page.modified);
+                out.writeLong(page.checksum);
+                out.writeInt(page.links.size());
+                for (Map.Entry<String, String> link : page.links.entrySet()) {
+                    out.writeUTF(link.getKey());
+                    out.writeUTF(link.getValue());
+                }
+            }
+        }
+        Files.move(tmp, indexFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private static final class IndexedPage {
+        private final long                size;
+        private final long                modified;
+        private final long                checksum;
+        private final Map<String, String> links;
+
+        private IndexedPage(long size, long modified, long checksum, Map<String, String> links) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+            this.links = links;
+        }
+    }
+}
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.machine.artik.keyworddoc;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -20,6 +21,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Parser for Artik API documentation pages.
@@ -31,26 +33,19 @@ public class KeywordDocsParser {
     private static Pattern regexp = Pattern.compile("\"[a-zA-Z0-9_#.]+\"");
 
     /**
-     * Parses all documentation pages in the specified directory.
+     * Returns documentation pages in the specified directory.
      *
      * @param path
      *         path to the directory that contains documentation pages
-     * @return map of the keywords to the according pages
      * @throws IOException
-     *         if any error occurred while parsing
+     *         if the directory can't be listed
      */
-    public static Map<String, String> parseFolder(Path path) throws IOException {
-        List<Path> docFiles = Files.list(path)
-                                   .filter(p -> p.toString().endsWith(".js"))
-                                   .collect(Collectors.toList());
-
-        Map<String, String> links = new HashMap<>();
-
-        for (Path docFile : docFiles) {
-            links.putAll(parseFile(docFile));
+    public static List<Path> listDocFiles(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(p -> p.toString().endsWith(".js"))
+                        .sorted()
+                        .collect(Collectors.toList());
         }
-
-        return links;
     }
 
     /**
@@ -64,24 +59,26 @@ public class KeywordDocsParser {
      */
     public static Map<String, String> parseFile(Path path) throws IOException {
         Map<String, String> links = new HashMap<>();
+        Matcher matcher = regexp.matcher("");
 
-        List<String> lines = Files.readAllLines(path);
-
-        for (String line : lines) {
-            Matcher matcher = regexp.matcher(line);
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                matcher.reset(line);
 
-            String operator = null;
-            String link = null;
+                String operator = null;
+                String link = null;
 
-            if (matcher.find()) {
-                operator = matcher.group().replace("\"", "");
-            }
-            if (matcher.find()) {
-                link = matcher.group().replace("\"", "");
-            }
+                if (matcher.find()) {
+                    operator = matcher.group().replace("\"", "");
+                }
+                if (matcher.find()) {
+                    link = matcher.group().replace("\"", "");
+                }
 
-            if (operator != null && link != null) {
-                links.put(operator, link);
+                if (operator != null && link != null) {
+                    links.put(operator, link);
+                }
             }
         }
 
@@ -11,10 +11,19 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.machine.artik.keyworddoc;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.KeywordsBundleDto;
+import org.eclipse.che.plugin.machine.artik.apidocs.DocsChangeListener;
+import org.eclipse.che.plugin.machine.artik.apidocs.DocsWatcher;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,19 +31,34 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DOCS_CHANNEL;
 
 /**
  * Artik API keyword documentation service.
@@ -47,45 +71,165 @@ public class KeywordDocsService extends Service {
 
     private static final Logger LOG = LoggerFactory.getLogger(KeywordDocsService.class);
 
-    private final Map<String, String> docLinks;
-    private final String              docsPath;
+    static final int    MAX_SEARCH_LIMIT = 100;
+    static final String DOCS_PATH        = "/artikdocs/";
+
+    private final String                    docsPath;
+    private final DocsWatcher               watcher;
+    private final AtomicReference<Keywords> keywords;
 
     @Inject
-    public KeywordDocsService(@Named("sys.artik.docs.home") String docsPath) {
+    public KeywordDocsService(@Named("sys.artik.docs.home") String docsPath, DocsWatcher watcher) {
         this.docsPath = docsPath;
-        docLinks = new HashMap<>();
+        this.watcher = watcher;
+        this.keywords = new AtomicReference<>(new Keywords(Collections.emptyMap()));
     }
 
     @PostConstruct
     private void start() {
-        final java.nio.file.Path docPath = Paths.get(docsPath);
-        if (Files.exists(docPath)) {
-            try {
-                Map<String, String> links = KeywordDocsParser.parseFolder(docPath);
-                for (Map.Entry<String, String> entry : links.entrySet()) {
-                    docLinks.put(entry.getKey(), "/artikdocs/" + entry.getValue());
+        reload();
+        watcher.addListener(new DocsChangeListener() {
+            @Override
+            public void onFilesChanged(Set<java.nio.file.Path> files) {
+                if (files.stream().anyMatch(file -> file.toString().endsWith(".js"))) {
+                    reload();
                 }
-            } catch (IOException e) {
-                LOG.warn("Unable to parse Artik API documentation files", e);
             }
-        } else {
+
+            @Override
+            public void onRescanRequired() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Reads the keywords again and replaces the current ones at once, only the changed documentation pages
+     * are parsed. Requests are served from the previous keywords until the new ones are ready. The new version
+     * of the keywords is broadcast, so the IDE drops the links it has resolved before.
+     */
+    synchronized void reload() {
+        final java.nio.file.Path docPath = Paths.get(docsPath);
+        if (!Files.exists(docPath)) {
             LOG.warn("Unable to parse Artik API documentation files. Folder with docs not found in your workspace");
+            return;
         }
+        try {
+            final Map<String, String> links = new HashMap<>();
+            for (Map.Entry<String, String> entry : KeywordDocsIndex.getLinks(docPath, KeywordDocsIndex.getIndexFile(docPath)).entrySet()) {
+                links.put(entry.getKey(), DOCS_PATH + entry.getValue());
+            }
+            final Keywords updated = new Keywords(links);
+            if (!keywords.getAndSet(updated).version.equals(updated.version)) {
+                publishVersion(updated.version);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to parse Artik API documentation files", e);
+        }
+    }
 
+    private static void publishVersion(String version) {
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(ARTIK_DOCS_CHANNEL);
+            // same form as the entity tag of the responses
+            bm.setBody(new EntityTag(version).toString());
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @GET
+    @Path("/search")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response search(@QueryParam("q") String query,
+                           @DefaultValue("true") @QueryParam("fuzzy") boolean fuzzy,
+                           @DefaultValue("20") @QueryParam("limit") int limit,
+                           @Context Request request) throws BadRequestException {
+        if (query == null) {
+            throw new BadRequestException("Query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        final Keywords current = keywords.get();
+        return cached(request, current, new GenericEntity<List<String>>(current.trie.search(query, fuzzy, limit)) {});
     }
 
     @GET
     @Path("/{keyword}")
     @Consumes(MediaType.TEXT_PLAIN)
     @Produces(MediaType.TEXT_PLAIN)
-    public String getLink(@PathParam("keyword") String keyword) throws NotFoundException {
-        return Optional.ofNullable(docLinks.get(keyword))
-                       .orElseThrow(() -> new NotFoundException("Documentation not found for " + keyword));
+    public Response getLink(@PathParam("keyword") String keyword, @Context Request request) throws NotFoundException {
+        final Keywords current = keywords.get();
+        final String link = Optional.ofNullable(current.links.get(keyword))
+                                    .orElseThrow(() -> new NotFoundException("Documentation not found for " + keyword));
+        return cached(request, current, link);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getAllKeywords(@Context Request request) {
+        final Keywords current = keywords.get();
+        return cached(request, current, new GenericEntity<List<String>>(new ArrayList<>(current.links.keySet())) {});
     }
 
+    /**
+     * Returns all the keywords with the links to their pages, the links are relative to {@link #DOCS_PATH}.
+     * The response is revalidated by its entity tag, so the editor downloads the bundle once per version of
+     * the keywords and resolves keywords locally.
+     */
     @GET
+    @Path("/bundle")
     @Produces(MediaType.APPLICATION_JSON)
-    public List<String> getAllKeywords() {
-        return new ArrayList<>(docLinks.keySet());
+    public Response getBundle(@Context Request request) {
+        final Keywords current = keywords.get();
+        final Map<String, String> links = new HashMap<>();
+        for (Map.Entry<String, String> entry : current.links.entrySet()) {
+            links.put(entry.getKey(), entry.getValue().substring(DOCS_PATH.length()));
+        }
+        return cached(request, current, DtoFactory.newDto(KeywordsBundleDto.class)
+                                                  .withVersion(current.version)
+                                                  .withBase(DOCS_PATH)
+                                                  .withLinks(links));
+    }
+
+    /**
+     * Builds response which is tagged with the version of the keywords, so the browser revalidates the cached
+     * response with a cheap conditional request and gets {@code 304 Not Modified} until the documentation changes.
+     */
+    private static Response cached(Request request, Keywords keywords, Object entity) {
+        final EntityTag tag = new EntityTag(keywords.version);
+        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        if (builder == null) {
+            builder = Response.ok(entity);
+        }
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        // IDE reads the version of the keywords from the tag of the cross-origin response
+        return builder.tag(tag)
+                      .cacheControl(cacheControl)
+                      .header("Access-Control-Expose-Headers", "ETag")
+                      .build();
+    }
+
+    /** Immutable keywords of the documentation, they are replaced as a whole when the documentation changes. */
+    private static final class Keywords {
+        private final Map<String, String> links;
+        private final KeywordTrie         trie;
+        private final String              version;
+
+        private Keywords(Map<String, String> links) {
+            this.links = Collections.unmodifiableMap(links);
+            this.trie = KeywordTrie.build(links.keySet());
+
+            final Hasher hasher = Hashing.sha1().newHasher();
+            for (Map.Entry<String, String> link : new TreeMap<>(links).entrySet()) {
+                hasher.putString(link.getKey(), UTF_8).putByte((byte)0).putString(link.getValue(), UTF_8).putByte((byte)0);
+            }
+            this.version = hasher.hash().toString().substring(0, 16);
+        }
     }
 }
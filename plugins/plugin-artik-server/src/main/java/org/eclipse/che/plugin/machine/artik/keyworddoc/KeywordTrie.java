@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.keyworddoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable trie of the documented keywords which supports prefix and fuzzy search.
+ *
+ * <p>Keywords are matched case insensitively. Children of a node are kept in sorted arrays, so the trie is
+ * built once and then only read. Fuzzy search walks the trie computing Levenshtein distance row by row and
+ * prunes the branches which can't match in the allowed number of edits.
+ *
+ * @author Valeriy Svydenko
+ */
+public class KeywordTrie {
+    /** Maximum number of edits allowed by fuzzy search. */
+    static final int MAX_EDITS = 2;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final char[] NO_CHARS    = new char[0];
+
+    private final Node root;
+    private final int  size;
+
+    private KeywordTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /** Builds the trie of the keywords. */
+    public static KeywordTrie build(Collection<String> keywords) {
+        final String[] sorted = keywords.toArray(new String[keywords.size()]);
+        Arrays.sort(sorted, Comparator.comparing((String keyword) -> keyword.toLowerCase(Locale.ENGLISH))
+                                      .thenComparing(Comparator.naturalOrder()));
+        final Node root = new Node();
+        for (String keyword : sorted) {
+            root.insert(keyword.toLowerCase(Locale.ENGLISH), 0, keyword);
+        }
+        return new KeywordTrie(root, sorted.length);
+    }
+
+    /** Returns number of the keywords in the trie. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Searches keywords which start with the query or, when {@code fuzzy} is set, are close to it.
+     *
+     * <p>Keywords which start with the query go first, the shorter ones first. They are followed by the
+     * keywords which match the query or start with it within a few edits, ordered by number of the edits.
+     *
+     * @param query
+     *         text to search
+     * @param fuzzy
+     *         whether keywords which differ from the query should be found
+     * @param limit
+     *         maximum number of the returned keywords
+     * @return found keywords, the best matches first
+     */
+    public List<String> search(String query, boolean fuzzy, int limit) {
+        final String normalized = query.toLowerCase(Locale.ENGLISH);
+        final Set<String> found = new LinkedHashSet<>(findByPrefix(normalized, limit));
+        if (fuzzy && found.size() < limit && !normalized.isEmpty()) {
+            for (String keyword : findFuzzy(normalized, maxEdits(normalized), limit)) {
+                if (found.size() == limit) {
+                    break;
+                }
+                found.add(keyword);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /** Returns keywords which start with the prefix, shorter keywords first. */
+    List<String> findByPrefix(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return new ArrayList<>();
+        }
+
+        final PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        node.collect(0, best, limit);
+        return sorted(best);
+    }
+
+    /** Returns keywords which match the query or start with it within the number of edits, closest first. */
+    List<String> findFuzzy(String query, int maxEdits, int limit) {
+        final int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        final PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int i = 0; i < root.chars.length; i++) {
+            walk(root.children[i], root.chars[i], query, firstRow, Integer.MAX_VALUE, maxEdits, best, limit);
+        }
+        return sorted(best);
+    }
+
+    /**
+     * Visits the node computing the next row of the edit distances between the query and the node's prefix.
+     * {@code matched} is the least distance between the whole query and a prefix of the node's path.
+     */
+    private static void walk(Node node,
+                             char c,
+                             String query,
+                             int[] previousRow,
+                             int matched,
+                             int maxEdits,
+                             PriorityQueue<Match> best,
+                             int limit) {
+        final int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            final int substitution = previousRow[i - 1] + (query.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(row[i - 1] + 1, previousRow[i] + 1));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+
+        final int distance = Math.min(matched, row[row.length - 1]);
+        if (distance <= maxEdits && node.keywords != null) {
+            for (String keyword : node.keywords) {
+                add(best, new Match(keyword, distance), limit);
+            }
+        }
+        if (rowMin > maxEdits && distance > maxEdits) {
+            return;
+        }
+        for (int i = 0; i < node.chars.length; i++) {
+            walk(node.children[i], node.chars[i], query, row, distance, maxEdits, best, limit);
+        }
+    }
+
+    private static void add(PriorityQueue<Match> best, Match match, int limit) {
+        best.add(match);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static int maxEdits(String query) {
+        return query.length() < 4 ? 0 : query.length() < 8 ? 1 : MAX_EDITS;
+    }
+
+    private static List<String> sorted(PriorityQueue<Match> best) {
+        final Match[] matches = best.toArray(new Match[best.size()]);
+        Arrays.sort(matches);
+        final List<String> keywords = new ArrayList<>(matches.length);
+        for (Match match : matches) {
+            keywords.add(match.keyword);
+        }
+        return keywords;
+    }
+
+    private static final class Node {
+        private char[]   chars    = NO_CHARS;
+        private Node[]   children = NO_CHILDREN;
+        private String[] keywords;
+
+        private void insert(String key, int position, String keyword) {
+            if (position == key.length()) {
+                keywords = keywords == null ? new String[] {keyword} : append(keywords, keyword);
+                return;
+            }
+            final char c = key.charAt(position);
+            int index = Arrays.binarySearch(chars, c);
+            if (index < 0) {
+                index = -index - 1;
+                chars = insertAt(chars, index, c);
+                children = insertAt(children, index, new Node());
+            }
+            children[index].insert(key, position + 1, keyword);
+        }
+
+        private Node child(char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        /** Collects keywords of the subtree keeping only {@code limit} best matches. */
+        private void collect(int distance, PriorityQueue<Match> best, int limit) {
+            if (keywords != null) {
+                for (String keyword : keywords) {
+                    add(best, new Match(keyword, distance), limit);
+                }
+            }
+            for (Node child : children) {
+                child.collect(distance, best, limit);
+            }
+        }
+
+        private static String[] append(String[] array, String value) {
+            final String[] result = Arrays.copyOf(array, array.length + 1);
+            result[array.length] = value;
+            return result;
+        }
+
+        private static char[] insertAt(char[] array, int index, char value) {
+            final char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static Node[] insertAt(Node[] array, int index, Node value) {
+            final Node[] result = new Node[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+    }
+
+    /** Found keyword, better matches are less. */
+    private static final class Match implements Comparable<Match> {
+        private final String keyword;
+        private final int    distance;
+
+        private Match(String keyword, int distance) {
+            this.keyword = keyword;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            if (distance != other.distance) {
+                return Integer.compare(distance, other.distance);
+            }
+            if (keyword.length() != other.keyword.length()) {
+                return Integer.compare(keyword.length(), other.keyword.length());
+            }
+            return keyword.compareTo(other.keyword);
+        }
+    }
+}
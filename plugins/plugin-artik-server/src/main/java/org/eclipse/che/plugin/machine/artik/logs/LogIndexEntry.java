@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Entry of the sparse index of a process log. Each entry describes one compressed block of lines.
+ *
+ * @author Valeriy Svydenko
+ */
+public final class LogIndexEntry {
+    static final int SIZE = 48;
+
+    private final long firstLine;
+    private final long timestamp;
+    private final long byteOffset;
+    private final int  segment;
+    private final long segmentOffset;
+    private final int  compressedLength;
+    private final int  length;
+    private final int  lineCount;
+
+    LogIndexEntry(long firstLine,
+                  long timestamp,
+                  long byteOffset,
+                  int segment,
+                  long segmentOffset,
+                  int compressedLength,
+                  int length,
+                  int lineCount) {
+        this.firstLine = firstLine;
+        this.timestamp = timestamp;
+        this.byteOffset = byteOffset;
+        this.segment = segment;
+        this.segmentOffset = segmentOffset;
+        this.compressedLength = compressedLength;
+        this.length = length;
+        this.lineCount = lineCount;
+    }
+
+    /** Returns number of the first line of the block, lines are counted from 0. */
+    public long getFirstLine() {
+        return firstLine;
+    }
+
+    /** Returns time when the first line of the block was written. */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /** Returns offset of the block in the uncompressed log. */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /** Returns number of the segment which contains the block. */
+    public int getSegment() {
+        return segment;
+    }
+
+    /** Returns offset of the block in the segment. */
+    public long getSegmentOffset() {
+        return segmentOffset;
+    }
+
+    /** Returns length of the compressed block. */
+    public int getCompressedLength() {
+        return compressedLength;
+    }
+
+    /** Returns length of the uncompressed block. */
+    public int getLength() {
+        return length;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeLong(firstLine);
+        output.writeLong(timestamp);
+        output.writeLong(byteOffset);
+        output.writeInt(segment);
+        output.writeLong(segmentOffset);
+        output.writeInt(compressedLength);
+        output.writeInt(length);
+        output.writeInt(lineCount);
+    }
+
+    static LogIndexEntry readFrom(DataInput input) throws IOException {
+        return new LogIndexEntry(input.readLong(),
+                                 input.readLong(),
+                                 input.readLong(),
+                                 input.readInt(),
+                                 input.readLong(),
+                                 input.readInt(),
+                                 input.readInt(),
+                                 input.readInt());
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Part of the process log requested by client.
+ *
+ * @author Valeriy Svydenko
+ */
+public final class LogRange {
+    private enum Kind {
+        ALL,
+        LINES,
+        TAIL,
+        SINCE,
+        BYTES
+    }
+
+    private final Kind    kind;
+    private final long    from;
+    private final Long    to;
+    private final boolean partial;
+
+    private LogRange(Kind kind, long from, Long to, boolean partial) {
+        this.kind = kind;
+        this.from = from;
+        this.to = to;
+        this.partial = partial;
+    }
+
+    private LogRange(Kind kind, long from, Long to) {
+        this(kind, from, to, false);
+    }
+
+    /** Whole log. */
+    public static LogRange all() {
+        return new LogRange(Kind.ALL, 0, null);
+    }
+
+    /** Lines from {@code fromLine} inclusive to {@code toLine} exclusive, lines are counted from 0. */
+    public static LogRange lines(long fromLine, @Nullable Long toLine) {
+        return new LogRange(Kind.LINES, fromLine, toLine);
+    }
+
+    /** Last {@code count} lines. */
+    public static LogRange tail(long count) {
+        return new LogRange(Kind.TAIL, count, null);
+    }
+
+    /** Lines written since the specified time, the precision is one block of the log. */
+    public static LogRange since(long timestamp) {
+        return new LogRange(Kind.SINCE, timestamp, null);
+    }
+
+    /** Bytes from {@code offset} inclusive to {@code end} exclusive. */
+    public static LogRange bytes(long offset, @Nullable Long end) {
+        return new LogRange(Kind.BYTES, offset, end);
+    }
+
+    /**
+     * Parses value of the HTTP {@code Range} header. Only single range of bytes is supported,
+     * suffix range {@code bytes=-N} means last N bytes.
+     *
+     * @return range of bytes which should be sent as partial content
+     * or {@code null} if the header is not specified or not supported
+     */
+    @Nullable
+    public static LogRange fromRangeHeader(@Nullable String header) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = header.substring("bytes=".length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                return new LogRange(Kind.BYTES, -Long.parseLong(spec.substring(1)), null, true);
+            }
+            final long start = Long.parseLong(spec.substring(0, dash));
+            final Long end = dash == spec.length() - 1 ? null : Long.parseLong(spec.substring(dash + 1)) + 1;
+            return new LogRange(Kind.BYTES, start, end, true);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Returns {@code true} if the range should be sent as partial content. */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public boolean isAll() {
+        return kind == Kind.ALL;
+    }
+
+    /**
+     * Resolves the range to the offsets in the uncompressed log.
+     *
+     * @return array with the start offset inclusive and the end offset exclusive
+     */
+    long[] resolve(ProcessLog log, ProcessLog.Snapshot snapshot) throws IOException {
+        final long length = snapshot.getLength();
+        final long start;
+        long end = length;
+        switch (kind) {
+            case LINES:
+                start = log.getLineOffset(snapshot, from);
+                if (to != null) {
+                    end = log.getLineOffset(snapshot, to);
+                }
+                break;
+            case TAIL:
+                start = log.getLineOffset(snapshot, Math.max(0, snapshot.getLineCount() - from));
+                break;
+            case SINCE:
+                start = log.getTimeOffset(snapshot, from);
+                break;
+            case BYTES:
+                // negative offset is counted from the end of the log
+                start = log.getAvailableOffset(snapshot, from < 0 ? length + from : from);
+                if (to != null) {
+                    end = Math.min(to, length);
+                }
+                break;
+            default:
+                start = log.getAvailableOffset(snapshot, 0);
+        }
+        return new long[] {start, Math.max(start, end)};
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import java.util.Objects;
+
+/**
+ * Retention policy of the process logs of a device.
+ *
+ * @author Valeriy Svydenko
+ */
+public final class LogRetention {
+    private final long maxAgeHours;
+    private final long maxSizeMb;
+
+    public LogRetention(long maxAgeHours, long maxSizeMb) {
+        this.maxAgeHours = maxAgeHours;
+        this.maxSizeMb = maxSizeMb;
+    }
+
+    /** Returns maximum age of the logs in hours, {@code 0} means that logs are not removed by age. */
+    public long getMaxAgeHours() {
+        return maxAgeHours;
+    }
+
+    /** Returns maximum size of the compressed logs of the device in megabytes, {@code 0} means unlimited. */
+    public long getMaxSizeMb() {
+        return maxSizeMb;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LogRetention)) return false;
+        LogRetention that = (LogRetention)o;
+        return maxAgeHours == that.maxAgeHours && maxSizeMb == that.maxSizeMb;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxAgeHours, maxSizeMb);
+    }
+
+    @Override
+    public String toString() {
+        return "LogRetention{maxAgeHours=" + maxAgeHours + ", maxSizeMb=" + maxSizeMb + '}';
+    }
+}
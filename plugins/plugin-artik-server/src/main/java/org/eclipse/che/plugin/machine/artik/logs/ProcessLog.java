@@ -0,0 +1,454 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Log of one process in the {@link ProcessLogStore}.
+ *
+ * <p>The log is a directory which contains segments and an index. A segment is a sequence of blocks, each block
+ * is a separate gzip member with up to {@link ProcessLogWriter#BLOCK_SIZE} bytes of lines, so a segment is a valid
+ * gzip file and any block can be decompressed without reading the preceding ones. The index contains one
+ * {@link LogIndexEntry} per block which allows to find a block by line number, time or offset.
+ *
+ * @author Valeriy Svydenko
+ */
+public class ProcessLog {
+    static final String INDEX_FILE = "index";
+
+    private final Path             directory;
+    private final ProcessLogWriter writer;
+
+    ProcessLog(Path directory, @Nullable ProcessLogWriter writer) {
+        this.directory = directory;
+        this.writer = writer;
+    }
+
+    static Path getSegmentPath(Path directory, int segment) {
+        return directory.resolve(format("%08d.gz", segment));
+    }
+
+    /** Returns {@code true} if the process still writes to the log. */
+    public boolean isActive() {
+        return writer != null && !writer.isClosed();
+    }
+
+    /**
+     * Returns consistent view of the log: blocks which are available on the disk and lines which are not
+     * flushed to the disk yet. Blocks of the segments removed by retention policy are not included.
+     */
+    public Snapshot snapshot() throws IOException {
+        Snapshot snapshot = writer != null ? writer.snapshot() : null;
+        if (snapshot == null) {
+            snapshot = new Snapshot(readIndex(directory), new byte[0], 0, 0);
+        }
+        final Set<Integer> existing = new HashSet<>();
+        final List<LogIndexEntry> available = new ArrayList<>(snapshot.entries.size());
+        for (LogIndexEntry entry : snapshot.entries) {
+            if (existing.contains(entry.getSegment()) || Files.exists(getSegmentPath(directory, entry.getSegment()))) {
+                existing.add(entry.getSegment());
+                available.add(entry);
+            }
+        }
+        return available.size() == snapshot.entries.size()
+               ? snapshot
+               : new Snapshot(available, snapshot.pending, snapshot.pendingLines, snapshot.pendingTimestamp);
+    }
+
+    /** Opens stream of the whole uncompressed log. */
+    public InputStream openStream() throws IOException {
+        return openEntry(snapshot(), 0);
+    }
+
+    /**
+     * Opens stream of the uncompressed log starting from the specified block.
+     *
+     * @param snapshot
+     *         snapshot of the log
+     * @param fromEntry
+     *         index of the first block in the snapshot, if it is equal to the number of blocks only
+     *         not flushed lines are read
+     */
+    public InputStream openEntry(Snapshot snapshot, int fromEntry) {
+        return new LogInputStream(snapshot, fromEntry);
+    }
+
+    /**
+     * Opens stream of the uncompressed log starting from the specified byte. If the byte was removed by retention
+     * policy the stream starts from the first available byte, use {@link #getAvailableOffset(Snapshot, long)} to
+     * find it out.
+     *
+     * @param snapshot
+     *         snapshot of the log
+     * @param fromByte
+     *         offset of the first byte in the uncompressed log
+     */
+    public InputStream openAt(Snapshot snapshot, long fromByte) throws IOException {
+        final long start = getAvailableOffset(snapshot, fromByte);
+        final int entry = findEntryByOffset(snapshot, start);
+        final long entryOffset = entry < snapshot.entries.size() ? snapshot.entries.get(entry).getByteOffset()
+                                                                 : snapshot.getPendingByteOffset();
+        final InputStream stream = openEntry(snapshot, entry);
+        ByteStreams.skipFully(stream, start - entryOffset);
+        return stream;
+    }
+
+    /** Returns the nearest offset which is not removed by retention policy and doesn't exceed the log length. */
+    public long getAvailableOffset(Snapshot snapshot, long offset) {
+        final long first = snapshot.entries.isEmpty() ? snapshot.getPendingByteOffset()
+                                                      : snapshot.entries.get(0).getByteOffset();
+        return Math.min(Math.max(offset, first), snapshot.getLength());
+    }
+
+    /**
+     * Returns offset of the first byte of the line. Only the block which contains the line is decompressed.
+     *
+     * @param snapshot
+     *         snapshot of the log
+     * @param line
+     *         number of the line starting from 0
+     * @return offset of the line, offset of the first available line if the line was removed by retention policy
+     * or length of the log if the line doesn't exist yet
+     */
+    public long getLineOffset(Snapshot snapshot, long line) throws IOException {
+        if (line >= snapshot.getLineCount()) {
+            return snapshot.getLength();
+        }
+        int entry = findEntry(snapshot, line, LogIndexEntry::getFirstLine, snapshot.getPendingFirstLine());
+        if (entry < 0) {
+            return getAvailableOffset(snapshot, 0);
+        }
+        final byte[] block;
+        final long firstLine;
+        final long byteOffset;
+        if (entry < snapshot.entries.size()) {
+            final LogIndexEntry indexEntry = snapshot.entries.get(entry);
+            try (FileChannel segment = FileChannel.open(getSegmentPath(directory, indexEntry.getSegment()), READ)) {
+                block = readBlock(segment, indexEntry);
+            } catch (NoSuchFileException e) {
+                return getAvailableOffset(snapshot, indexEntry.getByteOffset() + indexEntry.getLength());
+            }
+            firstLine = indexEntry.getFirstLine();
+            byteOffset = indexEntry.getByteOffset();
+        } else {
+            block = snapshot.pending;
+            firstLine = snapshot.getPendingFirstLine();
+            byteOffset = snapshot.getPendingByteOffset();
+        }
+        int position = 0;
+        for (long current = firstLine; current < line; current++) {
+            while (block[position] != '\n') {
+                position++;
+            }
+            position++;
+        }
+        return byteOffset + position;
+    }
+
+    /**
+     * Returns offset of the block which contains lines written at the specified time. The precision is one block,
+     * so a few lines written earlier may precede.
+     *
+     * @param snapshot
+     *         snapshot of the log
+     * @param timestamp
+     *         time in milliseconds
+     */
+    public long getTimeOffset(Snapshot snapshot, long timestamp) {
+        final long pendingTimestamp = snapshot.pendingLines > 0 ? snapshot.pendingTimestamp : Long.MAX_VALUE;
+        final int entry = findEntry(snapshot, timestamp, LogIndexEntry::getTimestamp, pendingTimestamp);
+        if (entry < 0) {
+            return getAvailableOffset(snapshot, 0);
+        }
+        return entry < snapshot.entries.size() ? snapshot.entries.get(entry).getByteOffset() : snapshot.getPendingByteOffset();
+    }
+
+    /**
+     * Writes compressed log to the channel as is, without decompression. Segments are transferred with
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, not flushed lines are compressed
+     * and appended as the last gzip member, so the result is a valid gzip stream.
+     *
+     * @param snapshot
+     *         snapshot of the log
+     * @param target
+     *         channel to write the log to
+     */
+    public void transferCompressed(Snapshot snapshot, WritableByteChannel target) throws IOException {
+        int first = 0;
+        while (first < snapshot.entries.size()) {
+            final int segment = snapshot.entries.get(first).getSegment();
+            int last = first;
+            while (last + 1 < snapshot.entries.size() && snapshot.entries.get(last + 1).getSegment() == segment) {
+                last++;
+            }
+            final LogIndexEntry start = snapshot.entries.get(first);
+            final LogIndexEntry end = snapshot.entries.get(last);
+            try (FileChannel channel = FileChannel.open(getSegmentPath(directory, segment), READ)) {
+                long position = start.getSegmentOffset();
+                final long limit = end.getSegmentOffset() + end.getCompressedLength();
+                while (position < limit) {
+                    position += channel.transferTo(position, limit - position, target);
+                }
+            } catch (NoSuchFileException ignored) {
+                // segment was removed by retention policy after the snapshot was taken
+            }
+            first = last + 1;
+        }
+        if (snapshot.pending.length > 0) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(snapshot.pending);
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(compressed.toByteArray());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Finds the last block which starts at or before the value.
+     *
+     * @return index of the block, number of blocks if the value belongs to the not flushed lines
+     * or {@code -1} if the value precedes all the available blocks
+     */
+    private static int findEntry(Snapshot snapshot, long value, ToLongFunction<LogIndexEntry> key, long pendingKey) {
+        if (value >= pendingKey) {
+            return snapshot.entries.size();
+        }
+        int low = 0;
+        int high = snapshot.entries.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (key.applyAsLong(snapshot.entries.get(middle)) <= value) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int findEntryByOffset(Snapshot snapshot, long offset) {
+        return Math.max(0, findEntry(snapshot, offset, LogIndexEntry::getByteOffset, snapshot.getPendingByteOffset()));
+    }
+
+    /** Reads uncompressed content of the block. */
+    byte[] readBlock(FileChannel segment, LogIndexEntry entry) throws IOException {
+        final ByteBuffer compressed = ByteBuffer.allocate(entry.getCompressedLength());
+        long position = entry.getSegmentOffset();
+        while (compressed.hasRemaining()) {
+            if (segment.read(compressed, position) < 0) {
+                throw new EOFException(format("Block at %d of segment %d is truncated", entry.getSegmentOffset(), entry.getSegment()));
+            }
+            position = entry.getSegmentOffset() + compressed.position();
+        }
+        try (InputStream block = new GZIPInputStream(new ByteArrayInputStream(compressed.array()))) {
+            return ByteStreams.toByteArray(block);
+        }
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    static List<LogIndexEntry> readIndex(Path directory) throws IOException {
+        final Path index = directory.resolve(INDEX_FILE);
+        final long size;
+        try {
+            size = Files.size(index);
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        }
+        // the last entry may be incomplete if agent was stopped while writing it
+        final int count = (int)(size / LogIndexEntry.SIZE);
+        final List<LogIndexEntry> entries = new ArrayList<>(count);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            for (int i = 0; i < count; i++) {
+                entries.add(LogIndexEntry.readFrom(input));
+            }
+        }
+        return entries;
+    }
+
+    /** Consistent view of the log. */
+    public static final class Snapshot {
+        private final List<LogIndexEntry> entries;
+        private final byte[]              pending;
+        private final int                 pendingLines;
+        private final long                pendingTimestamp;
+
+        Snapshot(List<LogIndexEntry> entries, byte[] pending, int pendingLines, long pendingTimestamp) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.pending = pending;
+            this.pendingLines = pendingLines;
+            this.pendingTimestamp = pendingTimestamp;
+        }
+
+        /** Returns blocks which are stored on the disk. */
+        public List<LogIndexEntry> getEntries() {
+            return entries;
+        }
+
+        /** Returns lines which are not flushed to the disk yet. */
+        public byte[] getPending() {
+            return pending;
+        }
+
+        public int getPendingLines() {
+            return pendingLines;
+        }
+
+        /** Returns time when the first not flushed line was written. */
+        public long getPendingTimestamp() {
+            return pendingTimestamp;
+        }
+
+        /** Returns number of the first line which is not flushed to the disk. */
+        public long getPendingFirstLine() {
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            final LogIndexEntry last = entries.get(entries.size() - 1);
+            return last.getFirstLine() + last.getLineCount();
+        }
+
+        /** Returns offset of the first byte which is not flushed to the disk. */
+        public long getPendingByteOffset() {
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            final LogIndexEntry last = entries.get(entries.size() - 1);
+            return last.getByteOffset() + last.getLength();
+        }
+
+        /** Returns total number of lines in the log. */
+        public long getLineCount() {
+            return getPendingFirstLine() + pendingLines;
+        }
+
+        /** Returns total length of the uncompressed log. */
+        public long getLength() {
+            return getPendingByteOffset() + pending.length;
+        }
+    }
+
+    /** Decompresses blocks one by one, so memory usage doesn't depend on the size of the log. */
+    private class LogInputStream extends InputStream {
+        private final Snapshot snapshot;
+
+        private int         next;
+        private int         openedSegment;
+        private FileChannel segment;
+        private byte[]      current;
+        private int         position;
+        private boolean     pendingRead;
+
+        LogInputStream(Snapshot snapshot, int fromEntry) {
+            this.snapshot = snapshot;
+            this.next = fromEntry;
+            this.openedSegment = -1;
+            this.current = new byte[0];
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position >= current.length) {
+                if (!nextBlock()) {
+                    return -1;
+                }
+            }
+            final int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextBlock() throws IOException {
+            position = 0;
+            if (next < snapshot.entries.size()) {
+                final LogIndexEntry entry = snapshot.entries.get(next++);
+                if (entry.getSegment() != openedSegment) {
+                    closeSegment();
+                    try {
+                        segment = FileChannel.open(getSegmentPath(directory, entry.getSegment()), READ);
+                    } catch (NoSuchFileException e) {
+                        // segment was removed by retention policy after the snapshot was taken
+                        current = new byte[0];
+                        return true;
+                    }
+                    openedSegment = entry.getSegment();
+                }
+                current = readBlock(segment, entry);
+                return true;
+            }
+            if (!pendingRead) {
+                pendingRead = true;
+                current = snapshot.pending;
+                return true;
+            }
+            return false;
+        }
+
+        private void closeSegment() throws IOException {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+                openedSegment = -1;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeSegment();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRecord;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Stores output of the processes started on devices.
+ *
+ * <p>Log of each process is kept in {@code <logs location>/<device id>/<pid>/} as a set of compressed segments
+ * with a sparse index, see {@link ProcessLog}. Logs are removed in background according to the
+ * {@link LogRetention} of the device: the default one is configured with properties and may be overridden
+ * for each device in the {@link DeviceRegistry}. The oldest segments are removed first, the segment which is
+ * written now is never removed.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ProcessLogStore {
+    private static final Logger LOG = getLogger(ProcessLogStore.class);
+
+    private final Path                        root;
+    private final LogRetention                defaultRetention;
+    private final DeviceRegistry              registry;
+    private final ThreadPullLauncher          launcher;
+    private final Map<Path, ProcessLogWriter> active;
+
+    @Inject
+    public ProcessLogStore(@Named("artik.device.logs.location") String logsLocation,
+                           @Named("artik.device.logs.max_age_hours") long maxAgeHours,
+                           @Named("artik.device.logs.max_size_mb") long maxSizeMb,
+                           DeviceRegistry registry,
+                           ThreadPullLauncher launcher) {
+        this.root = Paths.get(logsLocation);
+        this.defaultRetention = new LogRetention(maxAgeHours, maxSizeMb);
+        this.registry = registry;
+        this.launcher = launcher;
+        this.active = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    void start() {
+        launcher.scheduleWithFixedDelay(this::flushIdle, 1, 1, SECONDS);
+        launcher.scheduleWithFixedDelay(this::enforceRetention, 1, 10, MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        for (ProcessLogWriter writer : active.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates writer for the process log. Previous log of the process with the same pid is replaced.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param pid
+     *         ID of the process
+     * @throws IOException
+     *         if log can't be created
+     */
+    public ProcessLogWriter createWriter(String deviceId, int pid) throws IOException {
+        final Path directory = getDirectory(deviceId, pid);
+        final ProcessLogWriter previous = active.remove(directory);
+        if (previous != null) {
+            previous.close();
+        }
+        if (Files.exists(directory)) {
+            IoUtil.deleteRecursive(directory.toFile());
+        }
+        final ProcessLogWriter writer = new ProcessLogWriter(directory, () -> active.remove(directory));
+        active.put(directory, writer);
+        return writer;
+    }
+
+    /**
+     * Returns log of the process.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param pid
+     *         ID of the process
+     * @return log of the process or empty optional if the log doesn't exist
+     */
+    public Optional<ProcessLog> getLog(String deviceId, int pid) {
+        final Path directory = getDirectory(deviceId, pid);
+        final ProcessLogWriter writer = active.get(directory);
+        if (writer == null && !Files.isRegularFile(directory.resolve(ProcessLog.INDEX_FILE))) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProcessLog(directory, writer));
+    }
+
+    /**
+     * Returns the greatest pid of the processes whose logs are stored for the device.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @return pid of the last process or {@code 0} if there are no logs of the device
+     */
+    public int getLastPid(String deviceId) {
+        final Path device = root.resolve(deviceId);
+        if (!Files.isDirectory(device)) {
+            return 0;
+        }
+        int last = 0;
+        try (DirectoryStream<Path> processes = Files.newDirectoryStream(device, Files::isDirectory)) {
+            for (Path process : processes) {
+                try {
+                    last = Math.max(last, Integer.parseInt(process.getFileName().toString()));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to read logs in {}. {}", device, e.getMessage());
+        }
+        return last;
+    }
+
+    /** Returns retention policy of the device logs. */
+    public LogRetention getRetention(String deviceId) {
+        return registry.getById(deviceId)
+                       .map(DeviceRecord::getLogRetention)
+                       .orElse(defaultRetention);
+    }
+
+    void flushIdle() {
+        final long now = System.currentTimeMillis();
+        for (ProcessLogWriter writer : active.values()) {
+            try {
+                writer.flushIfIdle(now);
+            } catch (IOException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    void enforceRetention() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> devices = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path device : devices) {
+                try {
+                    enforceRetention(device, getRetention(device.getFileName().toString()));
+                } catch (IOException e) {
+                    LOG.warn("Unable to clean up logs in {}. {}", device, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to clean up logs in {}. {}", root, e.getMessage());
+        }
+    }
+
+    /** Removes the oldest logs of the device which don't fit the retention policy. */
+    void enforceRetention(Path device, LogRetention retention) throws IOException {
+        final List<Path> removable = new ArrayList<>();
+        final List<Path> processes = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(device)) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    // plain log of the previous versions
+                    removable.add(entry);
+                    continue;
+                }
+                processes.add(entry);
+                final ProcessLogWriter writer = active.get(entry);
+                final int current = writer != null ? writer.getCurrentSegment() : -1;
+                try (DirectoryStream<Path> segments = Files.newDirectoryStream(entry, "*.gz")) {
+                    for (Path segment : segments) {
+                        if (writer == null || !segment.equals(ProcessLog.getSegmentPath(entry, current))) {
+                            removable.add(segment);
+                        }
+                    }
+                }
+            }
+        }
+
+        final List<FileInfo> files = new ArrayList<>(removable.size());
+        for (Path file : removable) {
+            files.add(new FileInfo(file, Files.getLastModifiedTime(file).toMillis(), Files.size(file)));
+        }
+        files.sort(Comparator.comparingLong(file -> file.modified));
+
+        final long maxAgeMs = HOURS.toMillis(retention.getMaxAgeHours());
+        final long expired = System.currentTimeMillis() - maxAgeMs;
+        long total = files.stream().mapToLong(file -> file.size).sum();
+        final long maxBytes = retention.getMaxSizeMb() * 1024 * 1024;
+        for (FileInfo file : files) {
+            final boolean tooOld = maxAgeMs > 0 && file.modified < expired;
+            final boolean tooBig = maxBytes > 0 && total > maxBytes;
+            if (!tooOld && !tooBig) {
+                break;
+            }
+            Files.deleteIfExists(file.path);
+            total -= file.size;
+        }
+
+        for (Path process : processes) {
+            if (!active.containsKey(process)) {
+                try (DirectoryStream<Path> segments = Files.newDirectoryStream(process, "*.gz")) {
+                    if (!segments.iterator().hasNext()) {
+                        IoUtil.deleteRecursive(process.toFile());
+                    }
+                }
+            }
+        }
+    }
+
+    private Path getDirectory(String deviceId, int pid) {
+        return root.resolve(deviceId).resolve(Integer.toString(pid));
+    }
+
+    private static final class FileInfo {
+        private final Path path;
+        private final long modified;
+        private final long size;
+
+        private FileInfo(Path path, long modified, long size) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+}
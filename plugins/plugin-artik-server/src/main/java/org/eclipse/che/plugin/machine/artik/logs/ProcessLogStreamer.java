@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import com.google.common.io.ByteStreams;
+import com.google.inject.Singleton;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+/**
+ * Writes process logs to HTTP response.
+ *
+ * <p>Whole log is sent compressed as it is stored when client accepts gzip encoding, segments are transferred
+ * with {@link java.nio.channels.FileChannel#transferTo} without decompression. Parts of the log are decompressed
+ * starting from the block which contains the first requested byte, so the size of the log doesn't matter. In the
+ * follow mode new lines are sent as they appear until the process is completed, but not longer than
+ * {@link #FOLLOW_TIMEOUT_MS}, so a follower doesn't hold a request thread for the whole life of the process. The
+ * follower continues with the offset equal to {@link #OFFSET_HEADER} plus the number of received bytes, live output
+ * of the process is also available on its websocket output channel.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ProcessLogStreamer {
+    /** Header with the offset of the first sent byte in the uncompressed log. */
+    public static final String OFFSET_HEADER      = "X-Log-Offset";
+    /** Header with the offset to continue reading from, it isn't sent in the follow mode. */
+    public static final String NEXT_OFFSET_HEADER = "X-Log-Next-Offset";
+    /** Header with the number of lines in the log at the time of the request. */
+    public static final String LINES_HEADER       = "X-Log-Lines";
+
+    static final long FOLLOW_POLL_MS    = 500;
+    static final long FOLLOW_TIMEOUT_MS = 30_000;
+
+    /**
+     * Writes the requested part of the log to the response.
+     *
+     * @param log
+     *         process log
+     * @param range
+     *         requested part of the log
+     * @param follow
+     *         if {@code true} lines appended to the log are sent until the process is completed or
+     *         {@link #FOLLOW_TIMEOUT_MS} elapses
+     * @param acceptsGzip
+     *         if {@code true} whole log may be sent compressed
+     * @param response
+     *         response to write the log to
+     */
+    public void write(ProcessLog log,
+                      LogRange range,
+                      boolean follow,
+                      boolean acceptsGzip,
+                      HttpServletResponse response) throws IOException {
+        ProcessLog.Snapshot snapshot = log.snapshot();
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader(LINES_HEADER, Long.toString(snapshot.getLineCount()));
+
+        if (range.isAll() && !follow && acceptsGzip) {
+            response.setHeader(OFFSET_HEADER, Long.toString(log.getAvailableOffset(snapshot, 0)));
+            response.setHeader(NEXT_OFFSET_HEADER, Long.toString(snapshot.getLength()));
+            response.setHeader("Content-Encoding", "gzip");
+            log.transferCompressed(snapshot, Channels.newChannel(response.getOutputStream()));
+            return;
+        }
+
+        final long[] offsets = range.resolve(log, snapshot);
+        response.setHeader(OFFSET_HEADER, Long.toString(offsets[0]));
+        if (!follow) {
+            if (range.isPartial()) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", offsets[1] > offsets[0]
+                                                    ? "bytes " + offsets[0] + '-' + (offsets[1] - 1) + '/' + snapshot.getLength()
+                                                    : "bytes */" + snapshot.getLength());
+            }
+            response.setHeader(NEXT_OFFSET_HEADER, Long.toString(offsets[1]));
+            response.setContentLengthLong(offsets[1] - offsets[0]);
+            copy(log, snapshot, offsets[0], offsets[1], response.getOutputStream());
+            return;
+        }
+
+        final OutputStream output = response.getOutputStream();
+        long offset = copy(log, snapshot, offsets[0], snapshot.getLength(), output);
+        final long deadline = System.currentTimeMillis() + FOLLOW_TIMEOUT_MS;
+        boolean active = log.isActive();
+        while (active && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(FOLLOW_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Following of the log was interrupted");
+            }
+            // check activity before taking snapshot, so lines written right before completion are not lost
+            active = log.isActive();
+            snapshot = log.snapshot();
+            if (snapshot.getLength() > offset) {
+                offset = copy(log, snapshot, offset, snapshot.getLength(), output);
+            }
+        }
+    }
+
+    /** Copies part of the log to the output and returns offset of the next byte. */
+    private static long copy(ProcessLog log, ProcessLog.Snapshot snapshot, long start, long end, OutputStream output) throws IOException {
+        if (end > start) {
+            try (InputStream input = ByteStreams.limit(log.openAt(snapshot, start), end - start)) {
+                ByteStreams.copy(input, output);
+            }
+        }
+        output.flush();
+        return Math.max(start, end);
+    }
+}
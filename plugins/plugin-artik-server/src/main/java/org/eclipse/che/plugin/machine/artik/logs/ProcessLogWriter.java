@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes output of a process to the {@link ProcessLog}.
+ *
+ * <p>Lines are collected in memory until the block is full or it is older than {@link #FLUSH_INTERVAL_MS}, then
+ * the block is compressed and appended to the current segment. A new segment is started when the current one
+ * reaches {@link #SEGMENT_SIZE}.
+ *
+ * @author Valeriy Svydenko
+ */
+public class ProcessLogWriter extends AbstractLineConsumer {
+    static final int  BLOCK_SIZE        = 64 * 1024;
+    static final long SEGMENT_SIZE      = 4 * 1024 * 1024;
+    static final long FLUSH_INTERVAL_MS = 5_000;
+
+    private final Path                  directory;
+    private final Runnable              onClose;
+    private final List<LogIndexEntry>   entries;
+    private final ByteArrayOutputStream block;
+    private final DataOutputStream      index;
+
+    private FileChannel segmentChannel;
+    private int         segment;
+    private long        segmentSize;
+    private long        lines;
+    private long        bytes;
+    private int         blockLines;
+    private long        blockTimestamp;
+    private boolean     closed;
+
+    ProcessLogWriter(Path directory, Runnable onClose) throws IOException {
+        this.directory = directory;
+        this.onClose = onClose;
+        this.entries = new ArrayList<>();
+        this.block = new ByteArrayOutputStream(BLOCK_SIZE + 1024);
+        this.segment = -1;
+        Files.createDirectories(directory);
+        this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(ProcessLog.INDEX_FILE),
+                                                                                         CREATE,
+                                                                                         TRUNCATE_EXISTING,
+                                                                                         WRITE)));
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (blockLines == 0) {
+            blockTimestamp = System.currentTimeMillis();
+        }
+        block.write(line.getBytes(UTF_8));
+        block.write('\n');
+        blockLines++;
+        lines++;
+        if (block.size() >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    /** Flushes collected lines if the block was started more than {@link #FLUSH_INTERVAL_MS} ago. */
+    synchronized void flushIfIdle(long now) throws IOException {
+        if (!closed && blockLines > 0 && now - blockTimestamp >= FLUSH_INTERVAL_MS) {
+            flushBlock();
+        }
+    }
+
+    /** Returns consistent view of the log or {@code null} if writer is closed and everything is on the disk. */
+    synchronized ProcessLog.Snapshot snapshot() {
+        if (closed) {
+            return null;
+        }
+        return new ProcessLog.Snapshot(new ArrayList<>(entries), block.toByteArray(), blockLines, blockTimestamp);
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns number of the segment which is written now. */
+    synchronized int getCurrentSegment() {
+        return segment;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (blockLines > 0) {
+                flushBlock();
+            }
+        } finally {
+            closed = true;
+            try {
+                index.close();
+                if (segmentChannel != null) {
+                    segmentChannel.close();
+                }
+            } finally {
+                onClose.run();
+            }
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.size() / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            block.writeTo(gzip);
+        }
+
+        if (segmentChannel == null || segmentSize >= SEGMENT_SIZE) {
+            if (segmentChannel != null) {
+                segmentChannel.close();
+            }
+            segment++;
+            segmentChannel = FileChannel.open(ProcessLog.getSegmentPath(directory, segment), CREATE, TRUNCATE_EXISTING, WRITE);
+            segmentSize = 0;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(compressed.toByteArray());
+        while (buffer.hasRemaining()) {
+            segmentChannel.write(buffer);
+        }
+
+        final LogIndexEntry entry = new LogIndexEntry(lines - blockLines,
+                                                      blockTimestamp,
+                                                      bytes,
+                                                      segment,
+                                                      segmentSize,
+                                                      compressed.size(),
+                                                      block.size(),
+                                                      blockLines);
+        entry.writeTo(index);
+        index.flush();
+        entries.add(entry);
+
+        segmentSize += compressed.size();
+        bytes += block.size();
+        block.reset();
+        blockLines = 0;
+    }
+}
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.eclipse.che.plugin.machine.artik.ArtikDeviceManager;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionPool;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionResult;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RESOURCES_CHANNEL_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Collects resource usage of the devices which have subscribers and streams it to the clients.
+ *
+ * <p>One sampler per device reads {@code /proc} counters in the shell session of {@link DeviceSessionPool}
+ * every {@link #SAMPLE_INTERVAL_MS}, so monitoring doesn't keep a process running on the device. The usage is
+ * broadcast to the {@link org.eclipse.che.plugin.artik.shared.Constants#ARTIK_RESOURCES_CHANNEL_PREFIX} channel
+ * of the device as {@link ResourceUsage} deltas, a full sample is sent after a new subscription and every
+ * {@link #FULL_SAMPLE_INTERVAL} samples. Every sample is also added to {@link ResourceHistory}, only
+ * the samples taken for the subscribers are kept there as raw ones.
+ *
+ * <p>Subscriptions are leases which expire after {@link #LEASE_MS} unless they are renewed, so clients which are
+ * gone without unsubscribing, e.g. closed IDE tabs, don't keep frequent sampling running. Connected devices
+ * without subscribers are sampled every {@link #HISTORY_SAMPLE_INTERVAL_MS} for the history only. Sampling
+ * stops when the device is disconnected.
+ *
+ * <p>The scheduler only triggers the samples, they are taken by a pool of at most {@link #MAX_SAMPLING_THREADS}
+ * threads. A device has at most one sample in progress, the trigger is skipped while the previous sample waits
+ * for a slow device or all the threads are busy, so a slow device neither delays sampling of the others nor piles up the samples.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ResourceCollector {
+    private static final Logger LOG = getLogger(ResourceCollector.class);
+
+    static final long SAMPLE_INTERVAL_MS   = 3_000;
+    static final long SAMPLE_TIMEOUT_MS    = 10_000;
+    static final int  FULL_SAMPLE_INTERVAL = 10;
+    static final int  DISK_SAMPLE_INTERVAL = 10;
+    static final long LEASE_MS             = 60_000;
+
+    static final long HISTORY_SAMPLE_INTERVAL_MS = 60_000;
+    static final int  MAX_SAMPLING_THREADS       = ResourceHistory.MAX_DEVICES;
+
+    private final ArtikDeviceManager                         deviceManager;
+    private final DeviceSessionPool                          sessionPool;
+    private final EventService                               eventService;
+    private final ResourceHistory                            history;
+    private final ScheduledExecutorService                   scheduler;
+    private final ThreadPoolExecutor                         workers;
+    private final Map<String, Sampler>                       samplers;
+    private final EventSubscriber<ArtikDeviceStatusEventDto> statusSubscriber;
+
+    @Inject
+    public ResourceCollector(ArtikDeviceManager deviceManager,
+                             DeviceSessionPool sessionPool,
+                             EventService eventService,
+                             ResourceHistory history) {
+        this.deviceManager = deviceManager;
+        this.sessionPool = sessionPool;
+        this.eventService = eventService;
+        this.history = history;
+        this.samplers = new HashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ArtikResourceScheduler")
+                                                                                              .setUncaughtExceptionHandler(
+                                                                                                      LoggingUncaughtExceptionHandler
+                                                                                                              .getInstance())
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        // idle threads are reused, new ones are started for the devices sampled at the same time only
+        this.workers = new ThreadPoolExecutor(0,
+                                              MAX_SAMPLING_THREADS,
+                                              HISTORY_SAMPLE_INTERVAL_MS,
+                                              MILLISECONDS,
+                                              new SynchronousQueue<>(),
+                                              new ThreadFactoryBuilder().setNameFormat("ArtikResourceCollector-%d")
+                                                                        .setUncaughtExceptionHandler(
+                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                        .setDaemon(true)
+                                                                        .build());
+        this.statusSubscriber = event -> {
+            if (event.getEventType() == ArtikDeviceStatusEventDto.EventType.CONNECTED) {
+                startHistory(event.getDeviceId());
+            } else {
+                stop(event.getDeviceId());
+            }
+        };
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        eventService.subscribe(statusSubscriber);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        eventService.unsubscribe(statusSubscriber);
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Adds or renews the lease of the subscriber of the device resources, starts frequent sampling if it is
+     * the first one.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param subscriberId
+     *         ID of the subscriber, the same subscriber renews its lease before {@link #LEASE_MS} elapses
+     * @throws NotFoundException
+     *         if device doesn't exist
+     * @throws ConflictException
+     *         if device is not connected
+     */
+    public void subscribe(String deviceId, String subscriberId) throws NotFoundException, ConflictException {
+        final MachineDto device = deviceManager.getDeviceById(deviceId);
+        if (device.getStatus() != RUNNING) {
+            throw new ConflictException(format("Device %s is not connected", device.getConfig().getName()));
+        }
+        synchronized (samplers) {
+            final Sampler sampler = samplers.computeIfAbsent(deviceId, Sampler::new);
+            if (sampler.leases.isEmpty()) {
+                sampler.schedule(0, SAMPLE_INTERVAL_MS);
+            }
+            if (sampler.leases.put(subscriberId, now() + LEASE_MS) == null) {
+                // new subscriber can't apply deltas
+                sampler.fullRequested = true;
+            }
+        }
+    }
+
+    /**
+     * Removes the lease of the subscriber of the device resources. If it is the last one, the device is sampled
+     * for the history only.
+     */
+    public void unsubscribe(String deviceId, String subscriberId) {
+        synchronized (samplers) {
+            final Sampler sampler = samplers.get(deviceId);
+            if (sampler != null && sampler.leases.remove(subscriberId) != null && sampler.leases.isEmpty()) {
+                sampler.schedule(HISTORY_SAMPLE_INTERVAL_MS, HISTORY_SAMPLE_INTERVAL_MS);
+            }
+        }
+    }
+
+    /** Returns interval of sampling of the device resources or {@code 0} if the device is not sampled. */
+    long getSampleInterval(String deviceId) {
+        synchronized (samplers) {
+            final Sampler sampler = samplers.get(deviceId);
+            return sampler == null ? 0 : sampler.interval;
+        }
+    }
+
+    /** Starts sampling of the connected device for the history, if it isn't sampled yet. */
+    private void startHistory(String deviceId) {
+        synchronized (samplers) {
+            if (!samplers.containsKey(deviceId)) {
+                final Sampler sampler = new Sampler(deviceId);
+                sampler.schedule(0, HISTORY_SAMPLE_INTERVAL_MS);
+                samplers.put(deviceId, sampler);
+            }
+        }
+    }
+
+    void send(ChannelBroadcastMessage message) throws Exception {
+        WSConnectionContext.sendMessage(message);
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void stop(String deviceId) {
+        synchronized (samplers) {
+            final Sampler sampler = samplers.remove(deviceId);
+            if (sampler != null) {
+                sampler.future.cancel(false);
+            }
+        }
+    }
+
+    /** Samples resources of one device, {@link #sample()} is never executed concurrently for the same device. */
+    class Sampler {
+        final String deviceId;
+
+        final Map<String, Long> leases;
+
+        ScheduledFuture<?> future;
+        long               interval;
+
+        volatile boolean fullRequested;
+
+        private final AtomicBoolean sampling;
+
+        private ResourceCounters previous;
+        private ResourceUsage    sent;
+        private int              samples;
+        private int              deltas;
+
+        Sampler(String deviceId) {
+            this.deviceId = deviceId;
+            this.leases = new HashMap<>();
+            this.sampling = new AtomicBoolean();
+        }
+
+        /** Reschedules sampling with the specified interval, must be called while holding the lock of samplers. */
+        void schedule(long delay, long interval) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            this.interval = interval;
+            future = scheduler.scheduleWithFixedDelay(this::trigger, delay, interval, MILLISECONDS);
+        }
+
+        /** Takes the sample in the pool of workers unless the previous one is still in progress. */
+        void trigger() {
+            if (!sampling.compareAndSet(false, true)) {
+                LOG.debug("Sample of device {} is skipped, the previous one is still in progress", deviceId);
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        sample();
+                    } finally {
+                        sampling.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Sample of device {} is skipped, all the sampling threads are busy", deviceId);
+                sampling.set(false);
+            }
+        }
+
+        void sample() {
+            try {
+                collect(removeExpiredLeases());
+            } catch (RuntimeException e) {
+                // exception would cancel the scheduled sampling silently
+                LOG.warn(format("Unable to sample resources of device %s. %s", deviceId, e.getMessage()), e);
+                previous = null;
+            }
+        }
+
+        /** Returns {@code false} and slows down sampling if all the leases are expired. */
+        private boolean removeExpiredLeases() {
+            synchronized (samplers) {
+                final long now = now();
+                if (leases.values().removeIf(expiration -> expiration <= now)
+                    && leases.isEmpty()
+                    && samplers.get(deviceId) == this) {
+                    schedule(HISTORY_SAMPLE_INTERVAL_MS, HISTORY_SAMPLE_INTERVAL_MS);
+                }
+                return !leases.isEmpty();
+            }
+        }
+
+        private void collect(boolean subscribed) {
+            final boolean withDisk = previous == null || samples % DISK_SAMPLE_INTERVAL == 0;
+            final DeviceSessionResult result;
+            try {
+                result = sessionPool.execute(deviceId,
+                                             withDisk ? ResourceCounters.SAMPLE_COMMAND + '\n' + ResourceCounters.DISK_COMMAND
+                                                      : ResourceCounters.SAMPLE_COMMAND,
+                                             SAMPLE_TIMEOUT_MS);
+            } catch (NotFoundException | ConflictException e) {
+                stop(deviceId);
+                return;
+            } catch (ServerException e) {
+                LOG.debug("Unable to sample resources of device {}. {}", deviceId, e.getMessage());
+                // counters of the broken sample can't be compared with the next one
+                previous = null;
+                return;
+            }
+            final ResourceCounters counters = ResourceCounters.parse(result.getOutput(), System.currentTimeMillis());
+            if (!counters.hasDisk() && previous != null) {
+                counters.copyDisk(previous);
+            }
+            if (previous != null) {
+                final ResourceUsage usage = counters.usageSince(previous);
+                history.add(deviceId, counters.time, usage, subscribed);
+                if (subscribed) {
+                    onSample(usage);
+                } else {
+                    // subscriber which comes later needs a full sample
+                    sent = null;
+                }
+            }
+            previous = counters;
+            samples++;
+        }
+
+        void onSample(ResourceUsage usage) {
+            final boolean full = fullRequested || sent == null || ++deltas >= FULL_SAMPLE_INTERVAL;
+            fullRequested = false;
+            if (full) {
+                deltas = 0;
+            }
+            final String message = usage.encode(full ? null : sent);
+            sent = usage;
+            if (!full && message.equals(ResourceUsage.DELTA)) {
+                return;
+            }
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(ARTIK_RESOURCES_CHANNEL_PREFIX + deviceId);
+            bm.setBody(message);
+            try {
+                send(bm);
+            } catch (Exception e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Counters of the device read from {@code /proc} at one moment.
+ *
+ * <p>Most of the counters grow monotonically, so the usage is computed from two subsequent samples.
+ * Output of {@link #SAMPLE_COMMAND} is parsed, it is executed by the shell builtins only and doesn't start
+ * any process on the device. Disk space is requested with {@link #DISK_COMMAND} less often since it changes
+ * slowly and requires {@code df} to be started.
+ *
+ * @author Valeriy Svydenko
+ */
+class ResourceCounters {
+    static final String SAMPLE_COMMAND = "echo @cpu\n"
+                                         + "while read -r l; do case $l in cpu*) echo \"$l\";; esac; done </proc/stat\n"
+                                         + "echo @mem\n"
+                                         + "while read -r l; do case $l in Mem*|Buffers:*|Cached:*) echo \"$l\";; esac; "
+                                         + "done </proc/meminfo\n"
+                                         + "echo @net\n"
+                                         + "while read -r l; do echo \"$l\"; done </proc/net/dev\n"
+                                         + "echo @io\n"
+                                         + "while read -r l; do echo \"$l\"; done </proc/diskstats";
+    static final String DISK_COMMAND   = "echo @df\n"
+                                         + "df -Pk /";
+
+    private static final int     SECTOR_SIZE = 512;
+    private static final Pattern WHITESPACE  = Pattern.compile("\\s+");
+    /** Partitions are skipped, their I/O is already counted by the whole disk. */
+    private static final Pattern PARTITION   = Pattern.compile("(mmcblk\\d+p|nvme\\d+n\\d+p|[a-z]*d[a-z]+)\\d+");
+
+    final long time;
+
+    /** Total and idle time of all the CPUs followed by the ones of each core. */
+    final List<long[]> cpu             = new ArrayList<>();
+    long               memoryTotal     = -1;
+    long               memoryAvailable = -1;
+    long               networkReceived;
+    long               networkSent;
+    long               ioRead;
+    long               ioWritten;
+    long               diskUsed        = -1;
+    long               diskTotal       = -1;
+
+    ResourceCounters(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Parses output of {@link #SAMPLE_COMMAND} optionally followed by output of {@link #DISK_COMMAND}.
+     *
+     * @param time
+     *         time of the sample in milliseconds
+     */
+    static ResourceCounters parse(List<String> output, long time) {
+        final ResourceCounters counters = new ResourceCounters(time);
+        long memoryFree = -1;
+        long buffers = 0;
+        long cached = 0;
+        String section = "";
+        for (String line : output) {
+            if (line.startsWith("@")) {
+                section = line;
+                continue;
+            }
+            final String[] fields = WHITESPACE.split(line.trim());
+            try {
+                switch (section) {
+                    case "@cpu":
+                        if (fields.length > 4 && fields[0].startsWith("cpu")) {
+                            long total = 0;
+                            for (int i = 1; i < fields.length && i <= 8; i++) {
+                                total += Long.parseLong(fields[i]);
+                            }
+                            final long idle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+                            counters.cpu.add(new long[] {total, idle});
+                        }
+                        break;
+                    case "@mem":
+                        if (fields.length > 1) {
+                            final long value = Long.parseLong(fields[1]);
+                            switch (fields[0]) {
+                                case "MemTotal:":
+                                    counters.memoryTotal = value;
+                                    break;
+                                case "MemAvailable:":
+                                    counters.memoryAvailable = value;
+                                    break;
+                                case "MemFree:":
+                                    memoryFree = value;
+                                    break;
+                                case "Buffers:":
+                                    buffers = value;
+                                    break;
+                                case "Cached:":
+                                    cached = value;
+                                    break;
+                            }
+                        }
+                        break;
+                    case "@net":
+                        final int colon = line.indexOf(':');
+                        if (colon > 0 && !line.substring(0, colon).trim().equals("lo")) {
+                            final String[] values = WHITESPACE.split(line.substring(colon + 1).trim());
+                            if (values.length > 8) {
+                                counters.networkReceived += Long.parseLong(values[0]);
+                                counters.networkSent += Long.parseLong(values[8]);
+                            }
+                        }
+                        break;
+                    case "@io":
+                        if (fields.length > 9 && isDisk(fields[2])) {
+                            counters.ioRead += Long.parseLong(fields[5]) * SECTOR_SIZE;
+                            counters.ioWritten += Long.parseLong(fields[9]) * SECTOR_SIZE;
+                        }
+                        break;
+                    case "@df":
+                        if (fields.length > 3 && !fields[0].equals("Filesystem")) {
+                            counters.diskTotal = Long.parseLong(fields[1]);
+                            counters.diskUsed = Long.parseLong(fields[2]);
+                        }
+                        break;
+                }
+            } catch (NumberFormatException ignored) {
+                // line of unexpected format, e.g. header
+            }
+        }
+        if (counters.memoryAvailable < 0 && memoryFree >= 0) {
+            // kernels older than 3.14 don't report available memory
+            counters.memoryAvailable = memoryFree + buffers + cached;
+        }
+        return counters;
+    }
+
+    /** Returns {@code true} if the sample contains disk space, see {@link #DISK_COMMAND}. */
+    boolean hasDisk() {
+        return diskTotal >= 0;
+    }
+
+    /** Takes disk space from the previous sample. */
+    void copyDisk(ResourceCounters previous) {
+        diskUsed = previous.diskUsed;
+        diskTotal = previous.diskTotal;
+    }
+
+    /** Computes usage of the resources between the previous sample and this one. */
+    ResourceUsage usageSince(ResourceCounters previous) {
+        final int[] cpuUsage = new int[cpu.size()];
+        for (int i = 0; i < cpuUsage.length && i < previous.cpu.size(); i++) {
+            final long total = cpu.get(i)[0] - previous.cpu.get(i)[0];
+            final long idle = cpu.get(i)[1] - previous.cpu.get(i)[1];
+            cpuUsage[i] = total > 0 ? (int)Math.max(0, Math.min(100, Math.round(100.0 * (total - idle) / total))) : 0;
+        }
+        final long elapsed = Math.max(1, time - previous.time);
+        return new ResourceUsage(cpuUsage,
+                                 Math.max(0, memoryTotal - memoryAvailable),
+                                 Math.max(0, memoryTotal),
+                                 Math.max(0, diskUsed),
+                                 Math.max(0, diskTotal),
+                                 rate(previous.networkReceived, networkReceived, elapsed),
+                                 rate(previous.networkSent, networkSent, elapsed),
+                                 rate(previous.ioRead, ioRead, elapsed),
+                                 rate(previous.ioWritten, ioWritten, elapsed));
+    }
+
+    private static long rate(long previous, long current, long elapsedMs) {
+        // counter is reset when interface or disk disappears
+        return current < previous ? 0 : (current - previous) * 1000 / elapsedMs;
+    }
+
+    private static boolean isDisk(String name) {
+        return !name.startsWith("loop") && !name.startsWith("ram") && !PARTITION.matcher(name).matches();
+    }
+}
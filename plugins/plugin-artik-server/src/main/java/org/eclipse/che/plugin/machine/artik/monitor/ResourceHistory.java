@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+import org.eclipse.che.plugin.artik.shared.dto.ResourceHistoryDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Resource usage history of the devices.
+ *
+ * <p>Samples of each device are kept in three {@link TimeSeriesRing}s of fixed size: the last 1200 raw samples,
+ * one-minute averages for the last day and fifteen-minute averages for the last week. Only the samples taken while
+ * the resources of the device are watched in the IDE are raw ones, so all the raw samples have the same interval
+ * and 1200 of them are an hour of watching, the averages are built from all the samples. So memory taken by
+ * a device doesn't depend on the uptime, the least recently sampled devices are forgotten when there are more
+ * than {@link #MAX_DEVICES} of them.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ResourceHistory {
+    static final int MAX_DEVICES = 64;
+
+    static final int CPU              = 0;
+    static final int MEMORY_USED      = 1;
+    static final int DISK_USED        = 2;
+    static final int NETWORK_RECEIVED = 3;
+    static final int NETWORK_SENT     = 4;
+    static final int IO_READ          = 5;
+    static final int IO_WRITTEN       = 6;
+    static final int SERIES           = 7;
+
+    /** Resolution of the history. */
+    public enum Resolution {
+        RAW("raw", ResourceCollector.SAMPLE_INTERVAL_MS, 0, 1200),
+        MINUTE("1m", 60_000, 60_000, 1440),
+        QUARTER("15m", 15 * 60_000, 15 * 60_000, 672);
+
+        private final String name;
+        private final long   interval;
+        private final long   bucket;
+        private final int    capacity;
+
+        Resolution(String name, long interval, long bucket, int capacity) {
+            this.name = name;
+            this.interval = interval;
+            this.bucket = bucket;
+            this.capacity = capacity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Returns resolution with the name or {@code null} if there is no such resolution. */
+        public static Resolution fromName(String name) {
+            for (Resolution resolution : values()) {
+                if (resolution.name.equals(name)) {
+                    return resolution;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Map<String, DeviceHistory> histories;
+
+    public ResourceHistory() {
+        this.histories = new LinkedHashMap<String, DeviceHistory>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DeviceHistory> eldest) {
+                return size() > MAX_DEVICES;
+            }
+        };
+    }
+
+    /**
+     * Adds the sample of the device.
+     *
+     * @param raw
+     *         {@code true} if the sample is taken with {@link ResourceCollector#SAMPLE_INTERVAL_MS} and should be
+     *         kept as a raw one
+     */
+    public void add(String deviceId, long time, ResourceUsage usage, boolean raw) {
+        DeviceHistory history;
+        synchronized (histories) {
+            // the recently sampled device goes to the end, so the eldest one is forgotten first
+            history = histories.remove(deviceId);
+            if (history == null) {
+                history = new DeviceHistory();
+            }
+            histories.put(deviceId, history);
+        }
+        history.add(time, usage, raw);
+    }
+
+    /**
+     * Returns history of the device in the window.
+     *
+     * @param from
+     *         start of the window, inclusive
+     * @param to
+     *         end of the window, exclusive
+     * @param resolution
+     *         resolution of the history or {@code null} to choose the finest one which covers the window
+     * @throws NotFoundException
+     *         if there is no history of the device
+     */
+    public ResourceHistoryDto query(String deviceId, long from, long to, Resolution resolution) throws NotFoundException {
+        final DeviceHistory history;
+        synchronized (histories) {
+            history = histories.get(deviceId);
+        }
+        if (history == null) {
+            throw new NotFoundException(format("There is no resource history of device %s", deviceId));
+        }
+        return history.query(from, to, resolution);
+    }
+
+    private static class DeviceHistory {
+        private final TimeSeriesRing[] rings;
+        private final long[]           bucketStarts;
+        private final double[][]       bucketSums;
+        private final int[]            bucketSizes;
+
+        private long memoryTotal;
+        private long diskTotal;
+
+        DeviceHistory() {
+            final Resolution[] resolutions = Resolution.values();
+            rings = new TimeSeriesRing[resolutions.length];
+            for (int i = 0; i < resolutions.length; i++) {
+                rings[i] = new TimeSeriesRing(resolutions[i].capacity, SERIES);
+            }
+            bucketStarts = new long[resolutions.length];
+            bucketSums = new double[resolutions.length][SERIES];
+            bucketSizes = new int[resolutions.length];
+        }
+
+        synchronized void add(long time, ResourceUsage usage, boolean raw) {
+            final float[] point = new float[SERIES];
+            point[CPU] = usage.getCpu().length > 0 ? usage.getCpu()[0] : 0;
+            point[MEMORY_USED] = usage.getMemoryUsed();
+            point[DISK_USED] = usage.getDiskUsed();
+            point[NETWORK_RECEIVED] = usage.getNetworkReceived();
+            point[NETWORK_SENT] = usage.getNetworkSent();
+            point[IO_READ] = usage.getIoRead();
+            point[IO_WRITTEN] = usage.getIoWritten();
+            memoryTotal = usage.getMemoryTotal();
+            diskTotal = usage.getDiskTotal();
+
+            final Resolution[] resolutions = Resolution.values();
+            for (int i = 0; i < resolutions.length; i++) {
+                final long bucket = resolutions[i].bucket;
+                if (bucket == 0) {
+                    if (raw) {
+                        rings[i].add(time, point);
+                    }
+                    continue;
+                }
+                final long start = time - time % bucket;
+                if (bucketSizes[i] > 0 && start != bucketStarts[i]) {
+                    // the bucket is complete
+                    final float[] average = new float[SERIES];
+                    for (int series = 0; series < SERIES; series++) {
+                        average[series] = (float)(bucketSums[i][series] / bucketSizes[i]);
+                        bucketSums[i][series] = 0;
+                    }
+                    rings[i].add(bucketStarts[i], average);
+                    bucketSizes[i] = 0;
+                }
+                bucketStarts[i] = start;
+                for (int series = 0; series < SERIES; series++) {
+                    bucketSums[i][series] += point[series];
+                }
+                bucketSizes[i]++;
+            }
+        }
+
+        synchronized ResourceHistoryDto query(long from, long to, Resolution resolution) {
+            if (resolution == null) {
+                resolution = Resolution.QUARTER;
+                for (Resolution candidate : Resolution.values()) {
+                    final TimeSeriesRing ring = rings[candidate.ordinal()];
+                    // the ring of averages which isn't full yet has all the samples of its resolution,
+                    // raw samples are missing while the device isn't watched
+                    final boolean complete = candidate != Resolution.RAW && ring.size() < ring.capacity();
+                    if (complete || ring.getOldestTime() <= from) {
+                        resolution = candidate;
+                        break;
+                    }
+                }
+            }
+            final TimeSeriesRing.Window window = rings[resolution.ordinal()].query(from, to);
+            final List<Long> times = new ArrayList<>(window.times.length);
+            for (long time : window.times) {
+                times.add(time);
+            }
+            return newDto(ResourceHistoryDto.class).withResolution(resolution.getName())
+                                                   .withInterval(resolution.interval)
+                                                   .withTimes(times)
+                                                   .withCpu(asList(window.values[CPU]))
+                                                   .withMemoryUsed(asList(window.values[MEMORY_USED]))
+                                                   .withDiskUsed(asList(window.values[DISK_USED]))
+                                                   .withNetworkReceived(asList(window.values[NETWORK_RECEIVED]))
+                                                   .withNetworkSent(asList(window.values[NETWORK_SENT]))
+                                                   .withIoRead(asList(window.values[IO_READ]))
+                                                   .withIoWritten(asList(window.values[IO_WRITTEN]))
+                                                   .withMemoryTotal(memoryTotal)
+                                                   .withDiskTotal(diskTotal);
+        }
+
+        private static List<Double> asList(float[] values) {
+            final List<Double> list = new ArrayList<>(values.length);
+            for (float value : values) {
+                list.add((double)value);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+/**
+ * Fixed-size ring of points of several series sharing the same timestamps.
+ *
+ * <p>Values are kept in primitive arrays allocated once, so the ring takes the same memory however many
+ * points are added, the oldest point is overwritten when the ring is full. Points must be added in the order
+ * of their time.
+ *
+ * @author Valeriy Svydenko
+ */
+class TimeSeriesRing {
+    private final long[]    times;
+    private final float[][] values;
+
+    private int head;
+    private int size;
+
+    TimeSeriesRing(int capacity, int series) {
+        this.times = new long[capacity];
+        this.values = new float[series][capacity];
+    }
+
+    /** Adds the point, {@code point} contains the value of each series. */
+    void add(long time, float[] point) {
+        final int index = (head + size) % times.length;
+        times[index] = time;
+        for (int i = 0; i < values.length; i++) {
+            values[i][index] = point[i];
+        }
+        if (size < times.length) {
+            size++;
+        } else {
+            head = (head + 1) % times.length;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return times.length;
+    }
+
+    /** Returns time of the oldest point or {@link Long#MAX_VALUE} if the ring is empty. */
+    long getOldestTime() {
+        return size == 0 ? Long.MAX_VALUE : times[head];
+    }
+
+    /**
+     * Returns points with the time in the window.
+     *
+     * @param from
+     *         start of the window, inclusive
+     * @param to
+     *         end of the window, exclusive
+     * @return times of the points followed by the values of each series
+     */
+    Window query(long from, long to) {
+        final int first = lowerBound(from);
+        final int count = lowerBound(to) - first;
+        final Window window = new Window(Math.max(0, count), values.length);
+        for (int i = 0; i < window.times.length; i++) {
+            final int index = (head + first + i) % times.length;
+            window.times[i] = times[index];
+            for (int series = 0; series < values.length; series++) {
+                window.values[series][i] = values[series][index];
+            }
+        }
+        return window;
+    }
+
+    /** Returns position, relative to the oldest point, of the first point not earlier than the time. */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (times[(head + middle) % times.length] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Copy of the points of the ring. */
+    static class Window {
+        final long[]    times;
+        final float[][] values;
+
+        Window(int size, int series) {
+            this.times = new long[size];
+            this.values = new float[series][size];
+        }
+    }
+}
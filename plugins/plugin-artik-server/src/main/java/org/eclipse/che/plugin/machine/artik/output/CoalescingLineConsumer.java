@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.output;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends lines to the websocket channel in batches.
+ *
+ * <p>Lines are collected until the batch reaches {@link #MAX_BATCH_SIZE} characters or the first line of
+ * the batch is older than {@link #MAX_BATCH_AGE_MS}, then the whole batch is sent as one message in the
+ * {@link OutputBatch} format or passed to the batch consumer. Pending lines are sent when the consumer is closed.
+ *
+ * @author Valeriy Svydenko
+ */
+public class CoalescingLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(CoalescingLineConsumer.class);
+
+    static final int  MAX_BATCH_SIZE   = 64 * 1024;
+    static final long MAX_BATCH_AGE_MS = 50;
+
+    private final String                   channel;
+    private final Consumer<List<String>>   batchConsumer;
+    private final ScheduledExecutorService scheduler;
+    private final List<String>             lines;
+
+    private int                size;
+    private ScheduledFuture<?> flushTask;
+    private boolean            closed;
+
+    CoalescingLineConsumer(String channel, ScheduledExecutorService scheduler) {
+        this(channel, null, scheduler);
+    }
+
+    CoalescingLineConsumer(Consumer<List<String>> batchConsumer, ScheduledExecutorService scheduler) {
+        this(null, batchConsumer, scheduler);
+    }
+
+    private CoalescingLineConsumer(String channel, Consumer<List<String>> batchConsumer, ScheduledExecutorService scheduler) {
+        this.channel = channel;
+        this.batchConsumer = batchConsumer;
+        this.scheduler = scheduler;
+        this.lines = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void writeLine(String line) {
+        if (closed) {
+            return;
+        }
+        lines.add(line);
+        size += line.length() + 1;
+        if (size >= MAX_BATCH_SIZE) {
+            flush();
+        } else if (flushTask == null) {
+            flushTask = scheduler.schedule(this::flush, MAX_BATCH_AGE_MS, MILLISECONDS);
+        }
+    }
+
+    /** Sends all pending lines. */
+    synchronized void flush() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+        if (batchConsumer != null) {
+            final List<String> batch = new ArrayList<>(lines);
+            lines.clear();
+            size = 0;
+            try {
+                batchConsumer.accept(batch);
+            } catch (Exception e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            return;
+        }
+        final String message = OutputBatch.pack(lines);
+        lines.clear();
+        size = 0;
+        send(message);
+    }
+
+    /** Sends message to the websocket channel. */
+    void send(String message) {
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(channel);
+            bm.setBody(message);
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+}
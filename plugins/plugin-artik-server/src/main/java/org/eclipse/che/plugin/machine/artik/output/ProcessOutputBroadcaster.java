@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.output;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Creates consumers which send output of the device processes to websocket channels or other batch consumers.
+ *
+ * <p>Each consumer has its own output budget, so a process stuck in a print loop can't flood the IDE and
+ * the agent. All the consumers share one thread which sends batches when they become old enough.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class ProcessOutputBroadcaster {
+    private final int                      maxLinesPerSecond;
+    private final long                     samplingAfterLines;
+    private final ScheduledExecutorService scheduler;
+
+    @Inject
+    public ProcessOutputBroadcaster(@Named("artik.device.output.max_lines_per_second") int maxLinesPerSecond,
+                                    @Named("artik.device.output.sampling_after_lines") long samplingAfterLines) {
+        this.maxLinesPerSecond = maxLinesPerSecond;
+        this.samplingAfterLines = samplingAfterLines;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("ArtikProcessOutput-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Creates consumer which sends lines to the websocket channel in batches.
+     * Lines which exceed the output budget are suppressed.
+     *
+     * @param channel
+     *         websocket channel
+     */
+    public LineConsumer createConsumer(String channel) {
+        return new ThrottlingLineConsumer(new CoalescingLineConsumer(channel, scheduler),
+                                          maxLinesPerSecond,
+                                          samplingAfterLines,
+                                          scheduler);
+    }
+
+    /**
+     * Creates consumer which passes lines to the batch consumer.
+     * Lines which exceed the output budget are suppressed.
+     *
+     * @param batchConsumer
+     *         consumer of the line batches, it is called from the shared thread so it must not block
+     */
+    public LineConsumer createConsumer(Consumer<List<String>> batchConsumer) {
+        return new ThrottlingLineConsumer(new CoalescingLineConsumer(batchConsumer, scheduler),
+                                          maxLinesPerSecond,
+                                          samplingAfterLines,
+                                          scheduler);
+    }
+
+    @PreDestroy
+    private void stop() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.output;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Limits the number of lines which one process sends to the IDE.
+ *
+ * <p>Each second only the first lines which fit the budget are passed to the delegate. The rest are counted
+ * and only the last {@link #TAIL_SIZE} of them are kept. When the second is over the kept tail is passed
+ * after a marker with the number of suppressed lines, so the end of the output, e.g. a prompt or an end
+ * marker, is never lost. Suppressed lines are counted per stream, each stream gets its own marker with the
+ * same {@code [STDOUT]} or {@code [STDERR]} prefix as its lines. After the process sent too many lines the budget is lowered to a small sample.
+ *
+ * <p>Lines longer than {@link #MAX_LINE_LENGTH} are truncated. The consumer is meant only for the live
+ * output, the full output is written to the process log.
+ *
+ * @author Valeriy Svydenko
+ */
+public class ThrottlingLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(ThrottlingLineConsumer.class);
+
+    static final long WINDOW_MS                = 1000;
+    static final int  TAIL_SIZE                = 20;
+    static final int  SAMPLED_LINES_PER_WINDOW = 20;
+    static final int  MAX_LINE_LENGTH          = 8 * 1024;
+
+    private final LineConsumer             delegate;
+    private final int                      linesPerWindow;
+    private final long                     samplingAfterLines;
+    private final ScheduledExecutorService scheduler;
+    private final Deque<String>            tail;
+    private final Map<String, Long>        droppedByPrefix;
+
+    private long               windowStart;
+    private int                passed;
+    private long               total;
+    private long               suppressed;
+    private ScheduledFuture<?> flushTask;
+    private boolean            closed;
+
+    ThrottlingLineConsumer(LineConsumer delegate, int linesPerWindow, long samplingAfterLines, ScheduledExecutorService scheduler) {
+        this.delegate = delegate;
+        this.linesPerWindow = linesPerWindow;
+        this.samplingAfterLines = samplingAfterLines;
+        this.scheduler = scheduler;
+        this.tail = new ArrayDeque<>(TAIL_SIZE);
+        this.droppedByPrefix = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (closed) {
+            return;
+        }
+        final long now = now();
+        if (now - windowStart >= WINDOW_MS) {
+            flushSuppressed();
+            windowStart = now;
+            passed = 0;
+        }
+        if (line.length() > MAX_LINE_LENGTH) {
+            line = line.substring(0, MAX_LINE_LENGTH) + " ...";
+        }
+
+        total++;
+        if (passed < getBudget()) {
+            passed++;
+            delegate.writeLine(line);
+            return;
+        }
+
+        if (suppressed == 0) {
+            flushTask = scheduler.schedule(this::flushSuppressedQuietly, windowStart + WINDOW_MS - now, MILLISECONDS);
+        }
+        suppressed++;
+        if (tail.size() == TAIL_SIZE) {
+            droppedByPrefix.merge(getStreamPrefix(tail.removeFirst()), 1L, Long::sum);
+        }
+        tail.addLast(line);
+    }
+
+    /** Returns the number of lines which may be passed in the current window. */
+    private int getBudget() {
+        if (samplingAfterLines > 0 && total > samplingAfterLines) {
+            return Math.min(linesPerWindow, SAMPLED_LINES_PER_WINDOW);
+        }
+        return linesPerWindow;
+    }
+
+    /** Returns prefix of the stream which the line belongs to, or an empty string if the line has no prefix. */
+    private static String getStreamPrefix(String line) {
+        if (line.startsWith("[STDOUT] ")) {
+            return "[STDOUT] ";
+        }
+        if (line.startsWith("[STDERR] ")) {
+            return "[STDERR] ";
+        }
+        return "";
+    }
+
+    /** Passes the markers with the number of suppressed lines and the kept tail to the delegate. */
+    synchronized void flushSuppressed() throws IOException {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (suppressed == 0) {
+            return;
+        }
+        suppressed = 0;
+        for (Map.Entry<String, Long> dropped : droppedByPrefix.entrySet()) {
+            delegate.writeLine(format("%s... %d lines suppressed, see the process logs for the full output ...",
+                                      dropped.getKey(),
+                                      dropped.getValue()));
+        }
+        droppedByPrefix.clear();
+        while (!tail.isEmpty()) {
+            delegate.writeLine(tail.removeFirst());
+        }
+    }
+
+    private void flushSuppressedQuietly() {
+        try {
+            flushSuppressed();
+        } catch (IOException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flushSuppressed();
+        } finally {
+            closed = true;
+            delegate.close();
+        }
+    }
+}
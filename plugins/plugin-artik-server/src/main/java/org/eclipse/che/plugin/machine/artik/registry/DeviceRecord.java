@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.registry;
+
+import org.eclipse.che.api.core.model.machine.MachineConfig;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.machine.artik.ArtikDtoConverter;
+import org.eclipse.che.plugin.machine.artik.logs.LogRetention;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable entry of the {@link DeviceRegistry}.
+ * Keeps configuration of the device together with everything what is known about it.
+ *
+ * @author Valeriy Svydenko
+ */
+public final class DeviceRecord {
+    private final String              id;
+    private final String              name;
+    private final String              owner;
+    private final String              config;
+    private final String              status;
+    private final long                stateVersion;
+    private final Set<String>         tags;
+    private final Map<String, String> facts;
+    private final LogRetention        logRetention;
+
+    private DeviceRecord(String id,
+                         String name,
+                         String owner,
+                         String config,
+                         String status,
+                         long stateVersion,
+                         Set<String> tags,
+                         Map<String, String> facts,
+                         LogRetention logRetention) {
+        this.id = id;
+        this.name = name;
+        this.owner = owner;
+        this.config = config;
+        this.status = status;
+        this.stateVersion = stateVersion;
+        this.tags = tags;
+        this.facts = facts;
+        this.logRetention = logRetention;
+    }
+
+    /**
+     * Creates new record.
+     *
+     * @param id
+     *         identifier of the device
+     * @param owner
+     *         owner of the device
+     * @param config
+     *         configuration of the device
+     * @param status
+     *         last known status of the device
+     */
+    public static DeviceRecord create(String id, String owner, MachineConfig config, String status) {
+        return new DeviceRecord(id,
+                                config.getName(),
+                                owner,
+                                DtoFactory.getInstance().toJson(ArtikDtoConverter.asDto(config)),
+                                status,
+                                0L,
+                                Collections.emptySet(),
+                                Collections.emptyMap(),
+                                null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /** Returns configuration of the device. */
+    public MachineConfigDto getConfig() {
+        return DtoFactory.getInstance().createDtoFromJson(config, MachineConfigDto.class);
+    }
+
+    /** Returns last known status of the device. */
+    public String getStatus() {
+        return status;
+    }
+
+    /** Returns version of the last known status. */
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
+    public Set<String> getTags() {
+        return tags == null ? Collections.emptySet() : Collections.unmodifiableSet(tags);
+    }
+
+    /** Returns facts collected from the device, e.g. version of SDK. */
+    public Map<String, String> getFacts() {
+        return facts == null ? Collections.emptyMap() : Collections.unmodifiableMap(facts);
+    }
+
+    /** Returns retention policy of the device logs or {@code null} if the default one is used. */
+    public LogRetention getLogRetention() {
+        return logRetention;
+    }
+
+    public DeviceRecord withConfig(MachineConfig newConfig) {
+        return new DeviceRecord(id,
+                                newConfig.getName(),
+                                owner,
+                                DtoFactory.getInstance().toJson(ArtikDtoConverter.asDto(newConfig)),
+                                status,
+                                stateVersion,
+                                tags,
+                                facts,
+                                logRetention);
+    }
+
+    public DeviceRecord withStatus(String newStatus, long newStateVersion) {
+        return new DeviceRecord(id, name, owner, config, newStatus, newStateVersion, tags, facts, logRetention);
+    }
+
+    public DeviceRecord withTags(Set<String> newTags) {
+        return new DeviceRecord(id,
+                                name,
+                                owner,
+                                config,
+                                status,
+                                stateVersion,
+                                new LinkedHashSet<>(newTags),
+                                facts,
+                                logRetention);
+    }
+
+    public DeviceRecord withFacts(Map<String, String> newFacts) {
+        return new DeviceRecord(id,
+                                name,
+                                owner,
+                                config,
+                                status,
+                                stateVersion,
+                                tags,
+                                new HashMap<>(newFacts),
+                                logRetention);
+    }
+
+    public DeviceRecord withLogRetention(LogRetention newLogRetention) {
+        return new DeviceRecord(id, name, owner, config, status, stateVersion, tags, facts, newLogRetention);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DeviceRecord)) return false;
+        DeviceRecord that = (DeviceRecord)o;
+        return stateVersion == that.stateVersion &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(owner, that.owner) &&
+               Objects.equals(config, that.config) &&
+               Objects.equals(status, that.status) &&
+               Objects.equals(getTags(), that.getTags()) &&
+               Objects.equals(getFacts(), that.getFacts()) &&
+               Objects.equals(logRetention, that.logRetention);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, owner, config, status, stateVersion, getTags(), getFacts(), logRetention);
+    }
+}
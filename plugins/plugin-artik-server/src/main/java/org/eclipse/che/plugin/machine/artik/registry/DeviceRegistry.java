@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.registry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ServerException;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * File backed registry of Artik devices.
+ *
+ * <p>Each device is stored in its own JSON file inside of the registry folder, files are replaced atomically
+ * so a crash never leaves half written record. All the records are loaded in memory at start and indexed by
+ * identifier, name and tag, so lookups do not touch the disk.
+ *
+ * <p>Configuration of the device includes its SSH recipe with the credentials, which are needed to reconnect the
+ * device after restart of the agent. So the registry folder is accessible to its owner only and the records are
+ * readable by the owner only, permissions of the records created by the previous versions are restricted at start.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceRegistry {
+    private static final Logger LOG       = getLogger(DeviceRegistry.class);
+    private static final Gson   GSON      = new Gson();
+    private static final String EXTENSION = ".json";
+
+    private static final Set<PosixFilePermission> DIR_PERMISSIONS  = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final Path                      registryDir;
+    private final Map<String, DeviceRecord> byId;
+    private final Map<String, String>       idByName;
+    private final Map<String, Set<String>>  idsByTag;
+
+    @Inject
+    public DeviceRegistry(@Named("artik.device.registry.location") String registryDir) {
+        this.registryDir = Paths.get(registryDir);
+        this.byId = new ConcurrentHashMap<>();
+        this.idByName = new ConcurrentHashMap<>();
+        this.idsByTag = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    void load() {
+        if (!Files.isDirectory(registryDir)) {
+            return;
+        }
+        restrictPermissions(registryDir, DIR_PERMISSIONS);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(registryDir, "*" + EXTENSION)) {
+            for (Path file : files) {
+                restrictPermissions(file, FILE_PERMISSIONS);
+                try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+                    final DeviceRecord record = GSON.fromJson(reader, DeviceRecord.class);
+                    if (record != null && record.getId() != null) {
+                        index(record);
+                    }
+                } catch (IOException | JsonParseException e) {
+                    LOG.warn(format("Unable to read device record %s. %s", file, e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            LOG.error(format("Unable to load devices registry from %s. %s", registryDir, e.getMessage()), e);
+        }
+    }
+
+    /** Returns all the registered devices. */
+    public List<DeviceRecord> getAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    /** Returns device with the specified identifier. */
+    public Optional<DeviceRecord> getById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /** Returns device with the specified name. */
+    public Optional<DeviceRecord> getByName(String name) {
+        final String id = idByName.get(name);
+        return id == null ? Optional.empty() : getById(id);
+    }
+
+    /** Returns all the devices marked with the specified tag. */
+    public List<DeviceRecord> getByTag(String tag) {
+        return idsByTag.getOrDefault(tag, Collections.emptySet())
+                       .stream()
+                       .map(byId::get)
+                       .filter(record -> record != null)
+                       .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds or replaces the device record.
+     *
+     * @param record
+     *         record to store
+     * @throws ServerException
+     *         if record can't be written to the disk
+     */
+    public synchronized void put(DeviceRecord record) throws ServerException {
+        write(record);
+        final DeviceRecord previous = byId.get(record.getId());
+        index(record);
+        if (previous != null) {
+            if (previous.getName() != null && !previous.getName().equals(record.getName())) {
+                idByName.remove(previous.getName(), previous.getId());
+            }
+            for (String tag : previous.getTags()) {
+                if (!record.getTags().contains(tag)) {
+                    removeFromTag(tag, previous.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the device record.
+     *
+     * @param id
+     *         identifier of the device
+     * @param update
+     *         function that creates new record from the existing one
+     * @return updated record or empty optional if device is not registered
+     * @throws ServerException
+     *         if record can't be written to the disk
+     */
+    public synchronized Optional<DeviceRecord> update(String id, UnaryOperator<DeviceRecord> update) throws ServerException {
+        final DeviceRecord current = byId.get(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        final DeviceRecord updated = update.apply(current);
+        if (!updated.equals(current)) {
+            put(updated);
+        }
+        return Optional.of(updated);
+    }
+
+    /**
+     * Removes the device from the registry.
+     *
+     * @param id
+     *         identifier of the device
+     * @throws ServerException
+     *         if record can't be removed from the disk
+     */
+    public synchronized void remove(String id) throws ServerException {
+        final DeviceRecord record = byId.get(id);
+        if (record == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(recordFile(id));
+        } catch (IOException e) {
+            throw new ServerException(format("Unable to remove device '%s' from the registry. %s", id, e.getMessage()), e);
+        }
+        unindex(record);
+    }
+
+    private void write(DeviceRecord record) throws ServerException {
+        final Path file = recordFile(record.getId());
+        try {
+            if (!Files.isDirectory(registryDir)) {
+                Files.createDirectories(registryDir, asAttributes(DIR_PERMISSIONS));
+            }
+            final Path tmp = Files.createTempFile(registryDir, record.getId(), ".tmp", asAttributes(FILE_PERMISSIONS));
+            try (Writer writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                GSON.toJson(record, writer);
+            }
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ServerException(format("Unable to store device '%s' in the registry. %s", record.getId(), e.getMessage()), e);
+        }
+    }
+
+    private static boolean isPosix() {
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+
+    private static FileAttribute<?>[] asAttributes(Set<PosixFilePermission> permissions) {
+        return isPosix() ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(permissions)} : new FileAttribute<?>[0];
+    }
+
+    private static void restrictPermissions(Path path, Set<PosixFilePermission> permissions) {
+        if (!isPosix()) {
+            return;
+        }
+        try {
+            if (!Files.getPosixFilePermissions(path).equals(permissions)) {
+                Files.setPosixFilePermissions(path, permissions);
+            }
+        } catch (IOException e) {
+            LOG.warn(format("Unable to restrict permissions of %s. %s", path, e.getMessage()));
+        }
+    }
+
+    private Path recordFile(String id) {
+        return registryDir.resolve(id + EXTENSION);
+    }
+
+    private void index(DeviceRecord record) {
+        byId.put(record.getId(), record);
+        if (record.getName() != null) {
+            idByName.put(record.getName(), record.getId());
+        }
+        for (String tag : record.getTags()) {
+            idsByTag.computeIfAbsent(tag, key -> ConcurrentHashMap.newKeySet()).add(record.getId());
+        }
+    }
+
+    private void unindex(DeviceRecord record) {
+        byId.remove(record.getId());
+        if (record.getName() != null) {
+            idByName.remove(record.getName(), record.getId());
+        }
+        for (String tag : record.getTags()) {
+            removeFromTag(tag, record.getId());
+        }
+    }
+
+    private void removeFromTag(String tag, String id) {
+        final Set<String> ids = idsByTag.get(tag);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+}
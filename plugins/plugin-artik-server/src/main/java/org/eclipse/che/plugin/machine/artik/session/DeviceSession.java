@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.session;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import org.eclipse.che.plugin.machine.ssh.SshMachineRecipe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Long-lived SSH connection to the device which executes short commands.
+ *
+ * <p>Every command is executed in its own {@code exec} channel of the shared connection, so commands don't wait
+ * for each other (up to the limit of sessions per connection of the SSH server) and only the connection setup is
+ * saved. Standard input of the command is closed and standard
+ * error is merged into standard output. If the command doesn't complete in time its channel is closed, the
+ * connection stays open.
+ *
+ * @author Valeriy Svydenko
+ */
+public class DeviceSession implements Closeable {
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final SshMachineRecipe recipe;
+    private final int              connectionTimeoutMs;
+
+    private volatile Session session;
+    private volatile long    lastUsed;
+    private volatile boolean closed;
+
+    DeviceSession(SshMachineRecipe recipe, int connectionTimeoutMs) {
+        this.recipe = recipe;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * Opens SSH connection.
+     *
+     * @throws IOException
+     *         if connection can't be established
+     */
+    synchronized void open() throws IOException {
+        try {
+            final JSch jsch = new JSch();
+            session = jsch.getSession(recipe.getUsername(), recipe.getHost(), recipe.getPort() != null ? recipe.getPort() : 22);
+            session.setPassword(recipe.getPassword());
+            // same as for SSH machine processes and replication of the project files to the device,
+            // host keys of the devices change after each reflashing and the user enters the credentials
+            // of the device explicitly, so there is no known host key to verify
+            session.setConfig("StrictHostKeyChecking", "no");
+            session.setServerAliveInterval(10_000);
+            session.connect(connectionTimeoutMs);
+        } catch (JSchException e) {
+            close();
+            throw new IOException(format("Unable to open SSH session on %s. %s", recipe.getHost(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Executes the command and waits for its completion.
+     *
+     * @param commandLine
+     *         command to execute
+     * @param timeoutMs
+     *         maximum time of the command execution
+     * @return exit code and output of the command
+     * @throws IOException
+     *         if session is broken, the session is closed in this case
+     * @throws TimeoutException
+     *         if command didn't complete in time
+     * @throws InterruptedException
+     *         if thread was interrupted while waiting for the command
+     */
+    DeviceSessionResult execute(String commandLine, long timeoutMs) throws IOException,
+                                                                           TimeoutException,
+                                                                           InterruptedException {
+        if (!isAlive()) {
+            throw new IOException("SSH session is closed");
+        }
+        lastUsed = System.currentTimeMillis();
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final ChannelExec channel;
+        try {
+            channel = (ChannelExec)session.openChannel("exec");
+        } catch (JSchException e) {
+            if (!session.isConnected()) {
+                close();
+            }
+            throw new IOException(format("Unable to execute command on %s. %s", recipe.getHost(), e.getMessage()), e);
+        }
+        try {
+            channel.setCommand("exec </dev/null 2>&1\n" + commandLine);
+            // errors of the shell itself
+            channel.setErrStream(content, true);
+            final InputStream output = channel.getInputStream();
+            try {
+                channel.connect(connectionTimeoutMs);
+            } catch (JSchException e) {
+                if (!session.isConnected()) {
+                    close();
+                }
+                throw new IOException(format("Unable to execute command on %s. %s", recipe.getHost(), e.getMessage()), e);
+            }
+
+            final long deadline = System.currentTimeMillis() + timeoutMs;
+            final byte[] buffer = new byte[8192];
+            while (true) {
+                while (output.available() > 0) {
+                    final int read = output.read(buffer);
+                    if (read < 0) {
+                        break;
+                    }
+                    content.write(buffer, 0, read);
+                }
+                if (channel.isClosed()) {
+                    if (output.available() > 0) {
+                        continue;
+                    }
+                    break;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new TimeoutException(format("Command didn't complete in %d ms", timeoutMs));
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            if (channel.getExitStatus() < 0 && !session.isConnected()) {
+                close();
+                throw new IOException("SSH session was closed by the device");
+            }
+            lastUsed = System.currentTimeMillis();
+            return new DeviceSessionResult(channel.getExitStatus(), toLines(content.toString(UTF_8.name())));
+        } finally {
+            channel.disconnect();
+        }
+    }
+
+    /** Returns {@code true} if session can execute commands. */
+    boolean isAlive() {
+        final Session current = session;
+        return !closed && current != null && current.isConnected();
+    }
+
+    /** Returns time of the last command execution. */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        final Session current = session;
+        if (current != null) {
+            current.disconnect();
+        }
+    }
+
+    private static List<String> toLines(String content) {
+        if (content.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final List<String> lines = new ArrayList<>(Arrays.asList(content.split("\r?\n", -1)));
+        if (lines.get(lines.size() - 1).isEmpty()) {
+            // output ended with a new line
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.session;
+
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.eclipse.che.plugin.machine.artik.ArtikDeviceManager;
+import org.eclipse.che.plugin.machine.ssh.SshMachineRecipe;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps one {@link DeviceSession} per connected device.
+ *
+ * <p>Short commands such as package checks are executed over the already opened SSH connection instead of
+ * starting a new connection per command. The session is opened on the first command, closed
+ * when the device is disconnected or lost and closed after some time of inactivity. Resources of the connected
+ * devices are sampled for the history every minute, so sessions of such devices stay open as long as the devices
+ * are connected: one open connection is cheaper for the device than a new one every minute.
+ *
+ * @author Valeriy Svydenko
+ */
+@Singleton
+public class DeviceSessionPool {
+    private static final Logger LOG  = getLogger(DeviceSessionPool.class);
+    private static final Gson   GSON = new Gson();
+
+    static final long DEFAULT_COMMAND_TIMEOUT_MS = 30_000;
+    static final long IDLE_TIMEOUT_MS            = 5 * 60 * 1000;
+
+    private final ArtikDeviceManager                        deviceManager;
+    private final EventService                              eventService;
+    private final ThreadPullLauncher                        launcher;
+    private final int                                       connectionTimeoutMs;
+    private final Map<String, DeviceSession>                sessions;
+    private final EventSubscriber<ArtikDeviceStatusEventDto> statusSubscriber;
+
+    @Inject
+    public DeviceSessionPool(ArtikDeviceManager deviceManager,
+                             EventService eventService,
+                             ThreadPullLauncher launcher,
+                             @Named("che.workspace.ssh_connection_timeout_ms") int connectionTimeoutMs) {
+        this.deviceManager = deviceManager;
+        this.eventService = eventService;
+        this.launcher = launcher;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.sessions = new ConcurrentHashMap<>();
+        this.statusSubscriber = event -> {
+            if (event.getEventType() != ArtikDeviceStatusEventDto.EventType.CONNECTED) {
+                close(event.getDeviceId());
+            }
+        };
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        eventService.subscribe(statusSubscriber);
+        launcher.scheduleWithFixedDelay(this::closeIdleSessions, 1, 1, MINUTES);
+    }
+
+    @PreDestroy
+    private void stop() {
+        eventService.unsubscribe(statusSubscriber);
+        sessions.keySet().forEach(this::close);
+    }
+
+    /**
+     * Executes short command in the shell session of the device.
+     *
+     * @param deviceId
+     *         ID of the device
+     * @param commandLine
+     *         command to execute, standard input of the command is closed
+     * @param timeoutMs
+     *         maximum time of the command execution, default timeout is used if value is not positive
+     * @return exit code and output of the command
+     * @throws NotFoundException
+     *         if device doesn't exist
+     * @throws ConflictException
+     *         if device is not connected
+     * @throws ServerException
+     *         if session can't be opened, is broken or command didn't complete in time
+     */
+    public DeviceSessionResult execute(String deviceId, String commandLine, long timeoutMs) throws NotFoundException,
+                                                                                                   ConflictException,
+                                                                                                   ServerException {
+        final DeviceSession session = getSession(deviceId);
+        try {
+            return session.execute(commandLine, timeoutMs > 0 ? timeoutMs : DEFAULT_COMMAND_TIMEOUT_MS);
+        } catch (IOException | TimeoutException e) {
+            if (!session.isAlive()) {
+                sessions.remove(deviceId, session);
+            }
+            throw new ServerException(format("Command execution on device %s failed. %s", deviceId, e.getMessage()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Command execution was interrupted");
+        }
+    }
+
+    /** Closes session of the device if it is opened. */
+    public void close(String deviceId) {
+        final DeviceSession session = sessions.remove(deviceId);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    void closeIdleSessions() {
+        final long idleSince = System.currentTimeMillis() - IDLE_TIMEOUT_MS;
+        for (Map.Entry<String, DeviceSession> entry : sessions.entrySet()) {
+            final DeviceSession session = entry.getValue();
+            if (!session.isAlive() || session.getLastUsed() < idleSince) {
+                if (sessions.remove(entry.getKey(), session)) {
+                    session.close();
+                }
+            }
+        }
+    }
+
+    private DeviceSession getSession(String deviceId) throws NotFoundException, ConflictException, ServerException {
+        final DeviceSession existing = sessions.get(deviceId);
+        if (existing != null && existing.isAlive()) {
+            return existing;
+        }
+
+        final MachineDto device = deviceManager.getDeviceById(deviceId);
+        if (device.getStatus() != RUNNING) {
+            throw new ConflictException(format("Device %s is not connected", device.getConfig().getName()));
+        }
+        final SshMachineRecipe recipe = GSON.fromJson(device.getConfig().getSource().getContent(), SshMachineRecipe.class);
+        final DeviceSession session = createSession(recipe);
+        try {
+            session.open();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+
+        final DeviceSession current = sessions.compute(deviceId, (id, old) -> old != null && old.isAlive() ? old : session);
+        if (current != session) {
+            session.close();
+        } else if (existing != null) {
+            existing.close();
+        }
+        LOG.debug("Shell session for device {} is opened", deviceId);
+        return current;
+    }
+
+    DeviceSession createSession(SshMachineRecipe recipe) {
+        return new DeviceSession(recipe, connectionTimeoutMs);
+    }
+}
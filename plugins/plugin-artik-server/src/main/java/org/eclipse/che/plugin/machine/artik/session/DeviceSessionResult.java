@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.session;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exit code and output of the command executed by {@link DeviceSession}.
+ *
+ * @author Valeriy Svydenko
+ */
+public class DeviceSessionResult {
+    private final int          exitCode;
+    private final List<String> output;
+
+    DeviceSessionResult(int exitCode, List<String> output) {
+        this.exitCode = exitCode;
+        this.output = Collections.unmodifiableList(output);
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public List<String> getOutput() {
+        return output;
+    }
+}
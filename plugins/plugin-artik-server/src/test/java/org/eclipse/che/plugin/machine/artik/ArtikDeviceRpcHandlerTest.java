@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcOutputDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcParamsDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceRpcResultDto;
+import org.eclipse.che.plugin.machine.artik.output.ProcessOutputBroadcaster;
+import org.eclipse.che.plugin.machine.artik.replication.PushToDeviceService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_EXEC;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_OUTPUT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_RESULT;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RPC_STOP;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link ArtikDeviceRpcHandler}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class ArtikDeviceRpcHandlerTest {
+    private static final Integer ENDPOINT = 7;
+
+    @Mock
+    private ArtikDeviceManager       deviceManager;
+    @Mock
+    private PushToDeviceService      pushService;
+    @Mock
+    private ProcessOutputBroadcaster outputBroadcaster;
+    @Mock
+    private RequestTransmitter       transmitter;
+    @Mock
+    private WebSocketSessionRegistry sessionRegistry;
+    @Mock
+    private ExecutorService          executor;
+    @Mock
+    private LineConsumer             output;
+
+    private ArtikDeviceRpcHandler handler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        handler = spy(new ArtikDeviceRpcHandler(deviceManager, pushService, outputBroadcaster, transmitter, sessionRegistry,
+                                                   executor));
+        doNothing().when(handler).transmit(any(Integer.class), anyString(), anyString());
+        doReturn(true).when(handler).isOpen(ENDPOINT);
+    }
+
+    @Test
+    public void shouldStopProcessAndSendResult() throws Exception {
+        handler.handle(request(3, ARTIK_RPC_STOP, params().withPid(5)), ENDPOINT);
+
+        verify(deviceManager).stopProcess("device", 5);
+        final DeviceRpcResultDto result = captureResult();
+        assertEquals(result.getRequestId(), 3);
+        assertEquals(result.getMethod(), ARTIK_RPC_STOP);
+        assertNull(result.getError());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamOutputOfExecutedCommandWithRequestId() throws Exception {
+        when(outputBroadcaster.createConsumer(any(Consumer.class))).thenReturn(output);
+        when(deviceManager.exec(eq("device"), any(Command.class), eq(null), any(LineConsumer.class), eq(false)))
+                .thenReturn(newDto(MachineProcessDto.class).withPid(11).withCommandLine("./app"));
+
+        handler.handle(request(4, ARTIK_RPC_EXEC, params().withCommandName("run").withCommandLine("./app")), ENDPOINT);
+
+        final ArgumentCaptor<Command> command = ArgumentCaptor.forClass(Command.class);
+        verify(deviceManager).exec(eq("device"), command.capture(), eq(null), any(LineConsumer.class), eq(false));
+        assertEquals(command.getValue().getCommandLine(), "./app");
+        assertEquals(command.getValue().getType(), ArtikDeviceRpcHandler.DEFAULT_COMMAND_TYPE);
+        assertNotNull(captureResult().getResult());
+
+        final ArgumentCaptor<Consumer> batchConsumer = ArgumentCaptor.forClass(Consumer.class);
+        verify(outputBroadcaster).createConsumer(batchConsumer.capture());
+        batchConsumer.getValue().accept(asList("hello", "world"));
+
+        final ArgumentCaptor<String> notification = ArgumentCaptor.forClass(String.class);
+        verify(handler).transmit(eq(ENDPOINT), eq(ARTIK_RPC_OUTPUT), notification.capture());
+        final DeviceRpcOutputDto lines = DtoFactory.getInstance().createDtoFromJson(notification.getValue(), DeviceRpcOutputDto.class);
+        assertEquals(lines.getRequestId(), 4);
+        assertEquals(lines.getDeviceId(), "device");
+        assertEquals(lines.getLines(), asList("hello", "world"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDropOutputWhenEndpointIsClosed() throws Exception {
+        when(outputBroadcaster.createConsumer(any(Consumer.class))).thenReturn(output);
+        when(deviceManager.exec(eq("device"), any(Command.class), eq(null), any(LineConsumer.class), eq(false)))
+                .thenReturn(newDto(MachineProcessDto.class).withPid(11).withCommandLine("./app"));
+        handler.handle(request(4, ARTIK_RPC_EXEC, params().withCommandName("run").withCommandLine("./app")), ENDPOINT);
+        doReturn(false).when(handler).isOpen(ENDPOINT);
+
+        final ArgumentCaptor<Consumer> batchConsumer = ArgumentCaptor.forClass(Consumer.class);
+        verify(outputBroadcaster).createConsumer(batchConsumer.capture());
+        batchConsumer.getValue().accept(asList("hello", "world"));
+
+        verify(handler, never()).transmit(eq(ENDPOINT), eq(ARTIK_RPC_OUTPUT), anyString());
+        final ArgumentCaptor<Runnable> drop = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(drop.capture());
+        drop.getValue().run();
+        verify(output).close();
+    }
+
+    @Test
+    public void shouldSendErrorWhenTooManyRequestsAreInProgress() throws Exception {
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+
+        handler.receive(request(8, ARTIK_RPC_STOP, params().withPid(5)), ENDPOINT);
+
+        final DeviceRpcResultDto result = captureResult();
+        assertEquals(result.getRequestId(), 8);
+        assertNotNull(result.getError());
+        verify(deviceManager, never()).stopProcess(anyString(), anyInt());
+    }
+
+    @Test
+    public void shouldSendErrorOfUnknownMethod() throws Exception {
+        handler.handle(request(5, "artik/device/unknown", params()), ENDPOINT);
+
+        final DeviceRpcResultDto result = captureResult();
+        assertEquals(result.getRequestId(), 5);
+        assertNull(result.getResult());
+        assertNotNull(result.getError());
+    }
+
+    @Test
+    public void shouldSendErrorIfDeviceIsNotSpecified() throws Exception {
+        handler.handle(request(6, ARTIK_RPC_STOP, params().withDeviceId(null)), ENDPOINT);
+
+        assertNotNull(captureResult().getError());
+    }
+
+    private DeviceRpcResultDto captureResult() {
+        final ArgumentCaptor<String> params = ArgumentCaptor.forClass(String.class);
+        verify(handler).transmit(eq(ENDPOINT), eq(ARTIK_RPC_RESULT), params.capture());
+        return DtoFactory.getInstance().createDtoFromJson(params.getValue(), DeviceRpcResultDto.class);
+    }
+
+    private static DeviceRpcParamsDto params() {
+        return newDto(DeviceRpcParamsDto.class).withDeviceId("device");
+    }
+
+    private static JsonRpcRequest request(int id, String method, DeviceRpcParamsDto params) {
+        return newDto(JsonRpcRequest.class).withJsonrpc("2.0")
+                                           .withId(id)
+                                           .withMethod(method)
+                                           .withParams(DtoFactory.getInstance().toJson(params));
+    }
+}
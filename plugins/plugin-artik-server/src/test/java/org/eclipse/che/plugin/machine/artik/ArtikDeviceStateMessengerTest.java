@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_DEVICE_STATUS_CHANNEL;
+import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.CONNECTED;
+import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.ERROR;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link ArtikDeviceStateMessenger}
+ *
+ * @author Valeriy Svydenko
+ */
+public class ArtikDeviceStateMessengerTest {
+    private ArtikDeviceStateMessenger messenger;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        messenger = spy(new ArtikDeviceStateMessenger());
+        doNothing().when(messenger).send(any(ChannelBroadcastMessage.class));
+    }
+
+    @Test
+    public void shouldSendAllEventsInOneMessage() throws Exception {
+        messenger.broadcast(asList(event("device2", ERROR), event("device1", CONNECTED)));
+
+        final ArgumentCaptor<ChannelBroadcastMessage> captor = ArgumentCaptor.forClass(ChannelBroadcastMessage.class);
+        verify(messenger).send(captor.capture());
+        assertEquals(captor.getValue().getChannel(), ARTIK_DEVICE_STATUS_CHANNEL);
+
+        final List<ArtikDeviceStatusEventDto> events =
+                DtoFactory.getInstance().createListDtoFromJson(captor.getValue().getBody(), ArtikDeviceStatusEventDto.class);
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(0).getDeviceId(), "device2");
+        assertEquals(events.get(0).getEventType(), ERROR);
+        assertEquals(events.get(1).getDeviceId(), "device1");
+        assertEquals(events.get(1).getEventType(), CONNECTED);
+    }
+
+    @Test
+    public void shouldNotSendAnythingWithoutEvents() throws Exception {
+        messenger.broadcast(Collections.emptyList());
+
+        verify(messenger, never()).send(any(ChannelBroadcastMessage.class));
+    }
+
+    private static ArtikDeviceStatusEventDto event(String deviceId, ArtikDeviceStatusEventDto.EventType eventType) {
+        return newDto(ArtikDeviceStatusEventDto.class).withDeviceId(deviceId)
+                                                      .withDeviceName(deviceId)
+                                                      .withEventType(eventType);
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.CONNECTED;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.CONNECTING;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.DISCONNECTED;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.ERROR;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link ArtikDevice}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class ArtikDeviceTest {
+    @Mock
+    private Instance instance;
+
+    @BeforeMethod
+    public void setUp() {
+        when(instance.getId()).thenReturn("artik-device-id");
+    }
+
+    @Test
+    public void shouldIncrementVersionOnEachTransition() {
+        final ArtikDevice device = new ArtikDevice(instance, DISCONNECTED);
+
+        assertNotNull(device.transition(DISCONNECTED, CONNECTING));
+        assertNotNull(device.transition(CONNECTING, CONNECTED));
+        assertNotNull(device.transition(CONNECTED, ERROR));
+
+        assertEquals(device.getStatus(), ERROR);
+        assertEquals(device.getState().getVersion(), 3L);
+    }
+
+    @Test
+    public void shouldNotTransitFromUnexpectedStatus() {
+        final ArtikDevice device = new ArtikDevice(instance, DISCONNECTED);
+
+        assertNull(device.transition(CONNECTED, ERROR));
+        assertEquals(device.getStatus(), DISCONNECTED);
+        assertEquals(device.getState().getVersion(), 0L);
+    }
+
+    @Test
+    public void shouldNotAllowIllegalTransition() {
+        final ArtikDevice device = new ArtikDevice(instance, DISCONNECTED);
+
+        assertNull(device.transition(DISCONNECTED, ERROR));
+        assertEquals(device.getStatus(), DISCONNECTED);
+    }
+
+    @Test
+    public void onlyOneOfConcurrentTransitionsShouldWin() throws Exception {
+        final ArtikDevice device = new ArtikDevice(instance, CONNECTED);
+        final int threads = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<ArtikDevice.State>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return device.transition(CONNECTED, ERROR);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<ArtikDevice.State> result : results) {
+                if (result.get() != null) {
+                    succeeded++;
+                }
+            }
+
+            assertEquals(succeeded, 1);
+            assertEquals(device.getState().getVersion(), 1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
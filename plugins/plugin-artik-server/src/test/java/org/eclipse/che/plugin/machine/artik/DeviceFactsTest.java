@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests for {@link DeviceFacts}
+ *
+ * @author Valeriy Svydenko
+ */
+public class DeviceFactsTest {
+    @Test
+    public void shouldParseFactsFromProcessOutput() throws Exception {
+        final Map<String, String> facts = DeviceFacts.parse(asList("[STDOUT] kernel=3.10.93",
+                                                                   "[STDOUT] model=Samsung artik710 raptor",
+                                                                   "[STDOUT] artik.RELEASE_VERSION=1.0.2",
+                                                                   "[STDOUT] hostname=",
+                                                                   "[STDERR] sed: /etc/artik_release: Permission denied"));
+
+        assertEquals(facts.get("kernel"), "3.10.93");
+        assertEquals(facts.get("model"), "Samsung artik710 raptor");
+        assertEquals(facts.get("artik.release_version"), "1.0.2");
+        assertFalse(facts.containsKey("hostname"));
+        assertEquals(facts.size(), 3);
+    }
+}
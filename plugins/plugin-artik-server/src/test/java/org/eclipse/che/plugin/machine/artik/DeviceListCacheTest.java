@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.rest.ServiceContext;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.dto.DeviceListDto;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.CONNECTED;
+import static org.eclipse.che.plugin.machine.artik.ArtikDevice.Status.DISCONNECTED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DeviceListCache}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class DeviceListCacheTest {
+    @Mock
+    private ArtikDeviceManager              deviceManager;
+    @Mock
+    private ArtikDeviceServiceLinksInjector linksInjector;
+    @Mock
+    private ServiceContext                  serviceContext;
+    @Mock
+    private UriBuilder                      uriBuilder;
+
+    private List<ArtikDevice> devices;
+    private DeviceListCache   cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        devices = new ArrayList<>();
+        when(deviceManager.getArtikDevices()).thenReturn(devices);
+        when(serviceContext.getServiceUriBuilder()).thenReturn(uriBuilder);
+        when(uriBuilder.build()).thenReturn(URI.create("http://localhost/api/artik"));
+
+        cache = spy(new DeviceListCache(deviceManager, linksInjector));
+        doAnswer(invocation -> newDto(MachineDto.class).withId(((ArtikDevice)invocation.getArguments()[0]).getId()))
+                .when(cache).asDto(any(ArtikDevice.class), any(ServiceContext.class));
+    }
+
+    @Test
+    public void shouldReturnFullListForUnknownVersion() throws Exception {
+        devices.add(device("device1"));
+        devices.add(device("device2"));
+
+        final DeviceListDto list = cache.getChanges(0, serviceContext);
+
+        assertTrue(list.isFull());
+        assertEquals(ids(list), asList("device1", "device2"));
+    }
+
+    @Test
+    public void shouldNotReturnAnythingIfNothingChanged() throws Exception {
+        devices.add(device("device1"));
+        final long version = cache.getDevices(serviceContext).getVersion();
+
+        final DeviceListDto changes = cache.getChanges(version, serviceContext);
+
+        assertFalse(changes.isFull());
+        assertEquals(changes.getVersion(), version);
+        assertTrue(changes.getDevices().isEmpty());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void shouldReuseConvertedDevicesUntilTheyChange() throws Exception {
+        final ArtikDevice device = device("device1");
+        devices.add(device);
+        devices.add(device("device2"));
+        final long version = cache.getDevices(serviceContext).getVersion();
+        cache.getDevices(serviceContext);
+
+        device.transition(DISCONNECTED, CONNECTED);
+        final DeviceListDto changes = cache.getChanges(version, serviceContext);
+
+        assertEquals(ids(changes), singletonList("device1"));
+        assertTrue(changes.getVersion() > version);
+        verify(cache, times(3)).asDto(any(ArtikDevice.class), any(ServiceContext.class));
+    }
+
+    @Test
+    public void shouldNotChangeVersionWhenBaseUriChanges() throws Exception {
+        devices.add(device("device1"));
+        final long version = cache.getDevices(serviceContext).getVersion();
+
+        when(uriBuilder.build()).thenReturn(URI.create("http://127.0.0.1/api/artik"));
+        final DeviceListDto changes = cache.getChanges(version, serviceContext);
+        final DeviceListDto list = cache.getDevices(serviceContext);
+
+        assertTrue(changes.getDevices().isEmpty());
+        assertEquals(changes.getVersion(), version);
+        assertEquals(list.getVersion(), version);
+        assertEquals(ids(list), singletonList("device1"));
+        verify(cache, times(2)).asDto(any(ArtikDevice.class), any(ServiceContext.class));
+    }
+
+    @Test
+    public void shouldReturnRemovedDevices() throws Exception {
+        devices.add(device("device1"));
+        devices.add(device("device2"));
+        final long version = cache.getDevices(serviceContext).getVersion();
+
+        devices.remove(0);
+        final DeviceListDto changes = cache.getChanges(version, serviceContext);
+
+        assertTrue(changes.getDevices().isEmpty());
+        assertEquals(changes.getRemoved(), singletonList("device1"));
+    }
+
+    @Test
+    public void shouldReturnFullListIfRemovedDevicesAreForgotten() throws Exception {
+        for (int i = 0; i <= DeviceListCache.MAX_REMOVED_DEVICES; i++) {
+            devices.add(device("device" + i));
+        }
+        final long version = cache.getDevices(serviceContext).getVersion();
+
+        devices.clear();
+        devices.add(device("last"));
+        final DeviceListDto changes = cache.getChanges(version, serviceContext);
+
+        assertTrue(changes.isFull());
+        assertEquals(ids(changes), singletonList("last"));
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    private ArtikDevice device(String id) {
+        final Instance instance = mock(Instance.class);
+        when(instance.getId()).thenReturn(id);
+        return new ArtikDevice(instance, DISCONNECTED);
+    }
+
+    private static List<String> ids(DeviceListDto list) {
+        return list.getDevices().stream().map(MachineDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.CONNECTED;
+import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.DISCONNECTED;
+import static org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceStatusEventDto.EventType.ERROR;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link DeviceStatusPublisher}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class DeviceStatusPublisherTest {
+    @Mock
+    private EventService              eventService;
+    @Mock
+    private ArtikDeviceStateMessenger messenger;
+    @InjectMocks
+    private DeviceStatusPublisher     publisher;
+
+    @Test
+    public void shouldCoalesceBurstIntoLatestEvent() {
+        publisher.publish("device", "name", 1L, DISCONNECTED, null);
+        publisher.publish("device", "name", 2L, ERROR, "error");
+        publisher.publish("device", "name", 3L, CONNECTED, null);
+
+        publisher.flush();
+
+        final ArgumentCaptor<ArtikDeviceStatusEventDto> captor = forClass(ArtikDeviceStatusEventDto.class);
+        verify(eventService, times(1)).publish(captor.capture());
+        assertEquals(captor.getValue().getEventType(), CONNECTED);
+        assertEquals(captor.getValue().getDeviceId(), "device");
+    }
+
+    @Test
+    public void shouldDropOutdatedEvent() {
+        publisher.publish("device", "name", 5L, CONNECTED, null);
+        publisher.publish("device", "name", 4L, DISCONNECTED, null);
+
+        publisher.flush();
+
+        final ArgumentCaptor<ArtikDeviceStatusEventDto> captor = forClass(ArtikDeviceStatusEventDto.class);
+        verify(eventService).publish(captor.capture());
+        assertEquals(captor.getValue().getEventType(), CONNECTED);
+    }
+
+    @Test
+    public void shouldPublishEventPerDevice() {
+        publisher.publish("device1", "name1", 1L, CONNECTED, null);
+        publisher.publish("device2", "name2", 1L, CONNECTED, null);
+
+        publisher.flush();
+
+        verify(eventService, times(2)).publish(forClass(ArtikDeviceStatusEventDto.class).capture());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendEventsOfOneFlushInOneBatch() {
+        publisher.publish("device1", "name1", 1L, CONNECTED, null);
+        publisher.publish("device2", "name2", 1L, DISCONNECTED, null);
+
+        publisher.flush();
+
+        final ArgumentCaptor<List> captor = forClass(List.class);
+        verify(messenger).broadcast(captor.capture());
+        assertEquals(captor.getValue().size(), 2);
+    }
+
+    @Test
+    public void shouldNotPublishConnectingState() {
+        final ArtikDevice device = mock(ArtikDevice.class);
+
+        publisher.publish(device, new ArtikDevice.State(ArtikDevice.Status.CONNECTING, 1L), null);
+        publisher.flush();
+
+        verify(eventService, never()).publish(forClass(Object.class).capture());
+    }
+
+    @Test
+    public void shouldNotPublishAnythingWithoutChanges() {
+        publisher.flush();
+
+        verify(eventService, never()).publish(forClass(Object.class).capture());
+        verify(messenger, never()).broadcast(anyListOf(ArtikDeviceStatusEventDto.class));
+    }
+}
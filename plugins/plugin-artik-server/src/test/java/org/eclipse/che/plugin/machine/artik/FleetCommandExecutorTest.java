@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.core.util.ListLineConsumer;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandDto;
+import org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto;
+import org.eclipse.che.plugin.machine.artik.output.ProcessOutputBroadcaster;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
+import org.mockito.Mock;
+import org.mockito.stubbing.Answer;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status.FAILED;
+import static org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status.RUNNING;
+import static org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status.SKIPPED;
+import static org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status.SUCCEEDED;
+import static org.eclipse.che.plugin.artik.shared.dto.FleetCommandResultDto.Status.TIMED_OUT;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link FleetCommandExecutor}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class FleetCommandExecutorTest {
+    private static final String MARKER = "__artik_exit_test=";
+
+    @Mock
+    private ArtikDeviceManager       deviceManager;
+    @Mock
+    private DeviceRegistry           registry;
+    @Mock
+    private ProcessOutputBroadcaster outputBroadcaster;
+    @Mock
+    private InstanceProcess          instanceProcess;
+
+    private Map<String, String>                commandLines;
+    private Map<String, DeviceProcess>         processes;
+    private Map<String, FleetCommandResultDto> results;
+    private CountDownLatch                     completed;
+    private AtomicInteger                      pids;
+    private FleetCommandExecutor               executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        commandLines = new ConcurrentHashMap<>();
+        processes = new ConcurrentHashMap<>();
+        results = new ConcurrentHashMap<>();
+        pids = new AtomicInteger();
+        when(deviceManager.getDeviceById(anyString())).thenAnswer(
+                invocation -> newDto(MachineDto.class).withConfig(newDto(MachineConfigDto.class)
+                                                                          .withName("name-" + invocation.getArguments()[0])));
+        when(deviceManager.createProcess(anyString(), any(Command.class))).thenAnswer(invocation -> {
+            final String deviceId = (String)invocation.getArguments()[0];
+            final Command command = (Command)invocation.getArguments()[1];
+            final DeviceProcess process = new DeviceProcess(pids.incrementAndGet(), command);
+            process.setCurrent(instanceProcess);
+            commandLines.put(deviceId, command.getCommandLine());
+            processes.put(deviceId, process);
+            return process;
+        });
+        executor = new FleetCommandExecutor(deviceManager, registry, outputBroadcaster);
+    }
+
+    @Test
+    public void shouldReturnPidsOfRegisteredProcessesWithoutWaitingForCommand() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, SECONDS);
+            return exitWith(0).answer(invocation);
+        }).when(deviceManager).startAndWait(anyString(), any(DeviceProcess.class), any(LineConsumer.class));
+
+        final List<FleetCommandResultDto> states = execute(command("d1", "d2"), null);
+
+        assertEquals(states.size(), 2);
+        assertResult(states.get(0), "d1", "name-d1", RUNNING, null);
+        assertEquals(states.get(0).getPid(), processes.get("d1").getPid());
+        assertResult(states.get(1), "d2", "name-d2", RUNNING, null);
+        assertEquals(states.get(1).getPid(), processes.get("d2").getPid());
+        assertTrue(results.isEmpty());
+
+        release.countDown();
+        awaitResults();
+        assertEquals(results.get("d1").getStatus(), SUCCEEDED);
+        assertEquals(results.get("d2").getStatus(), SUCCEEDED);
+    }
+
+    @Test
+    public void shouldSendResultOfEveryDevice() throws Exception {
+        final ListLineConsumer output = new ListLineConsumer();
+        when(outputBroadcaster.createConsumer("fleet")).thenReturn(output);
+        doThrow(new NotFoundException("Device 'd3' not found")).when(deviceManager).createProcess(eq("d3"), any(Command.class));
+        doAnswer(exitWith(0, "[STDOUT] ok")).when(deviceManager).startAndWait(eq("d1"), any(DeviceProcess.class), any(LineConsumer.class));
+        doAnswer(exitWith(2, "[STDERR] oops")).when(deviceManager).startAndWait(eq("d2"), any(DeviceProcess.class), any(LineConsumer.class));
+
+        final List<FleetCommandResultDto> states = execute(command("d1", "d2", "d3"), "fleet");
+
+        assertResult(states.get(2), "d3", "name-d3", FAILED, null);
+        assertEquals(states.get(2).getError(), "Device 'd3' not found");
+        awaitResults();
+        assertResult(results.get("d1"), "d1", "name-d1", SUCCEEDED, 0);
+        assertEquals(results.get("d1").getPid(), processes.get("d1").getPid());
+        assertResult(results.get("d2"), "d2", "name-d2", FAILED, 2);
+        assertResult(results.get("d3"), "d3", "name-d3", FAILED, null);
+        assertEquals(output.getLines(), asList("[name-d1] [STDOUT] ok", "[name-d2] [STDERR] oops"));
+    }
+
+    @Test
+    public void shouldNotRunCommandOnMoreDevicesThanParallelism() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return exitWith(0).answer(invocation);
+        }).when(deviceManager).startAndWait(anyString(), any(DeviceProcess.class), any(LineConsumer.class));
+
+        execute(command("d1", "d2", "d3", "d4", "d5", "d6").withParallelism(2), null);
+
+        awaitResults();
+        assertEquals(maxRunning.get(), 2);
+        assertEquals(results.size(), 6);
+        results.values().forEach(result -> assertEquals(result.getStatus(), SUCCEEDED));
+    }
+
+    @Test
+    public void shouldStopCommandAndSkipNotStartedDevicesWhenTimeoutIsReached() throws Exception {
+        final CountDownLatch stopped = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            stopped.countDown();
+            return null;
+        }).when(deviceManager).stopProcess(eq("d1"), any(DeviceProcess.class));
+        doAnswer(invocation -> {
+            stopped.await(10, SECONDS);
+            return null;
+        }).when(deviceManager).startAndWait(anyString(), any(DeviceProcess.class), any(LineConsumer.class));
+
+        execute(command("d1", "d2").withParallelism(1).withTimeout(1), null);
+
+        awaitResults();
+        assertEquals(results.get("d1").getStatus(), TIMED_OUT);
+        assertEquals(results.get("d2").getStatus(), SKIPPED);
+        verify(deviceManager).stopProcess("d1", processes.get("d1"));
+        verify(deviceManager).removeProcess("d2", processes.get("d2"));
+        verify(deviceManager, never()).startAndWait(eq("d2"), any(DeviceProcess.class), any(LineConsumer.class));
+    }
+
+    @Test
+    public void shouldReportStoppedCommands() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            stopped.await(10, SECONDS);
+            return null;
+        }).when(deviceManager).startAndWait(eq("d1"), any(DeviceProcess.class), any(LineConsumer.class));
+
+        execute(command("d1", "d2").withParallelism(1), null);
+        assertTrue(started.await(5, SECONDS));
+        processes.get("d2").markKilled();
+        processes.get("d1").markKilled();
+        stopped.countDown();
+
+        awaitResults();
+        assertEquals(results.get("d1").getStatus(), FAILED);
+        assertEquals(results.get("d1").getError(), "Command was stopped");
+        assertEquals(results.get("d2").getStatus(), SKIPPED);
+        assertEquals(results.get("d2").getError(), "Command was stopped before it was started");
+        verify(deviceManager, never()).startAndWait(eq("d2"), any(DeviceProcess.class), any(LineConsumer.class));
+    }
+
+    @Test
+    public void shouldRunCommandInSubShellAndPrintExitCode() {
+        assertEquals(FleetCommandExecutor.wrapCommandLine("ls # comment", MARKER),
+                     "(\nls # comment\n)\necho \"" + MARKER + "$?\"");
+    }
+
+    @Test
+    public void shouldPrefixLinesWithDeviceNameAndCatchExitCode() throws Exception {
+        final ListLineConsumer output = new ListLineConsumer();
+        final FleetCommandExecutor.ExitCodeLineConsumer consumer = new FleetCommandExecutor.ExitCodeLineConsumer(MARKER, "artik", output);
+
+        consumer.writeLine("[STDOUT] hello");
+        consumer.writeLine("[STDOUT] " + MARKER + "3");
+
+        assertEquals(output.getLines(), asList("[artik] [STDOUT] hello"));
+        assertEquals(consumer.getExitCode(), Integer.valueOf(3));
+    }
+
+    @Test
+    public void shouldNotHaveExitCodeWithoutMarker() throws Exception {
+        final FleetCommandExecutor.ExitCodeLineConsumer consumer =
+                new FleetCommandExecutor.ExitCodeLineConsumer(MARKER, "artik", new ListLineConsumer());
+
+        consumer.writeLine("[STDOUT] hello");
+
+        assertNull(consumer.getExitCode());
+    }
+
+    private List<FleetCommandResultDto> execute(FleetCommandDto command, String outputChannel) throws Exception {
+        completed = new CountDownLatch(command.getDeviceIds().size());
+        return executor.execute(command, outputChannel, result -> {
+            results.put(result.getDeviceId(), result);
+            completed.countDown();
+        });
+    }
+
+    private void awaitResults() throws Exception {
+        assertTrue(completed.await(10, SECONDS));
+    }
+
+    private static FleetCommandDto command(String... deviceIds) {
+        return newDto(FleetCommandDto.class).withCommandLine("./app").withDeviceIds(asList(deviceIds));
+    }
+
+    /** Writes the output lines and the exit code marker which is found in the command started on the device. */
+    private Answer<Void> exitWith(int exitCode, String... lines) {
+        return invocation -> {
+            final String commandLine = commandLines.get((String)invocation.getArguments()[0]);
+            final String marker = commandLine.substring(commandLine.lastIndexOf("echo \"") + 6, commandLine.lastIndexOf("$?"));
+            final LineConsumer output = (LineConsumer)invocation.getArguments()[2];
+            for (String line : lines) {
+                output.writeLine(line);
+            }
+            output.writeLine("[STDOUT] " + marker + exitCode);
+            return null;
+        };
+    }
+
+    private static void assertResult(FleetCommandResultDto result, String deviceId, String deviceName,
+                                     FleetCommandResultDto.Status status, Integer exitCode) {
+        assertEquals(result.getDeviceId(), deviceId);
+        assertEquals(result.getDeviceName(), deviceName);
+        assertEquals(result.getStatus(), status);
+        assertEquals(result.getExitCode(), exitCode);
+    }
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ReconnectBackoff}
+ *
+ * @author Valeriy Svydenko
+ */
+public class ReconnectBackoffTest {
+    private final ReconnectBackoff backoff = new ReconnectBackoff(1_000, 30_000, new Random(42));
+
+    @Test
+    public void shouldGrowExponentially() {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            final long exponential = 1_000L << attempt;
+            final long delay = backoff.getDelay(attempt);
+
+            assertTrue(delay >= exponential / 2 && delay <= exponential, "Unexpected delay " + delay + " for attempt " + attempt);
+        }
+    }
+
+    @Test
+    public void shouldNotExceedMaxDelay() {
+        for (int attempt = 5; attempt < 100; attempt++) {
+            final long delay = backoff.getDelay(attempt);
+
+            assertTrue(delay >= 15_000 && delay <= 30_000, "Unexpected delay " + delay + " for attempt " + attempt);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik;
+
+import org.eclipse.che.api.core.util.ListLineConsumer;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResumableProcess}
+ *
+ * @author Valeriy Svydenko
+ */
+public class ResumableProcessTest {
+    private ResumableProcess process;
+    private ListLineConsumer output;
+    private LineConsumer     tracked;
+
+    @BeforeMethod
+    public void setUp() {
+        process = new ResumableProcess(7, new CommandImpl("run", "./app", "custom"));
+        output = new ListLineConsumer();
+        tracked = process.track(output);
+    }
+
+    @Test
+    public void shouldStripMarkersAndTrackOffsetReportedByDevice() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+        tracked.writeLine("[STDOUT] hello");
+        tracked.writeLine("[STDOUT] мир");
+        tracked.writeLine("[STDOUT] __artik_process_offset=42");
+
+        assertEquals(output.getText(), "[STDOUT] hello\n[STDOUT] мир");
+        assertEquals(process.getOffset(), 42);
+        assertTrue(process.isResumable());
+        assertTrue(process.getResumeCommand().getCommandLine().startsWith("D=" + ResumableProcess.PROCESSES_DIR + '/'));
+        assertTrue(process.getResumeCommand().getCommandLine().contains("\nO=42\n"));
+        assertTrue(process.getResumeCommand().getCommandLine().contains("kill -0 1234 "));
+    }
+
+    @Test
+    public void shouldSkipLinesDeliveredBeforeConnectionWasLost() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+        tracked.writeLine("[STDOUT] first");
+        tracked.writeLine("[STDOUT] __artik_process_offset=6");
+        tracked.writeLine("[STDOUT] second");
+        tracked.writeLine("[STDOUT] third");
+
+        final LineConsumer resumed = process.track(output);
+        resumed.writeLine("[STDOUT] second");
+        resumed.writeLine("[STDOUT] third");
+        resumed.writeLine("[STDOUT] fourth");
+        resumed.writeLine("[STDOUT] __artik_process_offset=26");
+        resumed.writeLine("[STDOUT] fifth");
+
+        assertEquals(output.getText(), "[STDOUT] first\n[STDOUT] second\n[STDOUT] third\n[STDOUT] fourth\n[STDOUT] fifth");
+        assertEquals(process.getOffset(), 26);
+    }
+
+    @Test
+    public void shouldRestoreStderrPrefixOfTaggedLines() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+        tracked.writeLine("[STDOUT] __artik_process_err=failed");
+        tracked.writeLine("[STDOUT] partial__artik_process_err=failed again");
+
+        assertEquals(output.getText(), "[STDERR] failed\n[STDOUT] partial\n[STDERR] failed again");
+    }
+
+    @Test
+    public void shouldPassErrorsOfWrapperWithoutTracking() throws Exception {
+        tracked.writeLine("[STDERR] mkdir: can't create directory");
+
+        assertEquals(output.getText(), "[STDERR] mkdir: can't create directory");
+        assertEquals(process.getOffset(), 0);
+        assertNull(process.getKillCommand());
+    }
+
+    @Test
+    public void shouldNotBeResumableAfterExitMarker() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+        tracked.writeLine("[STDOUT] last line without new line__artik_process_offset=29");
+        tracked.writeLine("[STDOUT] __artik_process_exit=0");
+
+        assertEquals(output.getText(), "[STDOUT] last line without new line");
+        assertEquals(process.getOffset(), 29);
+        assertFalse(process.isResumable());
+    }
+
+    @Test
+    public void shouldNotBeResumableUntilStartedOnDevice() throws Exception {
+        assertFalse(process.isResumable());
+    }
+
+    @Test
+    public void shouldNotBeResumableWhenKilled() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+
+        process.markKilled();
+
+        assertFalse(process.isResumable());
+        assertTrue(process.getKillCommand().getCommandLine().contains("kill_tree 1234"));
+    }
+
+    @Test
+    public void shouldKeepOriginalCommandInStartCommand() throws Exception {
+        final String commandLine = process.getStartCommand().getCommandLine();
+
+        assertTrue(commandLine.contains("\n./app\n"));
+        assertTrue(commandLine.contains("\nO=0\n"));
+        assertTrue(commandLine.contains("kill -0 $P "));
+        assertEquals(process.getCommand().getCommandLine(), "./app");
+        assertEquals(process.getPid(), 7);
+    }
+
+    @Test
+    public void shouldRemoveOutputOfProcessFromDevice() throws Exception {
+        tracked.writeLine("[STDOUT] __artik_process_pid=1234");
+
+        assertTrue(process.getResumeCommand().getCommandLine().contains("rm -rf \"$D\""));
+        assertTrue(process.getKillCommand().getCommandLine().contains("rm -rf " + ResumableProcess.PROCESSES_DIR + '/'));
+    }
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link DocsContent}
+ *
+ * @author Valeriy Svydenko
+ */
+public class DocsContentTest {
+    private Path        docsHome;
+    private DocsContent content;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        docsHome = Files.createTempDirectory("artik-docs");
+        content = new DocsContent(docsHome.toString(), new DocsWatcher(docsHome.toString()));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(docsHome.toFile());
+        FileCleaner.addFile(docsHome.resolveSibling(docsHome.getFileName() + DocsContent.COMPRESSED_FOLDER_SUFFIX).toFile());
+    }
+
+    @Test
+    public void shouldCompressLargeTextFilesOnly() throws Exception {
+        final Path page = write("group__gpio.html", page("GPIO"));
+        final Path script = write("search/search.js", "var x;");
+        final Path image = write("closed.png", page("PNG"));
+
+        content.update();
+
+        assertEquals(gunzip(content.getCompressed(page)), page("GPIO"));
+        assertNull(content.getCompressed(script));
+        assertNull(content.getCompressed(image));
+    }
+
+    @Test
+    public void shouldNotReturnStaleCompressedFile() throws Exception {
+        final Path page = write("group__gpio.html", page("GPIO"));
+        content.update();
+
+        write("group__gpio.html", page("PWM"));
+        Files.setLastModifiedTime(page, FileTime.fromMillis(Files.getLastModifiedTime(page).toMillis() + 1000));
+
+        assertNull(content.getCompressed(page));
+
+        content.update(page);
+
+        assertEquals(gunzip(content.getCompressed(page)), page("PWM"));
+    }
+
+    @Test
+    public void shouldRemoveCompressedCopyOfRemovedFile() throws Exception {
+        final Path page = write("group__gpio.html", page("GPIO"));
+        content.update();
+        final Path compressed = content.getCompressed(page);
+        assertNotNull(compressed);
+
+        Files.delete(page);
+        content.update();
+
+        assertFalse(Files.exists(compressed));
+    }
+
+    @Test
+    public void shouldChangeVersionWhenDocsChange() throws Exception {
+        write("group__gpio.html", page("GPIO"));
+        content.update();
+        final String version = content.getVersion();
+
+        write("group__pwm.html", page("PWM"));
+        content.update();
+
+        assertNotNull(version);
+        assertNotEquals(content.getVersion(), version);
+    }
+
+    @Test
+    public void shouldNotResolveFilesOutsideDocs() throws Exception {
+        assertEquals(content.resolve("/search/all_0.html"), docsHome.resolve("search/all_0.html"));
+        assertNull(content.resolve("/../secret"));
+    }
+
+    private Path write(String name, String text) throws Exception {
+        final Path file = docsHome.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, text.getBytes(UTF_8));
+    }
+
+    private static String page(String title) {
+        final StringBuilder page = new StringBuilder("<html><head><title>" + title + "</title></head><body>");
+        for (int i = 0; i < 100; i++) {
+            page.append("<p>").append(title).append(" function ").append(i).append("</p>");
+        }
+        return page.append("</body></html>").toString();
+    }
+
+    private static String gunzip(Path file) throws Exception {
+        assertNotNull(file);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), UTF_8);
+        }
+    }
+}
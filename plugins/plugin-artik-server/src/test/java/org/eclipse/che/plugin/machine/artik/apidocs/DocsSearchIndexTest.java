@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocsSearchIndex}
+ *
+ * @author Valeriy Svydenko
+ */
+public class DocsSearchIndexTest {
+    private Path            docsHome;
+    private DocsSearchIndex index;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        docsHome = Files.createTempDirectory("artik-docs");
+        write("group__gpio.html", "<html><head><title>GPIO</title><script>var pwm = 1;</script></head>" +
+                                  "<body><p>Requests the GPIO pin with <b>artik_gpio_request</b> &amp; releases it.</p></body></html>");
+        write("group__pwm.html", "<html><head><title>PWM</title></head>" +
+                                 "<body><p>Configures PWM period. The pin must be requested before use as GPIO.</p></body></html>");
+        write("search.js", "var gpio = 'not indexed';");
+
+        index = new DocsSearchIndex(docsHome.toString(), new DocsWatcher(docsHome.toString()));
+        index.update();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(docsHome.toFile());
+    }
+
+    @Test
+    public void shouldIndexHtmlPagesOnly() {
+        assertEquals(index.size(), 2);
+    }
+
+    @Test
+    public void shouldRankPagesWithMatchingTitleFirst() {
+        assertEquals(names(index.search("gpio", 10)), asList("group__gpio.html", "group__pwm.html"));
+    }
+
+    @Test
+    public void shouldRequireAllWordsAndMatchLastOneAsPrefix() {
+        assertEquals(names(index.search("pwm peri", 10)), singletonList("group__pwm.html"));
+        assertEquals(index.search("gpio period", 10).size(), 1);
+        assertTrue(index.search("gpio unknown", 10).isEmpty());
+    }
+
+    @Test
+    public void shouldNotIndexScripts() {
+        assertEquals(names(index.search("pwm", 10)), singletonList("group__pwm.html"));
+    }
+
+    @Test
+    public void shouldFindPartsOfIdentifiers() {
+        final DocsSearchIndex.Hit hit = index.search("request", 10).get(0);
+
+        assertEquals(hit.getName(), "group__gpio.html");
+        assertEquals(hit.getTitle(), "GPIO");
+        assertTrue(hit.getSnippet().contains("artik_gpio_request & releases it"), hit.getSnippet());
+    }
+
+    @Test
+    public void shouldBuildSnippetWithoutReadingPageAgain() throws Exception {
+        Files.delete(docsHome.resolve("group__gpio.html"));
+
+        final DocsSearchIndex.Hit hit = index.search("releases", 10).get(0);
+
+        assertEquals(hit.getSnippet(), "...the GPIO pin with artik_gpio_request & releases it.");
+    }
+
+    @Test
+    public void shouldDecodeEntitiesAndKeepInvalidNumericOnes() {
+        assertEquals(DocsSearchIndex.extractText("<p>&lt;&#65;&#x42;&gt; &#99999999999; &#x110000; &unknown;</p>"),
+                     "<AB> &#99999999999; &#x110000; &unknown;");
+    }
+
+    @Test
+    public void shouldReindexChangedAndDropRemovedPages() throws Exception {
+        write("group__pwm.html", "<html><head><title>PWM</title></head><body>Duty cycle</body></html>");
+        Files.delete(docsHome.resolve("group__gpio.html"));
+
+        index.update();
+
+        assertEquals(index.size(), 1);
+        assertEquals(names(index.search("duty", 10)), singletonList("group__pwm.html"));
+        assertTrue(index.search("gpio", 10).isEmpty());
+    }
+
+    private void write(String name, String content) throws Exception {
+        Files.write(docsHome.resolve(name), content.getBytes(UTF_8));
+    }
+
+    private static List<String> names(List<DocsSearchIndex.Hit> hits) {
+        return hits.stream().map(DocsSearchIndex.Hit::getName).collect(toList());
+    }
+}
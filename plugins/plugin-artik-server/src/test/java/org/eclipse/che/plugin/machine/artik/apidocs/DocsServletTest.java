@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link DocsServlet}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DocsServletTest {
+    private static final String PAGE = page();
+
+    @Mock
+    private HttpServletRequest  request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private ServletContext      servletContext;
+
+    private Path                  docsHome;
+    private DocsContent           content;
+    private DocsServlet           servlet;
+    private ByteArrayOutputStream body;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        docsHome = Files.createTempDirectory("artik-docs");
+        Files.write(docsHome.resolve("index.html"), PAGE.getBytes(UTF_8));
+        content = new DocsContent(docsHome.toString(), new DocsWatcher(docsHome.toString()));
+        content.update();
+        servlet = new DocsServlet(content);
+
+        body = new ByteArrayOutputStream();
+        when(request.getServletContext()).thenReturn(servletContext);
+        when(request.getServletPath()).thenReturn("/artikdocs");
+        when(request.getContextPath()).thenReturn("");
+        when(servletContext.getMimeType("index.html")).thenReturn("text/html");
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(docsHome.toFile());
+        FileCleaner.addFile(docsHome.resolveSibling(docsHome.getFileName() + DocsContent.COMPRESSED_FOLDER_SUFFIX).toFile());
+    }
+
+    @Test
+    public void shouldRedirectToUrlWithVersion() throws Exception {
+        servlet.doGet(request, response);
+
+        verify(response).sendRedirect("/artikdocs/v/" + content.getVersion() + "/index.html");
+    }
+
+    @Test
+    public void shouldRedirectOutdatedVersion() throws Exception {
+        when(request.getPathInfo()).thenReturn("/v/outdated/group__gpio.html");
+        when(request.getQueryString()).thenReturn("q=gpio");
+
+        servlet.doGet(request, response);
+
+        verify(response).sendRedirect("/artikdocs/v/" + content.getVersion() + "/group__gpio.html?q=gpio");
+    }
+
+    @Test
+    public void shouldServeCompressedFileWithImmutableCaching() throws Exception {
+        when(request.getPathInfo()).thenReturn("/v/" + content.getVersion() + "/");
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        servlet.doGet(request, response);
+
+        verify(response).setHeader("Cache-Control", DocsServlet.IMMUTABLE);
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).setContentType("text/html");
+        assertEquals(gunzip(body.toByteArray()), PAGE);
+    }
+
+    @Test
+    public void shouldServeByteRange() throws Exception {
+        when(request.getPathInfo()).thenReturn("/v/" + content.getVersion() + "/index.html");
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(request.getHeader("Range")).thenReturn("bytes=6-11");
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 6-11/" + PAGE.length());
+        verify(response, never()).setHeader(eq("Content-Encoding"), anyString());
+        assertEquals(new String(body.toByteArray(), UTF_8), PAGE.substring(6, 12));
+    }
+
+    @Test
+    public void shouldRespondNotModifiedIfTagMatches() throws Exception {
+        when(request.getPathInfo()).thenReturn("/v/" + content.getVersion() + "/index.html");
+        servlet.doGet(request, response);
+        final ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+        verify(response).setHeader(eq("ETag"), etag.capture());
+        reset(response);
+        body.reset();
+
+        when(request.getHeader("If-None-Match")).thenReturn(etag.getValue());
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(body.size(), 0);
+    }
+
+    @Test
+    public void shouldRespondNotFoundForMissingFile() throws Exception {
+        when(request.getPathInfo()).thenReturn("/v/" + content.getVersion() + "/../missing.html");
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    @Test
+    public void shouldParseSingleByteRange() throws Exception {
+        assertEquals(DocsServlet.parseRange("bytes=0-9", 100), new long[]{0, 9});
+        assertEquals(DocsServlet.parseRange("bytes=90-", 100), new long[]{90, 99});
+        assertEquals(DocsServlet.parseRange("bytes=-10", 100), new long[]{90, 99});
+        assertEquals(DocsServlet.parseRange("bytes=50-500", 100), new long[]{50, 99});
+        assertEquals(DocsServlet.parseRange("bytes=100-", 100), new long[0]);
+        assertNull(DocsServlet.parseRange("bytes=0-1,5-6", 100));
+        assertNull(DocsServlet.parseRange("bytes=9-0", 100));
+    }
+
+    @Test
+    public void shouldCheckIfGzipIsAccepted() throws Exception {
+        assertEquals(DocsServlet.acceptsGzip("deflate, gzip;q=0.8"), true);
+        assertEquals(DocsServlet.acceptsGzip("gzip;q=0"), false);
+        assertEquals(DocsServlet.acceptsGzip("identity"), false);
+        assertEquals(DocsServlet.acceptsGzip(null), false);
+    }
+
+    private static String page() {
+        final StringBuilder page = new StringBuilder("<html><body>");
+        for (int i = 0; i < 100; i++) {
+            page.append("<p>artik_gpio_request ").append(i).append("</p>");
+        }
+        return page.append("</body></html>").toString();
+    }
+
+    private static String gunzip(byte[] compressed) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), UTF_8);
+        }
+    }
+}
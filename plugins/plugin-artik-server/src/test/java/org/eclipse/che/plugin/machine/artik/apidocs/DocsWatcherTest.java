@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.apidocs;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DocsWatcher}
+ *
+ * @author Valeriy Svydenko
+ */
+public class DocsWatcherTest {
+    private Path                     docsHome;
+    private DocsWatcher              watcher;
+    private BlockingQueue<Set<Path>> changes;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        docsHome = Files.createTempDirectory("artik-docs").toRealPath();
+        changes = new LinkedBlockingQueue<>();
+        watcher = new DocsWatcher(docsHome.toString());
+        watcher.addListener(new DocsChangeListener() {
+            @Override
+            public void onFilesChanged(Set<Path> files) {
+                changes.add(files);
+            }
+
+            @Override
+            public void onRescanRequired() {
+            }
+        });
+        watcher.start();
+        // gives the watcher time to register the folder
+        Thread.sleep(500);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        watcher.stop();
+        FileCleaner.addFile(docsHome.toFile());
+    }
+
+    @Test
+    public void shouldReportChangedFilesInOneBatch() throws Exception {
+        final Path gpio = write(docsHome.resolve("gpio.js"));
+        final Path pwm = write(docsHome.resolve("pwm.js"));
+
+        final Set<Path> changed = awaitChanges(gpio, pwm);
+
+        assertTrue(changed.contains(gpio) && changed.contains(pwm), changed.toString());
+    }
+
+    @Test
+    public void shouldReportFilesOfCreatedDirectory() throws Exception {
+        final Path page = write(Files.createDirectory(docsHome.resolve("search")).resolve("all_0.html"));
+
+        final Set<Path> changed = awaitChanges(page);
+
+        assertTrue(changed.contains(page), changed.toString());
+    }
+
+    @Test
+    public void shouldReportRemovedFiles() throws Exception {
+        final Path page = write(docsHome.resolve("group__gpio.html"));
+        awaitChanges(page);
+
+        Files.delete(page);
+
+        assertTrue(awaitChanges(page).contains(page));
+    }
+
+    private static Path write(Path file) throws Exception {
+        return Files.write(file, "var docs = [];".getBytes(UTF_8));
+    }
+
+    /** Collects reported changes until all the files are reported. */
+    private Set<Path> awaitChanges(Path... files) throws Exception {
+        final Set<Path> changed = new HashSet<>();
+        final long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            final Set<Path> batch = changes.poll(1, SECONDS);
+            if (batch != null) {
+                changed.addAll(batch);
+                boolean all = true;
+                for (Path file : files) {
+                    all &= changed.contains(file);
+                }
+                if (all) {
+                    return changed;
+                }
+            }
+        }
+        return changed;
+    }
+}
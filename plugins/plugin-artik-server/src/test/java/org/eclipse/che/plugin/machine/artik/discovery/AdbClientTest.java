@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link AdbClient}, fake adb server stands in for the real one.
+ *
+ * @author Valeriy Svydenko
+ */
+public class AdbClientTest {
+    private FakeAdbServer server;
+    private AdbClient     client;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new FakeAdbServer();
+        client = new AdbClient("localhost", server.getPort(), "adb-not-installed");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void shouldGetDevicesWithTheirStates() throws Exception {
+        server.respond("host:devices", "018f0d93fe94\tdevice\n01b52fd3fe94\tunauthorized\n");
+
+        final Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("018f0d93fe94", "device");
+        expected.put("01b52fd3fe94", "unauthorized");
+        assertEquals(client.getDevices(), expected);
+        assertEquals(DeviceDiscoverer.getAttachedDevices(expected), asList("018f0d93fe94"));
+    }
+
+    @Test
+    public void shouldExecuteShellCommandOnDevice() throws Exception {
+        server.respond("shell:ifconfig eth0", "eth0      Link encap:Ethernet\r\n" +
+                                              "          inet addr:172.19.20.110  Bcast:172.19.20.255\r\n");
+
+        assertEquals(DeviceDiscoverer.parseIPv4Address(client.shell("018f0d93fe94", "ifconfig eth0", 1000)),
+                     Optional.of("172.19.20.110"));
+        assertEquals(server.requests.poll(1, SECONDS), "host:transport:018f0d93fe94");
+        assertEquals(server.requests.poll(1, SECONDS), "shell:ifconfig eth0");
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = ".*device '0000' not found")
+    public void shouldThrowExceptionWhenServerFailsRequest() throws Exception {
+        client.shell("0000", "ls", 1000);
+    }
+
+    @Test
+    public void shouldTrackDevices() throws Exception {
+        server.respond("host:track-devices", "018f0d93fe94\tdevice\n", "");
+
+        try (AdbClient.DeviceTracking tracking = client.trackDevices()) {
+            assertEquals(tracking.next(), singletonMap("018f0d93fe94", "device"));
+            assertTrue(tracking.next().isEmpty());
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldThrowExceptionWhenServerIsNotAvailable() throws Exception {
+        server.close();
+
+        client.getDevices();
+    }
+
+    @Test
+    public void shouldStartServerOnceWhenConnectionIsRefused() throws Exception {
+        final Path adb = Files.createTempFile("adb", ".sh");
+        final Path calls = Files.createTempFile("adb", ".calls");
+        Files.write(adb, ("#!/bin/sh\necho \"$@\" >> " + calls + "\n").getBytes(UTF_8));
+        adb.toFile().setExecutable(true);
+        server.close();
+        final AdbClient client = new AdbClient("localhost", server.getPort(), adb.toString());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                client.getDevices();
+                fail("Server isn't started by the fake adb");
+            } catch (IOException ignored) {
+            }
+        }
+
+        assertEquals(Files.readAllLines(calls), singletonList("-P " + server.getPort() + " start-server"));
+        Files.delete(adb);
+        Files.delete(calls);
+    }
+
+    /** Minimal adb server which answers with predefined messages. */
+    private static class FakeAdbServer implements AutoCloseable {
+        private final ServerSocket          serverSocket;
+        private final Map<String, String[]> responses;
+        private final BlockingQueue<String> requests;
+
+        FakeAdbServer() throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.responses = new LinkedHashMap<>();
+            this.requests = new LinkedBlockingQueue<>();
+            final Thread thread = new Thread(this::accept);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        /** Sets messages which are sent in response to the request. */
+        void respond(String request, String... messages) {
+            responses.put(request, messages);
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    handle(socket);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void handle(Socket socket) throws IOException {
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            final OutputStream out = socket.getOutputStream();
+            while (true) {
+                final byte[] length = new byte[4];
+                in.readFully(length);
+                final byte[] request = new byte[Integer.parseInt(new String(length, UTF_8), 16)];
+                in.readFully(request);
+                final String command = new String(request, UTF_8);
+                requests.add(command);
+
+                if (command.equals("host:transport:018f0d93fe94")) {
+                    out.write("OKAY".getBytes(UTF_8));
+                    continue;
+                }
+                final String[] messages = responses.get(command);
+                if (messages == null) {
+                    final String error = command.startsWith("host:transport:")
+                                         ? "device '" + command.substring(15) + "' not found"
+                                         : "unknown command";
+                    out.write(("FAIL" + String.format("%04x", error.length()) + error).getBytes(UTF_8));
+                    return;
+                }
+                out.write("OKAY".getBytes(UTF_8));
+                for (String message : messages) {
+                    if (command.startsWith("shell:")) {
+                        out.write(message.getBytes(UTF_8));
+                    } else {
+                        final byte[] bytes = message.getBytes(UTF_8);
+                        out.write(String.format("%04x", bytes.length).getBytes(UTF_8));
+                        out.write(bytes);
+                    }
+                }
+                out.flush();
+                return;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -16,9 +16,9 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.artik.shared.dto.ArtikDeviceDto;
 import org.everrest.assured.EverrestJetty;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
@@ -26,6 +26,7 @@ import java.util.List;
 
 import static com.jayway.restassured.RestAssured.given;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -36,9 +37,15 @@ public class DeviceDiscoveryServiceTest {
 
     @Mock
     private DeviceDiscoverer       discoverer;
-    @InjectMocks
+    @Mock
+    private NetworkDeviceScanner   networkDeviceScanner;
     private DeviceDiscoveryService service;
 
+    @BeforeMethod
+    public void setUp() {
+        service = new DeviceDiscoveryService(new DeviceInfoCache(discoverer), networkDeviceScanner);
+    }
+
     private static <T> List<T> unwrapDtoList(Response response, Class<T> dtoClass) {
         return DtoFactory.getInstance().createListDtoFromJson(response.body().print(), dtoClass)
                          .stream()
@@ -70,4 +77,17 @@ public class DeviceDiscoveryServiceTest {
                             .map(ArtikDeviceImpl::new)
                             .collect(toList()), asList(device1, device2, device3));
     }
+
+    @Test
+    public void shouldGetDevicesDiscoveredInNetwork() throws Exception {
+        final ArtikDeviceImpl device = new ArtikDeviceImpl("192.168.1.10", "192.168.1.10");
+        when(networkDeviceScanner.getDevices()).thenReturn(singletonList(device));
+
+        Response response = given().when().get("/discovery/test-workspace/network");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, ArtikDeviceDto.class).stream()
+                                                                  .map(ArtikDeviceImpl::new)
+                                                                  .collect(toList()), singletonList(device));
+    }
 }
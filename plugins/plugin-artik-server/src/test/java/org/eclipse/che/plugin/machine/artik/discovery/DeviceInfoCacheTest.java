@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import org.eclipse.che.api.core.ServerException;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DeviceInfoCache}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class DeviceInfoCacheTest {
+    private static final ArtikDeviceImpl DEVICE1 = new ArtikDeviceImpl("018f0d93fe94", "172.19.20.110");
+    private static final ArtikDeviceImpl DEVICE2 = new ArtikDeviceImpl("01b52fd3fe94", "172.19.20.111");
+
+    @Mock
+    private DeviceDiscoverer discoverer;
+
+    private DeviceInfoCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cache = new DeviceInfoCache(discoverer);
+        when(discoverer.getDeviceInfo(DEVICE1.getId())).thenReturn(DEVICE1);
+        when(discoverer.getDeviceInfo(DEVICE2.getId())).thenReturn(DEVICE2);
+    }
+
+    @Test
+    public void shouldReuseInformationAboutDevices() throws Exception {
+        when(discoverer.discover()).thenReturn(asList(DEVICE1.getId(), DEVICE2.getId()));
+
+        assertEquals(cache.getDevices(), asList(DEVICE1, DEVICE2));
+        assertEquals(cache.getDevices(), asList(DEVICE1, DEVICE2));
+
+        verify(discoverer, times(2)).discover();
+        verify(discoverer, times(1)).getDeviceInfo(DEVICE1.getId());
+        verify(discoverer, times(1)).getDeviceInfo(DEVICE2.getId());
+    }
+
+    @Test
+    public void shouldRequestInformationAgainAfterDeviceWasReconnected() throws Exception {
+        when(discoverer.discover()).thenReturn(singletonList(DEVICE1.getId()))
+                                   .thenReturn(Collections.<String>emptyList())
+                                   .thenReturn(singletonList(DEVICE1.getId()));
+
+        cache.getDevices();
+        assertTrue(cache.getDevices().isEmpty());
+        cache.getDevices();
+
+        verify(discoverer, times(2)).getDeviceInfo(DEVICE1.getId());
+    }
+
+    @Test
+    public void shouldRequestInformationAgainAfterInvalidation() throws Exception {
+        when(discoverer.discover()).thenReturn(singletonList(DEVICE1.getId()));
+
+        cache.getDevices();
+        cache.invalidate(DEVICE1.getId());
+        cache.getDevices();
+
+        verify(discoverer, times(2)).getDeviceInfo(DEVICE1.getId());
+    }
+
+    @Test
+    public void shouldSkipFailedDevicesAndRetryThem() throws Exception {
+        when(discoverer.discover()).thenReturn(asList(DEVICE1.getId(), DEVICE2.getId()));
+        when(discoverer.getDeviceInfo(DEVICE1.getId())).thenThrow(new ServerException("no ip"))
+                                                      .thenReturn(DEVICE1);
+
+        assertEquals(cache.getDevices(), singletonList(DEVICE2));
+        assertEquals(cache.getDevices(), asList(DEVICE1, DEVICE2));
+    }
+
+    @Test(timeOut = DeviceInfoCache.INFO_TIMEOUT_MS * 3)
+    public void shouldRequestDevicesInParallel() throws Exception {
+        final CountDownLatch requested = new CountDownLatch(2);
+        when(discoverer.discover()).thenReturn(asList(DEVICE1.getId(), DEVICE2.getId()));
+        when(discoverer.getDeviceInfo(DEVICE1.getId())).then(invocation -> {
+            requested.countDown();
+            requested.await();
+            return DEVICE1;
+        });
+        when(discoverer.getDeviceInfo(DEVICE2.getId())).then(invocation -> {
+            requested.countDown();
+            requested.await();
+            return DEVICE2;
+        });
+
+        assertEquals(cache.getDevices(), asList(DEVICE1, DEVICE2));
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.discovery;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link NetworkDeviceScanner}
+ *
+ * @author Valeriy Svydenko
+ */
+public class NetworkDeviceScannerTest {
+    private static final InetAddress LOCALHOST = InetAddress.getLoopbackAddress();
+
+    private ServerSocket         server;
+    private NetworkDeviceScanner scanner;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new ServerSocket(0, 50, LOCALHOST);
+        scanner = new NetworkDeviceScanner("", "SSH-2\\.0-.*", "(?i)artik.*");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void shouldListHostsOfSubnet() throws Exception {
+        final List<InetAddress> hosts = NetworkDeviceScanner.getHosts("192.168.1.17/24");
+
+        assertEquals(hosts.size(), 254);
+        assertEquals(hosts.get(0).getHostAddress(), "192.168.1.1");
+        assertEquals(hosts.get(253).getHostAddress(), "192.168.1.254");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotScanTooLargeSubnet() throws Exception {
+        NetworkDeviceScanner.getHosts("10.0.0.0/8");
+    }
+
+    @Test
+    public void shouldFindHostWithMatchingSshBanner() throws Exception {
+        answer("SSH-2.0-OpenSSH_7.2\r\n");
+
+        assertEquals(scanner.probe(singletonList(LOCALHOST), server.getLocalPort()), singletonList(LOCALHOST));
+    }
+
+    @Test
+    public void shouldSkipHostWithOtherBanner() throws Exception {
+        answer("220 FTP server ready\r\n");
+
+        assertEquals(scanner.probe(singletonList(LOCALHOST), server.getLocalPort()), emptyList());
+    }
+
+    @Test
+    public void shouldSkipHostWithClosedPort() throws Exception {
+        final int port = server.getLocalPort();
+        server.close();
+
+        assertEquals(scanner.probe(singletonList(LOCALHOST), port), emptyList());
+    }
+
+    @Test
+    public void shouldIdentifyDeviceByHostName() throws Exception {
+        assertTrue(scanner.isDevice("artik530.local"));
+        assertFalse(scanner.isDevice("router.lan"));
+        assertFalse(scanner.isDevice("192.168.1.5"));
+    }
+
+    @Test
+    public void shouldKeepCandidatesWhichNamesMatchPattern() throws Exception {
+        final NetworkDeviceScanner localScanner = new NetworkDeviceScanner("", "SSH-2\\.0-.*",
+                                                                           Pattern.quote(LOCALHOST.getCanonicalHostName()));
+
+        assertEquals(localScanner.filterDevices(singletonList(LOCALHOST)), singletonList(LOCALHOST));
+        assertEquals(scanner.filterDevices(singletonList(LOCALHOST)), emptyList());
+    }
+
+    @Test
+    public void shouldNotFilterByHostNameIfPatternIsNotConfigured() throws Exception {
+        assertTrue(new NetworkDeviceScanner("", "SSH-2\\.0-.*", "").isDevice("192.168.1.5"));
+    }
+
+    private void answer(String banner) {
+        final Thread thread = new Thread(() -> {
+            try (Socket socket = server.accept()) {
+                final OutputStream out = socket.getOutputStream();
+                out.write(banner.getBytes(US_ASCII));
+                out.flush();
+                Thread.sleep(200);
+            } catch (Exception ignored) {
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.keyworddoc;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link KeywordDocsIndex}
+ *
+ * @author Valeriy Svydenko
+ */
+public class KeywordDocsIndexTest {
+    private Path root;
+    private Path docsDir;
+    private Path indexFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("artik-docs");
+        docsDir = Files.createDirectory(root.resolve("html"));
+        indexFile = KeywordDocsIndex.getIndexFile(docsDir);
+
+        write("gpio.js", "[ \"artik_gpio_request\", \"group__gpio.html#ga1\", null ],\n");
+        write("pwm.js", "[ \"artik_pwm_request\", \"group__pwm.html#ga2\", null ],\n");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(root.toFile());
+    }
+
+    @Test
+    public void shouldSaveIndexNextToDocs() throws Exception {
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("artik_gpio_request", "group__gpio.html#ga1");
+        expected.put("artik_pwm_request", "group__pwm.html#ga2");
+
+        assertEquals(KeywordDocsIndex.getLinks(docsDir, indexFile), expected);
+        assertEquals(indexFile, root.resolve("html.keywords.idx"));
+        assertTrue(Files.exists(indexFile));
+    }
+
+    @Test
+    public void shouldReuseIndexIfDocsAreNotChanged() throws Exception {
+        KeywordDocsIndex.getLinks(docsDir, indexFile);
+        final FileTime modified = Files.getLastModifiedTime(docsDir.resolve("gpio.js"));
+        // same size and modification time, the page is not parsed again
+        write("gpio.js", "[ \"artik_gpio_release\", \"group__gpio.html#ga1\", null ],\n");
+        Files.setLastModifiedTime(docsDir.resolve("gpio.js"), modified);
+
+        assertTrue(KeywordDocsIndex.getLinks(docsDir, indexFile).containsKey("artik_gpio_request"));
+    }
+
+    @Test
+    public void shouldRebuildIndexIfDocsAreChanged() throws Exception {
+        KeywordDocsIndex.getLinks(docsDir, indexFile);
+        write("gpio.js", "[ \"artik_gpio_request_v2\", \"group__gpio.html#ga1\", null ],\n");
+
+        final Map<String, String> links = KeywordDocsIndex.getLinks(docsDir, indexFile);
+
+        assertTrue(links.containsKey("artik_gpio_request_v2"));
+        assertEquals(links.size(), 2);
+    }
+
+    @Test
+    public void shouldParseOnlyChangedPages() throws Exception {
+        KeywordDocsIndex.getLinks(docsDir, indexFile);
+        final FileTime modified = Files.getLastModifiedTime(docsDir.resolve("gpio.js"));
+        write("gpio.js", "[ \"artik_gpio_release\", \"group__gpio.html#ga1\", null ],\n");
+        Files.setLastModifiedTime(docsDir.resolve("gpio.js"), modified);
+        write("pwm.js", "[ \"artik_pwm_request_v2\", \"group__pwm.html#ga2\", null ],\n");
+
+        final Map<String, String> links = KeywordDocsIndex.getLinks(docsDir, indexFile);
+
+        assertTrue(links.containsKey("artik_gpio_request"));
+        assertTrue(links.containsKey("artik_pwm_request_v2"));
+        assertEquals(links.size(), 2);
+    }
+
+    @Test
+    public void shouldRebuildIndexIfPageIsAdded() throws Exception {
+        KeywordDocsIndex.getLinks(docsDir, indexFile);
+        write("i2c.js", "[ \"artik_i2c_request\", \"group__i2c.html#ga3\", null ],\n");
+
+        assertEquals(KeywordDocsIndex.getLinks(docsDir, indexFile).size(), 3);
+    }
+
+    @Test
+    public void shouldRebuildDamagedIndex() throws Exception {
+        Files.write(indexFile, new byte[] {1, 2, 3});
+
+        assertEquals(KeywordDocsIndex.getLinks(docsDir, indexFile).size(), 2);
+    }
+
+    private void write(String name, String content) throws Exception {
+        Files.write(docsDir.resolve(name), content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.keyworddoc;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link KeywordTrie}
+ *
+ * @author Valeriy Svydenko
+ */
+public class KeywordTrieTest {
+    private KeywordTrie trie;
+
+    @BeforeMethod
+    public void setUp() {
+        trie = KeywordTrie.build(asList("artik_gpio_request",
+                                        "artik_gpio_release",
+                                        "artik_gpio_read",
+                                        "artik_pwm_request",
+                                        "ArtikGpioModule",
+                                        "artik_i2c_read"));
+    }
+
+    @Test
+    public void shouldFindKeywordsByPrefixShorterFirst() {
+        assertEquals(trie.search("artik_gpio_re", false, 10), asList("artik_gpio_read", "artik_gpio_release", "artik_gpio_request"));
+    }
+
+    @Test
+    public void shouldMatchCaseInsensitively() {
+        assertEquals(trie.search("artikgpio", false, 10), asList("ArtikGpioModule"));
+    }
+
+    @Test
+    public void shouldLimitNumberOfResults() {
+        assertEquals(trie.search("artik", false, 2), asList("artik_i2c_read", "ArtikGpioModule"));
+    }
+
+    @Test
+    public void shouldFindKeywordsWithTypos() {
+        assertEquals(trie.search("artik_gpoi_read", true, 10), asList("artik_gpio_read"));
+        assertEquals(trie.search("artik_pmw", true, 10), asList("artik_pwm_request"));
+    }
+
+    @Test
+    public void shouldPutPrefixMatchesBeforeFuzzyOnes() {
+        assertEquals(trie.search("artik_gpio_rel", true, 10), asList("artik_gpio_release", "artik_gpio_read", "artik_gpio_request"));
+    }
+
+    @Test
+    public void shouldNotFindFuzzyMatchesWhenDisabled() {
+        assertEquals(trie.search("artik_gpoi_read", false, 10), emptyList());
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static com.google.common.io.ByteStreams.toByteArray;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LogRange} and range reads of {@link ProcessLog}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class LogRangeTest {
+    private static final int LINES = 200_000;
+
+    @Mock
+    private DeviceRegistry     registry;
+    @Mock
+    private ThreadPullLauncher launcher;
+
+    private Path             logsDir;
+    private ProcessLogWriter writer;
+    private ProcessLog       log;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logsDir = Files.createTempDirectory("artik-logs");
+        final ProcessLogStore store = new ProcessLogStore(logsDir.toString(), 0, 0, registry, launcher);
+        writer = store.createWriter("device", 1);
+        for (int i = 0; i < LINES; i++) {
+            writer.writeLine("line " + i);
+        }
+        log = store.getLog("device", 1).get();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        writer.close();
+        FileCleaner.addFile(logsDir.toFile());
+    }
+
+    @Test
+    public void shouldReadLinesFromTheMiddleOfLog() throws Exception {
+        assertEquals(read(LogRange.lines(150_000, 150_002L)), "line 150000\nline 150001\n");
+    }
+
+    @Test
+    public void shouldReadLastLines() throws Exception {
+        assertEquals(read(LogRange.tail(2)), "line 199998\nline 199999\n");
+    }
+
+    @Test
+    public void shouldReadLastLinesOfCompletedLog() throws Exception {
+        writer.close();
+
+        assertEquals(read(LogRange.tail(1)), "line 199999\n");
+    }
+
+    @Test
+    public void shouldReadBytesFromRangeHeader() throws Exception {
+        assertEquals(read(LogRange.fromRangeHeader("bytes=0-4")), "line ");
+        assertEquals(read(LogRange.fromRangeHeader("bytes=-12")), "line 199999\n");
+    }
+
+    @Test
+    public void shouldIgnoreUnsupportedRangeHeader() throws Exception {
+        assertNull(LogRange.fromRangeHeader("bytes=0-1,5-6"));
+        assertNull(LogRange.fromRangeHeader("lines=1-2"));
+    }
+
+    @Test
+    public void shouldTransferCompressedLogAsValidGzip() throws Exception {
+        writer.close();
+        final ProcessLog.Snapshot snapshot = log.snapshot();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        log.transferCompressed(snapshot, Channels.newChannel(compressed));
+
+        final byte[] content = toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())));
+        assertEquals(content.length, snapshot.getLength());
+        assertTrue(compressed.size() < content.length / 4);
+    }
+
+    private String read(LogRange range) throws Exception {
+        final ProcessLog.Snapshot snapshot = log.snapshot();
+        final long[] offsets = range.resolve(log, snapshot);
+        final byte[] content = new byte[(int)(offsets[1] - offsets[0])];
+        try (InputStream input = log.openAt(snapshot, offsets[0])) {
+            new DataInputStream(input).readFully(content);
+        }
+        return new String(content, UTF_8);
+    }
+}
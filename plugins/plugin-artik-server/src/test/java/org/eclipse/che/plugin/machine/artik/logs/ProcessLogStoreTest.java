@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.logs;
+
+import com.google.common.io.CharStreams;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.plugin.machine.artik.registry.DeviceRegistry;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ProcessLogStore}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class ProcessLogStoreTest {
+    @Mock
+    private DeviceRegistry     registry;
+    @Mock
+    private ThreadPullLauncher launcher;
+
+    private Path            logsDir;
+    private ProcessLogStore store;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logsDir = Files.createTempDirectory("artik-logs");
+        when(registry.getById(anyString())).thenReturn(Optional.empty());
+        store = new ProcessLogStore(logsDir.toString(), 0, 0, registry, launcher);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(logsDir.toFile());
+    }
+
+    @Test
+    public void shouldReadWholeLogAcrossBlocks() throws Exception {
+        final StringBuilder expected = new StringBuilder();
+        final ProcessLogWriter writer = store.createWriter("device", 1);
+        for (int i = 0; i < 300_000; i++) {
+            final String line = "line " + i + " " + Integer.toHexString(i * 31);
+            writer.writeLine(line);
+            expected.append(line).append('\n');
+        }
+        writer.close();
+
+        final ProcessLog log = store.getLog("device", 1).get();
+        final ProcessLog.Snapshot snapshot = log.snapshot();
+
+        assertFalse(log.isActive());
+        assertTrue(snapshot.getEntries().size() > 1);
+        assertEquals(snapshot.getLineCount(), 300_000);
+        assertEquals(snapshot.getLength(), expected.length());
+        assertEquals(read(log), expected.toString());
+    }
+
+    @Test
+    public void shouldIncludeNotFlushedLinesOfActiveLog() throws Exception {
+        final ProcessLogWriter writer = store.createWriter("device", 2);
+        writer.writeLine("first");
+        writer.writeLine("second");
+
+        final ProcessLog log = store.getLog("device", 2).get();
+
+        assertTrue(log.isActive());
+        assertEquals(log.snapshot().getLineCount(), 2);
+        assertEquals(read(log), "first\nsecond\n");
+        writer.close();
+    }
+
+    @Test
+    public void shouldReplaceLogOfProcessWithSamePid() throws Exception {
+        final ProcessLogWriter first = store.createWriter("device", 3);
+        first.writeLine("old");
+        first.close();
+
+        final ProcessLogWriter second = store.createWriter("device", 3);
+        second.writeLine("new");
+        second.close();
+
+        assertEquals(read(store.getLog("device", 3).get()), "new\n");
+    }
+
+    @Test
+    public void shouldReturnEmptyOptionalIfLogDoesNotExist() throws Exception {
+        assertFalse(store.getLog("device", 42).isPresent());
+    }
+
+    @Test
+    public void shouldReturnLastPidOfStoredLogs() throws Exception {
+        store.createWriter("device", 4).close();
+        store.createWriter("device", 12).close();
+
+        assertEquals(store.getLastPid("device"), 12);
+        assertEquals(store.getLastPid("unknown"), 0);
+    }
+
+    @Test
+    public void shouldRemoveExpiredLogs() throws Exception {
+        final ProcessLogWriter writer = store.createWriter("device", 4);
+        writer.writeLine("expired");
+        writer.close();
+        final Path processDir = logsDir.resolve("device").resolve("4");
+        Files.setLastModifiedTime(ProcessLog.getSegmentPath(processDir, 0), FileTime.fromMillis(0));
+
+        store.enforceRetention(logsDir.resolve("device"), new LogRetention(1, 0));
+
+        assertFalse(Files.exists(processDir));
+        assertFalse(store.getLog("device", 4).isPresent());
+    }
+
+    @Test
+    public void shouldNotRemoveSegmentWhichIsWrittenNow() throws Exception {
+        final ProcessLogWriter writer = store.createWriter("device", 5);
+        writer.writeLine("active");
+        writer.flushIfIdle(Long.MAX_VALUE);
+        final Path processDir = logsDir.resolve("device").resolve("5");
+        Files.setLastModifiedTime(ProcessLog.getSegmentPath(processDir, 0), FileTime.fromMillis(0));
+
+        store.enforceRetention(logsDir.resolve("device"), new LogRetention(1, 0));
+
+        assertEquals(read(store.getLog("device", 5).get()), "active\n");
+        writer.close();
+    }
+
+    private static String read(ProcessLog log) throws Exception {
+        try (Reader reader = new InputStreamReader(log.openStream(), UTF_8)) {
+            return CharStreams.toString(reader);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+import org.eclipse.che.plugin.machine.artik.ArtikDeviceManager;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionPool;
+import org.eclipse.che.plugin.machine.artik.session.DeviceSessionResult;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.model.machine.MachineStatus.DESTROYING;
+import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
+import static org.eclipse.che.plugin.artik.shared.Constants.ARTIK_RESOURCES_CHANNEL_PREFIX;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResourceCollector}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class ResourceCollectorTest {
+    private static final String DEVICE_ID = "device";
+
+    @Mock
+    private ArtikDeviceManager  deviceManager;
+    @Mock
+    private DeviceSessionPool   sessionPool;
+    @Mock
+    private EventService        eventService;
+    @Mock
+    private DeviceSessionResult result;
+    @Mock
+    private ResourceHistory     history;
+
+    private ResourceCollector collector;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        collector = spy(new ResourceCollector(deviceManager, sessionPool, eventService, history));
+        doNothing().when(collector).send(any(ChannelBroadcastMessage.class));
+        when(sessionPool.execute(anyString(), anyString(), anyLong())).thenReturn(result);
+        when(result.getOutput()).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void shouldSampleWhileDeviceHasSubscribers() throws Exception {
+        device(RUNNING);
+
+        collector.subscribe(DEVICE_ID, "ide1");
+        collector.subscribe(DEVICE_ID, "ide2");
+        collector.unsubscribe(DEVICE_ID, "ide1");
+
+        assertEquals(collector.getSampleInterval(DEVICE_ID), ResourceCollector.SAMPLE_INTERVAL_MS);
+
+        collector.unsubscribe(DEVICE_ID, "ide2");
+
+        assertEquals(collector.getSampleInterval(DEVICE_ID), ResourceCollector.HISTORY_SAMPLE_INTERVAL_MS);
+    }
+
+    @Test
+    public void shouldStopStreamingButKeepHistoryWhenLeasesExpire() throws Exception {
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+        sampler.leases.put("ide1", 1000L + ResourceCollector.LEASE_MS);
+
+        doReturn(1000L + ResourceCollector.LEASE_MS - 1).when(collector).now();
+        sampler.sample();
+        sampler.sample();
+
+        verify(collector).send(any(ChannelBroadcastMessage.class));
+
+        doReturn(1000L + ResourceCollector.LEASE_MS).when(collector).now();
+        sampler.sample();
+
+        verify(collector).send(any(ChannelBroadcastMessage.class));
+        verify(history).add(anyString(), anyLong(), any(ResourceUsage.class), eq(true));
+        verify(history).add(anyString(), anyLong(), any(ResourceUsage.class), eq(false));
+        assertTrue(sampler.leases.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepSamplingAfterUnexpectedError() throws Exception {
+        when(result.getOutput()).thenThrow(new NumberFormatException("For input string: \"x\""))
+                                .thenReturn(Collections.emptyList());
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+        sampler.leases.put("ide1", Long.MAX_VALUE);
+
+        sampler.sample();
+        sampler.sample();
+
+        verify(sessionPool, times(2)).execute(DEVICE_ID, ResourceCounters.SAMPLE_COMMAND + '\n' + ResourceCounters.DISK_COMMAND,
+                                              ResourceCollector.SAMPLE_TIMEOUT_MS);
+    }
+
+    @Test
+    public void shouldSkipSampleWhilePreviousOneIsInProgress() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(2);
+        when(sessionPool.execute(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, SECONDS);
+            completed.countDown();
+            return result;
+        });
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+
+        sampler.trigger();
+        assertTrue(started.await(5, SECONDS));
+        sampler.trigger();
+        release.countDown();
+
+        assertFalse(completed.await(500, MILLISECONDS));
+        sampler.trigger();
+        assertTrue(completed.await(5, SECONDS));
+        verify(sessionPool, times(2)).execute(anyString(), anyString(), anyLong());
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotSubscribeToDisconnectedDevice() throws Exception {
+        device(DESTROYING);
+
+        collector.subscribe(DEVICE_ID);
+    }
+
+    @Test
+    public void shouldSendFullSampleFirstAndChangesAfterIt() throws Exception {
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+
+        sampler.onSample(usage(10, 1000));
+        sampler.onSample(usage(20, 1000));
+        sampler.onSample(usage(20, 1000));
+
+        final ArgumentCaptor<ChannelBroadcastMessage> captor = ArgumentCaptor.forClass(ChannelBroadcastMessage.class);
+        verify(collector, times(2)).send(captor.capture());
+        final List<ChannelBroadcastMessage> messages = captor.getAllValues();
+        assertEquals(messages.get(0).getChannel(), ARTIK_RESOURCES_CHANNEL_PREFIX + DEVICE_ID);
+        assertEquals(messages.get(0).getBody(), "k c=10 m=1000,2000 d=0,0 n=0,0 i=0,0");
+        assertEquals(messages.get(1).getBody(), "d c=20");
+    }
+
+    @Test
+    public void shouldSendFullSampleForNewSubscriber() throws Exception {
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+        sampler.onSample(usage(10, 1000));
+
+        sampler.fullRequested = true;
+        sampler.onSample(usage(10, 1000));
+
+        final ArgumentCaptor<ChannelBroadcastMessage> captor = ArgumentCaptor.forClass(ChannelBroadcastMessage.class);
+        verify(collector, times(2)).send(captor.capture());
+        assertTrue(captor.getValue().getBody().startsWith(ResourceUsage.FULL));
+    }
+
+    @Test
+    public void shouldNotSendAnythingBeforeSecondSample() throws Exception {
+        final ResourceCollector.Sampler sampler = collector.new Sampler(DEVICE_ID);
+        sampler.leases.put("ide1", Long.MAX_VALUE);
+
+        sampler.sample();
+
+        verify(sessionPool).execute(DEVICE_ID, ResourceCounters.SAMPLE_COMMAND + '\n' + ResourceCounters.DISK_COMMAND,
+                                    ResourceCollector.SAMPLE_TIMEOUT_MS);
+        verify(collector, never()).send(any(ChannelBroadcastMessage.class));
+    }
+
+    private void device(MachineStatus status) throws Exception {
+        final MachineDto device = mock(MachineDto.class, RETURNS_DEEP_STUBS);
+        when(device.getStatus()).thenReturn(status);
+        when(deviceManager.getDeviceById(DEVICE_ID)).thenReturn(device);
+    }
+
+    private static ResourceUsage usage(int cpu, long memoryUsed) {
+        return new ResourceUsage(new int[] {cpu}, memoryUsed, 2000, 0, 0, 0, 0, 0, 0);
+    }
+}
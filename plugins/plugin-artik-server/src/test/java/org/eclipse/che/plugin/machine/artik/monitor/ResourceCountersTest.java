@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResourceCounters}
+ *
+ * @author Valeriy Svydenko
+ */
+public class ResourceCountersTest {
+
+    @Test
+    public void shouldParseCounters() throws Exception {
+        final ResourceCounters counters = ResourceCounters.parse(sample(100, 50, 1000, 2000, 16, 32), 0);
+
+        assertEquals(counters.cpu.size(), 3);
+        assertEquals(counters.cpu.get(0), new long[] {350, 150});
+        assertEquals(counters.memoryTotal, 1024000);
+        assertEquals(counters.memoryAvailable, 512000);
+        assertEquals(counters.networkReceived, 1000);
+        assertEquals(counters.networkSent, 2000);
+        assertEquals(counters.ioRead, 16 * 512);
+        assertEquals(counters.ioWritten, 32 * 512);
+        assertEquals(counters.diskTotal, 7000000);
+        assertEquals(counters.diskUsed, 1200000);
+    }
+
+    @Test
+    public void shouldComputeUsageBetweenSamples() throws Exception {
+        final ResourceCounters first = ResourceCounters.parse(sample(100, 50, 1000, 2000, 16, 32), 0);
+        final ResourceCounters second = ResourceCounters.parse(sample(200, 60, 4000, 2500, 32, 32), 2000);
+
+        final ResourceUsage usage = second.usageSince(first);
+
+        // core 0 was busy for 100 ticks, core 1 was idle for 10 ticks
+        assertEquals(usage.getCpu(), new int[] {91, 100, 0});
+        assertEquals(usage.getMemoryUsed(), 512000);
+        assertEquals(usage.getNetworkReceived(), 1500);
+        assertEquals(usage.getNetworkSent(), 250);
+        assertEquals(usage.getIoRead(), 16 * 512 / 2);
+        assertEquals(usage.getIoWritten(), 0);
+    }
+
+    @Test
+    public void shouldNotReportNegativeRateWhenCounterIsReset() throws Exception {
+        final ResourceCounters first = ResourceCounters.parse(sample(100, 50, 4000, 2000, 16, 32), 0);
+        final ResourceCounters second = ResourceCounters.parse(sample(200, 60, 100, 2000, 16, 32), 1000);
+
+        assertEquals(second.usageSince(first).getNetworkReceived(), 0);
+    }
+
+    @Test
+    public void shouldComputeAvailableMemoryOnOldKernels() throws Exception {
+        final ResourceCounters counters = ResourceCounters.parse(asList("@mem",
+                                                                        "MemTotal:        1024000 kB",
+                                                                        "MemFree:          100000 kB",
+                                                                        "Buffers:           50000 kB",
+                                                                        "Cached:           250000 kB"), 0);
+
+        assertEquals(counters.memoryAvailable, 400000);
+    }
+
+    @Test
+    public void shouldNotHaveDiskWithoutDiskCommandOutput() throws Exception {
+        final ResourceCounters counters = ResourceCounters.parse(asList("@cpu", "cpu  1 2 3 4 5 6 7 8 0 0"), 0);
+
+        assertFalse(counters.hasDisk());
+        assertTrue(ResourceCounters.parse(sample(0, 0, 0, 0, 0, 0), 0).hasDisk());
+    }
+
+    /**
+     * Output of the sample command of the device with two cores, core 0 has spent {@code busy} ticks in user mode
+     * and core 1 has spent {@code idle} ticks idle, both have spent 100 ticks of the other kind.
+     */
+    private static List<String> sample(long busy, long idle, long received, long sent, long read, long written) {
+        return asList("@cpu",
+                      "cpu  " + (busy + 100) + " 0 0 " + (idle + 100) + " 0 0 0 0 0 0",
+                      "cpu0 " + busy + " 0 0 100 0 0 0 0 0 0",
+                      "cpu1 100 0 0 " + idle + " 0 0 0 0 0 0",
+                      "@mem",
+                      "MemTotal:        1024000 kB",
+                      "MemFree:          100000 kB",
+                      "MemAvailable:     512000 kB",
+                      "@net",
+                      "Inter-|   Receive                                                |  Transmit",
+                      "face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed",
+                      "lo: 9999 10 0 0 0 0 0 0 9999 10 0 0 0 0 0 0",
+                      "eth0:" + received + " 10 0 0 0 0 0 0 " + sent + " 10 0 0 0 0 0 0",
+                      "@io",
+                      "7 0 loop0 5 0 500 0 0 0 0 0 0 0 0",
+                      "179 0 mmcblk0 5 0 " + read + " 0 5 0 " + written + " 0 0 0 0",
+                      "179 3 mmcblk0p3 5 0 " + read + " 0 5 0 " + written + " 0 0 0 0",
+                      "@df",
+                      "Filesystem     1024-blocks    Used Available Capacity Mounted on",
+                      "/dev/mmcblk0p3     7000000 1200000   5800000      18% /");
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.plugin.artik.shared.ResourceUsage;
+import org.eclipse.che.plugin.artik.shared.dto.ResourceHistoryDto;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.plugin.machine.artik.monitor.ResourceHistory.Resolution.MINUTE;
+import static org.eclipse.che.plugin.machine.artik.monitor.ResourceHistory.Resolution.RAW;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResourceHistory}
+ *
+ * @author Valeriy Svydenko
+ */
+public class ResourceHistoryTest {
+    private static final long MINUTE_MS = 60_000;
+
+    private ResourceHistory history;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        history = new ResourceHistory();
+    }
+
+    @Test
+    public void shouldReturnRawSamples() throws Exception {
+        history.add("device", 0, usage(10, 100), true);
+        history.add("device", 3000, usage(20, 200), true);
+
+        final ResourceHistoryDto result = history.query("device", 0, 6000, null);
+
+        assertEquals(result.getResolution(), "raw");
+        assertEquals(result.getTimes(), asList(0L, 3000L));
+        assertEquals(result.getCpu(), asList(10d, 20d));
+        assertEquals(result.getMemoryUsed(), asList(100d, 200d));
+        assertEquals(result.getMemoryTotal(), 1000);
+    }
+
+    @Test
+    public void shouldKeepRawSamplesTakenForSubscribersOnly() throws Exception {
+        history.add("device", 0, usage(10, 100), false);
+        history.add("device", MINUTE_MS, usage(30, 300), false);
+        history.add("device", 2 * MINUTE_MS, usage(50, 500), false);
+
+        assertTrue(history.query("device", 0, 10 * MINUTE_MS, RAW).getTimes().isEmpty());
+        final ResourceHistoryDto result = history.query("device", 0, 10 * MINUTE_MS, null);
+        assertEquals(result.getResolution(), "1m");
+        assertEquals(result.getTimes(), asList(0L, MINUTE_MS));
+    }
+
+    @Test
+    public void shouldAverageSamplesOfEachMinute() throws Exception {
+        history.add("device", 0, usage(10, 100), true);
+        history.add("device", 30_000, usage(30, 300), true);
+        history.add("device", MINUTE_MS, usage(50, 500), true);
+        history.add("device", 2 * MINUTE_MS, usage(70, 700), true);
+
+        final ResourceHistoryDto result = history.query("device", 0, 10 * MINUTE_MS, MINUTE);
+
+        // the last minute isn't complete yet
+        assertEquals(result.getResolution(), "1m");
+        assertEquals(result.getInterval(), MINUTE_MS);
+        assertEquals(result.getTimes(), asList(0L, MINUTE_MS));
+        assertEquals(result.getCpu(), asList(20d, 50d));
+        assertEquals(result.getMemoryUsed(), asList(200d, 500d));
+    }
+
+    @Test
+    public void shouldChooseCoarserResolutionWhenRawSamplesDoNotCoverWindow() throws Exception {
+        final long step = ResourceCollector.SAMPLE_INTERVAL_MS;
+        // two hours of samples, raw ones are kept for the last hour only
+        for (long time = 0; time < 2 * 60 * MINUTE_MS; time += step) {
+            history.add("device", time, usage(10, 100), true);
+        }
+
+        assertEquals(history.query("device", 90 * MINUTE_MS, 120 * MINUTE_MS, null).getResolution(), "raw");
+        assertEquals(history.query("device", 30 * MINUTE_MS, 120 * MINUTE_MS, null).getResolution(), "1m");
+        assertEquals(history.query("device", 30 * MINUTE_MS, 120 * MINUTE_MS, null).getTimes().size(), 89);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldForgetLeastRecentlySampledDevice() throws Exception {
+        for (int i = 0; i <= ResourceHistory.MAX_DEVICES; i++) {
+            history.add("device" + i, 0, usage(10, 100), true);
+        }
+
+        history.query("device0", 0, 1, null);
+    }
+
+    private static ResourceUsage usage(int cpu, long memoryUsed) {
+        return new ResourceUsage(new int[] {cpu, cpu}, memoryUsed, 1000, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.monitor;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link TimeSeriesRing}
+ *
+ * @author Valeriy Svydenko
+ */
+public class TimeSeriesRingTest {
+
+    @Test
+    public void shouldReturnPointsInWindow() throws Exception {
+        final TimeSeriesRing ring = new TimeSeriesRing(10, 2);
+        for (int i = 0; i < 5; i++) {
+            ring.add(i * 10, new float[] {i, -i});
+        }
+
+        final TimeSeriesRing.Window window = ring.query(10, 40);
+
+        assertEquals(window.times, new long[] {10, 20, 30});
+        assertEquals(window.values[0], new float[] {1, 2, 3});
+        assertEquals(window.values[1], new float[] {-1, -2, -3});
+    }
+
+    @Test
+    public void shouldOverwriteOldestPointsWhenFull() throws Exception {
+        final TimeSeriesRing ring = new TimeSeriesRing(3, 1);
+        for (int i = 0; i < 7; i++) {
+            ring.add(i, new float[] {i});
+        }
+
+        final TimeSeriesRing.Window window = ring.query(0, Long.MAX_VALUE);
+
+        assertEquals(ring.size(), 3);
+        assertEquals(ring.getOldestTime(), 4);
+        assertEquals(window.times, new long[] {4, 5, 6});
+        assertEquals(window.values[0], new float[] {4, 5, 6});
+    }
+
+    @Test
+    public void shouldReturnEmptyWindow() throws Exception {
+        final TimeSeriesRing ring = new TimeSeriesRing(3, 1);
+        ring.add(100, new float[] {1});
+
+        assertEquals(ring.query(0, 100).times.length, 0);
+        assertEquals(ring.query(200, 300).times.length, 0);
+        assertEquals(new TimeSeriesRing(3, 1).query(0, 100).times.length, 0);
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.output;
+
+import org.eclipse.che.plugin.artik.shared.OutputBatch;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link CoalescingLineConsumer}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class CoalescingLineConsumerTest {
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ScheduledFuture<?>       flushTask;
+
+    private List<String>           messages;
+    private CoalescingLineConsumer consumer;
+
+    @BeforeMethod
+    public void setUp() {
+        messages = new ArrayList<>();
+        doReturn(flushTask).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        consumer = new CoalescingLineConsumer("channel", scheduler) {
+            @Override
+            void send(String message) {
+                messages.add(message);
+            }
+        };
+    }
+
+    @Test
+    public void shouldSendLinesInOneMessageWhenBatchIsOldEnough() throws Exception {
+        consumer.writeLine("[STDOUT] first");
+        consumer.writeLine("[STDOUT] second");
+
+        assertTrue(messages.isEmpty());
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(CoalescingLineConsumer.MAX_BATCH_AGE_MS), eq(MILLISECONDS));
+
+        consumer.flush();
+
+        assertEquals(messages.size(), 1);
+        assertEquals(OutputBatch.unpack(messages.get(0)), asList("[STDOUT] first", "[STDOUT] second"));
+    }
+
+    @Test
+    public void shouldSendBatchWhenItIsFull() throws Exception {
+        final StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            line.append('x');
+        }
+
+        for (int i = 0; i < 64; i++) {
+            consumer.writeLine(line.toString());
+        }
+
+        assertEquals(messages.size(), 1);
+        assertEquals(OutputBatch.unpack(messages.get(0)).size(), 64);
+        verify(flushTask).cancel(false);
+    }
+
+    @Test
+    public void shouldSendSingleLineAsIs() throws Exception {
+        consumer.writeLine("[STDOUT] >>> end <<<");
+        consumer.flush();
+
+        assertEquals(messages, singletonList("[STDOUT] >>> end <<<"));
+    }
+
+    @Test
+    public void shouldSendPendingLinesOnCloseAndIgnoreLinesAfterClose() throws Exception {
+        consumer.writeLine("[STDOUT] first");
+        consumer.close();
+        consumer.writeLine("[STDOUT] second");
+        consumer.flush();
+
+        assertEquals(messages, singletonList("[STDOUT] first"));
+    }
+
+    @Test
+    public void shouldNotSendEmptyBatch() throws Exception {
+        consumer.flush();
+        consumer.close();
+
+        assertTrue(messages.isEmpty());
+    }
+}
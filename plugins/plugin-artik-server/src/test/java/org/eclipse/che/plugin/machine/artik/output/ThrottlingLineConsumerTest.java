@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.output;
+
+import org.eclipse.che.api.core.util.ListLineConsumer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ThrottlingLineConsumer}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class ThrottlingLineConsumerTest {
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ScheduledFuture<?>       flushTask;
+
+    private ListLineConsumer output;
+    private long             time;
+
+    @BeforeMethod
+    public void setUp() {
+        output = new ListLineConsumer();
+        time = 10_000;
+        doReturn(flushTask).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void shouldPassLinesWithinBudget() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(3, 0);
+
+        write(consumer, "a", "b", "c");
+
+        assertEquals(output.getLines(), asList("a", "b", "c"));
+    }
+
+    @Test
+    public void shouldPassMarkerAndTailOfSuppressedLinesInNextWindow() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(2, 0);
+
+        for (int i = 0; i < 100; i++) {
+            consumer.writeLine("line " + i);
+        }
+        assertEquals(output.getLines(), asList("line 0", "line 1"));
+
+        time += ThrottlingLineConsumer.WINDOW_MS;
+        consumer.writeLine("next");
+
+        final List<String> lines = output.getLines();
+        assertEquals(lines.size(), 2 + 1 + ThrottlingLineConsumer.TAIL_SIZE + 1);
+        assertTrue(lines.get(2).contains("78 lines suppressed"));
+        assertEquals(lines.get(3), "line 80");
+        assertEquals(lines.get(lines.size() - 2), "line 99");
+        assertEquals(lines.get(lines.size() - 1), "next");
+    }
+
+    @Test
+    public void shouldCountSuppressedLinesOfEachStream() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(1, 0);
+
+        consumer.writeLine("[STDOUT] first");
+        for (int i = 0; i < 10; i++) {
+            consumer.writeLine("[STDERR] error " + i);
+        }
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("[STDOUT] line " + i);
+        }
+        for (int i = 0; i < ThrottlingLineConsumer.TAIL_SIZE; i++) {
+            consumer.writeLine("[STDOUT] tail " + i);
+        }
+        consumer.close();
+
+        final List<String> lines = output.getLines();
+        assertEquals(lines.get(1), "[STDERR] ... 10 lines suppressed, see the process logs for the full output ...");
+        assertEquals(lines.get(2), "[STDOUT] ... 5 lines suppressed, see the process logs for the full output ...");
+        assertEquals(lines.get(3), "[STDOUT] tail 0");
+        assertEquals(lines.size(), 3 + ThrottlingLineConsumer.TAIL_SIZE);
+    }
+
+    @Test
+    public void shouldPassTailOfSuppressedLinesOnClose() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(1, 0);
+
+        write(consumer, "first", "second", ">>> end <<<");
+        consumer.close();
+
+        assertEquals(output.getLines(), asList("first", "second", ">>> end <<<"));
+    }
+
+    @Test
+    public void shouldLowerBudgetAfterTooManyLines() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(1000, 10);
+
+        for (int i = 0; i < 10; i++) {
+            consumer.writeLine("line " + i);
+        }
+        time += ThrottlingLineConsumer.WINDOW_MS;
+        for (int i = 0; i < 1000; i++) {
+            consumer.writeLine("line " + i);
+        }
+
+        assertEquals(output.getLines().size(), 10 + ThrottlingLineConsumer.SAMPLED_LINES_PER_WINDOW);
+    }
+
+    @Test
+    public void shouldTruncateLongLines() throws Exception {
+        final ThrottlingLineConsumer consumer = createConsumer(10, 0);
+        final StringBuilder line = new StringBuilder();
+        for (int i = 0; i <= ThrottlingLineConsumer.MAX_LINE_LENGTH; i++) {
+            line.append('x');
+        }
+
+        consumer.writeLine(line.toString());
+
+        assertEquals(output.getLines().get(0).length(), ThrottlingLineConsumer.MAX_LINE_LENGTH + 4);
+    }
+
+    private ThrottlingLineConsumer createConsumer(int linesPerWindow, long samplingAfterLines) {
+        return new ThrottlingLineConsumer(output, linesPerWindow, samplingAfterLines, scheduler) {
+            @Override
+            long now() {
+                return time;
+            }
+        };
+    }
+
+    private static void write(ThrottlingLineConsumer consumer, String... lines) throws Exception {
+        for (String line : lines) {
+            consumer.writeLine(line);
+        }
+    }
+}
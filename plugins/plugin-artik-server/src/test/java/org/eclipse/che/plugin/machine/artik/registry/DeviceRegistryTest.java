@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.registry;
+
+import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DeviceRegistry}
+ *
+ * @author Valeriy Svydenko
+ */
+public class DeviceRegistryTest {
+    private Path           registryDir;
+    private DeviceRegistry registry;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        registryDir = Files.createTempDirectory("artik-registry");
+        registry = new DeviceRegistry(registryDir.toString());
+        registry.load();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileCleaner.addFile(registryDir.toFile());
+    }
+
+    @Test
+    public void shouldRestoreRecordsAfterRestart() throws Exception {
+        registry.put(DeviceRecord.create("id1", "owner", config("device1"), "CONNECTED")
+                                 .withTags(new HashSet<>(asList("lab", "smoke")))
+                                 .withFacts(Collections.singletonMap("sdk", "1.0")));
+
+        final DeviceRegistry restarted = new DeviceRegistry(registryDir.toString());
+        restarted.load();
+
+        final DeviceRecord record = restarted.getById("id1").get();
+        assertEquals(record.getName(), "device1");
+        assertEquals(record.getStatus(), "CONNECTED");
+        assertEquals(record.getFacts().get("sdk"), "1.0");
+        assertEquals(record.getConfig().getSource().getContent(), "{\"host\":\"device1\"}");
+        assertEquals(restarted.getByTag("lab").size(), 1);
+    }
+
+    @Test
+    public void shouldFindDeviceByNameAndTag() throws Exception {
+        registry.put(DeviceRecord.create("id1", "owner", config("device1"), null).withTags(Collections.singleton("lab")));
+        registry.put(DeviceRecord.create("id2", "owner", config("device2"), null).withTags(Collections.singleton("lab")));
+
+        assertEquals(registry.getByName("device2").get().getId(), "id2");
+        assertEquals(registry.getByTag("lab").size(), 2);
+        assertTrue(registry.getByTag("unknown").isEmpty());
+    }
+
+    @Test
+    public void shouldReindexUpdatedRecord() throws Exception {
+        registry.put(DeviceRecord.create("id1", "owner", config("device1"), null).withTags(Collections.singleton("lab")));
+
+        registry.update("id1", record -> record.withConfig(config("renamed")).withTags(Collections.singleton("field")));
+
+        assertFalse(registry.getByName("device1").isPresent());
+        assertEquals(registry.getByName("renamed").get().getId(), "id1");
+        assertTrue(registry.getByTag("lab").isEmpty());
+        assertEquals(registry.getByTag("field").size(), 1);
+    }
+
+    @Test
+    public void shouldStoreRecordsReadableByOwnerOnly() throws Exception {
+        registry.put(DeviceRecord.create("id1", "owner", config("device1"), "CONNECTED"));
+        final Path record = registryDir.resolve("id1.json");
+        Files.setPosixFilePermissions(record, PosixFilePermissions.fromString("rw-r--r--"));
+
+        new DeviceRegistry(registryDir.toString()).load();
+
+        assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(record)), "rw-------");
+        registry.put(DeviceRecord.create("id2", "owner", config("device2"), "CONNECTED"));
+        assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(registryDir.resolve("id2.json"))), "rw-------");
+    }
+
+    @Test
+    public void shouldRemoveRecordFromDisk() throws Exception {
+        registry.put(DeviceRecord.create("id1", "owner", config("device1"), null));
+
+        registry.remove("id1");
+
+        assertFalse(registry.getById("id1").isPresent());
+        assertFalse(Files.exists(registryDir.resolve("id1.json")));
+    }
+
+    private static MachineConfigDto config(String name) {
+        return newDto(MachineConfigDto.class).withName(name)
+                                             .withType("artik")
+                                             .withDev(false)
+                                             .withSource(newDto(MachineSourceDto.class).withType("ssh-config")
+                                                                                       .withContent("{\"host\":\"" + name + "\"}"));
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.machine.artik.session;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
+import org.eclipse.che.plugin.machine.artik.ArtikDeviceManager;
+import org.eclipse.che.plugin.machine.ssh.SshMachineRecipe;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.eclipse.che.api.core.model.machine.MachineStatus.DESTROYING;
+import static org.eclipse.che.api.core.model.machine.MachineStatus.RUNNING;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link DeviceSessionPool}
+ *
+ * @author Valeriy Svydenko
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class DeviceSessionPoolTest {
+    private static final String DEVICE_ID = "device";
+    private static final String RECIPE    = "{\"host\":\"192.168.0.10\",\"port\":22,\"username\":\"root\",\"password\":\"root\"}";
+
+    @Mock
+    private ArtikDeviceManager deviceManager;
+    @Mock
+    private EventService       eventService;
+    @Mock
+    private ThreadPullLauncher launcher;
+    @Mock
+    private DeviceSession      session;
+
+    private MachineDto        device;
+    private DeviceSessionPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        device = mock(MachineDto.class, RETURNS_DEEP_STUBS);
+        when(device.getStatus()).thenReturn(RUNNING);
+        when(device.getConfig().getSource().getContent()).thenReturn(RECIPE);
+        when(deviceManager.getDeviceById(DEVICE_ID)).thenReturn(device);
+        when(session.isAlive()).thenReturn(true);
+        when(session.execute(anyString(), anyLong())).thenReturn(new DeviceSessionResult(0, Collections.singletonList("out")));
+
+        pool = spy(new DeviceSessionPool(deviceManager, eventService, launcher, 1000));
+        doReturn(session).when(pool).createSession(any(SshMachineRecipe.class));
+    }
+
+    @Test
+    public void shouldReuseOpenedSession() throws Exception {
+        final DeviceSessionResult result = pool.execute(DEVICE_ID, "uname", 0);
+        pool.execute(DEVICE_ID, "uname", 0);
+
+        assertEquals(result.getExitCode(), 0);
+        assertEquals(result.getOutput(), Collections.singletonList("out"));
+        verify(session).open();
+        verify(session, times(2)).execute("uname", DeviceSessionPool.DEFAULT_COMMAND_TIMEOUT_MS);
+    }
+
+    @Test
+    public void shouldKeepSessionAfterTimeout() throws Exception {
+        when(session.execute(anyString(), anyLong())).thenThrow(new TimeoutException("timeout"))
+                                                     .thenReturn(new DeviceSessionResult(1, Collections.emptyList()));
+
+        try {
+            pool.execute(DEVICE_ID, "sleep 100", 10);
+        } catch (ServerException ignored) {
+        }
+        final DeviceSessionResult result = pool.execute(DEVICE_ID, "false", 10);
+
+        assertEquals(result.getExitCode(), 1);
+        verify(session).open();
+    }
+
+    @Test
+    public void shouldReopenBrokenSession() throws Exception {
+        final AtomicBoolean alive = new AtomicBoolean(true);
+        when(session.isAlive()).thenAnswer(invocation -> alive.get());
+        when(session.execute(anyString(), anyLong())).thenAnswer(invocation -> {
+            alive.set(false);
+            throw new IOException("SSH session was closed by the device");
+        }).thenReturn(new DeviceSessionResult(1, Collections.emptyList()));
+
+        try {
+            pool.execute(DEVICE_ID, "uname", 10);
+        } catch (ServerException ignored) {
+        }
+        alive.set(true);
+        final DeviceSessionResult result = pool.execute(DEVICE_ID, "false", 10);
+
+        assertEquals(result.getExitCode(), 1);
+        verify(session, times(2)).open();
+    }
+
+    @Test
+    public void shouldCloseSessionOnDeviceDisconnection() throws Exception {
+        pool.execute(DEVICE_ID, "uname", 0);
+
+        pool.close(DEVICE_ID);
+
+        verify(session).close();
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotOpenSessionIfDeviceIsNotConnected() throws Exception {
+        when(device.getStatus()).thenReturn(DESTROYING);
+
+        pool.execute(DEVICE_ID, "uname", 0);
+    }
+}
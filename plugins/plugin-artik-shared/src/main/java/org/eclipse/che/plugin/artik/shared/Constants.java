@@ -17,4 +17,21 @@ package org.eclipse.che.plugin.artik.shared;
 public class Constants {
     private Constants(){}
     public static final String ARTIK_DEVICE_STATUS_CHANNEL = "artik_device_statuses";
+    public static final String ARTIK_DISCOVERED_DEVICES_CHANNEL = "artik_discovered_devices";
+    /** Channel with the version of the documentation keywords, it is sent each time the keywords change. */
+    public static final String ARTIK_DOCS_CHANNEL = "artik_docs";
+    /** Prefix of the channel with {@link ResourceUsage} messages of the device, followed by ID of the device. */
+    public static final String ARTIK_RESOURCES_CHANNEL_PREFIX = "artik_resources:";
+
+    /** JSON-RPC methods of the device API, the requests are sent over the agent websocket endpoint. */
+    public static final String ARTIK_RPC_CONNECT   = "artik/device/connect";
+    public static final String ARTIK_RPC_EXEC      = "artik/device/exec";
+    public static final String ARTIK_RPC_PROCESSES = "artik/device/processes";
+    public static final String ARTIK_RPC_STOP      = "artik/device/stop";
+    public static final String ARTIK_RPC_LOGS      = "artik/device/logs";
+    public static final String ARTIK_RPC_PUSH      = "artik/device/push";
+
+    /** JSON-RPC notifications sent back to the endpoint which requested the device operation. */
+    public static final String ARTIK_RPC_RESULT = "artik/device/result";
+    public static final String ARTIK_RPC_OUTPUT = "artik/device/output";
 }
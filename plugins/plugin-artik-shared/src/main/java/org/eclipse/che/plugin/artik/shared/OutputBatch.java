@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Format of the process output messages which carry several lines at once.
+ *
+ * <p>A batch starts with {@link #PREFIX} and its lines are separated with {@code '\n'}. A single line is sent
+ * as is, so messages which are not batches are read as one line.
+ *
+ * @author Valeriy Svydenko
+ */
+public class OutputBatch {
+    /** Record separator character, process output lines never start with it. */
+    public static final String PREFIX = "\u001e";
+
+    private OutputBatch() {
+    }
+
+    /** Packs lines into one message. */
+    public static String pack(List<String> lines) {
+        if (lines.size() == 1) {
+            return lines.get(0);
+        }
+        final StringBuilder message = new StringBuilder(PREFIX);
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                message.append('\n');
+            }
+            message.append(lines.get(i));
+        }
+        return message.toString();
+    }
+
+    /** Returns lines of the message, the message which is not a batch is returned as a single line. */
+    public static List<String> unpack(String message) {
+        if (message == null || !message.startsWith(PREFIX)) {
+            return Collections.singletonList(message);
+        }
+        final List<String> lines = new ArrayList<>();
+        int start = PREFIX.length();
+        int end;
+        while ((end = message.indexOf('\n', start)) != -1) {
+            lines.add(message.substring(start, end));
+            start = end + 1;
+        }
+        lines.add(message.substring(start));
+        return lines;
+    }
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared;
+
+/**
+ * Resource usage of the device and the compact format it is streamed to the clients in.
+ *
+ * <p>A message is a single line of space separated groups, the first token is {@code k} for a full sample or
+ * {@code d} for a delta which contains only the groups changed since the previous message. Clients ignore
+ * deltas until they receive the first full sample, a full sample is sent periodically. Groups:
+ * <ul>
+ * <li>{@code c=total,core0,core1,...} CPU usage in percent</li>
+ * <li>{@code m=used,total} memory in KiB</li>
+ * <li>{@code d=used,total} disk space of the root file system in KiB</li>
+ * <li>{@code n=received,sent} network traffic in bytes per second</li>
+ * <li>{@code i=read,written} disk I/O in bytes per second</li>
+ * </ul>
+ * Unknown groups are skipped.
+ *
+ * @author Valeriy Svydenko
+ */
+public class ResourceUsage {
+    public static final String FULL  = "k";
+    public static final String DELTA = "d";
+
+    private int[] cpu     = new int[0];
+    private long  memoryUsed;
+    private long  memoryTotal;
+    private long  diskUsed;
+    private long  diskTotal;
+    private long  networkReceived;
+    private long  networkSent;
+    private long  ioRead;
+    private long  ioWritten;
+
+    private boolean complete;
+
+    public ResourceUsage() {
+    }
+
+    public ResourceUsage(int[] cpu,
+                         long memoryUsed,
+                         long memoryTotal,
+                         long diskUsed,
+                         long diskTotal,
+                         long networkReceived,
+                         long networkSent,
+                         long ioRead,
+                         long ioWritten) {
+        this.cpu = cpu;
+        this.memoryUsed = memoryUsed;
+        this.memoryTotal = memoryTotal;
+        this.diskUsed = diskUsed;
+        this.diskTotal = diskTotal;
+        this.networkReceived = networkReceived;
+        this.networkSent = networkSent;
+        this.ioRead = ioRead;
+        this.ioWritten = ioWritten;
+        this.complete = true;
+    }
+
+    /** Returns total CPU usage followed by usage of each core, in percent. */
+    public int[] getCpu() {
+        return cpu;
+    }
+
+    public long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public long getMemoryTotal() {
+        return memoryTotal;
+    }
+
+    public long getDiskUsed() {
+        return diskUsed;
+    }
+
+    public long getDiskTotal() {
+        return diskTotal;
+    }
+
+    public long getNetworkReceived() {
+        return networkReceived;
+    }
+
+    public long getNetworkSent() {
+        return networkSent;
+    }
+
+    public long getIoRead() {
+        return ioRead;
+    }
+
+    public long getIoWritten() {
+        return ioWritten;
+    }
+
+    /** Returns {@code true} if a full sample has been applied, so all the values are known. */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Encodes the usage as a message.
+     *
+     * @param previous
+     *         usage sent in the previous message or {@code null} to encode a full sample
+     */
+    public String encode(ResourceUsage previous) {
+        final boolean full = previous == null || !previous.complete;
+        final StringBuilder message = new StringBuilder(full ? FULL : DELTA);
+        if (full || !sameCpu(previous.cpu)) {
+            message.append(" c=");
+            for (int i = 0; i < cpu.length; i++) {
+                if (i > 0) {
+                    message.append(',');
+                }
+                message.append(cpu[i]);
+            }
+        }
+        if (full || previous.memoryUsed != memoryUsed || previous.memoryTotal != memoryTotal) {
+            message.append(" m=").append(memoryUsed).append(',').append(memoryTotal);
+        }
+        if (full || previous.diskUsed != diskUsed || previous.diskTotal != diskTotal) {
+            message.append(" d=").append(diskUsed).append(',').append(diskTotal);
+        }
+        if (full || previous.networkReceived != networkReceived || previous.networkSent != networkSent) {
+            message.append(" n=").append(networkReceived).append(',').append(networkSent);
+        }
+        if (full || previous.ioRead != ioRead || previous.ioWritten != ioWritten) {
+            message.append(" i=").append(ioRead).append(',').append(ioWritten);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Applies the message to this usage.
+     *
+     * @return {@code true} if the message is applied, {@code false} if it is a delta and no full sample has been
+     * applied yet or the message is malformed
+     */
+    public boolean apply(String message) {
+        final String[] groups = message.trim().split(" ");
+        final boolean full = FULL.equals(groups[0]);
+        if (!full && !(DELTA.equals(groups[0]) && complete)) {
+            return false;
+        }
+        try {
+            for (int i = 1; i < groups.length; i++) {
+                final int separator = groups[i].indexOf('=');
+                if (separator != 1) {
+                    continue;
+                }
+                final String[] values = groups[i].substring(2).split(",");
+                switch (groups[i].charAt(0)) {
+                    case 'c':
+                        final int[] parsed = new int[values.length];
+                        for (int j = 0; j < values.length; j++) {
+                            parsed[j] = Integer.parseInt(values[j]);
+                        }
+                        cpu = parsed;
+                        break;
+                    case 'm':
+                        memoryUsed = Long.parseLong(values[0]);
+                        memoryTotal = Long.parseLong(values[1]);
+                        break;
+                    case 'd':
+                        diskUsed = Long.parseLong(values[0]);
+                        diskTotal = Long.parseLong(values[1]);
+                        break;
+                    case 'n':
+                        networkReceived = Long.parseLong(values[0]);
+                        networkSent = Long.parseLong(values[1]);
+                        break;
+                    case 'i':
+                        ioRead = Long.parseLong(values[0]);
+                        ioWritten = Long.parseLong(values[1]);
+                        break;
+                    default:
+                        // group of a newer version
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+        if (full) {
+            complete = true;
+        }
+        return true;
+    }
+
+    private boolean sameCpu(int[] other) {
+        if (other.length != cpu.length) {
+            return false;
+        }
+        for (int i = 0; i < cpu.length; i++) {
+            if (other[i] != cpu[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Snapshot of all the devices which is loaded by IDE with a single request on start.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface BootstrapDto {
+    /** Returns version of the device list the snapshot was taken at. */
+    long getVersion();
+
+    void setVersion(long version);
+
+    BootstrapDto withVersion(long version);
+
+    /** Returns the devices. */
+    List<DeviceBootstrapDto> getDevices();
+
+    void setDevices(List<DeviceBootstrapDto> devices);
+
+    BootstrapDto withDevices(List<DeviceBootstrapDto> devices);
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything IDE needs to know about the device on start.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceBootstrapDto {
+    /** Returns the device. */
+    MachineDto getDevice();
+
+    void setDevice(MachineDto device);
+
+    DeviceBootstrapDto withDevice(MachineDto device);
+
+    /** Returns processes of the device, links of the processes are not included. */
+    List<MachineProcessDto> getProcesses();
+
+    void setProcesses(List<MachineProcessDto> processes);
+
+    DeviceBootstrapDto withProcesses(List<MachineProcessDto> processes);
+
+    /** Returns connection status of the device: CONNECTING, CONNECTED, DISCONNECTED or ERROR. */
+    String getHealth();
+
+    void setHealth(String health);
+
+    DeviceBootstrapDto withHealth(String health);
+
+    /** Returns facts collected from the device, e.g. version of SDK. */
+    Map<String, String> getFacts();
+
+    void setFacts(Map<String, String> facts);
+
+    DeviceBootstrapDto withFacts(Map<String, String> facts);
+
+    /** Returns tags of the device. */
+    List<String> getTags();
+
+    void setTags(List<String> tags);
+
+    DeviceBootstrapDto withTags(List<String> tags);
+}
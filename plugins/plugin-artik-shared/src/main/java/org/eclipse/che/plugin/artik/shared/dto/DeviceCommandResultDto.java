@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Result of a short command executed in the shell session of the device.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceCommandResultDto {
+    /** Returns exit code of the command. */
+    int getExitCode();
+
+    void setExitCode(int exitCode);
+
+    DeviceCommandResultDto withExitCode(int exitCode);
+
+    /** Returns output of the command, standard error is merged into standard output. */
+    List<String> getOutput();
+
+    void setOutput(List<String> output);
+
+    DeviceCommandResultDto withOutput(List<String> output);
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of the device list since the requested version.
+ *
+ * <p>If the changes since the requested version are not known anymore, e.g. the agent was restarted, the list
+ * is {@link #isFull() full}: it contains all the devices and the client should drop the devices it has.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceListDto {
+    /** Returns version of the device list, it grows with every change of any device. */
+    long getVersion();
+
+    void setVersion(long version);
+
+    DeviceListDto withVersion(long version);
+
+    /** Returns {@code true} if the list contains all the devices rather than the changed ones. */
+    boolean isFull();
+
+    void setFull(boolean full);
+
+    DeviceListDto withFull(boolean full);
+
+    /** Returns added and changed devices. */
+    List<MachineDto> getDevices();
+
+    void setDevices(List<MachineDto> devices);
+
+    DeviceListDto withDevices(List<MachineDto> devices);
+
+    /** Returns IDs of the removed devices. */
+    List<String> getRemoved();
+
+    void setRemoved(List<String> removed);
+
+    DeviceListDto withRemoved(List<String> removed);
+}
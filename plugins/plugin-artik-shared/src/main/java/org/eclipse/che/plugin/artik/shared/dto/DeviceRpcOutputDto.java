@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Lines of the process output or log streamed for the JSON-RPC device request,
+ * sent in the {@code artik/device/output} notification.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceRpcOutputDto {
+    /** Returns ID of the request the output belongs to. */
+    int getRequestId();
+
+    void setRequestId(int requestId);
+
+    DeviceRpcOutputDto withRequestId(int requestId);
+
+    /** Returns ID of the device. */
+    String getDeviceId();
+
+    void setDeviceId(String deviceId);
+
+    DeviceRpcOutputDto withDeviceId(String deviceId);
+
+    /** Returns lines of the output. */
+    List<String> getLines();
+
+    void setLines(List<String> lines);
+
+    DeviceRpcOutputDto withLines(List<String> lines);
+}
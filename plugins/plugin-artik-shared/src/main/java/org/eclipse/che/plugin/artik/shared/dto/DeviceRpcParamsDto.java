@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Parameters of the JSON-RPC device requests. Each method uses only the parameters it needs.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceRpcParamsDto {
+    /** Returns ID of the device. */
+    String getDeviceId();
+
+    void setDeviceId(String deviceId);
+
+    DeviceRpcParamsDto withDeviceId(String deviceId);
+
+    /** Returns name of the command to execute. */
+    String getCommandName();
+
+    void setCommandName(String commandName);
+
+    DeviceRpcParamsDto withCommandName(String commandName);
+
+    /** Returns command line of the command to execute. */
+    String getCommandLine();
+
+    void setCommandLine(String commandLine);
+
+    DeviceRpcParamsDto withCommandLine(String commandLine);
+
+    /** Returns type of the command to execute. */
+    String getCommandType();
+
+    void setCommandType(String commandType);
+
+    DeviceRpcParamsDto withCommandType(String commandType);
+
+    /** Returns {@code true} if the command should keep running on the device when the connection is lost. */
+    boolean isResumable();
+
+    void setResumable(boolean resumable);
+
+    DeviceRpcParamsDto withResumable(boolean resumable);
+
+    /** Returns ID of the device process. */
+    int getPid();
+
+    void setPid(int pid);
+
+    DeviceRpcParamsDto withPid(int pid);
+
+    /** Returns number of the last log lines to send, the whole log is sent if it is not positive. */
+    long getTail();
+
+    void setTail(long tail);
+
+    DeviceRpcParamsDto withTail(long tail);
+
+    /** Returns path of the project file or folder to push, relative to the projects root. */
+    String getSourcePath();
+
+    void setSourcePath(String sourcePath);
+
+    DeviceRpcParamsDto withSourcePath(String sourcePath);
+
+    /** Returns folder on the device the file or folder is pushed to. */
+    String getTargetPath();
+
+    void setTargetPath(String targetPath);
+
+    DeviceRpcParamsDto withTargetPath(String targetPath);
+}
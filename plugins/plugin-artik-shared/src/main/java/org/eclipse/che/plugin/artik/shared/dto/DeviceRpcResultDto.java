@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Result of the JSON-RPC device request, sent in the {@code artik/device/result} notification.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DeviceRpcResultDto {
+    /** Returns ID of the request. */
+    int getRequestId();
+
+    void setRequestId(int requestId);
+
+    DeviceRpcResultDto withRequestId(int requestId);
+
+    /** Returns method of the request. */
+    String getMethod();
+
+    void setMethod(String method);
+
+    DeviceRpcResultDto withMethod(String method);
+
+    /** Returns JSON representation of the result, {@code null} if the request failed or has no result. */
+    String getResult();
+
+    void setResult(String result);
+
+    DeviceRpcResultDto withResult(String result);
+
+    /** Returns error message, {@code null} if the request succeeded. */
+    String getError();
+
+    void setError(String error);
+
+    DeviceRpcResultDto withError(String error);
+}
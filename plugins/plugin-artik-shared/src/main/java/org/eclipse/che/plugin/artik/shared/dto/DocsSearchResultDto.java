@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Page of Artik API documentation found by full-text search.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface DocsSearchResultDto {
+    /** Returns title of the page. */
+    String getTitle();
+
+    void setTitle(String title);
+
+    DocsSearchResultDto withTitle(String title);
+
+    /** Returns link to the page relative to the address of the machine, e.g. {@code /artikdocs/group__gpio.html}. */
+    String getLink();
+
+    void setLink(String link);
+
+    DocsSearchResultDto withLink(String link);
+
+    /** Returns fragment of the page text around the first match. */
+    String getSnippet();
+
+    void setSnippet(String snippet);
+
+    DocsSearchResultDto withSnippet(String snippet);
+
+    /** Returns relevance of the page, more relevant pages have bigger score. */
+    double getScore();
+
+    void setScore(double score);
+
+    DocsSearchResultDto withScore(double score);
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Describes command which should be executed on a group of devices.
+ * Target devices are the union of the listed devices and devices marked with the tag.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface FleetCommandDto {
+    /** Returns command line to execute on every device. */
+    String getCommandLine();
+
+    void setCommandLine(String commandLine);
+
+    FleetCommandDto withCommandLine(String commandLine);
+
+    /** Returns identifiers of the target devices. */
+    List<String> getDeviceIds();
+
+    void setDeviceIds(List<String> deviceIds);
+
+    FleetCommandDto withDeviceIds(List<String> deviceIds);
+
+    /** Returns tag of the target devices. */
+    String getTag();
+
+    void setTag(String tag);
+
+    FleetCommandDto withTag(String tag);
+
+    /** Returns maximum number of devices on which command is executed at the same time. */
+    int getParallelism();
+
+    void setParallelism(int parallelism);
+
+    FleetCommandDto withParallelism(int parallelism);
+
+    /** Returns timeout of the command execution in seconds. */
+    long getTimeout();
+
+    void setTimeout(long timeout);
+
+    FleetCommandDto withTimeout(long timeout);
+}
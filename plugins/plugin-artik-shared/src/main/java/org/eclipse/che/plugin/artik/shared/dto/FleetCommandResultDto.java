@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Result of the {@link FleetCommandDto} execution on a single device.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface FleetCommandResultDto {
+    enum Status {
+        /** Command is started or waits for its turn, the final result is sent to the result channel. */
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        SKIPPED
+    }
+
+    String getDeviceId();
+
+    void setDeviceId(String deviceId);
+
+    FleetCommandResultDto withDeviceId(String deviceId);
+
+    String getDeviceName();
+
+    void setDeviceName(String deviceName);
+
+    FleetCommandResultDto withDeviceName(String deviceName);
+
+    Status getStatus();
+
+    void setStatus(Status status);
+
+    FleetCommandResultDto withStatus(Status status);
+
+    /** Returns exit code of the command or {@code null} if command didn't complete. */
+    Integer getExitCode();
+
+    void setExitCode(Integer exitCode);
+
+    FleetCommandResultDto withExitCode(Integer exitCode);
+
+    /** Returns identifier of the process which executed the command on the device. */
+    int getPid();
+
+    void setPid(int pid);
+
+    FleetCommandResultDto withPid(int pid);
+
+    String getError();
+
+    void setError(String error);
+
+    FleetCommandResultDto withError(String error);
+
+    /** Returns duration of the command execution in milliseconds. */
+    long getDuration();
+
+    void setDuration(long duration);
+
+    FleetCommandResultDto withDuration(long duration);
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.Map;
+
+/**
+ * All the keywords of Artik API documentation with the links to their pages, it is downloaded by the editor
+ * once per version of the keywords and is queried locally.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface KeywordsBundleDto {
+    /** Returns version of the keywords. */
+    String getVersion();
+
+    void setVersion(String version);
+
+    KeywordsBundleDto withVersion(String version);
+
+    /** Returns path the links are relative to, e.g. {@code /artikdocs/}. */
+    String getBase();
+
+    void setBase(String base);
+
+    KeywordsBundleDto withBase(String base);
+
+    /** Returns links to the documentation pages mapped by keywords, e.g. {@code group__gpio.html#ga1}. */
+    Map<String, String> getLinks();
+
+    void setLinks(Map<String, String> links);
+
+    KeywordsBundleDto withLinks(Map<String, String> links);
+}
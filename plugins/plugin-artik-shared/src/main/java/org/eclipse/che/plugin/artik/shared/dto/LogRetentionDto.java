@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Retention policy of the process logs of a device.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface LogRetentionDto {
+    /** Returns maximum age of the logs in hours, {@code 0} means that logs are not removed by age. */
+    long getMaxAgeHours();
+
+    void setMaxAgeHours(long maxAgeHours);
+
+    LogRetentionDto withMaxAgeHours(long maxAgeHours);
+
+    /** Returns maximum size of the compressed logs of the device in megabytes, {@code 0} means unlimited. */
+    long getMaxSizeMb();
+
+    void setMaxSizeMb(long maxSizeMb);
+
+    LogRetentionDto withMaxSizeMb(long maxSizeMb);
+}
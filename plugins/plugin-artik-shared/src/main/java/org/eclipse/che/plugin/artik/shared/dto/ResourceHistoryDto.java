@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Samsung Electronics Co., Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - Initial implementation
+ *   Samsung Electronics Co., Ltd. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.artik.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Resource usage history of the device in a time window.
+ *
+ * <p>Every list of values has the same size as {@link #getTimes()}, the value at an index belongs to the point
+ * with the time at the same index. Downsampled points contain average values of their intervals.
+ *
+ * @author Valeriy Svydenko
+ */
+@DTO
+public interface ResourceHistoryDto {
+    /** Returns resolution of the history: {@code raw}, {@code 1m} or {@code 15m}. */
+    String getResolution();
+
+    void setResolution(String resolution);
+
+    ResourceHistoryDto withResolution(String resolution);
+
+    /** Returns interval between the points in milliseconds. */
+    long getInterval();
+
+    void setInterval(long interval);
+
+    ResourceHistoryDto withInterval(long interval);
+
+    /** Returns time of each point, for downsampled resolutions it is the start of the interval. */
+    List<Long> getTimes();
+
+    void setTimes(List<Long> times);
+
+    ResourceHistoryDto withTimes(List<Long> times);
+
+    /** Returns CPU usage in percent. */
+    List<Double> getCpu();
+
+    void setCpu(List<Double> cpu);
+
+    ResourceHistoryDto withCpu(List<Double> cpu);
+
+    /** Returns used memory in KiB. */
+    List<Double> getMemoryUsed();
+
+    void setMemoryUsed(List<Double> memoryUsed);
+
+    ResourceHistoryDto withMemoryUsed(List<Double> memoryUsed);
+
+    /** Returns used disk space of the root file system in KiB. */
+    List<Double> getDiskUsed();
+
+    void setDiskUsed(List<Double> diskUsed);
+
+    ResourceHistoryDto withDiskUsed(List<Double> diskUsed);
+
+    /** Returns received network traffic in bytes per second. */
+    List<Double> getNetworkReceived();
+
+    void setNetworkReceived(List<Double> networkReceived);
+
+    ResourceHistoryDto withNetworkReceived(List<Double> networkReceived);
+
+    /** Returns sent network traffic in bytes per second. */
+    List<Double> getNetworkSent();
+
+    void setNetworkSent(List<Double> networkSent);
+
+    ResourceHistoryDto withNetworkSent(List<Double> networkSent);
+
+    /** Returns disk reads in bytes per second. */
+    List<Double> getIoRead();
+
+    void setIoRead(List<Double> ioRead);
+
+    ResourceHistoryDto withIoRead(List<Double> ioRead);
+
+    /** Returns disk writes in bytes per second. */
+    List<Double> getIoWritten();
+
+    void setIoWritten(List<Double> ioWritten);
+
+    ResourceHistoryDto withIoWritten(List<Double> ioWritten);
+
+    /** Returns total memory in KiB as of the latest point. */
+    long getMemoryTotal();
+
+    void setMemoryTotal(long memoryTotal);
+
+    ResourceHistoryDto withMemoryTotal(long memoryTotal);
+
+    /** Returns size of the root file system in KiB as of the latest point. */
+    long getDiskTotal();
+
+    void setDiskTotal(long diskTotal);
+
+    ResourceHistoryDto withDiskTotal(long diskTotal);
+}